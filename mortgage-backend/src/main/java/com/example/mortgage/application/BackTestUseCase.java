@@ -0,0 +1,33 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.BackTestResult;
+import com.example.mortgage.domain.OffsetMode;
+import com.example.mortgage.domain.RateBackTestEngine;
+import com.example.mortgage.domain.RateHistory;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BackTestUseCase {
+    
+    private final RateBackTestEngine engine;
+    private final RateHistory history;
+    
+    public BackTestUseCase(RateBackTestEngine engine, RateHistory history) {
+        this.engine = engine;
+        this.history = history;
+    }
+    
+    public boolean available() {
+        return history.months() > 0;
+    }
+    
+    public String validationError(double principal, int years, double offsetAmount) {
+        return engine.validationError(history, principal, years, offsetAmount);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.backTest"})
+    public BackTestResult execute(double principal, int years, double offsetAmount, String offsetMode) {
+        return engine.backTest(history, principal, years, offsetAmount, OffsetMode.from(offsetMode));
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.infrastructure.JobRequest;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BatchJob {
+    
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+        
+        public boolean finished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+    
+    private final String id;
+    private final JobPriority priority;
+    // Dropped once the job is final, so a retained result does not keep a million-item request alive
+    private JobRequest request;
+    private final long totalItems;
+    private final Path resultFile;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong completedItems = new AtomicLong();
+    private final AtomicLong failedItems = new AtomicLong();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String error;
+    
+    // Only the thread holding the job's single chunk slot touches these
+    private long nextItem;
+    private OutputStream out;
+    
+    BatchJob(String id, JobPriority priority, JobRequest request, Path resultFile) {
+        this.id = id;
+        this.priority = priority;
+        this.request = request;
+        this.totalItems = request.totalItems();
+        this.resultFile = resultFile;
+    }
+    
+    public String id() {
+        return id;
+    }
+    
+    public JobPriority priority() {
+        return priority;
+    }
+    
+    public long totalItems() {
+        return totalItems;
+    }
+    
+    public long completedItems() {
+        return completedItems.get();
+    }
+    
+    public long failedItems() {
+        return failedItems.get();
+    }
+    
+    public State state() {
+        return state;
+    }
+    
+    public LocalDateTime submittedAt() {
+        return submittedAt;
+    }
+    
+    public LocalDateTime startedAt() {
+        return startedAt;
+    }
+    
+    public LocalDateTime finishedAt() {
+        return finishedAt;
+    }
+    
+    public String error() {
+        return error;
+    }
+    
+    public Path resultFile() {
+        return resultFile;
+    }
+    
+    JobRequest request() {
+        return request;
+    }
+    
+    boolean cancelRequested() {
+        return cancelRequested;
+    }
+    
+    void requestCancel() {
+        cancelRequested = true;
+    }
+    
+    long nextItem() {
+        return nextItem;
+    }
+    
+    boolean hasMore() {
+        return nextItem < totalItems;
+    }
+    
+    long finishedNanos() {
+        return finishedNanos;
+    }
+    
+    boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+    
+    void start() throws IOException {
+        if (out == null) {
+            out = new BufferedOutputStream(Files.newOutputStream(resultFile));
+            startedAt = LocalDateTime.now();
+            state = State.RUNNING;
+        }
+    }
+    
+    // Lines are spilled as soon as a chunk is done, so the job only ever holds one chunk in memory
+    void append(byte[][] lines, long failures) throws IOException {
+        for (byte[] line : lines) {
+            out.write(line);
+        }
+        out.flush();
+        nextItem += lines.length;
+        failedItems.addAndGet(failures);
+        completedItems.addAndGet(lines.length);
+    }
+    
+    void complete() {
+        try {
+            closeOutput();
+            finish(State.COMPLETED);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    void cancel() {
+        try {
+            closeOutput();
+        } catch (IOException ignored) {
+            // The partial result is discarded anyway
+        }
+        deleteResult();
+        finish(State.CANCELLED);
+    }
+    
+    void fail(Exception cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        try {
+            closeOutput();
+        } catch (IOException ignored) {
+            // The failure being reported is the more useful one
+        }
+        deleteResult();
+        finish(State.FAILED);
+    }
+    
+    void deleteResult() {
+        try {
+            Files.deleteIfExists(resultFile);
+        } catch (IOException ignored) {
+            // A leftover file is removed with the spill directory
+        }
+    }
+    
+    private void closeOutput() throws IOException {
+        if (out != null) {
+            OutputStream closing = out;
+            out = null;
+            closing.close();
+        }
+    }
+    
+    private void finish(State finalState) {
+        request = null;
+        finishedAt = LocalDateTime.now();
+        finishedNanos = System.nanoTime();
+        state = finalState;
+    }
+    
+    // Separate from the state change so waiters see the service's bookkeeping for the job as well
+    void signalFinished() {
+        finished.countDown();
+    }
+}
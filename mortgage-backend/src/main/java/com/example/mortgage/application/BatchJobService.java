@@ -0,0 +1,399 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.MortgageResult;
+import com.example.mortgage.domain.SavingsResult;
+import com.example.mortgage.infrastructure.JobItemResult;
+import com.example.mortgage.infrastructure.JobRequest;
+import com.example.mortgage.infrastructure.MortgageRequest;
+import com.example.mortgage.infrastructure.MortgageRequestValidator;
+import com.example.mortgage.infrastructure.MortgageResponse;
+import com.example.mortgage.infrastructure.SavingsRequest;
+import com.example.mortgage.infrastructure.SavingsRequestValidator;
+import com.example.mortgage.infrastructure.SavingsResponse;
+import com.example.mortgage.infrastructure.validation.ValidationErrors;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Jobs run on their own work-stealing pool, sized below the core count so interactive requests keep the rest.
+// Each job holds at most one chunk at a time and goes back in the queue after it, so a huge job
+// shares the pool with everything of its priority instead of holding it until it is done.
+public class BatchJobService implements AutoCloseable {
+    
+    static final int SPLIT_THRESHOLD = 64;
+    static final int ESTIMATED_LINE_BYTES = 256;
+    static final Duration MIN_PURGE_INTERVAL = Duration.ofSeconds(1);
+    static final Duration MAX_PURGE_INTERVAL = Duration.ofMinutes(1);
+    
+    public record Limits(int parallelism, long memoryPerJobBytes, long maxItemsPerJob, int maxActiveJobs,
+                         Duration retention) {}
+    
+    private record Ticket(BatchJob job, long sequence) {}
+    
+    private static final Comparator<Ticket> BY_PRIORITY = Comparator
+        .comparing((Ticket ticket) -> ticket.job().priority())
+        .thenComparingLong(Ticket::sequence);
+    
+    private final MortgageCalculationUseCase mortgageUseCase;
+    private final SavingsCalculationUseCase savingsUseCase;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Limits limits;
+    private final int chunkItems;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService purger;
+    private final ConcurrentHashMap<String, BatchJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    
+    // Guarded by this
+    private final PriorityQueue<Ticket> ready = new PriorityQueue<>(BY_PRIORITY);
+    private long sequence;
+    private int runningChunks;
+    
+    private final Counter submitted;
+    private final Counter rejected;
+    private final Counter completed;
+    private final Counter cancelled;
+    private final Counter failed;
+    
+    public BatchJobService(MortgageCalculationUseCase mortgageUseCase,
+                           SavingsCalculationUseCase savingsUseCase,
+                           ObjectMapper objectMapper,
+                           Path directory,
+                           Limits limits,
+                           MeterRegistry registry) throws IOException {
+        this.mortgageUseCase = mortgageUseCase;
+        this.savingsUseCase = savingsUseCase;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        this.limits = limits;
+        this.chunkItems = (int) Math.max(1, Math.min(Integer.MAX_VALUE, limits.memoryPerJobBytes() / ESTIMATED_LINE_BYTES));
+        this.pool = new ForkJoinPool(limits.parallelism(), BatchJobService::newWorker, null, false);
+        // Results nobody asks for again would otherwise stay on disk until the next job finishes
+        long purgeNanos = Math.max(MIN_PURGE_INTERVAL.toNanos(),
+            Math.min(limits.retention().toNanos(), MAX_PURGE_INTERVAL.toNanos()));
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "batch-job-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeNanos, purgeNanos, TimeUnit.NANOSECONDS);
+        this.submitted = registry.counter("jobs.submitted");
+        this.rejected = registry.counter("jobs.rejections");
+        this.completed = registry.counter("jobs.finished", "state", "completed");
+        this.cancelled = registry.counter("jobs.finished", "state", "cancelled");
+        this.failed = registry.counter("jobs.finished", "state", "failed");
+        registry.gauge("jobs.active", activeJobs);
+    }
+    
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("batch-job-" + thread.getPoolIndex());
+        return thread;
+    }
+    
+    public String validationError(JobRequest request) {
+        if (JobPriority.from(request.priority()) == null) {
+            return "Priority must be one of high, normal or low";
+        }
+        JobRequest.MortgageGrid grid = request.mortgageGrid();
+        if (grid != null && grid.size() == 0) {
+            return "Mortgage grid needs at least one principal, rate and term";
+        }
+        if (grid != null && (containsNull(grid.principals()) || containsNull(grid.annualRatePercents())
+                || containsNull(grid.years()) || containsNull(grid.offsetAmounts()))) {
+            return "Mortgage grid values cannot be null";
+        }
+        if (containsNull(request.mortgages()) || containsNull(request.savings())) {
+            return "Job items cannot be null";
+        }
+        long totalItems = request.totalItems();
+        if (totalItems == 0) {
+            return "Job must contain at least one calculation";
+        }
+        if (totalItems > limits.maxItemsPerJob()) {
+            return "Job cannot contain more than " + limits.maxItemsPerJob() + " calculations";
+        }
+        return null;
+    }
+    
+    private static boolean containsNull(List<?> values) {
+        return values.stream().anyMatch(Objects::isNull);
+    }
+    
+    // Empty when the active job limit is reached; the caller is expected to retry later
+    public Optional<BatchJob> submit(JobRequest request) {
+        if (activeJobs.incrementAndGet() > limits.maxActiveJobs()) {
+            activeJobs.decrementAndGet();
+            rejected.increment();
+            return Optional.empty();
+        }
+        String id = UUID.randomUUID().toString();
+        BatchJob job = new BatchJob(id, JobPriority.from(request.priority()), request, directory.resolve(id + ".ndjson"));
+        jobs.put(id, job);
+        submitted.increment();
+        synchronized (this) {
+            ready.add(new Ticket(job, sequence++));
+        }
+        dispatch();
+        return Optional.of(job);
+    }
+    
+    public Optional<BatchJob> find(String id) {
+        BatchJob job = jobs.get(id);
+        if (job != null && job.state().finished() && expired(job)) {
+            jobs.remove(id, job);
+            job.deleteResult();
+            return Optional.empty();
+        }
+        return Optional.ofNullable(job);
+    }
+    
+    // A queued job is cancelled on the spot; a running one stops at its next item and then cleans up
+    public Optional<BatchJob> cancel(String id) {
+        Optional<BatchJob> found = find(id);
+        found.ifPresent(job -> {
+            if (job.state().finished()) {
+                return;
+            }
+            job.requestCancel();
+            boolean dequeued;
+            synchronized (this) {
+                dequeued = ready.removeIf(ticket -> ticket.job() == job);
+            }
+            if (dequeued) {
+                finished(job, BatchJob.State.CANCELLED);
+            }
+        });
+        return found;
+    }
+    
+    private void dispatch() {
+        synchronized (this) {
+            while (runningChunks < limits.parallelism() && !ready.isEmpty()) {
+                BatchJob job = ready.poll().job();
+                runningChunks++;
+                pool.execute(() -> runChunk(job));
+            }
+        }
+    }
+    
+    private void runChunk(BatchJob job) {
+        try {
+            job.start();
+            long first = job.nextItem();
+            int count = (int) Math.min(chunkItems, job.totalItems() - first);
+            byte[][] lines = new byte[count][];
+            LongAdder failures = new LongAdder();
+            new ChunkTask(job, first, lines, 0, count, failures).invoke();
+            if (!job.cancelRequested()) {
+                job.append(lines, failures.sum());
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                runningChunks--;
+            }
+            finished(job, e);
+            dispatch();
+            return;
+        }
+        
+        BatchJob.State outcome = null;
+        synchronized (this) {
+            runningChunks--;
+            if (job.cancelRequested()) {
+                outcome = BatchJob.State.CANCELLED;
+            } else if (job.hasMore()) {
+                ready.add(new Ticket(job, sequence++));
+            } else {
+                outcome = BatchJob.State.COMPLETED;
+            }
+        }
+        if (outcome != null) {
+            finished(job, outcome);
+        }
+        dispatch();
+    }
+    
+    private void finished(BatchJob job, BatchJob.State outcome) {
+        if (outcome == BatchJob.State.CANCELLED) {
+            job.cancel();
+            cancelled.increment();
+        } else {
+            job.complete();
+            (job.state() == BatchJob.State.COMPLETED ? completed : failed).increment();
+        }
+        activeJobs.decrementAndGet();
+        purgeExpired();
+        job.signalFinished();
+    }
+    
+    private void finished(BatchJob job, Exception cause) {
+        job.fail(cause);
+        failed.increment();
+        activeJobs.decrementAndGet();
+        purgeExpired();
+        job.signalFinished();
+    }
+    
+    private final class ChunkTask extends RecursiveAction {
+        
+        private final BatchJob job;
+        private final long first;
+        private final byte[][] lines;
+        private final int from;
+        private final int to;
+        private final LongAdder failures;
+        
+        ChunkTask(BatchJob job, long first, byte[][] lines, int from, int to, LongAdder failures) {
+            this.job = job;
+            this.first = first;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+            this.failures = failures;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(job, first, lines, from, middle, failures),
+                          new ChunkTask(job, first, lines, middle, to, failures));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                if (job.cancelRequested()) {
+                    return;
+                }
+                JobItemResult result = evaluate(job.request(), first + i);
+                if (result.failed()) {
+                    failures.increment();
+                }
+                lines[i] = toLine(result);
+            }
+        }
+    }
+    
+    // Items keep their position in the request: listed mortgages, then listed savings, then the grid
+    JobItemResult evaluate(JobRequest request, long index) {
+        List<MortgageRequest> mortgages = request.mortgages();
+        List<SavingsRequest> savings = request.savings();
+        if (index < mortgages.size()) {
+            return mortgage(index, mortgages.get((int) index));
+        }
+        long savingsIndex = index - mortgages.size();
+        if (savingsIndex < savings.size()) {
+            return savings(index, savings.get((int) savingsIndex));
+        }
+        return mortgage(index, request.mortgageGrid().item(savingsIndex - savings.size()));
+    }
+    
+    private JobItemResult mortgage(long index, MortgageRequest request) {
+        ValidationErrors errors = MortgageRequestValidator.validate(request);
+        if (errors != null) {
+            return JobItemResult.rejected(index, "mortgage", errors);
+        }
+        String error = mortgageUseCase.validationError(request.principal(), request.annualRatePercent(),
+            request.years(), request.offsetAmount(), request.offsetRatePercent(), request.startMonth());
+        if (error != null) {
+            return JobItemResult.rejected(index, "mortgage", error);
+        }
+        MortgageResult result = mortgageUseCase.execute(request.principal(), request.annualRatePercent(),
+            request.years(), request.offsetAmount(), request.offsetMode(), request.offsetRatePercent(),
+            request.startMonth());
+        return JobItemResult.of(index, "mortgage", new MortgageResponse(
+            result.monthlyPayment(),
+            result.totalPaid(),
+            result.totalInterest(),
+            result.effectivePrincipal(),
+            result.effectiveYears(),
+            result.totalOffsetInterestEarned()
+        ));
+    }
+    
+    private JobItemResult savings(long index, SavingsRequest request) {
+        ValidationErrors errors = SavingsRequestValidator.validate(request);
+        if (errors != null) {
+            return JobItemResult.rejected(index, "savings", errors);
+        }
+        String error = savingsUseCase.validationError(request.initialAmount(), request.monthlyContribution(),
+            request.annualInterestRatePercent(), request.taxRatePercent(), request.years());
+        if (error != null) {
+            return JobItemResult.rejected(index, "savings", error);
+        }
+        SavingsResult result = savingsUseCase.execute(request.initialAmount(), request.monthlyContribution(),
+            request.annualInterestRatePercent(), request.taxRatePercent(), request.periodicity(), request.years());
+        return JobItemResult.of(index, "savings", new SavingsResponse(
+            result.initialAmount(),
+            result.monthlyContribution(),
+            result.totalContributions(),
+            result.totalInterestEarned(),
+            result.totalTaxPaid(),
+            result.totalSaved(),
+            result.effectiveYears()
+        ));
+    }
+    
+    private byte[] toLine(JobItemResult result) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private boolean expired(BatchJob job) {
+        return System.nanoTime() - job.finishedNanos() > limits.retention().toNanos();
+    }
+    
+    void purgeExpired() {
+        jobs.values().removeIf(job -> {
+            if (job.state().finished() && expired(job)) {
+                job.deleteResult();
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    @Override
+    public void close() {
+        purger.shutdownNow();
+        jobs.values().forEach(BatchJob::requestCancel);
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        jobs.values().forEach(BatchJob::deleteResult);
+        jobs.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.mortgage.application;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface CacheCodec<V> {
+    
+    // Bump the version in the namespace whenever the encoding or the calculation behind it changes
+    String namespace();
+    
+    void write(V value, DataOutput out) throws IOException;
+    
+    V read(DataInput in) throws IOException;
+    
+    default boolean cacheable(V value) {
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mortgage.application;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Content hash of a calculation's canonical parameters; equal inputs give the same key on every replica
+public record CacheKey(String namespace, String hash) {
+    
+    private static final int HASH_BYTES = 16;
+    
+    public static CacheKey of(String namespace, Parameters parameters) {
+        Builder builder = new Builder(namespace);
+        parameters.write(builder);
+        return new CacheKey(namespace, builder.hash());
+    }
+    
+    // Namespace and hash in one string, safe to use as a file name or remote key
+    public String id() {
+        return namespace + "-" + hash;
+    }
+    
+    @FunctionalInterface
+    public interface Parameters {
+        void write(Builder key);
+    }
+    
+    // Every value is written with a type tag and a fixed-width or length-prefixed encoding,
+    // so different parameter lists can never produce the same byte stream
+    public static final class Builder {
+        
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[9];
+        
+        private Builder(String namespace) {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            add(namespace);
+        }
+        
+        public Builder add(double value) {
+            // -0.0 and 0.0 compute the same result, so they share a key
+            return addBits('d', Double.doubleToLongBits(value == 0 ? 0.0 : value));
+        }
+        
+        public Builder add(long value) {
+            return addBits('l', value);
+        }
+        
+        public Builder add(boolean value) {
+            return addBits('b', value ? 1 : 0);
+        }
+        
+        public Builder add(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            addBits('s', bytes.length);
+            digest.update(bytes);
+            return this;
+        }
+        
+        private Builder addBits(char tag, long bits) {
+            buffer[0] = (byte) tag;
+            for (int i = 0; i < 8; i++) {
+                buffer[8 - i] = (byte) (bits >>> (8 * i));
+            }
+            digest.update(buffer);
+            return this;
+        }
+        
+        private String hash() {
+            byte[] full = digest.digest();
+            return HexFormat.of().formatHex(full, 0, HASH_BYTES);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.mortgage.application;
+
+import java.util.function.Supplier;
+
+public interface CalculationCache {
+    
+    CalculationCache DISABLED = new CalculationCache() {
+        @Override
+        public <V> V get(CacheKey.Parameters key, CacheCodec<V> codec, Supplier<V> compute) {
+            return compute.get();
+        }
+    };
+    
+    // Returns the cached value for the key, or computes it and offers it to the cache.
+    // Cached values are shared between requests and must not be modified.
+    <V> V get(CacheKey.Parameters key, CacheCodec<V> codec, Supplier<V> compute);
+}
@@ -0,0 +1,113 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.AllocationPlan;
+import com.example.mortgage.infrastructure.ChartCompareResponse;
+import com.example.mortgage.infrastructure.ChartCompareResponse.ComparisonSummary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class CalculationCodecs {
+    
+    public static final CacheCodec<ChartCompareResponse> CHART_COMPARE = new CacheCodec<>() {
+        @Override
+        public String namespace() {
+            return "chart.compare.v1";
+        }
+        
+        @Override
+        public void write(ChartCompareResponse value, DataOutput out) throws IOException {
+            writeInts(value.years(), out);
+            writeDoubles(value.offsetBenefit(), out);
+            writeDoubles(value.savingsBenefit(), out);
+            writeDoubles(value.difference(), out);
+            ComparisonSummary summary = value.summary();
+            out.writeInt(summary.crossoverYear());
+            out.writeDouble(summary.maxOffsetAdvantage());
+            out.writeDouble(summary.maxSavingsAdvantage());
+            out.writeDouble(summary.benefitAtYear1());
+            out.writeDouble(summary.benefitAtYear3());
+            out.writeDouble(summary.benefitAtYear5());
+            out.writeDouble(summary.benefitAtYear10());
+        }
+        
+        @Override
+        public ChartCompareResponse read(DataInput in) throws IOException {
+            return new ChartCompareResponse(
+                readInts(in),
+                readDoubles(in),
+                readDoubles(in),
+                readDoubles(in),
+                new ComparisonSummary(in.readInt(), in.readDouble(), in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readDouble(), in.readDouble())
+            );
+        }
+    };
+    
+    public static final CacheCodec<AllocationPlan> ALLOCATION_PLAN = new CacheCodec<>() {
+        @Override
+        public String namespace() {
+            return "chart.optimize.v1";
+        }
+        
+        @Override
+        public void write(AllocationPlan value, DataOutput out) throws IOException {
+            out.writeDouble(value.offsetFraction());
+            out.writeInt(value.switchMonth());
+            out.writeInt(value.horizonMonths());
+            out.writeDouble(value.netBenefit());
+            out.writeDouble(value.allOffsetBenefit());
+            out.writeDouble(value.allSavingsBenefit());
+            writeInts(value.switchMonths(), out);
+            writeDoubles(value.switchValues(), out);
+            writeDoubles(value.fractions(), out);
+            writeDoubles(value.fractionValues(), out);
+        }
+        
+        @Override
+        public AllocationPlan read(DataInput in) throws IOException {
+            return new AllocationPlan(in.readDouble(), in.readInt(), in.readInt(), in.readDouble(),
+                in.readDouble(), in.readDouble(), readInts(in), readDoubles(in), readDoubles(in), readDoubles(in), false);
+        }
+        
+        // A plan cut short by its deadline is only as good as that request's budget
+        @Override
+        public boolean cacheable(AllocationPlan value) {
+            return !value.partial();
+        }
+    };
+    
+    private CalculationCodecs() {
+    }
+    
+    static void writeInts(int[] values, DataOutput out) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+    
+    static int[] readInts(DataInput in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+    
+    static void writeDoubles(double[] values, DataOutput out) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+    
+    static double[] readDoubles(DataInput in) throws IOException {
+        double[] values = new double[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+}
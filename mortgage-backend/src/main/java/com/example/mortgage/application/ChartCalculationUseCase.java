@@ -1,21 +1,33 @@
 package com.example.mortgage.application;
 
+import com.example.mortgage.domain.DayCount;
 import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.MortgageResult;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAccountPlan;
+import com.example.mortgage.domain.OffsetAccountResult;
+import com.example.mortgage.domain.OffsetMode;
 import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.domain.SavingsResult;
 import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
 import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
 import com.example.mortgage.domain.SavingsCalculatorService.YearlySavingsBalance;
 import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
 import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
 import com.example.mortgage.infrastructure.ChartResponse;
+import com.example.mortgage.infrastructure.ChartSummary;
+import com.example.mortgage.infrastructure.ChartSummary.MortgageSummary;
+import com.example.mortgage.infrastructure.ChartSummary.SavingsSummary;
+import com.example.mortgage.infrastructure.MonthlyDetail;
+import com.example.mortgage.infrastructure.MonthlyDetail.MonthlySchedule;
 import com.example.mortgage.infrastructure.ChartResponse.ChartData;
 import com.example.mortgage.infrastructure.ChartResponse.MortgageData;
 import com.example.mortgage.infrastructure.ChartResponse.SavingsData;
 import com.example.mortgage.infrastructure.ChartResponse.YearlyData;
 import com.example.mortgage.infrastructure.ChartResponse.YearlySavingsData;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,24 +35,42 @@ public class ChartCalculationUseCase {
     
     private final MortgageCalculatorService mortgageService;
     private final SavingsCalculatorService savingsService;
+    private final OffsetAccountEngine offsetAccountEngine;
     
     public ChartCalculationUseCase(MortgageCalculatorService mortgageService,
-                                    SavingsCalculatorService savingsService) {
+                                    SavingsCalculatorService savingsService,
+                                    OffsetAccountEngine offsetAccountEngine) {
         this.mortgageService = mortgageService;
         this.savingsService = savingsService;
+        this.offsetAccountEngine = offsetAccountEngine;
     }
     
-    public ChartResponse execute(ChartMortgageRequest mortgageReq, ChartSavingsRequest savingsReq) {
-        int years = Math.max(mortgageReq.years(), savingsReq.years());
-        
-        var mortgageResult = mortgageService.calculate(
+    public String validationError(ChartMortgageRequest mortgageReq, ChartSavingsRequest savingsReq) {
+        String error = mortgageService.validationError(
             mortgageReq.principal(),
             mortgageReq.annualRatePercent(),
             mortgageReq.years(),
             mortgageReq.offsetAmount(),
-            mortgageReq.offsetMode(),
             mortgageReq.offsetRatePercent()
         );
+        if (error == null) {
+            error = OffsetAccountEngine.startMonthError(mortgageReq.startMonth(), mortgageReq.years());
+        }
+        if (error != null) {
+            return error;
+        }
+        return savingsService.validationError(
+            savingsReq.initialAmount(),
+            savingsReq.monthlyContribution(),
+            savingsReq.annualInterestRatePercent(),
+            savingsReq.taxRatePercent(),
+            savingsReq.years()
+        );
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.calculate"})
+    public ChartResponse execute(ChartMortgageRequest mortgageReq, ChartSavingsRequest savingsReq) {
+        OffsetAccountResult offsetAccount = offsetAccount(mortgageReq, false);
         
         var savingsResult = savingsService.calculate(
             savingsReq.initialAmount(),
@@ -51,33 +81,135 @@ public class ChartCalculationUseCase {
             savingsReq.years()
         );
         
-        List<YearlyAmortization> yearlyAmortization = mortgageService.calculateYearlyAmortization(
+        List<YearlyAmortization> yearlyAmortizationStandard = mortgageService.calculateYearlyAmortization(
             mortgageReq.principal(),
             mortgageReq.annualRatePercent(),
             mortgageReq.years(),
-            mortgageReq.offsetAmount(),
-            mortgageReq.offsetMode(),
-            mortgageReq.offsetRatePercent()
+            0.0,
+            OffsetMode.REDUCE_AMOUNT,
+            0.0
         );
         
-        List<YearlyAmortization> yearlyAmortizationStandard = mortgageService.calculateYearlyAmortization(
+        List<YearlySavingsBalance> yearlySavings = savingsService.calculateYearlyBalances(
+            savingsReq.initialAmount(),
+            savingsReq.monthlyContribution(),
+            savingsReq.annualInterestRatePercent(),
+            savingsReq.taxRatePercent(),
+            savingsReq.periodicity(),
+            savingsReq.years()
+        );
+        
+        List<YearlyAmortization> yearlyAmortization = offsetAccount != null
+            ? offsetAccount.yearlyAmortization()
+            : yearlyAmortizationStandard;
+        
+        ChartData chartData = chartData(mortgageReq, savingsReq, yearlyAmortization, yearlyAmortizationStandard, yearlySavings);
+        
+        List<YearlyData> mortgageYearlyData = yearlyAmortizationStandard.stream()
+            .map(ya -> new YearlyData(ya.year(), ya.principalPaid(), ya.interestPaid()))
+            .toList();
+        
+        List<YearlySavingsData> savingsYearlyData = yearlySavings.stream()
+            .map(ysb -> new YearlySavingsData(ysb.year(), ysb.balance()))
+            .toList();
+        
+        MortgageData mortgageData = offsetAccount != null
+            ? new MortgageData(offsetAccount.monthlyPayment(), offsetAccount.totalPaid(), mortgageYearlyData)
+            : standardMortgageData(mortgageReq, mortgageYearlyData);
+        
+        SavingsData savingsData = new SavingsData(
+            savingsResult.totalSaved(),
+            savingsYearlyData
+        );
+        
+        return new ChartResponse(mortgageData, savingsData, chartData);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.summary"})
+    public ChartSummary summary(ChartMortgageRequest mortgageReq, ChartSavingsRequest savingsReq) {
+        OffsetAccountResult offsetAccount = offsetAccount(mortgageReq, false);
+        
+        SavingsResult savingsResult = savingsService.calculate(
+            savingsReq.initialAmount(),
+            savingsReq.monthlyContribution(),
+            savingsReq.annualInterestRatePercent(),
+            savingsReq.taxRatePercent(),
+            savingsReq.periodicity(),
+            savingsReq.years()
+        );
+        
+        MortgageSummary mortgageSummary;
+        if (offsetAccount != null) {
+            mortgageSummary = new MortgageSummary(
+                offsetAccount.monthlyPayment(),
+                offsetAccount.totalPaid(),
+                offsetAccount.totalInterest(),
+                offsetAccount.effectiveYears(),
+                offsetAccount.interestSaved()
+            );
+        } else {
+            MortgageResult mortgageResult = mortgageService.calculate(
+                mortgageReq.principal(),
+                mortgageReq.annualRatePercent(),
+                mortgageReq.years()
+            );
+            mortgageSummary = new MortgageSummary(
+                mortgageResult.monthlyPayment(),
+                mortgageResult.totalPaid(),
+                mortgageResult.totalInterest(),
+                mortgageResult.effectiveYears(),
+                mortgageResult.totalOffsetInterestEarned()
+            );
+        }
+        
+        return new ChartSummary(
+            mortgageSummary,
+            new SavingsSummary(
+                savingsResult.totalSaved(),
+                savingsResult.totalContributions(),
+                savingsResult.totalInterestEarned(),
+                savingsResult.totalTaxPaid()
+            )
+        );
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.monthly"})
+    public MonthlyDetail monthlyDetail(ChartMortgageRequest mortgageReq) {
+        List<MonthlyAmortization> standard = mortgageService.calculateMonthlyAmortization(
             mortgageReq.principal(),
             mortgageReq.annualRatePercent(),
             mortgageReq.years(),
             0.0,
-            "reduceAmount",
+            OffsetMode.REDUCE_AMOUNT,
             0.0
         );
         
-        List<MonthlyAmortization> monthlyAmortization = mortgageService.calculateMonthlyAmortization(
+        OffsetAccountResult offsetAccount = offsetAccount(mortgageReq, true);
+        MonthlySchedule standardSchedule = MonthlySchedule.of(standard);
+        
+        return new MonthlyDetail(
+            standardSchedule,
+            offsetAccount != null ? MonthlySchedule.of(offsetAccount.monthly()) : standardSchedule
+        );
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.preview"})
+    public ChartData preview(ChartMortgageRequest mortgageReq, ChartSavingsRequest savingsReq) {
+        OffsetAccountResult offsetAccount = offsetAccount(mortgageReq, false);
+        
+        List<YearlyAmortization> yearlyAmortizationStandard = mortgageService.calculateYearlyAmortization(
             mortgageReq.principal(),
             mortgageReq.annualRatePercent(),
             mortgageReq.years(),
             0.0,
-            "reduceAmount",
+            OffsetMode.REDUCE_AMOUNT,
             0.0
         );
         
+        List<YearlyAmortization> yearlyAmortization = offsetAccount != null
+            ? offsetAccount.yearlyAmortization()
+            : yearlyAmortizationStandard;
+        
         List<YearlySavingsBalance> yearlySavings = savingsService.calculateYearlyBalances(
             savingsReq.initialAmount(),
             savingsReq.monthlyContribution(),
@@ -87,94 +219,99 @@ public class ChartCalculationUseCase {
             savingsReq.years()
         );
         
-        List<Integer> yearList = new ArrayList<>();
-        List<Double> standardBalanceList = new ArrayList<>();
-        List<Double> offsetBalanceList = new ArrayList<>();
-        List<Double> savingsBalanceList = new ArrayList<>();
-        List<Double> yearlyPrincipalList = new ArrayList<>();
-        List<Double> yearlyInterestList = new ArrayList<>();
+        return chartData(mortgageReq, savingsReq, yearlyAmortization, yearlyAmortizationStandard, yearlySavings);
+    }
+    
+    // The offset series accrues daily on the net balance at the offset mortgage rate; without an offset it is the standard loan
+    private OffsetAccountResult offsetAccount(ChartMortgageRequest mortgageReq, boolean monthly) {
+        if (mortgageReq.offsetAmount() <= 0) {
+            return null;
+        }
+        return offsetAccountEngine.simulate(
+            mortgageReq.principal(),
+            mortgageReq.annualRatePercent(),
+            mortgageReq.offsetRatePercent(),
+            mortgageReq.years(),
+            OffsetMode.from(mortgageReq.offsetMode()),
+            OffsetAccountEngine.startMonth(mortgageReq.startMonth()),
+            DayCount.ACT_365,
+            OffsetAccountPlan.fixed(mortgageReq.offsetAmount()),
+            monthly
+        );
+    }
+    
+    private MortgageData standardMortgageData(ChartMortgageRequest mortgageReq, List<YearlyData> yearlyData) {
+        MortgageResult mortgageResult = mortgageService.calculate(
+            mortgageReq.principal(),
+            mortgageReq.annualRatePercent(),
+            mortgageReq.years()
+        );
+        return new MortgageData(mortgageResult.monthlyPayment(), mortgageResult.totalPaid(), yearlyData);
+    }
+    
+    private ChartData chartData(ChartMortgageRequest mortgageReq, ChartSavingsRequest savingsReq,
+                                List<YearlyAmortization> yearlyAmortization,
+                                List<YearlyAmortization> yearlyAmortizationStandard,
+                                List<YearlySavingsBalance> yearlySavings) {
+        int years = Math.max(mortgageReq.years(), savingsReq.years());
+        
+        int[] yearArray = new int[years + 1];
+        double[] standardBalanceArray = new double[years + 1];
+        double[] offsetBalanceArray = new double[years + 1];
+        double[] savingsBalanceArray = new double[years + 1];
+        double[] yearlyPrincipalArray = new double[years + 1];
+        double[] yearlyInterestArray = new double[years + 1];
         
         double runningStandardBalance = mortgageReq.principal();
         double runningOffsetBalance = mortgageReq.principal() - mortgageReq.offsetAmount();
         
-        yearList.add(0);
-        standardBalanceList.add(runningStandardBalance);
-        offsetBalanceList.add(runningOffsetBalance);
-        savingsBalanceList.add(savingsReq.initialAmount());
-        yearlyPrincipalList.add(0.0);
-        yearlyInterestList.add(0.0);
+        standardBalanceArray[0] = runningStandardBalance;
+        offsetBalanceArray[0] = runningOffsetBalance;
+        savingsBalanceArray[0] = savingsReq.initialAmount();
         
         int mortgageYears = yearlyAmortization.size();
         int standardMortgageYears = yearlyAmortizationStandard.size();
         int savingsYears = yearlySavings.size();
         
         for (int year = 1; year <= years; year++) {
-            yearList.add(year);
+            yearArray[year] = year;
             
             if (year <= mortgageYears) {
                 YearlyAmortization ya = yearlyAmortization.get(year - 1);
-                yearlyPrincipalList.add(ya.principalPaid());
-                yearlyInterestList.add(ya.interestPaid());
-            } else {
-                yearlyPrincipalList.add(0.0);
-                yearlyInterestList.add(0.0);
+                yearlyPrincipalArray[year] = ya.principalPaid();
+                yearlyInterestArray[year] = ya.interestPaid();
             }
             
             // Standard balance: always use full mortgage term
             if (year <= standardMortgageYears) {
                 runningStandardBalance -= yearlyAmortizationStandard.get(year - 1).principalPaid();
                 if (runningStandardBalance < 0) runningStandardBalance = 0;
-                standardBalanceList.add(runningStandardBalance);
-            } else {
-                standardBalanceList.add(0.0);
+                standardBalanceArray[year] = runningStandardBalance;
             }
             
             // Offset balance: use actual mortgage years (may be reduced with reduceTerm)
             if (year <= mortgageYears) {
                 runningOffsetBalance -= yearlyAmortization.get(year - 1).principalPaid();
                 if (runningOffsetBalance < 0) runningOffsetBalance = 0;
-                offsetBalanceList.add(runningOffsetBalance);
-            } else {
-                offsetBalanceList.add(0.0);
+                offsetBalanceArray[year] = runningOffsetBalance;
             }
             
             if (year <= savingsYears) {
-                savingsBalanceList.add(yearlySavings.get(year - 1).balance());
+                savingsBalanceArray[year] = yearlySavings.get(year - 1).balance();
             } else if (savingsYears > 0) {
-                savingsBalanceList.add(yearlySavings.get(savingsYears - 1).balance());
+                savingsBalanceArray[year] = yearlySavings.get(savingsYears - 1).balance();
             } else {
-                savingsBalanceList.add(savingsReq.initialAmount() + savingsReq.monthlyContribution() * 12 * year);
+                savingsBalanceArray[year] = savingsReq.initialAmount() + savingsReq.monthlyContribution() * 12 * year;
             }
         }
         
-        List<YearlyData> mortgageYearlyData = yearlyAmortizationStandard.stream()
-            .map(ya -> new YearlyData(ya.year(), ya.principalPaid(), ya.interestPaid()))
-            .toList();
-        
-        List<YearlySavingsData> savingsYearlyData = yearlySavings.stream()
-            .map(ysb -> new YearlySavingsData(ysb.year(), ysb.balance()))
-            .toList();
-        
-        MortgageData mortgageData = new MortgageData(
-            mortgageResult.monthlyPayment(),
-            mortgageResult.totalPaid(),
-            mortgageYearlyData
+        return new ChartData(
+            yearArray,
+            standardBalanceArray,
+            offsetBalanceArray,
+            savingsBalanceArray,
+            yearlyPrincipalArray,
+            yearlyInterestArray
         );
-        
-        SavingsData savingsData = new SavingsData(
-            savingsResult.totalSaved(),
-            savingsYearlyData
-        );
-        
-        ChartData chartData = new ChartData(
-            yearList,
-            standardBalanceList,
-            offsetBalanceList,
-            savingsBalanceList,
-            yearlyPrincipalList,
-            yearlyInterestList
-        );
-        
-        return new ChartResponse(mortgageData, savingsData, chartData);
     }
 }
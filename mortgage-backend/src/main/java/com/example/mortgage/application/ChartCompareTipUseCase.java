@@ -0,0 +1,69 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import com.example.mortgage.infrastructure.ChartCompareResponse;
+import com.example.mortgage.infrastructure.ChartCompareResponse.ComparisonSummary;
+import com.example.mortgage.infrastructure.ChartCompareTipResponse;
+import com.example.mortgage.infrastructure.TipRequest;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+@Service
+public class ChartCompareTipUseCase {
+    
+    private final ChartCompareUseCase compareUseCase;
+    private final SpeculativeTipService tipService;
+    
+    public ChartCompareTipUseCase(ChartCompareUseCase compareUseCase,
+                                  SpeculativeTipService tipService) {
+        this.compareUseCase = compareUseCase;
+        this.tipService = tipService;
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.compare-with-tip"})
+    public ChartCompareTipResponse execute(ChartCompareRequest request, String client) {
+        ChartCompareResponse comparison = compareUseCase.execute(request);
+        String tipId = tipService.submit(toTipRequest(request, comparison), client);
+        return new ChartCompareTipResponse(comparison, tipId);
+    }
+    
+    public static TipRequest toTipRequest(ChartCompareRequest request, ChartCompareResponse comparison) {
+        ChartCompareRequest.MortgageParams mortgage = request.mortgage();
+        ChartCompareRequest.SavingsParams savings = request.savings();
+        ComparisonSummary summary = comparison.summary();
+        
+        return new TipRequest(
+            new TipRequest.MortgageDetails(
+                mortgage.principal(),
+                mortgage.annualRatePercent(),
+                mortgage.years(),
+                request.offsetAmount(),
+                mortgage.offsetMode(),
+                mortgage.offsetRatePercent()
+            ),
+            new TipRequest.SavingsDetails(
+                savings.initialAmount(),
+                savings.monthlyContribution(),
+                savings.annualInterestRatePercent(),
+                savings.taxRatePercent(),
+                savings.periodicity(),
+                savings.years()
+            ),
+            new TipRequest.ComparisonResult(
+                Arrays.stream(comparison.years()).boxed().toList(),
+                Arrays.stream(comparison.offsetBenefit()).boxed().toList(),
+                Arrays.stream(comparison.savingsBenefit()).boxed().toList(),
+                Arrays.stream(comparison.difference()).boxed().toList(),
+                summary.crossoverYear(),
+                summary.maxOffsetAdvantage(),
+                summary.maxSavingsAdvantage(),
+                summary.benefitAtYear1(),
+                summary.benefitAtYear3(),
+                summary.benefitAtYear5(),
+                summary.benefitAtYear10()
+            )
+        );
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.mortgage.application;
 
+import com.example.mortgage.domain.AmortizationSchedule;
+import com.example.mortgage.domain.DayCount;
 import com.example.mortgage.domain.MortgageCalculatorService;
-import com.example.mortgage.domain.MortgageCalculatorService.YearlyOffsetBenefit;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAccountPlan;
+import com.example.mortgage.domain.OffsetAccountResult;
+import com.example.mortgage.domain.OffsetMode;
 import com.example.mortgage.domain.SavingsCalculatorService;
 import com.example.mortgage.domain.SavingsCalculatorService.YearlySavingsBalance;
 import com.example.mortgage.infrastructure.ChartCompareRequest;
 import com.example.mortgage.infrastructure.ChartCompareResponse;
+import com.example.mortgage.infrastructure.ChartCompareResponse.ComparisonSummary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.time.YearMonth;
 import java.util.List;
 
 @Service
@@ -16,26 +23,74 @@ public class ChartCompareUseCase {
     
     private final MortgageCalculatorService mortgageService;
     private final SavingsCalculatorService savingsService;
+    private final OffsetAccountEngine offsetAccountEngine;
+    private final CalculationCache cache;
     
     public ChartCompareUseCase(MortgageCalculatorService mortgageService,
-                              SavingsCalculatorService savingsService) {
+                              SavingsCalculatorService savingsService,
+                              OffsetAccountEngine offsetAccountEngine,
+                              CalculationCache cache) {
         this.mortgageService = mortgageService;
         this.savingsService = savingsService;
+        this.offsetAccountEngine = offsetAccountEngine;
+        this.cache = cache;
     }
     
-    public ChartCompareResponse execute(ChartCompareRequest request) {
+    public String validationError(ChartCompareRequest request) {
         ChartCompareRequest.MortgageParams mortgage = request.mortgage();
         ChartCompareRequest.SavingsParams savings = request.savings();
-        double offsetAmount = request.offsetAmount();
-        
-        List<YearlyOffsetBenefit> offsetBenefitData = mortgageService.calculateOffsetBenefit(
+        String error = mortgageService.validationError(
             mortgage.principal(),
             mortgage.annualRatePercent(),
             mortgage.years(),
-            offsetAmount,
-            mortgage.offsetMode(),
+            request.offsetAmount(),
             mortgage.offsetRatePercent()
         );
+        if (error == null) {
+            error = OffsetAccountEngine.startMonthError(mortgage.startMonth(), mortgage.years());
+        }
+        if (error != null) {
+            return error;
+        }
+        return savingsService.validationError(
+            savings.initialAmount(),
+            savings.monthlyContribution(),
+            savings.annualInterestRatePercent(),
+            savings.taxRatePercent(),
+            savings.years()
+        );
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.compare"})
+    public ChartCompareResponse execute(ChartCompareRequest request) {
+        // Daily accrual follows the calendar, so the start month is part of the key
+        YearMonth start = OffsetAccountEngine.startMonth(request.mortgage().startMonth());
+        return cache.get(key -> writeKey(request, key.add(start.toString())), CalculationCodecs.CHART_COMPARE,
+            () -> compare(request, start));
+    }
+    
+    static void writeKey(ChartCompareRequest request, CacheKey.Builder key) {
+        ChartCompareRequest.MortgageParams mortgage = request.mortgage();
+        ChartCompareRequest.SavingsParams savings = request.savings();
+        key.add(mortgage.principal())
+            .add(mortgage.annualRatePercent())
+            .add(mortgage.years())
+            .add(OffsetMode.from(mortgage.offsetMode()).name())
+            .add(mortgage.offsetRatePercent())
+            .add(savings.initialAmount())
+            .add(savings.monthlyContribution())
+            .add(savings.annualInterestRatePercent())
+            .add(savings.taxRatePercent())
+            .add("monthly".equalsIgnoreCase(savings.periodicity()))
+            .add(savings.years())
+            .add(request.offsetAmount());
+    }
+    
+    private ChartCompareResponse compare(ChartCompareRequest request, YearMonth start) {
+        ChartCompareRequest.MortgageParams mortgage = request.mortgage();
+        ChartCompareRequest.SavingsParams savings = request.savings();
+        
+        double[] offsetBenefitData = offsetBenefit(mortgage, request.offsetAmount(), start);
         
         List<YearlySavingsBalance> savingsBalanceData = savingsService.calculateYearlyBalances(
             savings.initialAmount(),
@@ -48,22 +103,24 @@ public class ChartCompareUseCase {
         
         int years = Math.max(mortgage.years(), savings.years());
         
-        List<Integer> yearList = new ArrayList<>();
-        List<Double> offsetBenefitList = new ArrayList<>();
-        List<Double> savingsBenefitList = new ArrayList<>();
+        int[] yearArray = new int[years + 1];
+        double[] offsetBenefitArray = new double[years + 1];
+        double[] savingsBenefitArray = new double[years + 1];
+        double[] differenceArray = new double[years + 1];
         
-        yearList.add(0);
-        offsetBenefitList.add(0.0);
-        savingsBenefitList.add(0.0);
+        int crossoverYear = -1;
+        double maxOffsetAdvantage = 0;
+        double maxSavingsAdvantage = 0;
+        double[] benefitAtYear = new double[11];
         
         for (int year = 1; year <= years; year++) {
-            yearList.add(year);
+            yearArray[year] = year;
             
             double offsetBenefit = 0;
-            if (year <= offsetBenefitData.size()) {
-                offsetBenefit = offsetBenefitData.get(year - 1).cumulativeSavings();
+            if (year <= offsetBenefitData.length) {
+                offsetBenefit = offsetBenefitData[year - 1];
             }
-            offsetBenefitList.add(offsetBenefit);
+            offsetBenefitArray[year] = offsetBenefit;
             
             double savingsBenefit = 0;
             double totalContributions = savings.monthlyContribution() * 12 * year;
@@ -74,9 +131,65 @@ public class ChartCompareUseCase {
                 double lastBalance = savingsBalanceData.get(savingsBalanceData.size() - 1).balance();
                 savingsBenefit = lastBalance - savings.initialAmount() - totalContributions;
             }
-            savingsBenefitList.add(savingsBenefit);
+            savingsBenefitArray[year] = savingsBenefit;
+            
+            double difference = offsetBenefit - savingsBenefit;
+            differenceArray[year] = difference;
+            
+            if (crossoverYear == -1 && difference < 0) {
+                crossoverYear = year;
+            }
+            if (difference > maxOffsetAdvantage) {
+                maxOffsetAdvantage = difference;
+            }
+            if (difference < maxSavingsAdvantage) {
+                maxSavingsAdvantage = difference;
+            }
+            if (year < benefitAtYear.length) {
+                benefitAtYear[year] = difference;
+            }
         }
         
-        return ChartCompareResponse.create(yearList, offsetBenefitList, savingsBenefitList);
+        ComparisonSummary summary = new ComparisonSummary(
+            crossoverYear,
+            maxOffsetAdvantage,
+            maxSavingsAdvantage,
+            benefitAtYear[1],
+            benefitAtYear[3],
+            benefitAtYear[5],
+            benefitAtYear[10]
+        );
+        
+        return new ChartCompareResponse(yearArray, offsetBenefitArray, savingsBenefitArray, differenceArray, summary);
+    }
+    
+    // Cumulative interest saved per year, with the offset loan accruing daily like the chart and the mortgage card
+    private double[] offsetBenefit(ChartCompareRequest.MortgageParams mortgage, double offsetAmount, YearMonth start) {
+        if (offsetAmount <= 0) {
+            return new double[0];
+        }
+        double monthlyRate = mortgage.annualRatePercent() / 100.0 / 12.0;
+        int months = mortgage.years() * 12;
+        AmortizationSchedule standard = AmortizationSchedule.of(mortgage.principal(), monthlyRate,
+            AmortizationSchedule.payment(mortgage.principal(), monthlyRate, months), months);
+        OffsetAccountResult offsetAccount = offsetAccountEngine.simulate(
+            mortgage.principal(),
+            mortgage.annualRatePercent(),
+            mortgage.offsetRatePercent(),
+            mortgage.years(),
+            OffsetMode.from(mortgage.offsetMode()),
+            start,
+            DayCount.ACT_365,
+            OffsetAccountPlan.fixed(offsetAmount),
+            false
+        );
+        
+        double[] cumulativeSavings = new double[mortgage.years()];
+        double offsetInterest = 0;
+        for (int year = 0; year < cumulativeSavings.length; year++) {
+            offsetInterest += offsetAccount.yearlyInterest()[year];
+            cumulativeSavings[year] = standard.cumulativeInterest((year + 1) * 12) - offsetInterest;
+        }
+        return cumulativeSavings;
     }
 }
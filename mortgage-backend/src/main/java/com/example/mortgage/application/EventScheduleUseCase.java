@@ -0,0 +1,30 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.CashFlowEvent;
+import com.example.mortgage.domain.CashFlowScheduleEngine;
+import com.example.mortgage.domain.EventScheduleResult;
+import com.example.mortgage.domain.OffsetMode;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class EventScheduleUseCase {
+    
+    private final CashFlowScheduleEngine engine;
+    
+    public EventScheduleUseCase(CashFlowScheduleEngine engine) {
+        this.engine = engine;
+    }
+    
+    public String validationError(double principal, double annualRatePercent, int years, List<CashFlowEvent> events) {
+        return engine.validationError(principal, annualRatePercent, years, events);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.events"})
+    public EventScheduleResult execute(double principal, double annualRatePercent, int years,
+                                       String mode, List<CashFlowEvent> events) {
+        return engine.calculate(principal, annualRatePercent, years, OffsetMode.from(mode), events);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.HouseholdEngine;
+import com.example.mortgage.domain.HouseholdLoan;
+import com.example.mortgage.domain.HouseholdResult;
+import com.example.mortgage.domain.OffsetAllocation;
+import com.example.mortgage.domain.OffsetMode;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class HouseholdUseCase {
+    
+    private final HouseholdEngine engine;
+    
+    public HouseholdUseCase(HouseholdEngine engine) {
+        this.engine = engine;
+    }
+    
+    public String validationError(List<HouseholdLoan> loans, double initialOffsetBalance, double monthlyCredit) {
+        return engine.validationError(loans, initialOffsetBalance, monthlyCredit);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.household"})
+    public HouseholdResult execute(List<HouseholdLoan> loans, double initialOffsetBalance, double monthlyCredit,
+                                   String offsetMode, String allocation, boolean monthly) {
+        return engine.simulate(loans, initialOffsetBalance, monthlyCredit, OffsetMode.from(offsetMode),
+            OffsetAllocation.from(allocation), monthly);
+    }
+}
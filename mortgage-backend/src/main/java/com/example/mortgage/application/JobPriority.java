@@ -0,0 +1,22 @@
+package com.example.mortgage.application;
+
+import java.util.Locale;
+
+public enum JobPriority {
+    HIGH,
+    NORMAL,
+    LOW;
+    
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    public static JobPriority from(String value) {
+        for (JobPriority priority : values()) {
+            if (priority.value().equals(value)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+}
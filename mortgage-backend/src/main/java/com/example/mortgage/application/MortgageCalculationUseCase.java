@@ -1,29 +1,110 @@
 package com.example.mortgage.application;
 
+import com.example.mortgage.domain.AmortizationSchedule;
+import com.example.mortgage.domain.DayCount;
 import com.example.mortgage.domain.MortgageCalculatorService;
 import com.example.mortgage.domain.MortgageResult;
+import com.example.mortgage.domain.MortgageSensitivity;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAccountPlan;
+import com.example.mortgage.domain.OffsetAccountResult;
+import com.example.mortgage.domain.OffsetMode;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
+import java.time.YearMonth;
+
 @Service
 public class MortgageCalculationUseCase {
     
     private final MortgageCalculatorService calculatorService;
+    private final OffsetAccountEngine offsetAccountEngine;
     
-    public MortgageCalculationUseCase(MortgageCalculatorService calculatorService) {
+    public MortgageCalculationUseCase(MortgageCalculatorService calculatorService,
+                                      OffsetAccountEngine offsetAccountEngine) {
         this.calculatorService = calculatorService;
+        this.offsetAccountEngine = offsetAccountEngine;
+    }
+    
+    public String validationError(double principal, double annualRatePercent, int years,
+                                  double offsetAmount, double offsetRatePercent) {
+        return calculatorService.validationError(principal, annualRatePercent, years, offsetAmount, offsetRatePercent);
+    }
+    
+    public String validationError(double principal, double annualRatePercent, int years,
+                                  double offsetAmount, double offsetRatePercent, String startMonth) {
+        String error = validationError(principal, annualRatePercent, years, offsetAmount, offsetRatePercent);
+        if (error != null) {
+            return error;
+        }
+        return OffsetAccountEngine.startMonthError(startMonth, years);
     }
     
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.calculate"})
     public MortgageResult execute(double principal, double annualRatePercent, int years) {
-        return execute(principal, annualRatePercent, years, 0.0, "reduceAmount", 0.0);
+        return calculate(principal, annualRatePercent, years, 0.0, OffsetMode.REDUCE_AMOUNT, 0.0,
+            OffsetAccountEngine.DEFAULT_START_MONTH);
     }
     
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.calculate"})
     public MortgageResult execute(double principal, double annualRatePercent, int years, 
                                   double offsetAmount, String offsetMode) {
-        return calculatorService.calculate(principal, annualRatePercent, years, offsetAmount, offsetMode, 0.0);
+        return calculate(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), 0.0,
+            OffsetAccountEngine.DEFAULT_START_MONTH);
     }
     
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.calculate"})
     public MortgageResult execute(double principal, double annualRatePercent, int years, 
                                   double offsetAmount, String offsetMode, double offsetRatePercent) {
-        return calculatorService.calculate(principal, annualRatePercent, years, offsetAmount, offsetMode, offsetRatePercent);
+        return calculate(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent,
+            OffsetAccountEngine.DEFAULT_START_MONTH);
+    }
+    
+    // An offset request is validated here, so it is rejected exactly as calculate rejects one without an offset
+    private MortgageResult calculate(double principal, double annualRatePercent, int years,
+                                     double offsetAmount, OffsetMode offsetMode, double offsetRatePercent,
+                                     YearMonth start) {
+        if (offsetAmount <= 0) {
+            return calculatorService.calculate(principal, annualRatePercent, years, offsetAmount, offsetMode, offsetRatePercent);
+        }
+        String error = calculatorService.validationError(principal, annualRatePercent, years, offsetAmount, offsetRatePercent);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        return offsetAccount(principal, annualRatePercent, years, offsetAmount, offsetMode, offsetRatePercent, start);
+    }
+    
+    // Same daily accrual on the net balance at the offset loan rate as the chart, so the card and the chart agree
+    private MortgageResult offsetAccount(double principal, double annualRatePercent, int years,
+                                         double offsetAmount, OffsetMode offsetMode, double offsetRatePercent,
+                                         YearMonth start) {
+        OffsetAccountResult result = offsetAccountEngine.simulate(principal, annualRatePercent, offsetRatePercent, years,
+            offsetMode, start, DayCount.ACT_365, OffsetAccountPlan.fixed(offsetAmount), false);
+        // Negative when a loan rate far enough above the standard rate costs more than the offset saves
+        return new MortgageResult(result.monthlyPayment(), result.totalPaid(), result.totalInterest(),
+            principal - offsetAmount, result.effectiveYears(), result.interestSaved());
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.calculate"})
+    public MortgageResult execute(double principal, double annualRatePercent, int years,
+                                  double offsetAmount, String offsetMode, double offsetRatePercent, String startMonth) {
+        YearMonth start = OffsetAccountEngine.startMonth(startMonth);
+        if (start == null) {
+            throw new IllegalArgumentException(OffsetAccountEngine.startMonthError(startMonth, years));
+        }
+        return calculate(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode),
+            offsetRatePercent, start);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.schedule"})
+    public AmortizationSchedule schedule(double principal, double annualRatePercent, int years,
+                                         double offsetAmount, String offsetMode, double offsetRatePercent) {
+        return calculatorService.schedule(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.sensitivity"})
+    public MortgageSensitivity sensitivity(double principal, double annualRatePercent, int years,
+                                           double offsetAmount, String offsetMode, double offsetRatePercent) {
+        return calculatorService.sensitivity(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
     }
 }
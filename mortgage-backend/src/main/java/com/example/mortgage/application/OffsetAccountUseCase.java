@@ -0,0 +1,35 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.DayCount;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAccountPlan;
+import com.example.mortgage.domain.OffsetAccountResult;
+import com.example.mortgage.domain.OffsetMode;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+public class OffsetAccountUseCase {
+    
+    private final OffsetAccountEngine engine;
+    
+    public OffsetAccountUseCase(OffsetAccountEngine engine) {
+        this.engine = engine;
+    }
+    
+    public String validationError(double principal, double annualRatePercent, double offsetRatePercent, int years,
+                                  YearMonth start, String dayCount, OffsetAccountPlan plan) {
+        return engine.validationError(principal, annualRatePercent, offsetRatePercent, years, start,
+            DayCount.from(dayCount), plan);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.offsetAccount"})
+    public OffsetAccountResult execute(double principal, double annualRatePercent, double offsetRatePercent, int years,
+                                       String offsetMode, YearMonth start, String dayCount,
+                                       OffsetAccountPlan plan, boolean monthly) {
+        return engine.simulate(principal, annualRatePercent, offsetRatePercent, years, OffsetMode.from(offsetMode),
+            start, DayCount.from(dayCount), plan, monthly);
+    }
+}
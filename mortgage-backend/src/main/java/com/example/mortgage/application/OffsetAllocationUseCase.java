@@ -0,0 +1,48 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.AllocationPlan;
+import com.example.mortgage.domain.OffsetAllocationOptimizer;
+import com.example.mortgage.domain.OffsetMode;
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OffsetAllocationUseCase {
+    
+    private final OffsetAllocationOptimizer optimizer;
+    private final CalculationCache cache;
+    
+    public OffsetAllocationUseCase(OffsetAllocationOptimizer optimizer, CalculationCache cache) {
+        this.optimizer = optimizer;
+        this.cache = cache;
+    }
+    
+    public String validationError(ChartCompareRequest request) {
+        return optimizer.validationError(request.mortgage().principal(), request.offsetAmount());
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "chart.optimize"})
+    public AllocationPlan execute(ChartCompareRequest request) {
+        // Same inputs as the comparison, so the same canonical key under its own namespace
+        return cache.get(key -> ChartCompareUseCase.writeKey(request, key), CalculationCodecs.ALLOCATION_PLAN,
+            () -> optimize(request));
+    }
+    
+    private AllocationPlan optimize(ChartCompareRequest request) {
+        ChartCompareRequest.MortgageParams mortgage = request.mortgage();
+        ChartCompareRequest.SavingsParams savings = request.savings();
+        
+        return optimizer.optimize(
+            mortgage.principal(),
+            mortgage.annualRatePercent(),
+            mortgage.years(),
+            OffsetMode.from(mortgage.offsetMode()),
+            savings.annualInterestRatePercent(),
+            savings.taxRatePercent(),
+            savings.periodicity(),
+            request.offsetAmount(),
+            Math.max(mortgage.years(), savings.years())
+        );
+    }
+}
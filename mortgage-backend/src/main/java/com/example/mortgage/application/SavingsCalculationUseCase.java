@@ -2,6 +2,8 @@ package com.example.mortgage.application;
 
 import com.example.mortgage.domain.SavingsCalculatorService;
 import com.example.mortgage.domain.SavingsResult;
+import com.example.mortgage.domain.SavingsSensitivity;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,6 +15,13 @@ public class SavingsCalculationUseCase {
         this.calculatorService = calculatorService;
     }
     
+    public String validationError(double initialAmount, double monthlyContribution, 
+                                  double annualInterestRatePercent, double taxRatePercent, int years) {
+        return calculatorService.validationError(initialAmount, monthlyContribution, 
+                                                 annualInterestRatePercent, taxRatePercent, years);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "savings.calculate"})
     public SavingsResult execute(double initialAmount, double monthlyContribution, 
                                 double annualInterestRatePercent, double taxRatePercent,
                                 String periodicity, int years) {
@@ -20,4 +29,22 @@ public class SavingsCalculationUseCase {
                                           annualInterestRatePercent, taxRatePercent,
                                           periodicity, years);
     }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "savings.balance"})
+    public double balanceAfterMonths(double initialAmount, double monthlyContribution,
+                                     double annualInterestRatePercent, double taxRatePercent,
+                                     String periodicity, int months) {
+        return calculatorService.balanceAfterMonths(initialAmount, monthlyContribution,
+                                                    annualInterestRatePercent, taxRatePercent,
+                                                    periodicity, months);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "savings.sensitivity"})
+    public SavingsSensitivity sensitivity(double initialAmount, double monthlyContribution,
+                                          double annualInterestRatePercent, double taxRatePercent,
+                                          String periodicity, int years) {
+        return calculatorService.sensitivity(initialAmount, monthlyContribution,
+                                             annualInterestRatePercent, taxRatePercent,
+                                             periodicity, years);
+    }
 }
@@ -0,0 +1,217 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.infrastructure.TipRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class SpeculativeTipService {
+    
+    static final long PENDING_TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+    static final long COLLECT_TIMEOUT_SECONDS = 60;
+    static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final TipAiService tipAiService;
+    private final Executor tipExecutor;
+    private final ConcurrentHashMap<String, PendingTip> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> latestByClient = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong(System.nanoTime() - PURGE_INTERVAL_NANOS);
+    
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    private final Timer timeoutTimer;
+    private final Counter callTimeouts;
+    private final Counter collectTimeouts;
+    private final Counter collectHits;
+    private final Counter collectMisses;
+    private final Counter superseded;
+    private final Counter rejections;
+    
+    public SpeculativeTipService(TipAiService tipAiService,
+                                 @Qualifier("tipExecutor") Executor tipExecutor,
+                                 MeterRegistry registry) {
+        this.tipAiService = tipAiService;
+        this.tipExecutor = tipExecutor;
+        this.successTimer = registry.timer("llm.tip.duration", "outcome", "success");
+        this.errorTimer = registry.timer("llm.tip.duration", "outcome", "error");
+        this.timeoutTimer = registry.timer("llm.tip.duration", "outcome", "timeout");
+        this.callTimeouts = registry.counter("llm.tip.timeouts", "stage", "call");
+        this.collectTimeouts = registry.counter("llm.tip.timeouts", "stage", "collect");
+        this.collectHits = registry.counter("tips.pending.lookups", "result", "hit");
+        this.collectMisses = registry.counter("tips.pending.lookups", "result", "miss");
+        this.superseded = registry.counter("tips.cancelled", "reason", "superseded");
+        this.rejections = registry.counter("tips.cancelled", "reason", "rejected");
+    }
+    
+    public String generate(TipRequest request) {
+        long start = System.nanoTime();
+        try {
+            String tip = tipAiService.generateTip(request);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return tip;
+        } catch (RuntimeException e) {
+            if (isTimeout(e)) {
+                timeoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                callTimeouts.increment();
+            } else {
+                errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            throw e;
+        }
+    }
+    
+    // A client's newer tip supersedes its older one, which is cancelled and interrupted if already running.
+    // The executor is bounded, so a full queue fails the tip instead of queueing model calls without limit.
+    public String submit(TipRequest request, String client) {
+        long now = System.nanoTime();
+        purgeExpired(now);
+        
+        String tipId = UUID.randomUUID().toString();
+        PendingTip tip = new PendingTip(client, now);
+        pending.put(tipId, tip);
+        String previous = latestByClient.put(client, tipId);
+        if (previous != null) {
+            PendingTip replaced = pending.remove(previous);
+            if (replaced != null && replaced.cancel()) {
+                superseded.increment();
+            }
+        }
+        
+        try {
+            tipExecutor.execute(() -> run(tip, request));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            tip.future().completeExceptionally(e);
+        }
+        return tipId;
+    }
+    
+    private void run(PendingTip tip, TipRequest request) {
+        if (!tip.start()) {
+            return;
+        }
+        try {
+            tip.future().complete(generate(request));
+        } catch (RuntimeException e) {
+            tip.future().completeExceptionally(e);
+        } finally {
+            tip.finish();
+        }
+    }
+    
+    void purgeExpired(long now) {
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_NANOS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        pending.entrySet().removeIf(entry -> {
+            if (now - entry.getValue().createdAtNanos() <= PENDING_TTL_NANOS) {
+                return false;
+            }
+            entry.getValue().cancel();
+            latestByClient.remove(entry.getValue().client(), entry.getKey());
+            return true;
+        });
+    }
+    
+    public Optional<CompletableFuture<String>> collect(String tipId) {
+        PendingTip tip = pending.remove(tipId);
+        if (tip != null) {
+            latestByClient.remove(tip.client(), tipId);
+        }
+        if (tip == null || System.nanoTime() - tip.createdAtNanos() > PENDING_TTL_NANOS) {
+            collectMisses.increment();
+            return Optional.empty();
+        }
+        collectHits.increment();
+        return Optional.of(tip.future()
+            .orTimeout(COLLECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .whenComplete((result, error) -> {
+                if (error instanceof TimeoutException) {
+                    collectTimeouts.increment();
+                }
+            }));
+    }
+    
+    int pendingCount() {
+        return pending.size();
+    }
+    
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final class PendingTip {
+        
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        private final String client;
+        private final long createdAtNanos;
+        private Thread worker;
+        private boolean cancelled;
+        
+        PendingTip(String client, long createdAtNanos) {
+            this.client = client;
+            this.createdAtNanos = createdAtNanos;
+        }
+        
+        CompletableFuture<String> future() {
+            return future;
+        }
+        
+        String client() {
+            return client;
+        }
+        
+        long createdAtNanos() {
+            return createdAtNanos;
+        }
+        
+        synchronized boolean start() {
+            if (cancelled) {
+                return false;
+            }
+            worker = Thread.currentThread();
+            return true;
+        }
+        
+        // Clears an interrupt that raced the model call's return, so the pooled thread starts its next tip clean
+        synchronized void finish() {
+            worker = null;
+            Thread.interrupted();
+        }
+        
+        synchronized boolean cancel() {
+            if (cancelled || future.isDone()) {
+                return false;
+            }
+            cancelled = true;
+            future.cancel(false);
+            if (worker != null) {
+                worker.interrupt();
+            }
+            return true;
+        }
+    }
+}
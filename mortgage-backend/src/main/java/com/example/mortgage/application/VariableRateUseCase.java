@@ -0,0 +1,29 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.RateChange;
+import com.example.mortgage.domain.RecastRule;
+import com.example.mortgage.domain.VariableRateSchedule;
+import com.example.mortgage.domain.VariableRateScheduleEngine;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class VariableRateUseCase {
+    
+    private final VariableRateScheduleEngine engine;
+    
+    public VariableRateUseCase(VariableRateScheduleEngine engine) {
+        this.engine = engine;
+    }
+    
+    public String validationError(double principal, int years, List<RateChange> rates) {
+        return engine.validationError(principal, years, rates);
+    }
+    
+    @Timed(value = "usecase.execute", extraTags = {"usecase", "mortgage.variableRate"})
+    public VariableRateSchedule execute(double principal, int years, String recast, List<RateChange> rates) {
+        return engine.schedule(principal, years, rates, RecastRule.from(recast));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.mortgage.domain;
+
+public record AllocationPlan(
+    double offsetFraction,
+    int switchMonth,
+    int horizonMonths,
+    double netBenefit,
+    double allOffsetBenefit,
+    double allSavingsBenefit,
+    int[] switchMonths,
+    double[] switchValues,
+    double[] fractions,
+    double[] fractionValues,
+    boolean partial
+) {}
@@ -0,0 +1,131 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+
+public record AmortizationSchedule(
+    double principal,
+    double monthlyRate,
+    double monthlyPayment,
+    int months
+) {
+    static final double PAID_OFF = 0.01;
+    public static final int MAX_PAGE_SIZE = 600;
+    
+    public static AmortizationSchedule of(double principal, double monthlyRate, double monthlyPayment, int maxMonths) {
+        if (principal <= 0 || maxMonths <= 0) {
+            return new AmortizationSchedule(principal, monthlyRate, monthlyPayment, 0);
+        }
+        if (monthlyPayment <= principal * monthlyRate) {
+            return new AmortizationSchedule(principal, monthlyRate, monthlyPayment, maxMonths);
+        }
+        
+        // First month whose balance drops below PAID_OFF; solve the annuity balance for it, then settle rounding
+        double crossing = monthlyRate == 0
+            ? (principal - PAID_OFF) / monthlyPayment
+            : Math.log((monthlyPayment - PAID_OFF * monthlyRate) / (monthlyPayment - principal * monthlyRate))
+                / Math.log1p(monthlyRate);
+        int months = (int) Math.max(1, Math.min(maxMonths, Math.ceil(crossing)));
+        AmortizationSchedule schedule = new AmortizationSchedule(principal, monthlyRate, monthlyPayment, months);
+        while (months > 1 && schedule.unclampedBalance(months - 1) < PAID_OFF) {
+            months--;
+        }
+        while (months < maxMonths && schedule.unclampedBalance(months) >= PAID_OFF) {
+            months++;
+        }
+        return new AmortizationSchedule(principal, monthlyRate, monthlyPayment, months);
+    }
+    
+    public static double payment(double principal, double monthlyRate, int months) {
+        if (monthlyRate == 0) {
+            return principal / months;
+        }
+        double factor = Math.pow(1 + monthlyRate, months);
+        return principal * (monthlyRate * factor) / (factor - 1);
+    }
+    
+    public static String pageError(int page, int size) {
+        if (page < 0) {
+            return "Page cannot be negative";
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return "Page size must be between 1 and " + MAX_PAGE_SIZE;
+        }
+        return null;
+    }
+    
+    public static String rangeError(int fromMonth, int toMonth, int years) {
+        if (fromMonth < 1) {
+            return "Month must be at least 1";
+        }
+        if (toMonth < fromMonth) {
+            return "Range end cannot precede its start";
+        }
+        if (toMonth > years * 12) {
+            return "Month cannot exceed the loan term";
+        }
+        return null;
+    }
+    
+    public double balanceAfter(int month) {
+        if (month <= 0) {
+            return principal;
+        }
+        double balance = unclampedBalance(Math.min(month, months));
+        return balance < PAID_OFF ? 0 : balance;
+    }
+    
+    public double cumulativePrincipal(int month) {
+        return principal - balanceAfter(month);
+    }
+    
+    public double cumulativeInterest(int month) {
+        int paid = Math.min(Math.max(month, 0), months);
+        if (paid == 0) {
+            return 0;
+        }
+        // Every payment before the last is the full instalment, so interest is payments minus principal repaid
+        double beforeLast = monthlyPayment * (paid - 1) - (principal - unclampedBalance(paid - 1));
+        return beforeLast + unclampedBalance(paid - 1) * monthlyRate;
+    }
+    
+    public MonthlyAmortization month(int month) {
+        double opening = balanceAfter(month - 1);
+        double closing = balanceAfter(month);
+        return new MonthlyAmortization(month, opening - closing, month <= months ? opening * monthlyRate : 0, closing);
+    }
+    
+    public Range range(int fromMonth, int toMonth) {
+        double opening = balanceAfter(fromMonth - 1);
+        double closing = balanceAfter(toMonth);
+        double cumulativeInterest = cumulativeInterest(toMonth);
+        return new Range(
+            fromMonth,
+            toMonth,
+            opening,
+            closing,
+            opening - closing,
+            cumulativeInterest - cumulativeInterest(fromMonth - 1),
+            cumulativePrincipal(toMonth),
+            cumulativeInterest
+        );
+    }
+    
+    private double unclampedBalance(int month) {
+        if (monthlyRate == 0) {
+            return principal - monthlyPayment * month;
+        }
+        double growth = Math.pow(1 + monthlyRate, month);
+        return principal * growth - monthlyPayment * (growth - 1) / monthlyRate;
+    }
+    
+    public record Range(
+        int fromMonth,
+        int toMonth,
+        double openingBalance,
+        double closingBalance,
+        double principalPaid,
+        double interestPaid,
+        double cumulativePrincipal,
+        double cumulativeInterest
+    ) {}
+}
@@ -0,0 +1,83 @@
+package com.example.mortgage.domain;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+
+// One entry per historical start month, index 0 being firstStart
+public record BackTestResult(
+    YearMonth firstStart,
+    int termMonths,
+    double[] totalInterest,
+    double[] offsetBenefit,
+    int[] payoffMonths
+) {
+    public int starts() {
+        return totalInterest.length;
+    }
+    
+    public YearMonth start(int index) {
+        return firstStart.plusMonths(index);
+    }
+    
+    public int mostExpensiveStart() {
+        int worst = 0;
+        for (int i = 1; i < totalInterest.length; i++) {
+            if (totalInterest[i] > totalInterest[worst]) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+    
+    public int cheapestStart() {
+        int best = 0;
+        for (int i = 1; i < totalInterest.length; i++) {
+            if (totalInterest[i] < totalInterest[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    public Distribution totalInterestDistribution() {
+        return Distribution.of(totalInterest);
+    }
+    
+    public Distribution offsetBenefitDistribution() {
+        return Distribution.of(offsetBenefit);
+    }
+    
+    public Distribution payoffMonthsDistribution() {
+        return Distribution.of(Arrays.stream(payoffMonths).asDoubleStream().toArray());
+    }
+    
+    public record Distribution(
+        double min,
+        double p10,
+        double p25,
+        double median,
+        double p75,
+        double p90,
+        double max,
+        double mean
+    ) {
+        public static Distribution of(double[] values) {
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (double value : sorted) {
+                sum += value;
+            }
+            return new Distribution(sorted[0], percentile(sorted, 10), percentile(sorted, 25), percentile(sorted, 50),
+                percentile(sorted, 75), percentile(sorted, 90), sorted[sorted.length - 1], sum / sorted.length);
+        }
+        
+        // Linear interpolation between the two closest ranks
+        static double percentile(double[] sorted, double percent) {
+            double rank = percent / 100.0 * (sorted.length - 1);
+            int lower = (int) rank;
+            int upper = Math.min(lower + 1, sorted.length - 1);
+            return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+        }
+    }
+}
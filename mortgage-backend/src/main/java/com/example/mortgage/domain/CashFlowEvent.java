@@ -0,0 +1,32 @@
+package com.example.mortgage.domain;
+
+public record CashFlowEvent(
+    int month,
+    Type type,
+    double amount
+) {
+    public enum Type {
+        EXTRA_MONTHLY("extraMonthly"),
+        LUMP_SUM("lumpSum"),
+        REDRAW("redraw");
+        
+        private final String value;
+        
+        Type(String value) {
+            this.value = value;
+        }
+        
+        public String value() {
+            return value;
+        }
+        
+        public static Type from(String value) {
+            for (Type type : values()) {
+                if (type.value.equals(value)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.mortgage.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CashFlowScheduleEngine {
+    
+    public EventScheduleResult calculate(double principal, double annualRatePercent, int years,
+                                         OffsetMode mode, List<CashFlowEvent> events) {
+        String error = validationError(principal, annualRatePercent, years, events);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        double monthlyRate = annualRatePercent / 100.0 / 12.0;
+        int totalMonths = years * 12;
+        double initialPayment = AmortizationSchedule.payment(principal, monthlyRate, totalMonths);
+        double baselineInterest = AmortizationSchedule.of(principal, monthlyRate, initialPayment, totalMonths)
+            .cumulativeInterest(totalMonths);
+        
+        List<EventScheduleResult.Segment> segments = new ArrayList<>(events.size() + 1);
+        double balance = principal;
+        double payment = initialPayment;
+        double extra = 0;
+        double redrawAvailable = 0;
+        double totalPaid = 0;
+        double totalInterest = 0;
+        int month = 1;
+        int next = 0;
+        Deadline deadline = Deadline.current();
+        
+        // Each pass jumps to the next event in closed form, so it is checked like a year of monthly steps
+        while (month <= totalMonths && balance > 0) {
+            deadline.check();
+            boolean resolve = false;
+            while (next < events.size() && events.get(next).month() == month) {
+                CashFlowEvent event = events.get(next++);
+                switch (event.type()) {
+                    case EXTRA_MONTHLY -> extra = event.amount();
+                    case LUMP_SUM -> {
+                        double paid = Math.min(event.amount(), balance);
+                        balance -= paid;
+                        redrawAvailable += paid;
+                        totalPaid += paid;
+                        resolve = true;
+                    }
+                    case REDRAW -> {
+                        double drawn = Math.min(event.amount(), redrawAvailable);
+                        balance += drawn;
+                        redrawAvailable -= drawn;
+                        totalPaid -= drawn;
+                        resolve = true;
+                    }
+                }
+            }
+            if (balance < AmortizationSchedule.PAID_OFF) {
+                balance = 0;
+                break;
+            }
+            if (resolve) {
+                double toMaturity = AmortizationSchedule.payment(balance, monthlyRate, totalMonths - month + 1);
+                // reduceTerm keeps the instalment unless the loan could no longer be repaid by maturity
+                payment = mode == OffsetMode.REDUCE_TERM ? Math.max(payment, toMaturity) : toMaturity;
+            }
+            
+            int nextEventMonth = next < events.size() ? Math.min(events.get(next).month(), totalMonths + 1) : totalMonths + 1;
+            int span = nextEventMonth - month;
+            AmortizationSchedule jump = AmortizationSchedule.of(balance, monthlyRate, payment + extra, span);
+            int paidMonths = jump.months();
+            double closing = jump.balanceAfter(paidMonths);
+            double interest = jump.cumulativeInterest(paidMonths);
+            
+            segments.add(new EventScheduleResult.Segment(month, month + paidMonths - 1, payment + extra,
+                balance, closing, balance - closing, interest));
+            totalInterest += interest;
+            totalPaid += balance - closing + interest;
+            redrawAvailable += Math.min(extra * paidMonths, balance - closing);
+            balance = closing;
+            month += paidMonths;
+            
+            if (paidMonths < span) {
+                break;
+            }
+        }
+        
+        int payoffMonth = balance == 0 ? month - 1 : totalMonths;
+        return new EventScheduleResult(initialPayment, totalPaid, totalInterest, baselineInterest - totalInterest,
+            payoffMonth, balance, segments);
+    }
+    
+    public String validationError(double principal, double annualRatePercent, int years, List<CashFlowEvent> events) {
+        if (principal <= 0) {
+            return "Principal must be greater than 0";
+        }
+        if (annualRatePercent < 0) {
+            return "Annual rate cannot be negative";
+        }
+        if (years <= 0) {
+            return "Years must be greater than 0";
+        }
+        int previousMonth = 1;
+        for (CashFlowEvent event : events) {
+            if (event.type() == null) {
+                return "Event type must be extraMonthly, lumpSum or redraw";
+            }
+            if (event.month() < 1 || event.month() > years * 12) {
+                return "Event month must lie within the loan term";
+            }
+            if (event.month() < previousMonth) {
+                return "Events must be sorted by month";
+            }
+            if (event.amount() < 0) {
+                return "Event amount cannot be negative";
+            }
+            previousMonth = event.month();
+        }
+        return null;
+    }
+}
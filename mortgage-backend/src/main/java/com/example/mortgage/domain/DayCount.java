@@ -0,0 +1,50 @@
+package com.example.mortgage.domain;
+
+import java.time.YearMonth;
+
+public enum DayCount {
+    ACT_365("act365", 365),
+    ACT_360("act360", 360);
+    
+    private static final int FIRST_YEAR = 1900;
+    private static final int YEARS = 300;
+    
+    private final String value;
+    private final int basis;
+    private final double[] factors;
+    
+    DayCount(String value, int basis) {
+        this.value = value;
+        this.basis = basis;
+        // Year fraction of every calendar month in the supported range, computed once per convention
+        this.factors = new double[YEARS * 12];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = YearMonth.of(FIRST_YEAR + i / 12, i % 12 + 1).lengthOfMonth() / (double) basis;
+        }
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    public int basis() {
+        return basis;
+    }
+    
+    public int index(YearMonth month) {
+        return (month.getYear() - FIRST_YEAR) * 12 + month.getMonthValue() - 1;
+    }
+    
+    public boolean supports(YearMonth start, int months) {
+        int first = index(start);
+        return first >= 0 && first + months <= factors.length;
+    }
+    
+    public double factor(int index) {
+        return factors[index];
+    }
+    
+    public static DayCount from(String value) {
+        return "act360".equals(value) ? ACT_360 : ACT_365;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mortgage.domain;
+
+import java.time.Duration;
+
+// The time budget of the calculation running on this thread. Engines read it once per call and check it at
+// year boundaries, so a request the client has given up on, or one past its deadline, stops within a year's work.
+public final class Deadline {
+    
+    public static final Deadline NONE = new Deadline(0, false);
+    
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    
+    private final long expiresAt;
+    private final boolean bounded;
+    private volatile boolean cancelled;
+    
+    private Deadline(long expiresAt, boolean bounded) {
+        this.expiresAt = expiresAt;
+        this.bounded = bounded;
+    }
+    
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+    
+    // No time limit, but still stops when cancelled
+    public static Deadline cancellable() {
+        return new Deadline(0, false);
+    }
+    
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline : NONE;
+    }
+    
+    // Returns the deadline that was bound before, to be handed back to restore
+    public static Deadline bind(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+    
+    public static void restore(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+    
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+    
+    public boolean cancelled() {
+        return cancelled;
+    }
+    
+    public boolean expired() {
+        return cancelled || bounded && System.nanoTime() - expiresAt >= 0;
+    }
+    
+    public void check() {
+        if (expired()) {
+            throw new DeadlineExceededException(cancelled);
+        }
+    }
+}
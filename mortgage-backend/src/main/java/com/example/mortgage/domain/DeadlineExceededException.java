@@ -0,0 +1,15 @@
+package com.example.mortgage.domain;
+
+public class DeadlineExceededException extends RuntimeException {
+    
+    private final boolean cancelled;
+    
+    public DeadlineExceededException(boolean cancelled) {
+        super(cancelled ? "Calculation was cancelled" : "Calculation deadline exceeded", null, false, false);
+        this.cancelled = cancelled;
+    }
+    
+    public boolean cancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.mortgage.domain;
+
+public enum DownsamplingMode {
+    LTTB("lttb"),
+    MIN_MAX("minmax");
+    
+    private final String value;
+    
+    DownsamplingMode(String value) {
+        this.value = value;
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    public static DownsamplingMode from(String value) {
+        return "minmax".equals(value) ? MIN_MAX : LTTB;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.mortgage.domain;
+
+// Forward-mode automatic differentiation: a value with its partial derivatives for every seeded input
+final class Dual {
+    
+    private final double value;
+    private final double[] tangent;
+    
+    private Dual(double value, double[] tangent) {
+        this.value = value;
+        this.tangent = tangent;
+    }
+    
+    static Dual constant(double value, int inputs) {
+        return new Dual(value, new double[inputs]);
+    }
+    
+    static Dual variable(double value, int input, int inputs) {
+        double[] tangent = new double[inputs];
+        tangent[input] = 1;
+        return new Dual(value, tangent);
+    }
+    
+    double value() {
+        return value;
+    }
+    
+    double derivative(int input) {
+        return tangent[input];
+    }
+    
+    Dual plus(Dual other) {
+        return combine(value + other.value, 1, other, 1);
+    }
+    
+    Dual plus(double constant) {
+        return scale(value + constant, 1);
+    }
+    
+    Dual minus(Dual other) {
+        return combine(value - other.value, 1, other, -1);
+    }
+    
+    Dual times(Dual other) {
+        return combine(value * other.value, other.value, other, value);
+    }
+    
+    Dual times(double constant) {
+        return scale(value * constant, constant);
+    }
+    
+    Dual div(Dual other) {
+        double quotient = value / other.value;
+        return combine(quotient, 1 / other.value, other, -quotient / other.value);
+    }
+    
+    Dual log() {
+        return scale(Math.log(value), 1 / value);
+    }
+    
+    Dual log1p() {
+        return scale(Math.log1p(value), 1 / (1 + value));
+    }
+    
+    // this^exponent for a positive base, with both sides carrying derivatives
+    Dual pow(Dual exponent) {
+        double power = Math.pow(value, exponent.value);
+        return combine(power, power * exponent.value / value, exponent, power * Math.log(value));
+    }
+    
+    private Dual scale(double result, double factor) {
+        double[] combined = new double[tangent.length];
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] = factor * tangent[i];
+        }
+        return new Dual(result, combined);
+    }
+    
+    private Dual combine(double result, double factor, Dual other, double otherFactor) {
+        double[] combined = new double[tangent.length];
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] = factor * tangent[i] + otherFactor * other.tangent[i];
+        }
+        return new Dual(result, combined);
+    }
+}
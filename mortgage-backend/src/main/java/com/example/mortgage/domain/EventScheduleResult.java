@@ -0,0 +1,23 @@
+package com.example.mortgage.domain;
+
+import java.util.List;
+
+public record EventScheduleResult(
+    double initialPayment,
+    double totalPaid,
+    double totalInterest,
+    double interestSaved,
+    int payoffMonth,
+    double remainingBalance,
+    List<Segment> segments
+) {
+    public record Segment(
+        int fromMonth,
+        int toMonth,
+        double payment,
+        double openingBalance,
+        double closingBalance,
+        double principalPaid,
+        double interestPaid
+    ) {}
+}
@@ -0,0 +1,219 @@
+package com.example.mortgage.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HouseholdEngine {
+    
+    static final int MAX_LOANS = 20;
+    static final int MAX_YEARS = 50;
+    
+    // Simulates the loans month by month against one shared offset account. Each month the offset balance is spread
+    // over the open loans by the allocation strategy, and each loan accrues interest on what its share leaves
+    // uncovered. Offset modes and settlement follow OffsetAccountEngine: reduceTerm keeps each loan's instalment
+    // without offset, reduceAmount re-amortizes it net of its opening share; a loan reaching maturity is closed from
+    // the offset, and the whole household once the offset covers everything left.
+    public HouseholdResult simulate(List<HouseholdLoan> loans, double initialOffsetBalance, double monthlyCredit,
+                                    OffsetMode mode, OffsetAllocation allocation, boolean monthly) {
+        String error = validationError(loans, initialOffsetBalance, monthlyCredit);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        // One primitive array per loan attribute, so the monthly pass over the loans stays in a few cache lines
+        int count = loans.size();
+        double[] monthlyRate = new double[count];
+        int[] termMonths = new int[count];
+        double[] balance = new double[count];
+        double[] payment = new double[count];
+        double[] covered = new double[count];
+        double[] loanPaid = new double[count];
+        double[] loanInterest = new double[count];
+        int[] payoffMonth = new int[count];
+        int totalMonths = 0;
+        for (int i = 0; i < count; i++) {
+            HouseholdLoan loan = loans.get(i);
+            monthlyRate[i] = loan.annualRatePercent() / 100.0 / 12.0;
+            termMonths[i] = loan.years() * 12;
+            balance[i] = loan.principal();
+            totalMonths = Math.max(totalMonths, termMonths[i]);
+        }
+        int[] order = byRateDescending(monthlyRate);
+        
+        allocate(allocation, order, balance, initialOffsetBalance, covered);
+        for (int i = 0; i < count; i++) {
+            double amortized = mode == OffsetMode.REDUCE_TERM ? balance[i] : balance[i] - covered[i];
+            payment[i] = AmortizationSchedule.payment(amortized, monthlyRate[i], termMonths[i]);
+        }
+        
+        int years = (totalMonths + 11) / 12;
+        double[] yearlyPrincipal = new double[years];
+        double[] yearlyInterest = new double[years];
+        double[] yearEndLoanBalance = new double[years];
+        double[] yearEndOffsetBalance = new double[years];
+        OffsetAccountResult.Monthly monthlyRows = monthly ? new OffsetAccountResult.Monthly(
+            new double[totalMonths], new double[totalMonths], new double[totalMonths], new double[totalMonths]) : null;
+        
+        double offset = initialOffsetBalance;
+        double outstanding = 0;
+        for (double opening : balance) {
+            outstanding += opening;
+        }
+        double totalPaid = 0;
+        double totalInterest = 0;
+        double settlement = 0;
+        int month = 0;
+        Deadline deadline = Deadline.current();
+        
+        while (month < totalMonths && outstanding > 0) {
+            month++;
+            if (month % 12 == 1) {
+                deadline.check();
+            }
+            offset += monthlyCredit;
+            allocate(allocation, order, balance, offset, covered);
+            
+            double principalPaid = 0;
+            double interestPaid = 0;
+            outstanding = 0;
+            for (int i = 0; i < count; i++) {
+                if (balance[i] <= 0) {
+                    continue;
+                }
+                double interest = monthlyRate[i] * Math.max(balance[i] - covered[i], 0);
+                double paid = Math.min(payment[i] - interest, balance[i]);
+                balance[i] -= paid;
+                if (month == termMonths[i]) {
+                    double settled = Math.min(balance[i], offset);
+                    offset -= settled;
+                    settlement += settled;
+                    paid += balance[i] - settled;
+                    balance[i] = 0;
+                } else if (balance[i] < AmortizationSchedule.PAID_OFF) {
+                    paid += balance[i];
+                    balance[i] = 0;
+                }
+                if (balance[i] == 0) {
+                    payoffMonth[i] = month;
+                }
+                loanPaid[i] += paid + interest;
+                loanInterest[i] += interest;
+                principalPaid += paid;
+                interestPaid += interest;
+                outstanding += balance[i];
+            }
+            
+            // With every remaining balance covered no loan accrues interest any more, so closing them all is neutral
+            if (outstanding > 0 && outstanding <= offset) {
+                for (int i = 0; i < count; i++) {
+                    if (balance[i] > 0) {
+                        settlement += balance[i];
+                        balance[i] = 0;
+                        payoffMonth[i] = month;
+                    }
+                }
+                offset -= outstanding;
+                outstanding = 0;
+            }
+            
+            int year = (month - 1) / 12;
+            yearlyPrincipal[year] += principalPaid;
+            yearlyInterest[year] += interestPaid;
+            yearEndLoanBalance[year] = outstanding;
+            yearEndOffsetBalance[year] = offset;
+            totalPaid += principalPaid + interestPaid;
+            totalInterest += interestPaid;
+            if (monthlyRows != null) {
+                monthlyRows.principalPaid()[month - 1] = principalPaid;
+                monthlyRows.interestPaid()[month - 1] = interestPaid;
+                monthlyRows.loanBalance()[month - 1] = outstanding;
+                monthlyRows.offsetBalance()[month - 1] = offset;
+            }
+        }
+        
+        int lastYear = (month - 1) / 12;
+        Arrays.fill(yearEndOffsetBalance, lastYear + 1, years, offset);
+        if (monthlyRows != null && month < totalMonths) {
+            monthlyRows = new OffsetAccountResult.Monthly(
+                Arrays.copyOf(monthlyRows.principalPaid(), month),
+                Arrays.copyOf(monthlyRows.interestPaid(), month),
+                Arrays.copyOf(monthlyRows.loanBalance(), month),
+                Arrays.copyOf(monthlyRows.offsetBalance(), month)
+            );
+        }
+        
+        List<HouseholdResult.Loan> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HouseholdLoan loan = loans.get(i);
+            double standardPayment = AmortizationSchedule.payment(loan.principal(), monthlyRate[i], termMonths[i]);
+            double standardLoanInterest = AmortizationSchedule.of(loan.principal(), monthlyRate[i], standardPayment,
+                termMonths[i]).cumulativeInterest(termMonths[i]);
+            results.add(new HouseholdResult.Loan(payment[i], loanPaid[i], loanInterest[i], standardLoanInterest, payoffMonth[i]));
+        }
+        
+        return new HouseholdResult(results, totalPaid, totalInterest, settlement, month, yearlyPrincipal, yearlyInterest,
+            yearEndLoanBalance, yearEndOffsetBalance, monthlyRows);
+    }
+    
+    // highestRateFirst covers the dearest balances in full before the next; proportional covers the same share of each
+    static void allocate(OffsetAllocation allocation, int[] order, double[] balance, double offset, double[] covered) {
+        if (allocation == OffsetAllocation.PROPORTIONAL) {
+            double outstanding = 0;
+            for (double open : balance) {
+                outstanding += open;
+            }
+            double share = outstanding > offset ? offset / outstanding : 1;
+            for (int i = 0; i < balance.length; i++) {
+                covered[i] = balance[i] * share;
+            }
+            return;
+        }
+        double remaining = offset;
+        for (int i : order) {
+            covered[i] = Math.min(balance[i], remaining);
+            remaining -= covered[i];
+        }
+    }
+    
+    // Insertion sort: a household has a handful of loans, and equal rates keep their listed order
+    private static int[] byRateDescending(double[] monthlyRate) {
+        int[] order = new int[monthlyRate.length];
+        for (int i = 0; i < order.length; i++) {
+            int j = i;
+            while (j > 0 && monthlyRate[order[j - 1]] < monthlyRate[i]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return order;
+    }
+    
+    public String validationError(List<HouseholdLoan> loans, double initialOffsetBalance, double monthlyCredit) {
+        if (loans.isEmpty()) {
+            return "A household needs at least one loan";
+        }
+        if (loans.size() > MAX_LOANS) {
+            return "A household can have at most " + MAX_LOANS + " loans";
+        }
+        for (HouseholdLoan loan : loans) {
+            if (loan.principal() <= 0) {
+                return "Principal must be greater than 0";
+            }
+            if (loan.annualRatePercent() < 0) {
+                return "Annual rate cannot be negative";
+            }
+            if (loan.years() <= 0) {
+                return "Years must be greater than 0";
+            }
+            if (loan.years() > MAX_YEARS) {
+                return "Years cannot exceed " + MAX_YEARS;
+            }
+        }
+        if (initialOffsetBalance < 0 || monthlyCredit < 0) {
+            return "Offset balance and credits cannot be negative";
+        }
+        return null;
+    }
+}
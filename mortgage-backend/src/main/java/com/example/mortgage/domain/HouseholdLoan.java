@@ -0,0 +1,7 @@
+package com.example.mortgage.domain;
+
+public record HouseholdLoan(
+    double principal,
+    double annualRatePercent,
+    int years
+) {}
@@ -0,0 +1,59 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record HouseholdResult(
+    List<Loan> loans,
+    double totalPaid,
+    double totalInterest,
+    double offsetSettlement,
+    int payoffMonth,
+    double[] yearlyPrincipal,
+    double[] yearlyInterest,
+    double[] yearEndLoanBalance,
+    double[] yearEndOffsetBalance,
+    OffsetAccountResult.Monthly monthly
+) {
+    public double monthlyPayment() {
+        double payment = 0;
+        for (Loan loan : loans) {
+            payment += loan.monthlyPayment();
+        }
+        return payment;
+    }
+    
+    public double standardLoanInterest() {
+        double interest = 0;
+        for (Loan loan : loans) {
+            interest += loan.standardLoanInterest();
+        }
+        return interest;
+    }
+    
+    public double interestSaved() {
+        return standardLoanInterest() - totalInterest;
+    }
+    
+    public List<YearlyAmortization> yearlyAmortization() {
+        List<YearlyAmortization> yearlyData = new ArrayList<>(yearlyPrincipal.length);
+        for (int i = 0; i < yearlyPrincipal.length; i++) {
+            yearlyData.add(new YearlyAmortization(i + 1, yearlyPrincipal[i], yearlyInterest[i]));
+        }
+        return yearlyData;
+    }
+    
+    public record Loan(
+        double monthlyPayment,
+        double totalPaid,
+        double totalInterest,
+        double standardLoanInterest,
+        int payoffMonth
+    ) {
+        public double interestSaved() {
+            return standardLoanInterest - totalInterest;
+        }
+    }
+}
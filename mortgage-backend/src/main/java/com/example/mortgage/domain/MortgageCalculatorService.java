@@ -6,39 +6,34 @@ import java.util.List;
 public class MortgageCalculatorService {
     
     public MortgageResult calculate(double principal, double annualRatePercent, int years) {
-        return calculate(principal, annualRatePercent, years, 0.0, "reduceAmount", 0.0);
+        return calculate(principal, annualRatePercent, years, 0.0, OffsetMode.REDUCE_AMOUNT, 0.0);
     }
     
     public MortgageResult calculate(double principal, double annualRatePercent, int years, 
                                     double offsetAmount, String offsetMode) {
-        return calculate(principal, annualRatePercent, years, offsetAmount, offsetMode, 0.0);
+        return calculate(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), 0.0);
     }
     
     public MortgageResult calculate(double principal, double annualRatePercent, int years, 
                                     double offsetAmount, String offsetMode, double offsetRatePercent) {
-        validateInputs(principal, annualRatePercent, years);
-        
-        if (offsetAmount < 0) {
-            throw new IllegalArgumentException("Offset amount cannot be negative");
-        }
-        if (offsetAmount > principal) {
-            throw new IllegalArgumentException("Offset amount cannot exceed principal");
-        }
-        if (offsetRatePercent < 0) {
-            throw new IllegalArgumentException("Offset rate cannot be negative");
-        }
-        if (offsetAmount > 0 && offsetRatePercent < annualRatePercent) {
-            throw new IllegalArgumentException("Offset rate must be greater than or equal to annual rate");
+        return calculate(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
+    }
+    
+    public MortgageResult calculate(double principal, double annualRatePercent, int years, 
+                                    double offsetAmount, OffsetMode offsetMode, double offsetRatePercent) {
+        String error = validationError(principal, annualRatePercent, years, offsetAmount, offsetRatePercent);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
         
         int totalNumberOfPayments = years * 12;
+        double monthlyRate = annualRatePercent / 100.0 / 12.0;
+        double factor = annualRatePercent == 0 ? 1.0 : Math.pow(1 + monthlyRate, totalNumberOfPayments);
         
         double monthlyPaymentOriginal;
         if (annualRatePercent == 0) {
             monthlyPaymentOriginal = principal / totalNumberOfPayments;
         } else {
-            double monthlyRate = annualRatePercent / 100.0 / 12.0;
-            double factor = Math.pow(1 + monthlyRate, totalNumberOfPayments);
             monthlyPaymentOriginal = principal * (monthlyRate * factor) / (factor - 1);
         }
         double totalPaidOriginal = monthlyPaymentOriginal * totalNumberOfPayments;
@@ -47,39 +42,27 @@ public class MortgageCalculatorService {
         double effectivePrincipal = principal - offsetAmount;
         int effectiveYears = years;
         
-        int numberOfPayments = years * 12;
+        int numberOfPayments = totalNumberOfPayments;
         double monthlyPayment;
         
         if (annualRatePercent == 0) {
             monthlyPayment = effectivePrincipal / numberOfPayments;
         } else {
-            double monthlyRate = annualRatePercent / 100.0 / 12.0;
-            double factor = Math.pow(1 + monthlyRate, numberOfPayments);
             monthlyPayment = effectivePrincipal * (monthlyRate * factor) / (factor - 1);
         }
         
-        if ("reduceTerm".equals(offsetMode) && offsetAmount > 0) {
-            double monthlyPaymentWithoutOffset;
-            if (annualRatePercent == 0) {
-                monthlyPaymentWithoutOffset = principal / totalNumberOfPayments;
-            } else {
-                double monthlyRate = annualRatePercent / 100.0 / 12.0;
-                double factor = Math.pow(1 + monthlyRate, totalNumberOfPayments);
-                monthlyPaymentWithoutOffset = principal * (monthlyRate * factor) / (factor - 1);
-            }
+        if (offsetMode == OffsetMode.REDUCE_TERM && offsetAmount > 0) {
+            double monthlyPaymentWithoutOffset = monthlyPaymentOriginal;
             
             if (annualRatePercent == 0) {
                 numberOfPayments = (int) Math.ceil(effectivePrincipal / monthlyPaymentWithoutOffset);
+            } else if (monthlyPaymentWithoutOffset <= effectivePrincipal * monthlyRate) {
+                numberOfPayments = totalNumberOfPayments;
             } else {
-                double monthlyRate = annualRatePercent / 100.0 / 12.0;
-                if (monthlyPaymentWithoutOffset <= effectivePrincipal * monthlyRate) {
-                    numberOfPayments = years * 12;
-                } else {
-                    numberOfPayments = (int) Math.ceil(
-                        Math.log(monthlyPaymentWithoutOffset / (monthlyPaymentWithoutOffset - effectivePrincipal * monthlyRate))
-                        / Math.log(1 + monthlyRate)
-                    );
-                }
+                numberOfPayments = (int) Math.ceil(
+                    Math.log(monthlyPaymentWithoutOffset / (monthlyPaymentWithoutOffset - effectivePrincipal * monthlyRate))
+                    / Math.log(1 + monthlyRate)
+                );
             }
             
             effectiveYears = (int) Math.ceil(numberOfPayments / 12.0);
@@ -94,14 +77,80 @@ public class MortgageCalculatorService {
         return new MortgageResult(monthlyPayment, totalPaid, totalInterest, effectivePrincipal, effectiveYears, totalOffsetInterestEarned);
     }
     
+    // Same closed form as calculate, carried on dual numbers so every partial derivative comes out of one pass.
+    // The reduced term stays fractional here; calculate rounds it up to whole payments.
+    public MortgageSensitivity sensitivity(double principal, double annualRatePercent, int years,
+                                           double offsetAmount, OffsetMode offsetMode, double offsetRatePercent) {
+        String error = validationError(principal, annualRatePercent, years, offsetAmount, offsetRatePercent);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        Dual loan = Dual.variable(principal, MortgageSensitivity.PRINCIPAL, MortgageSensitivity.INPUTS);
+        Dual monthlyRate = Dual.variable(annualRatePercent, MortgageSensitivity.ANNUAL_RATE, MortgageSensitivity.INPUTS)
+            .times(1 / 1200.0);
+        Dual totalMonths = Dual.variable(years, MortgageSensitivity.YEARS, MortgageSensitivity.INPUTS).times(12);
+        Dual offset = Dual.variable(offsetAmount, MortgageSensitivity.OFFSET_AMOUNT, MortgageSensitivity.INPUTS);
+        
+        Dual factor = annuityFactor(monthlyRate, totalMonths);
+        Dual paymentOriginal = loan.times(factor);
+        Dual interestOriginal = paymentOriginal.times(totalMonths).minus(loan);
+        Dual effectivePrincipal = loan.minus(offset);
+        
+        Dual monthlyPayment;
+        Dual months;
+        if (offsetMode == OffsetMode.REDUCE_TERM && offsetAmount > 0) {
+            monthlyPayment = paymentOriginal;
+            if (annualRatePercent == 0) {
+                // First-order expansion of the log form below around a zero rate
+                Dual share = effectivePrincipal.div(monthlyPayment);
+                months = share.plus(share.times(share.plus(1)).times(monthlyRate).times(0.5));
+            } else if (monthlyPayment.value() <= effectivePrincipal.value() * monthlyRate.value()) {
+                months = totalMonths;
+            } else {
+                months = monthlyPayment.div(monthlyPayment.minus(effectivePrincipal.times(monthlyRate))).log()
+                    .div(monthlyRate.log1p());
+            }
+        } else {
+            monthlyPayment = effectivePrincipal.times(factor);
+            months = totalMonths;
+        }
+        
+        Dual totalPaid = monthlyPayment.times(months);
+        Dual totalInterest = totalPaid.minus(effectivePrincipal);
+        
+        return new MortgageSensitivity(
+            MortgageSensitivity.gradient(monthlyPayment),
+            MortgageSensitivity.gradient(totalPaid),
+            MortgageSensitivity.gradient(totalInterest),
+            MortgageSensitivity.gradient(months),
+            MortgageSensitivity.gradient(interestOriginal.minus(totalInterest))
+        );
+    }
+    
+    // Payment per unit of principal; at a zero rate its first-order expansion keeps the rate derivative
+    private static Dual annuityFactor(Dual monthlyRate, Dual months) {
+        if (monthlyRate.value() == 0) {
+            Dual slope = months.plus(1).div(months.times(2));
+            return Dual.constant(1, MortgageSensitivity.INPUTS).div(months).plus(monthlyRate.times(slope));
+        }
+        Dual growth = monthlyRate.plus(1).pow(months);
+        return monthlyRate.times(growth).div(growth.plus(-1));
+    }
+    
     public List<YearlyAmortization> calculateYearlyAmortization(double principal, double annualRatePercent, int years,
                                                                   double offsetAmount, String offsetMode, double offsetRatePercent) {
-        List<YearlyAmortization> yearlyData = new ArrayList<>();
-        
+        return calculateYearlyAmortization(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
+    }
+    
+    public List<YearlyAmortization> calculateYearlyAmortization(double principal, double annualRatePercent, int years,
+                                                                  double offsetAmount, OffsetMode offsetMode, double offsetRatePercent) {
         if (principal <= 0 || years <= 0) {
-            return yearlyData;
+            return new ArrayList<>();
         }
         
+        List<YearlyAmortization> yearlyData = new ArrayList<>(years);
+        
         double effectivePrincipal = principal - offsetAmount;
         int numberOfPayments = years * 12;
         
@@ -114,7 +163,7 @@ public class MortgageCalculatorService {
             monthlyPayment = effectivePrincipal * (monthlyRate * factor) / (factor - 1);
         }
         
-        if ("reduceTerm".equals(offsetMode) && offsetAmount > 0) {
+        if (offsetMode == OffsetMode.REDUCE_TERM && offsetAmount > 0) {
             double monthlyRate = annualRatePercent / 100.0 / 12.0;
             double monthlyPaymentWithoutOffset;
             double factor = Math.pow(1 + monthlyRate, years * 12);
@@ -132,7 +181,9 @@ public class MortgageCalculatorService {
         double balance = effectivePrincipal;
         double monthlyRate = annualRatePercent / 100.0 / 12.0;
         
+        Deadline deadline = Deadline.current();
         for (int year = 1; year <= years; year++) {
+            deadline.check();
             double yearlyPrincipal = 0;
             double yearlyInterest = 0;
             
@@ -163,10 +214,13 @@ public class MortgageCalculatorService {
     
     public List<MonthlyAmortization> calculateMonthlyAmortization(double principal, double annualRatePercent, int years,
                                                                   double offsetAmount, String offsetMode, double offsetRatePercent) {
-        List<MonthlyAmortization> monthlyData = new ArrayList<>();
-        
+        return calculateMonthlyAmortization(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
+    }
+    
+    public List<MonthlyAmortization> calculateMonthlyAmortization(double principal, double annualRatePercent, int years,
+                                                                  double offsetAmount, OffsetMode offsetMode, double offsetRatePercent) {
         if (principal <= 0 || years <= 0) {
-            return monthlyData;
+            return new ArrayList<>();
         }
         
         double effectivePrincipal = principal - offsetAmount;
@@ -181,7 +235,7 @@ public class MortgageCalculatorService {
             monthlyPayment = effectivePrincipal * (monthlyRate * factor) / (factor - 1);
         }
         
-        if ("reduceTerm".equals(offsetMode) && offsetAmount > 0) {
+        if (offsetMode == OffsetMode.REDUCE_TERM && offsetAmount > 0) {
             double monthlyRate = annualRatePercent / 100.0 / 12.0;
             double monthlyPaymentWithoutOffset;
             double factor = Math.pow(1 + monthlyRate, years * 12);
@@ -196,11 +250,16 @@ public class MortgageCalculatorService {
             monthlyPayment = monthlyPaymentWithoutOffset;
         }
         
+        List<MonthlyAmortization> monthlyData = new ArrayList<>(numberOfPayments);
         double balance = effectivePrincipal;
         double monthlyRate = annualRatePercent / 100.0 / 12.0;
         
+        Deadline deadline = Deadline.current();
         for (int month = 1; month <= numberOfPayments; month++) {
             if (balance <= 0) break;
+            if (month % 12 == 1) {
+                deadline.check();
+            }
             
             double interestPayment = balance * monthlyRate;
             double principalPayment = monthlyPayment - interestPayment;
@@ -221,14 +280,40 @@ public class MortgageCalculatorService {
         return monthlyData;
     }
     
+    public AmortizationSchedule schedule(double principal, double annualRatePercent, int years,
+                                         double offsetAmount, String offsetMode, double offsetRatePercent) {
+        return schedule(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
+    }
+    
+    public AmortizationSchedule schedule(double principal, double annualRatePercent, int years,
+                                         double offsetAmount, OffsetMode offsetMode, double offsetRatePercent) {
+        double effectivePrincipal = principal - offsetAmount;
+        int numberOfPayments = years * 12;
+        double monthlyRate = annualRatePercent / 100.0 / 12.0;
+        
+        double monthlyPayment;
+        if (offsetMode == OffsetMode.REDUCE_TERM && offsetAmount > 0) {
+            monthlyPayment = AmortizationSchedule.payment(principal, monthlyRate, numberOfPayments);
+        } else {
+            monthlyPayment = AmortizationSchedule.payment(effectivePrincipal, monthlyRate, numberOfPayments);
+        }
+        
+        return AmortizationSchedule.of(effectivePrincipal, monthlyRate, monthlyPayment, numberOfPayments);
+    }
+    
     public List<YearlyOffsetBenefit> calculateOffsetBenefit(double principal, double annualRatePercent, int years,
                                                            double offsetAmount, String offsetMode, double offsetRatePercent) {
-        List<YearlyOffsetBenefit> yearlyData = new ArrayList<>();
-        
+        return calculateOffsetBenefit(principal, annualRatePercent, years, offsetAmount, OffsetMode.from(offsetMode), offsetRatePercent);
+    }
+    
+    public List<YearlyOffsetBenefit> calculateOffsetBenefit(double principal, double annualRatePercent, int years,
+                                                           double offsetAmount, OffsetMode offsetMode, double offsetRatePercent) {
         if (principal <= 0 || years <= 0 || offsetAmount <= 0) {
-            return yearlyData;
+            return new ArrayList<>();
         }
         
+        List<YearlyOffsetBenefit> yearlyData = new ArrayList<>(years);
+        
         double monthlyRate = annualRatePercent / 100.0 / 12.0;
         int totalMonths = years * 12;
         
@@ -251,7 +336,7 @@ public class MortgageCalculatorService {
             monthlyPaymentWithOffset = effectivePrincipal * (monthlyRate * factor) / (factor - 1);
         }
         
-        if ("reduceTerm".equals(offsetMode) && offsetAmount > 0) {
+        if (offsetMode == OffsetMode.REDUCE_TERM && offsetAmount > 0) {
             if (monthlyPaymentWithoutOffset > effectivePrincipal * monthlyRate) {
                 numberOfPaymentsWithOffset = (int) Math.ceil(
                     Math.log(monthlyPaymentWithoutOffset / (monthlyPaymentWithoutOffset - effectivePrincipal * monthlyRate))
@@ -266,7 +351,9 @@ public class MortgageCalculatorService {
         
         double cumulativeSavings = 0;
         
+        Deadline deadline = Deadline.current();
         for (int year = 1; year <= years; year++) {
+            deadline.check();
             double yearlyInterestWithoutOffset = 0;
             double yearlyInterestWithOffset = 0;
             
@@ -303,16 +390,30 @@ public class MortgageCalculatorService {
         return yearlyData;
     }
     
-    private void validateInputs(double principal, double annualRatePercent, int years) {
+    public String validationError(double principal, double annualRatePercent, int years,
+                                  double offsetAmount, double offsetRatePercent) {
         if (principal <= 0) {
-            throw new IllegalArgumentException("Principal must be greater than 0");
+            return "Principal must be greater than 0";
         }
         if (annualRatePercent < 0) {
-            throw new IllegalArgumentException("Annual rate cannot be negative");
+            return "Annual rate cannot be negative";
         }
         if (years <= 0) {
-            throw new IllegalArgumentException("Years must be greater than 0");
+            return "Years must be greater than 0";
+        }
+        if (offsetAmount < 0) {
+            return "Offset amount cannot be negative";
+        }
+        if (offsetAmount > principal) {
+            return "Offset amount cannot exceed principal";
+        }
+        if (offsetRatePercent < 0) {
+            return "Offset rate cannot be negative";
+        }
+        if (offsetAmount > 0 && offsetRatePercent < annualRatePercent) {
+            return "Offset rate must be greater than or equal to annual rate";
         }
+        return null;
     }
     
     public record YearlyAmortization(int year, double principalPaid, double interestPaid) {}
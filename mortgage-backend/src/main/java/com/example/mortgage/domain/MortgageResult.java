@@ -18,9 +18,7 @@ public record MortgageResult(
         if (totalInterest < 0) {
             throw new IllegalArgumentException("Total interest cannot be negative");
         }
-        if (totalOffsetInterestEarned < 0) {
-            throw new IllegalArgumentException("Total offset interest earned cannot be negative");
-        }
+        // totalOffsetInterestEarned may be negative: an offset loan priced above the standard rate can cost more than it saves
     }
     
     public MortgageResult(double monthlyPayment, double totalPaid, double totalInterest) {
@@ -0,0 +1,33 @@
+package com.example.mortgage.domain;
+
+public record MortgageSensitivity(
+    Gradient monthlyPayment,
+    Gradient totalPaid,
+    Gradient totalInterest,
+    Gradient termMonths,
+    Gradient totalOffsetInterestEarned
+) {
+    static final int PRINCIPAL = 0;
+    static final int ANNUAL_RATE = 1;
+    static final int YEARS = 2;
+    static final int OFFSET_AMOUNT = 3;
+    static final int INPUTS = 4;
+    
+    static Gradient gradient(Dual output) {
+        return new Gradient(
+            output.value(),
+            output.derivative(PRINCIPAL),
+            output.derivative(ANNUAL_RATE),
+            output.derivative(YEARS),
+            output.derivative(OFFSET_AMOUNT)
+        );
+    }
+    
+    public record Gradient(
+        double value,
+        double principal,
+        double annualRatePercent,
+        double years,
+        double offsetAmount
+    ) {}
+}
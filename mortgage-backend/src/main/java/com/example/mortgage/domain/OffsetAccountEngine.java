@@ -0,0 +1,171 @@
+package com.example.mortgage.domain;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+public class OffsetAccountEngine {
+    
+    // Daily accrual follows the calendar; requests without a start month are priced from this one,
+    // so identical input gives identical totals whenever it is sent
+    public static final YearMonth DEFAULT_START_MONTH = YearMonth.of(2025, 1);
+    
+    public static YearMonth startMonth(String value) {
+        if (value == null) {
+            return DEFAULT_START_MONTH;
+        }
+        try {
+            return YearMonth.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    public static String startMonthError(String value, int years) {
+        YearMonth start = startMonth(value);
+        if (start == null) {
+            return "Start month must be formatted as YYYY-MM";
+        }
+        if (!DayCount.ACT_365.supports(start, years * 12)) {
+            return "Start month is outside the supported calendar";
+        }
+        return null;
+    }
+    
+    public OffsetAccountResult simulate(double principal, double standardRatePercent, double loanRatePercent, int years,
+                                        OffsetMode mode, YearMonth start, DayCount dayCount,
+                                        OffsetAccountPlan plan, boolean monthly) {
+        String error = validationError(principal, standardRatePercent, loanRatePercent, years, start, dayCount, plan);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        int totalMonths = years * 12;
+        double annualRate = loanRatePercent / 100.0;
+        double payment = mode == OffsetMode.REDUCE_TERM
+            ? AmortizationSchedule.payment(principal, annualRate / 12.0, totalMonths)
+            : AmortizationSchedule.payment(Math.max(principal - plan.initialBalance(), 0), annualRate / 12.0, totalMonths);
+        double standardRate = standardRatePercent / 100.0 / 12.0;
+        double standardLoanInterest = AmortizationSchedule.of(principal, standardRate,
+            AmortizationSchedule.payment(principal, standardRate, totalMonths), totalMonths).cumulativeInterest(totalMonths);
+        
+        double[] yearlyPrincipal = new double[years];
+        double[] yearlyInterest = new double[years];
+        double[] yearEndLoanBalance = new double[years];
+        double[] yearEndOffsetBalance = new double[years];
+        OffsetAccountResult.Monthly monthlyRows = monthly ? new OffsetAccountResult.Monthly(
+            new double[totalMonths], new double[totalMonths], new double[totalMonths], new double[totalMonths]) : null;
+        
+        List<OffsetAccountPlan.Flow> flows = plan.flows();
+        int next = 0;
+        int dayCountIndex = dayCount.index(start);
+        double loan = principal;
+        double offset = plan.initialBalance();
+        double totalPaid = 0;
+        double totalInterest = 0;
+        double settlement = 0;
+        int month = 0;
+        Deadline deadline = Deadline.current();
+        
+        while (month < totalMonths && loan > 0) {
+            month++;
+            if (month % 12 == 1) {
+                deadline.check();
+            }
+            double factor = dayCount.factor(dayCountIndex++);
+            int days = (int) Math.round(factor * dayCount.basis());
+            
+            // Credits and one-off flows land on the first day; withdrawals are spread evenly over the month
+            offset += plan.monthlyCredit();
+            while (next < flows.size() && flows.get(next).month() == month) {
+                offset += flows.get(next++).amount();
+            }
+            offset = Math.max(offset, 0);
+            double spend = Math.min(plan.monthlyWithdrawal(), offset);
+            
+            double interest = annualRate * factor * averageNetBalance(loan, offset, spend, days);
+            double principalPaid = Math.min(payment - interest, loan);
+            loan -= principalPaid;
+            offset -= spend;
+            
+            // Once the offset account covers what is left, or at maturity, the loan is closed from it
+            if (loan <= offset || month == totalMonths) {
+                double settled = Math.min(loan, offset);
+                offset -= settled;
+                settlement += settled;
+                principalPaid += loan - settled;
+                loan = 0;
+            } else if (loan < AmortizationSchedule.PAID_OFF) {
+                principalPaid += loan;
+                loan = 0;
+            }
+            
+            int year = (month - 1) / 12;
+            yearlyPrincipal[year] += principalPaid;
+            yearlyInterest[year] += interest;
+            yearEndLoanBalance[year] = loan;
+            yearEndOffsetBalance[year] = offset;
+            totalPaid += principalPaid + interest;
+            totalInterest += interest;
+            if (monthlyRows != null) {
+                monthlyRows.principalPaid()[month - 1] = principalPaid;
+                monthlyRows.interestPaid()[month - 1] = interest;
+                monthlyRows.loanBalance()[month - 1] = loan;
+                monthlyRows.offsetBalance()[month - 1] = offset;
+            }
+        }
+        
+        int lastYear = (month - 1) / 12;
+        Arrays.fill(yearEndOffsetBalance, lastYear + 1, years, offset);
+        if (monthlyRows != null && month < totalMonths) {
+            monthlyRows = new OffsetAccountResult.Monthly(
+                Arrays.copyOf(monthlyRows.principalPaid(), month),
+                Arrays.copyOf(monthlyRows.interestPaid(), month),
+                Arrays.copyOf(monthlyRows.loanBalance(), month),
+                Arrays.copyOf(monthlyRows.offsetBalance(), month)
+            );
+        }
+        
+        return new OffsetAccountResult(payment, totalPaid, totalInterest, standardLoanInterest, settlement,
+            month, yearlyPrincipal, yearlyInterest, yearEndLoanBalance, yearEndOffsetBalance, monthlyRows);
+    }
+    
+    static double averageNetBalance(double loan, double offset, double spend, int days) {
+        if (spend == 0) {
+            return Math.max(loan - offset, 0);
+        }
+        // The offset falls linearly to offset - spend; days where it still covers the loan accrue nothing
+        int covered = offset <= loan ? 0 : (int) Math.min(days, Math.floor((offset - loan) * days / spend));
+        double sum = (days - covered) * (loan - offset)
+            + spend / days * ((double) days * (days + 1) / 2 - (double) covered * (covered + 1) / 2);
+        return sum / days;
+    }
+    
+    public String validationError(double principal, double standardRatePercent, double loanRatePercent, int years,
+                                  YearMonth start, DayCount dayCount, OffsetAccountPlan plan) {
+        if (principal <= 0) {
+            return "Principal must be greater than 0";
+        }
+        if (standardRatePercent < 0 || loanRatePercent < 0) {
+            return "Annual rate cannot be negative";
+        }
+        if (years <= 0) {
+            return "Years must be greater than 0";
+        }
+        if (!dayCount.supports(start, years * 12)) {
+            return "Start month is outside the supported calendar";
+        }
+        if (plan.initialBalance() < 0 || plan.monthlyCredit() < 0 || plan.monthlyWithdrawal() < 0) {
+            return "Offset balance, credits and withdrawals cannot be negative";
+        }
+        int previousMonth = 1;
+        for (OffsetAccountPlan.Flow flow : plan.flows()) {
+            if (flow.month() < previousMonth || flow.month() > years * 12) {
+                return "Offset flows must be sorted by month and lie within the loan term";
+            }
+            previousMonth = flow.month();
+        }
+        return null;
+    }
+}
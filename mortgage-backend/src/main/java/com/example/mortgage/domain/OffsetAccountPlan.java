@@ -0,0 +1,19 @@
+package com.example.mortgage.domain;
+
+import java.util.List;
+
+public record OffsetAccountPlan(
+    double initialBalance,
+    double monthlyCredit,
+    double monthlyWithdrawal,
+    List<Flow> flows
+) {
+    public static OffsetAccountPlan fixed(double balance) {
+        return new OffsetAccountPlan(balance, 0, 0, List.of());
+    }
+    
+    public record Flow(
+        int month,
+        double amount
+    ) {}
+}
@@ -0,0 +1,43 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record OffsetAccountResult(
+    double monthlyPayment,
+    double totalPaid,
+    double totalInterest,
+    double standardLoanInterest,
+    double offsetSettlement,
+    int payoffMonth,
+    double[] yearlyPrincipal,
+    double[] yearlyInterest,
+    double[] yearEndLoanBalance,
+    double[] yearEndOffsetBalance,
+    Monthly monthly
+) {
+    public double interestSaved() {
+        return standardLoanInterest - totalInterest;
+    }
+    
+    public int effectiveYears() {
+        return (payoffMonth + 11) / 12;
+    }
+    
+    public List<YearlyAmortization> yearlyAmortization() {
+        List<YearlyAmortization> yearlyData = new ArrayList<>(yearlyPrincipal.length);
+        for (int i = 0; i < yearlyPrincipal.length; i++) {
+            yearlyData.add(new YearlyAmortization(i + 1, yearlyPrincipal[i], yearlyInterest[i]));
+        }
+        return yearlyData;
+    }
+    
+    public record Monthly(
+        double[] principalPaid,
+        double[] interestPaid,
+        double[] loanBalance,
+        double[] offsetBalance
+    ) {}
+}
@@ -0,0 +1,20 @@
+package com.example.mortgage.domain;
+
+public enum OffsetAllocation {
+    HIGHEST_RATE_FIRST("highestRateFirst"),
+    PROPORTIONAL("proportional");
+    
+    private final String value;
+    
+    OffsetAllocation(String value) {
+        this.value = value;
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    public static OffsetAllocation from(String value) {
+        return "proportional".equals(value) ? PROPORTIONAL : HIGHEST_RATE_FIRST;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.mortgage.domain;
+
+public class OffsetAllocationOptimizer {
+    
+    static final int FRACTION_STEPS = 20;
+    
+    private final SavingsCalculatorService savingsService;
+    
+    public OffsetAllocationOptimizer(SavingsCalculatorService savingsService) {
+        this.savingsService = savingsService;
+    }
+    
+    public AllocationPlan optimize(double principal, double annualRatePercent, int years, OffsetMode offsetMode,
+                                   double savingsRatePercent, double taxRatePercent, String periodicity,
+                                   double amount, int horizonYears) {
+        String error = validationError(principal, amount);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        int totalMonths = years * 12;
+        int horizon = horizonYears * 12;
+        double monthlyRate = annualRatePercent / 100.0 / 12.0;
+        double payment = AmortizationSchedule.payment(principal, monthlyRate, totalMonths);
+        AmortizationSchedule standard = AmortizationSchedule.of(principal, monthlyRate, payment, totalMonths);
+        
+        // Both benefit curves are closed form; tabulating the parts shared by every plan leaves one pow per evaluation
+        double[] standardInterest = new double[horizon + 1];
+        double[] savingsGain = new double[horizon + 1];
+        for (int month = 0; month <= horizon; month++) {
+            standardInterest[month] = standard.cumulativeInterest(month);
+            savingsGain[month] = savingsService.balanceAfterMonths(1.0, 0, savingsRatePercent, taxRatePercent,
+                periodicity, month) - 1;
+        }
+        
+        AmortizationSchedule[] offsetSchedules = new AmortizationSchedule[FRACTION_STEPS + 1];
+        for (int step = 0; step <= FRACTION_STEPS; step++) {
+            double offset = amount * step / FRACTION_STEPS;
+            double offsetPayment = offsetMode == OffsetMode.REDUCE_TERM
+                ? payment
+                : AmortizationSchedule.payment(principal - offset, monthlyRate, totalMonths);
+            offsetSchedules[step] = AmortizationSchedule.of(principal - offset, monthlyRate, offsetPayment, totalMonths);
+        }
+        Curves curves = new Curves(standardInterest, savingsGain, offsetSchedules, amount, horizon);
+        
+        int bestStep = 0;
+        int bestMonth = 0;
+        double bestValue = curves.value(0, 0);
+        boolean partial = false;
+        Deadline deadline = Deadline.current();
+        for (int step = 1; step <= FRACTION_STEPS; step++) {
+            // Out of time, the best split found so far is still a valid plan, only not necessarily the optimum;
+            // a cancelled request has nobody left to answer
+            if (deadline.cancelled()) {
+                throw new DeadlineExceededException(true);
+            }
+            if (deadline.expired()) {
+                partial = true;
+                break;
+            }
+            // Yearly switch points first, then every month within a year of the best one
+            int coarseMonth = 0;
+            double coarseValue = curves.value(step, 0);
+            for (int month = 12; month < horizon + 12; month += 12) {
+                int switchMonth = Math.min(month, horizon);
+                double value = curves.value(step, switchMonth);
+                if (value > coarseValue) {
+                    coarseValue = value;
+                    coarseMonth = switchMonth;
+                }
+            }
+            // Switching at month 0 is the all-savings plan whatever the split, which the initial value already covers
+            for (int month = Math.max(coarseMonth - 11, 1); month <= Math.min(coarseMonth + 11, horizon); month++) {
+                double value = curves.value(step, month);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestStep = step;
+                    bestMonth = month;
+                }
+            }
+        }
+        
+        int[] switchMonths = new int[horizonYears + 1];
+        double[] switchValues = new double[horizonYears + 1];
+        for (int year = 0; year <= horizonYears; year++) {
+            switchMonths[year] = year * 12;
+            switchValues[year] = curves.value(bestStep, year * 12);
+        }
+        double[] fractions = new double[FRACTION_STEPS + 1];
+        double[] fractionValues = new double[FRACTION_STEPS + 1];
+        for (int step = 0; step <= FRACTION_STEPS; step++) {
+            fractions[step] = (double) step / FRACTION_STEPS;
+            fractionValues[step] = curves.value(step, bestMonth);
+        }
+        
+        return new AllocationPlan(
+            (double) bestStep / FRACTION_STEPS,
+            bestMonth,
+            horizon,
+            bestValue,
+            curves.value(FRACTION_STEPS, horizon),
+            curves.value(0, 0),
+            switchMonths,
+            switchValues,
+            fractions,
+            fractionValues,
+            partial
+        );
+    }
+    
+    public String validationError(double principal, double amount) {
+        if (amount > principal) {
+            return "Offset amount cannot exceed principal";
+        }
+        return null;
+    }
+    
+    // Interest saved while a share of the amount sits in the offset account, plus what every part earns in savings
+    private record Curves(double[] standardInterest, double[] savingsGain, AmortizationSchedule[] offsetSchedules,
+                          double amount, int horizon) {
+        
+        double value(int step, int switchMonth) {
+            double offset = amount * step / FRACTION_STEPS;
+            double interestSaved = standardInterest[switchMonth] - offsetSchedules[step].cumulativeInterest(switchMonth);
+            return interestSaved
+                + offset * savingsGain[horizon - switchMonth]
+                + (amount - offset) * savingsGain[horizon];
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.mortgage.domain;
+
+public enum OffsetMode {
+    REDUCE_AMOUNT("reduceAmount"),
+    REDUCE_TERM("reduceTerm");
+    
+    private final String value;
+    
+    OffsetMode(String value) {
+        this.value = value;
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    public static OffsetMode from(String value) {
+        return "reduceTerm".equals(value) ? REDUCE_TERM : REDUCE_AMOUNT;
+    }
+}
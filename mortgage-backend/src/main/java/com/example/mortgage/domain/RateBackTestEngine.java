@@ -0,0 +1,98 @@
+package com.example.mortgage.domain;
+
+import java.util.stream.IntStream;
+
+public class RateBackTestEngine {
+    
+    // Replays the loan once per historical start month. The rate is the dataset's rate for each calendar month, and
+    // like a resetPayment variable-rate loan the instalment is re-amortized over the remaining term whenever it
+    // changes. Offset modes follow MortgageCalculatorService: reduceAmount re-amortizes the offset balance, reduceTerm
+    // keeps paying the instalment of the loan without offset and finishes early.
+    public BackTestResult backTest(RateHistory history, double principal, int years,
+                                   double offsetAmount, OffsetMode offsetMode) {
+        String error = validationError(history, principal, years, offsetAmount);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        int termMonths = years * 12;
+        int starts = history.months() - termMonths + 1;
+        double[] rates = history.annualRatePercents();
+        double[] totalInterest = new double[starts];
+        double[] offsetBenefit = new double[starts];
+        int[] payoffMonths = new int[starts];
+        
+        // Start months are independent, so they fan out over the common pool; the request's deadline is captured
+        // here because the workers do not carry the caller's thread-local
+        Deadline deadline = Deadline.current();
+        IntStream.range(0, starts).parallel().forEach(start -> {
+            deadline.check();
+            replay(rates, start, termMonths, principal, offsetAmount, offsetMode, totalInterest, offsetBenefit, payoffMonths);
+        });
+        
+        return new BackTestResult(history.month(0), termMonths, totalInterest, offsetBenefit, payoffMonths);
+    }
+    
+    private static void replay(double[] rates, int start, int termMonths, double principal, double offsetAmount,
+                               OffsetMode offsetMode, double[] totalInterest, double[] offsetBenefit, int[] payoffMonths) {
+        boolean offset = offsetAmount > 0;
+        boolean reduceTerm = offsetMode == OffsetMode.REDUCE_TERM;
+        double originalBalance = principal;
+        double balance = principal - offsetAmount;
+        double originalPayment = 0;
+        double payment = 0;
+        double originalInterest = 0;
+        double interest = 0;
+        double previousRate = Double.NaN;
+        int payoffMonth = termMonths;
+        
+        for (int month = 0; month < termMonths; month++) {
+            double annualRate = rates[start + month];
+            double monthlyRate = annualRate / 100.0 / 12.0;
+            if (annualRate != previousRate) {
+                previousRate = annualRate;
+                originalPayment = AmortizationSchedule.payment(originalBalance, monthlyRate, termMonths - month);
+                payment = reduceTerm ? originalPayment : AmortizationSchedule.payment(balance, monthlyRate, termMonths - month);
+            }
+            
+            double originalMonthInterest = originalBalance * monthlyRate;
+            originalInterest += originalMonthInterest;
+            originalBalance -= originalPayment - originalMonthInterest;
+            
+            if (offset && balance >= AmortizationSchedule.PAID_OFF) {
+                double monthInterest = balance * monthlyRate;
+                interest += monthInterest;
+                balance -= Math.min(payment - monthInterest, balance);
+                if (balance < AmortizationSchedule.PAID_OFF) {
+                    payoffMonth = month + 1;
+                }
+            }
+        }
+        
+        totalInterest[start] = offset ? interest : originalInterest;
+        offsetBenefit[start] = offset ? originalInterest - interest : 0;
+        payoffMonths[start] = payoffMonth;
+    }
+    
+    public String validationError(RateHistory history, double principal, int years, double offsetAmount) {
+        if (principal <= 0) {
+            return "Principal must be greater than 0";
+        }
+        if (years <= 0) {
+            return "Years must be greater than 0";
+        }
+        if (offsetAmount < 0) {
+            return "Offset amount cannot be negative";
+        }
+        if (offsetAmount > principal) {
+            return "Offset amount cannot exceed principal";
+        }
+        if (history.months() == 0) {
+            return "No rate history is loaded";
+        }
+        if ((long) years * 12 > history.months()) {
+            return "Rate history covers " + history.months() + " months, fewer than the " + (long) years * 12 + "-month term";
+        }
+        return null;
+    }
+}
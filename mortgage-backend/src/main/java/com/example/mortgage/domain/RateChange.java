@@ -0,0 +1,6 @@
+package com.example.mortgage.domain;
+
+public record RateChange(
+    int startMonth,
+    double annualRatePercent
+) {}
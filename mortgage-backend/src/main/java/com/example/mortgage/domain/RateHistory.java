@@ -0,0 +1,37 @@
+package com.example.mortgage.domain;
+
+import java.time.YearMonth;
+
+// Month-by-month annual rates from firstMonth on; the array is owned, not copied, so a loaded dataset exists once
+public final class RateHistory {
+    
+    public static final RateHistory EMPTY = new RateHistory(YearMonth.of(1970, 1), new double[0]);
+    
+    private final YearMonth firstMonth;
+    private final double[] annualRatePercents;
+    
+    public RateHistory(YearMonth firstMonth, double[] annualRatePercents) {
+        this.firstMonth = firstMonth;
+        this.annualRatePercents = annualRatePercents;
+    }
+    
+    public YearMonth firstMonth() {
+        return firstMonth;
+    }
+    
+    public int months() {
+        return annualRatePercents.length;
+    }
+    
+    public YearMonth month(int index) {
+        return firstMonth.plusMonths(index);
+    }
+    
+    public double annualRatePercent(int index) {
+        return annualRatePercents[index];
+    }
+    
+    double[] annualRatePercents() {
+        return annualRatePercents;
+    }
+}
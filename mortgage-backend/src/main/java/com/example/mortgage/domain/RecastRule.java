@@ -0,0 +1,20 @@
+package com.example.mortgage.domain;
+
+public enum RecastRule {
+    RESET_PAYMENT("resetPayment"),
+    KEEP_PAYMENT("keepPayment");
+    
+    private final String value;
+    
+    RecastRule(String value) {
+        this.value = value;
+    }
+    
+    public String value() {
+        return value;
+    }
+    
+    public static RecastRule from(String value) {
+        return "keepPayment".equals(value) ? KEEP_PAYMENT : RESET_PAYMENT;
+    }
+}
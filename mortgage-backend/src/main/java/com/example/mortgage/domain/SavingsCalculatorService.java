@@ -8,7 +8,10 @@ public class SavingsCalculatorService {
     public SavingsResult calculate(double initialAmount, double monthlyContribution, 
                                    double annualInterestRatePercent, double taxRatePercent,
                                    String periodicity, int years) {
-        validateInputs(initialAmount, monthlyContribution, annualInterestRatePercent, taxRatePercent, years);
+        String error = validationError(initialAmount, monthlyContribution, annualInterestRatePercent, taxRatePercent, years);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
         
         int numberOfPeriods;
         double periodicRate;
@@ -63,60 +66,112 @@ public class SavingsCalculatorService {
                                 totalInterestEarned, totalTaxPaid, totalSaved, years);
     }
     
+    // Same closed form as calculate, carried on dual numbers so every partial derivative comes out of one pass
+    public SavingsSensitivity sensitivity(double initialAmount, double monthlyContribution,
+                                          double annualInterestRatePercent, double taxRatePercent,
+                                          String periodicity, int years) {
+        String error = validationError(initialAmount, monthlyContribution, annualInterestRatePercent, taxRatePercent, years);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        Dual initial = Dual.variable(initialAmount, SavingsSensitivity.INITIAL_AMOUNT, SavingsSensitivity.INPUTS);
+        Dual contribution = Dual.variable(monthlyContribution, SavingsSensitivity.MONTHLY_CONTRIBUTION, SavingsSensitivity.INPUTS);
+        Dual rate = Dual.variable(annualInterestRatePercent, SavingsSensitivity.ANNUAL_RATE, SavingsSensitivity.INPUTS);
+        Dual tax = Dual.variable(taxRatePercent, SavingsSensitivity.TAX_RATE, SavingsSensitivity.INPUTS);
+        Dual term = Dual.variable(years, SavingsSensitivity.YEARS, SavingsSensitivity.INPUTS);
+        
+        boolean monthly = "monthly".equalsIgnoreCase(periodicity);
+        Dual periods = monthly ? term.times(12) : term;
+        Dual periodicRate = rate.times(monthly ? 1 / 1200.0 : 1 / 100.0);
+        Dual keptAfterTax = tax.times(-1 / 100.0).plus(1);
+        Dual afterTaxRate = periodicRate.times(keptAfterTax);
+        Dual totalContributions = contribution.times(periods);
+        
+        Dual totalSaved = initial.times(growth(afterTaxRate, periods))
+            .plus(contribution.times(annuityGrowth(afterTaxRate, periods)));
+        Dual grossTotal = initial.times(growth(periodicRate, periods))
+            .plus(contribution.times(annuityGrowth(periodicRate, periods)));
+        Dual interestBeforeTax = grossTotal.minus(initial).minus(totalContributions);
+        
+        return new SavingsSensitivity(
+            SavingsSensitivity.gradient(totalSaved),
+            SavingsSensitivity.gradient(interestBeforeTax.times(keptAfterTax))
+        );
+    }
+    
+    private static Dual growth(Dual periodicRate, Dual periods) {
+        return periodicRate.plus(1).pow(periods);
+    }
+    
+    // Future value of one contribution per period; at a zero rate its first-order expansion keeps the rate derivative
+    private static Dual annuityGrowth(Dual periodicRate, Dual periods) {
+        if (periodicRate.value() == 0) {
+            return periods.plus(periodicRate.times(periods.times(periods.plus(-1)).times(0.5)));
+        }
+        return growth(periodicRate, periods).plus(-1).div(periodicRate);
+    }
+    
     public List<YearlySavingsBalance> calculateYearlyBalances(double initialAmount, double monthlyContribution,
                                                                double annualInterestRatePercent, double taxRatePercent,
                                                                String periodicity, int years) {
-        List<YearlySavingsBalance> yearlyData = new ArrayList<>();
-        
         if (years <= 0) {
-            return yearlyData;
+            return new ArrayList<>();
         }
         
-        boolean isMonthly = "monthly".equalsIgnoreCase(periodicity);
-        double monthlyRate = annualInterestRatePercent / 100.0 / 12.0;
-        double afterTaxMonthlyRate = monthlyRate * (1 - taxRatePercent / 100.0);
+        List<YearlySavingsBalance> yearlyData = new ArrayList<>(years);
         
-        double balance = initialAmount;
-        
-        if (isMonthly) {
-            for (int year = 1; year <= years; year++) {
-                for (int month = 1; month <= 12; month++) {
-                    double interest = balance * afterTaxMonthlyRate;
-                    balance += interest + monthlyContribution;
-                }
-                yearlyData.add(new YearlySavingsBalance(year, balance));
-            }
-        } else {
-            double annualRate = annualInterestRatePercent / 100.0;
-            double afterTaxAnnualRate = annualRate * (1 - taxRatePercent / 100.0);
-            
-            for (int year = 1; year <= years; year++) {
-                double interest = balance * afterTaxAnnualRate;
-                balance += interest + (monthlyContribution * 12);
-                yearlyData.add(new YearlySavingsBalance(year, balance));
-            }
+        Deadline deadline = Deadline.current();
+        for (int year = 1; year <= years; year++) {
+            deadline.check();
+            yearlyData.add(new YearlySavingsBalance(year, balanceAfterMonths(initialAmount, monthlyContribution,
+                annualInterestRatePercent, taxRatePercent, periodicity, year * 12)));
         }
         
         return yearlyData;
     }
     
-    private void validateInputs(double initialAmount, double monthlyContribution, 
-                               double annualInterestRatePercent, double taxRatePercent, int years) {
+    public double balanceAfterMonths(double initialAmount, double monthlyContribution,
+                                     double annualInterestRatePercent, double taxRatePercent,
+                                     String periodicity, int months) {
+        if (months <= 0) {
+            return initialAmount;
+        }
+        
+        double afterTaxAnnualRate = annualInterestRatePercent / 100.0 * (1 - taxRatePercent / 100.0);
+        if ("monthly".equalsIgnoreCase(periodicity)) {
+            return futureValue(initialAmount, monthlyContribution, afterTaxAnnualRate / 12.0, months);
+        }
+        // Annual compounding credits interest and a year of contributions at each year end
+        return futureValue(initialAmount, monthlyContribution * 12, afterTaxAnnualRate, months / 12);
+    }
+    
+    private static double futureValue(double initialAmount, double contribution, double periodicRate, int periods) {
+        if (periodicRate == 0) {
+            return initialAmount + contribution * periods;
+        }
+        double growth = Math.pow(1 + periodicRate, periods);
+        return initialAmount * growth + contribution * (growth - 1) / periodicRate;
+    }
+    
+    public String validationError(double initialAmount, double monthlyContribution, 
+                                  double annualInterestRatePercent, double taxRatePercent, int years) {
         if (initialAmount < 0) {
-            throw new IllegalArgumentException("Initial amount cannot be negative");
+            return "Initial amount cannot be negative";
         }
         if (monthlyContribution < 0) {
-            throw new IllegalArgumentException("Monthly contribution cannot be negative");
+            return "Monthly contribution cannot be negative";
         }
         if (annualInterestRatePercent < 0) {
-            throw new IllegalArgumentException("Annual interest rate cannot be negative");
+            return "Annual interest rate cannot be negative";
         }
         if (taxRatePercent < 0) {
-            throw new IllegalArgumentException("Tax rate cannot be negative");
+            return "Tax rate cannot be negative";
         }
         if (years <= 0) {
-            throw new IllegalArgumentException("Years must be greater than 0");
+            return "Years must be greater than 0";
         }
+        return null;
     }
     
     public record YearlySavingsBalance(int year, double balance) {}
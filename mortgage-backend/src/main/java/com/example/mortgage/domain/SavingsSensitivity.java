@@ -0,0 +1,33 @@
+package com.example.mortgage.domain;
+
+public record SavingsSensitivity(
+    Gradient totalSaved,
+    Gradient totalInterestEarned
+) {
+    static final int INITIAL_AMOUNT = 0;
+    static final int MONTHLY_CONTRIBUTION = 1;
+    static final int ANNUAL_RATE = 2;
+    static final int TAX_RATE = 3;
+    static final int YEARS = 4;
+    static final int INPUTS = 5;
+    
+    static Gradient gradient(Dual output) {
+        return new Gradient(
+            output.value(),
+            output.derivative(INITIAL_AMOUNT),
+            output.derivative(MONTHLY_CONTRIBUTION),
+            output.derivative(ANNUAL_RATE),
+            output.derivative(TAX_RATE),
+            output.derivative(YEARS)
+        );
+    }
+    
+    public record Gradient(
+        double value,
+        double initialAmount,
+        double monthlyContribution,
+        double annualInterestRatePercent,
+        double taxRatePercent,
+        double years
+    ) {}
+}
@@ -0,0 +1,169 @@
+package com.example.mortgage.domain;
+
+public final class SeriesDownsampler {
+    
+    public static final int MIN_POINTS = 3;
+    
+    private SeriesDownsampler() {
+    }
+    
+    public static String validationError(Integer maxPoints) {
+        if (maxPoints != null && maxPoints < MIN_POINTS) {
+            return "maxPoints must be at least " + MIN_POINTS;
+        }
+        return null;
+    }
+    
+    public static boolean reduces(int length, Integer maxPoints) {
+        return maxPoints != null && length > maxPoints;
+    }
+    
+    public static int[] select(int[] x, int maxPoints, DownsamplingMode mode, double[]... series) {
+        if (x.length <= maxPoints) {
+            int[] all = new int[x.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        // Min/max keeps two points per series per bucket; with too few points for one bucket use LTTB
+        return mode == DownsamplingMode.MIN_MAX && series.length > 0 && maxPoints - 2 >= 2 * series.length
+            ? minMax(x.length, maxPoints, series)
+            : largestTriangleThreeBuckets(x, maxPoints, series);
+    }
+    
+    public static int[] pick(int[] values, int[] indices) {
+        int[] picked = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            picked[i] = values[indices[i]];
+        }
+        return picked;
+    }
+    
+    public static double[] pick(double[] values, int[] indices) {
+        double[] picked = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            picked[i] = values[indices[i]];
+        }
+        return picked;
+    }
+    
+    private static int[] largestTriangleThreeBuckets(int[] x, int maxPoints, double[][] series) {
+        int length = x.length;
+        int seriesCount = series.length;
+        double[] weight = inverseRanges(series);
+        double[] averageY = new double[seriesCount];
+        int[] selected = new int[maxPoints];
+        
+        double bucketSize = (double) (length - 2) / (maxPoints - 2);
+        int anchor = 0;
+        selected[0] = 0;
+        
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            
+            // Third vertex: average of the next bucket, or the last point for the final bucket
+            int nextStart = end;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, length);
+            if (bucket == maxPoints - 3) {
+                nextStart = length - 1;
+                nextEnd = length;
+            }
+            double averageX = 0;
+            for (int s = 0; s < seriesCount; s++) {
+                averageY[s] = 0;
+            }
+            for (int j = nextStart; j < nextEnd; j++) {
+                averageX += x[j];
+                for (int s = 0; s < seriesCount; s++) {
+                    averageY[s] += series[s][j];
+                }
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            for (int s = 0; s < seriesCount; s++) {
+                averageY[s] /= nextCount;
+            }
+            
+            double anchorX = x[anchor];
+            double maxArea = -1;
+            int chosen = start;
+            for (int j = start; j < end; j++) {
+                double area = 0;
+                for (int s = 0; s < seriesCount; s++) {
+                    double anchorY = series[s][anchor];
+                    area += weight[s] * Math.abs(
+                        (anchorX - averageX) * (series[s][j] - anchorY) - (anchorX - x[j]) * (averageY[s] - anchorY));
+                }
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            
+            selected[bucket + 1] = chosen;
+            anchor = chosen;
+        }
+        
+        selected[maxPoints - 1] = length - 1;
+        return selected;
+    }
+    
+    private static int[] minMax(int length, int maxPoints, double[][] series) {
+        int seriesCount = series.length;
+        int buckets = (maxPoints - 2) / (2 * seriesCount);
+        double bucketSize = (double) (length - 2) / buckets;
+        boolean[] keep = new boolean[length];
+        keep[0] = true;
+        keep[length - 1] = true;
+        
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            for (double[] values : series) {
+                int min = start;
+                int max = start;
+                for (int j = start + 1; j < end; j++) {
+                    if (values[j] < values[min]) {
+                        min = j;
+                    }
+                    if (values[j] > values[max]) {
+                        max = j;
+                    }
+                }
+                keep[min] = true;
+                keep[max] = true;
+            }
+        }
+        
+        int count = 0;
+        for (boolean k : keep) {
+            if (k) {
+                count++;
+            }
+        }
+        int[] selected = new int[count];
+        int next = 0;
+        for (int i = 0; i < length; i++) {
+            if (keep[i]) {
+                selected[next++] = i;
+            }
+        }
+        return selected;
+    }
+    
+    private static double[] inverseRanges(double[][] series) {
+        double[] weight = new double[series.length];
+        for (int s = 0; s < series.length; s++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (double v : series[s]) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            weight[s] = max > min ? 1.0 / (max - min) : 0.0;
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record VariableRateSchedule(
+    double principal,
+    int termMonths,
+    List<Segment> segments
+) {
+    public int months() {
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        Segment last = segments.get(segments.size() - 1);
+        return last.startMonth() + last.schedule().months() - 1;
+    }
+    
+    public double balanceAfter(int month) {
+        if (month <= 0 || segments.isEmpty()) {
+            return month <= 0 ? principal : 0;
+        }
+        Segment segment = segmentFor(month);
+        return segment.schedule().balanceAfter(month - segment.startMonth() + 1);
+    }
+    
+    public double cumulativeInterest(int month) {
+        if (month <= 0 || segments.isEmpty()) {
+            return 0;
+        }
+        Segment segment = segmentFor(month);
+        return segment.interestBefore() + segment.schedule().cumulativeInterest(month - segment.startMonth() + 1);
+    }
+    
+    public MonthlyAmortization month(int month) {
+        double opening = balanceAfter(month - 1);
+        double closing = balanceAfter(month);
+        return new MonthlyAmortization(month, opening - closing, cumulativeInterest(month) - cumulativeInterest(month - 1), closing);
+    }
+    
+    public List<MonthlyAmortization> monthlyAmortization() {
+        int months = months();
+        List<MonthlyAmortization> monthlyData = new ArrayList<>(months);
+        Deadline deadline = Deadline.current();
+        for (int month = 1; month <= months; month++) {
+            if (month % 12 == 1) {
+                deadline.check();
+            }
+            monthlyData.add(month(month));
+        }
+        return monthlyData;
+    }
+    
+    public List<YearlyAmortization> yearlyAmortization() {
+        int years = (termMonths + 11) / 12;
+        List<YearlyAmortization> yearlyData = new ArrayList<>(years);
+        double balance = principal;
+        int month = 0;
+        int segmentIndex = 0;
+        double growth12 = Double.NaN;
+        
+        Deadline deadline = Deadline.current();
+        for (int year = 1; year <= years; year++) {
+            deadline.check();
+            int yearEnd = year * 12;
+            double yearlyPrincipal = 0;
+            double yearlyInterest = 0;
+            
+            while (month < yearEnd && segmentIndex < segments.size()) {
+                Segment segment = segments.get(segmentIndex);
+                AmortizationSchedule schedule = segment.schedule();
+                int to = Math.min(yearEnd, segment.endMonth());
+                double next;
+                double interest;
+                if (to - month == 12 && to < segment.endMonth()) {
+                    // A whole year of full instalments: jump twelve months with the segment's yearly growth factor
+                    double rate = schedule.monthlyRate();
+                    if (Double.isNaN(growth12)) {
+                        growth12 = Math.pow(1 + rate, 12);
+                    }
+                    double payment = schedule.monthlyPayment();
+                    next = rate == 0 ? balance - 12 * payment : balance * growth12 - payment * (growth12 - 1) / rate;
+                    interest = 12 * payment - (balance - next);
+                } else {
+                    int localFrom = month - segment.startMonth() + 1;
+                    int localTo = to - segment.startMonth() + 1;
+                    next = schedule.balanceAfter(localTo);
+                    interest = schedule.cumulativeInterest(localTo) - schedule.cumulativeInterest(localFrom);
+                }
+                
+                yearlyPrincipal += balance - next;
+                yearlyInterest += interest;
+                balance = next;
+                month = to;
+                if (month == segment.endMonth()) {
+                    segmentIndex++;
+                    growth12 = Double.NaN;
+                }
+            }
+            
+            yearlyData.add(new YearlyAmortization(year, yearlyPrincipal, yearlyInterest));
+        }
+        return yearlyData;
+    }
+    
+    private Segment segmentFor(int month) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).startMonth() <= month) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments.get(low);
+    }
+    
+    public record Segment(
+        int startMonth,
+        int endMonth,
+        double annualRatePercent,
+        double interestBefore,
+        AmortizationSchedule schedule
+    ) {
+        public double payment() {
+            return schedule.monthlyPayment();
+        }
+        
+        public double openingBalance() {
+            return schedule.principal();
+        }
+        
+        public double closingBalance() {
+            return schedule.balanceAfter(schedule.months());
+        }
+        
+        public double interestPaid() {
+            return schedule.cumulativeInterest(schedule.months());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.mortgage.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VariableRateScheduleEngine {
+    
+    public VariableRateSchedule schedule(double principal, int years, List<RateChange> rates, RecastRule recast) {
+        String error = validationError(principal, years, rates);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        
+        int termMonths = years * 12;
+        List<VariableRateSchedule.Segment> segments = new ArrayList<>(rates.size());
+        double balance = principal;
+        double interestBefore = 0;
+        double payment = 0;
+        
+        Deadline deadline = Deadline.current();
+        for (int i = 0; i < rates.size() && balance > 0; i++) {
+            deadline.check();
+            RateChange rate = rates.get(i);
+            int startMonth = rate.startMonth();
+            int endMonth = i + 1 < rates.size() ? rates.get(i + 1).startMonth() - 1 : termMonths;
+            double monthlyRate = rate.annualRatePercent() / 100.0 / 12.0;
+            if (i == 0 || recast == RecastRule.RESET_PAYMENT) {
+                payment = AmortizationSchedule.payment(balance, monthlyRate, termMonths - startMonth + 1);
+            }
+            
+            AmortizationSchedule schedule = AmortizationSchedule.of(balance, monthlyRate, payment, endMonth - startMonth + 1);
+            segments.add(new VariableRateSchedule.Segment(startMonth, startMonth + schedule.months() - 1,
+                rate.annualRatePercent(), interestBefore, schedule));
+            interestBefore += schedule.cumulativeInterest(schedule.months());
+            balance = schedule.balanceAfter(schedule.months());
+        }
+        
+        return new VariableRateSchedule(principal, termMonths, segments);
+    }
+    
+    public String validationError(double principal, int years, List<RateChange> rates) {
+        if (principal <= 0) {
+            return "Principal must be greater than 0";
+        }
+        if (years <= 0) {
+            return "Years must be greater than 0";
+        }
+        if (rates.isEmpty() || rates.get(0).startMonth() != 1) {
+            return "Rate timeline must start at month 1";
+        }
+        int previousMonth = 0;
+        for (RateChange rate : rates) {
+            if (rate.startMonth() <= previousMonth) {
+                return "Rate changes must be in strictly increasing month order";
+            }
+            if (rate.startMonth() > years * 12) {
+                return "Rate change month must lie within the loan term";
+            }
+            if (rate.annualRatePercent() < 0) {
+                return "Annual rate cannot be negative";
+            }
+            previousMonth = rate.startMonth();
+        }
+        return null;
+    }
+}
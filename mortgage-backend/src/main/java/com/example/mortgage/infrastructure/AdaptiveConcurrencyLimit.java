@@ -0,0 +1,95 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// TCP Vegas style limit: the gap between the no-load latency and the latency of the last window
+// estimates how many requests are queued inside the service, and the limit moves to keep that small
+final class AdaptiveConcurrencyLimit {
+    
+    static final int ALPHA = 3;
+    static final int BETA = 6;
+    static final int MIN_WINDOW_SAMPLES = 10;
+    static final int PROBE_WINDOWS = 100;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    
+    // Window state, guarded by this
+    private long noLoadRtt = Long.MAX_VALUE;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private int windowsSinceProbe;
+    
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+    }
+    
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    // Releases without a latency sample, for responses that say nothing about service capacity
+    void release() {
+        inFlight.decrementAndGet();
+    }
+    
+    void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        sample(rttNanos, current);
+    }
+    
+    int limit() {
+        return limit;
+    }
+    
+    int inFlight() {
+        return inFlight.get();
+    }
+    
+    private synchronized void sample(long rttNanos, int inFlightAtRelease) {
+        windowMinRtt = Math.min(windowMinRtt, Math.max(rttNanos, 1));
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        if (++windowSamples < Math.max(MIN_WINDOW_SAMPLES, limit)) {
+            return;
+        }
+        
+        long rtt = windowMinRtt;
+        // Re-learn the baseline now and then so a slower host or deployment does not pin the limit down
+        if (++windowsSinceProbe >= PROBE_WINDOWS) {
+            windowsSinceProbe = 0;
+            noLoadRtt = rtt;
+        }
+        noLoadRtt = Math.min(noLoadRtt, rtt);
+        
+        int current = limit;
+        double queued = current * (1 - (double) noLoadRtt / rtt);
+        int step = Math.max(1, (int) Math.log10(current));
+        int next = current;
+        if (queued > BETA * step) {
+            next = current - step;
+        } else if (queued < ALPHA * step && windowMaxInFlight * 2 >= current) {
+            next = current + step;
+        }
+        limit = Math.min(Math.max(next, minLimit), maxLimit);
+        
+        windowMinRtt = Long.MAX_VALUE;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+}
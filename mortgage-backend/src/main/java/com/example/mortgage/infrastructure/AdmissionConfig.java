@@ -0,0 +1,43 @@
+package com.example.mortgage.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+public class AdmissionConfig {
+    
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${mortgage.admission.enabled:false}") boolean enabled,
+            @Value("${mortgage.admission.client-rate:50}") double clientRate,
+            @Value("${mortgage.admission.client-burst:100}") int clientBurst,
+            @Value("${mortgage.admission.max-clients:100000}") int maxClients,
+            @Value("${mortgage.admission.trusted-proxies:}") String trustedProxies,
+            @Value("${mortgage.admission.calculation.max-concurrency:100}") int calculationMax,
+            @Value("${mortgage.admission.chart.max-concurrency:50}") int chartMax,
+            @Value("${mortgage.admission.ai.max-concurrency:32}") int aiMax) {
+        Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.CALCULATION, new AdaptiveConcurrencyLimit(20, 2, calculationMax));
+        limits.put(EndpointClass.CHART, new AdaptiveConcurrencyLimit(20, 2, chartMax));
+        limits.put(EndpointClass.AI, new AdaptiveConcurrencyLimit(8, 1, aiMax));
+        
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter(
+            new ClientRateLimiter(clientRate, clientBurst, maxClients, System.nanoTime()),
+            TrustedProxies.parse(trustedProxies), limits, objectMapper, registry));
+        registration.setEnabled(enabled);
+        registration.addUrlPatterns("/api/*");
+        // Runs after the request metrics filter, so shed requests still show up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.mortgage.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class AdmissionFilter extends OncePerRequestFilter {
+    
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+    
+    private final ClientRateLimiter rateLimiter;
+    private final TrustedProxies trustedProxies;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, Counter> rateRejections = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> concurrencyRejections = new EnumMap<>(EndpointClass.class);
+    
+    AdmissionFilter(ClientRateLimiter rateLimiter, TrustedProxies trustedProxies,
+                    Map<EndpointClass, AdaptiveConcurrencyLimit> limits, ObjectMapper objectMapper,
+                    MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.trustedProxies = trustedProxies;
+        this.limits = limits;
+        this.objectMapper = objectMapper;
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            rateRejections.put(endpoint, registry.counter("admission.rejections", "endpoint", endpoint.tag, "reason", "rate"));
+            concurrencyRejections.put(endpoint, registry.counter("admission.rejections", "endpoint", endpoint.tag, "reason", "concurrency"));
+            AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+            Gauge.builder("admission.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .tag("endpoint", endpoint.tag).register(registry);
+            Gauge.builder("admission.inflight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .tag("endpoint", endpoint.tag).register(registry);
+        }
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        EndpointClass endpoint = EndpointClass.of(request.getRequestURI());
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        long start = System.nanoTime();
+        long wait = rateLimiter.tryAcquire(client(request), start);
+        if (wait > 0) {
+            rateRejections.get(endpoint).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Too many requests from this client");
+            return;
+        }
+        AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+        if (!limit.tryAcquire()) {
+            concurrencyRejections.get(endpoint).increment();
+            // Not 503: Tomcat closes the connection after a 503, and the reconnects cost more than the shed work
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, 0, "Server is at capacity");
+            return;
+        }
+        
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limit, start));
+            }
+        } finally {
+            if (!async) {
+                release(limit, start, response.getStatus());
+            }
+        }
+    }
+    
+    // Anyone can send X-Forwarded-For, so it only counts when a trusted proxy relayed the request. Walking
+    // back from the last hop, the first address that is not one of our proxies is the client
+    String client(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        String forwarded = request.getHeader(FORWARDED_FOR);
+        if (forwarded == null || forwarded.isBlank() || !trustedProxies.contains(remote)) {
+            return remote;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            if (i == 0 || !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remote;
+    }
+    
+    private static void release(AdaptiveConcurrencyLimit limit, long start, int status) {
+        // Rejected input is answered before any real work, so its latency would understate the no-load time
+        if (status < 400) {
+            limit.release(System.nanoTime() - start);
+        } else {
+            limit.release();
+        }
+    }
+    
+    private void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(LocalDateTime.now(), status.value(), message));
+    }
+    
+    // Servlet containers call onComplete after a timeout or error too, so releasing there is enough
+    private record ReleaseOnComplete(AdaptiveConcurrencyLimit limit, long start) implements AsyncListener {
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(limit, start, ((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.AllocationPlan;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+public record AllocationPlanResponse(
+    double offsetFraction,
+    double offsetAmount,
+    double savingsAmount,
+    Integer switchMonth,
+    int horizonMonths,
+    double netBenefit,
+    double allOffsetBenefit,
+    double allSavingsBenefit,
+    SwitchCurve switchCurve,
+    FractionCurve fractionCurve,
+    boolean partial
+) {
+    public static AllocationPlanResponse of(AllocationPlan plan, double amount) {
+        double offsetAmount = amount * plan.offsetFraction();
+        // Money that stays in the offset account until the horizon is never moved
+        Integer switchMonth = plan.offsetFraction() == 0 || plan.switchMonth() == plan.horizonMonths()
+            ? null
+            : plan.switchMonth();
+        return new AllocationPlanResponse(
+            plan.offsetFraction(),
+            offsetAmount,
+            amount - offsetAmount,
+            switchMonth,
+            plan.horizonMonths(),
+            plan.netBenefit(),
+            plan.allOffsetBenefit(),
+            plan.allSavingsBenefit(),
+            new SwitchCurve(plan.switchMonths(), plan.switchValues()),
+            new FractionCurve(plan.fractions(), plan.fractionValues()),
+            plan.partial()
+        );
+    }
+    
+    public record SwitchCurve(
+        int[] months,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] netBenefit
+    ) {}
+    
+    public record FractionCurve(
+        double[] fractions,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] netBenefit
+    ) {}
+}
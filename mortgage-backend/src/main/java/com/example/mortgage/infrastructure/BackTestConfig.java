@@ -0,0 +1,19 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.RateHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class BackTestConfig {
+    
+    // Loaded once at startup; a configured file that does not parse fails the start rather than every request
+    @Bean
+    public RateHistory rateHistory(@Value("${mortgage.backtest.rates-file:}") String ratesFile) throws IOException {
+        return ratesFile.isBlank() ? RateHistory.EMPTY : CsvRateHistory.load(Path.of(ratesFile));
+    }
+}
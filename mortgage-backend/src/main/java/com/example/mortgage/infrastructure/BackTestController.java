@@ -0,0 +1,41 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.BackTestUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/mortgage")
+public class BackTestController {
+    
+    private final BackTestUseCase useCase;
+    private final RequestValidation validation;
+    
+    public BackTestController(BackTestUseCase useCase, RequestValidation validation) {
+        this.useCase = useCase;
+        this.validation = validation;
+    }
+    
+    @PostMapping("/backtest")
+    public ResponseEntity<?> backTest(@RequestBody BackTestRequest request) {
+        if (!useCase.available()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "No rate history is configured"));
+        }
+        ResponseEntity<?> rejected = validation.validate(request, BackTestRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = useCase.validationError(request.principal(), request.years(), request.offsetAmount());
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        return ResponseEntity.ok(BackTestResponse.of(
+            useCase.execute(request.principal(), request.years(), request.offsetAmount(), request.offsetMode())));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@GenerateValidator
+public record BackTestRequest(
+    @NotNull(message = "Principal is required")
+    @DecimalMin(value = "0.01", message = "Principal must be greater than 0")
+    Double principal,
+    
+    @NotNull(message = "Years is required")
+    @Min(value = 1, message = "Years must be greater than 0")
+    Integer years,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Offset amount cannot be negative")
+    Double offsetAmount,
+    
+    String offsetMode
+) {
+    public BackTestRequest {
+        if (offsetAmount == null) {
+            offsetAmount = 0.0;
+        }
+        if (offsetMode == null) {
+            offsetMode = "reduceAmount";
+        }
+    }
+    
+    @AssertTrue(message = "Offset amount cannot exceed principal amount")
+    public boolean isOffsetAmountValid() {
+        return offsetAmount == null || principal == null || offsetAmount <= principal;
+    }
+}
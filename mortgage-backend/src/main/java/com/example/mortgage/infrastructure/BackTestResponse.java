@@ -0,0 +1,59 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.BackTestResult;
+
+import java.time.YearMonth;
+
+public record BackTestResponse(
+    int startMonths,
+    YearMonth firstStartMonth,
+    YearMonth lastStartMonth,
+    int termMonths,
+    Distribution totalInterest,
+    Distribution offsetBenefit,
+    Distribution payoffMonths,
+    StartMonth mostExpensiveStart,
+    StartMonth cheapestStart
+) {
+    public static BackTestResponse of(BackTestResult result) {
+        return new BackTestResponse(
+            result.starts(),
+            result.start(0),
+            result.start(result.starts() - 1),
+            result.termMonths(),
+            Distribution.of(result.totalInterestDistribution()),
+            Distribution.of(result.offsetBenefitDistribution()),
+            Distribution.of(result.payoffMonthsDistribution()),
+            StartMonth.of(result, result.mostExpensiveStart()),
+            StartMonth.of(result, result.cheapestStart())
+        );
+    }
+    
+    public record Distribution(
+        double min,
+        double p10,
+        double p25,
+        double median,
+        double p75,
+        double p90,
+        double max,
+        double mean
+    ) {
+        static Distribution of(BackTestResult.Distribution distribution) {
+            return new Distribution(distribution.min(), distribution.p10(), distribution.p25(), distribution.median(),
+                distribution.p75(), distribution.p90(), distribution.max(), distribution.mean());
+        }
+    }
+    
+    public record StartMonth(
+        YearMonth month,
+        double totalInterest,
+        double offsetBenefit,
+        int payoffMonth
+    ) {
+        static StartMonth of(BackTestResult result, int index) {
+            return new StartMonth(result.start(index), result.totalInterest()[index],
+                result.offsetBenefit()[index], result.payoffMonths()[index]);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.CalculationCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    
+    @Bean
+    public CalculationCache calculationCache(
+            MeterRegistry registry,
+            @Value("${mortgage.cache.enabled:true}") boolean enabled,
+            @Value("${mortgage.cache.near-entries:10000}") int nearEntries,
+            @Value("${mortgage.cache.remote.directory:}") String remoteDirectory,
+            @Value("${mortgage.cache.remote.timeout:20ms}") Duration remoteTimeout,
+            @Value("${mortgage.cache.remote.max-size:256MB}") DataSize remoteMaxSize,
+            @Value("${mortgage.cache.remote.max-age:7d}") Duration remoteMaxAge) throws IOException {
+        if (!enabled) {
+            return CalculationCache.DISABLED;
+        }
+        RemoteCacheTier remote = remoteDirectory.isBlank() ? null
+            : new FileCacheTier(Path.of(remoteDirectory), remoteMaxSize.toBytes(), remoteMaxAge);
+        return new TwoTierCalculationCache(nearEntries, remote, remoteTimeout, registry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.mortgage.infrastructure;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.example.mortgage.CalculationRequest")
+@Label("Calculation Request")
+@Category({"Mortgage", "HTTP"})
+@Description("Phase breakdown of a calculation request")
+@StackTrace(false)
+class CalculationRequestEvent extends jdk.jfr.Event {
+    
+    @Label("Path")
+    String path;
+    
+    @Label("Status")
+    int status;
+    
+    @Label("Deserialization")
+    @Timespan(Timespan.NANOSECONDS)
+    long deserialization;
+    
+    @Label("Validation")
+    @Timespan(Timespan.NANOSECONDS)
+    long validation;
+    
+    @Label("Computation")
+    @Timespan(Timespan.NANOSECONDS)
+    long computation;
+    
+    @Label("Assembly")
+    @Timespan(Timespan.NANOSECONDS)
+    long assembly;
+    
+    @Label("Serialization")
+    @Timespan(Timespan.NANOSECONDS)
+    long serialization;
+}
@@ -0,0 +1,29 @@
+package com.example.mortgage.infrastructure;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+class CentsArraySerializer extends StdSerializer<double[]> {
+    
+    CentsArraySerializer() {
+        super(double[].class);
+    }
+    
+    @Override
+    public boolean isEmpty(SerializerProvider provider, double[] value) {
+        return value.length == 0;
+    }
+    
+    @Override
+    public void serialize(double[] values, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = CentsSerializer.buffer();
+        gen.writeStartArray(values, values.length);
+        for (double value : values) {
+            CentsSerializer.write(value, gen, buffer);
+        }
+        gen.writeEndArray();
+    }
+}
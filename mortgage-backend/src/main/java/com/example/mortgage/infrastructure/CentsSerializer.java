@@ -0,0 +1,61 @@
+package com.example.mortgage.infrastructure;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+class CentsSerializer extends StdSerializer<Double> {
+    
+    private static final double MAX_FIXED = 1e15;
+    private static final int MAX_LENGTH = 24;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+    
+    CentsSerializer() {
+        super(Double.class);
+    }
+    
+    @Override
+    public void serialize(Double value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(value, gen, BUFFER.get());
+    }
+    
+    static char[] buffer() {
+        return BUFFER.get();
+    }
+    
+    static void write(double value, JsonGenerator gen, char[] buffer) throws IOException {
+        if (Double.isFinite(value) && Math.abs(value) < MAX_FIXED) {
+            int length = format(value, buffer);
+            gen.writeNumber(buffer, buffer.length - length, length);
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+    
+    static int format(double value, char[] buffer) {
+        long cents = Math.round(value * 100);
+        boolean negative = cents < 0;
+        if (negative) {
+            cents = -cents;
+        }
+        long whole = cents / 100;
+        int fraction = (int) (cents % 100);
+        
+        int pos = buffer.length;
+        if (fraction % 10 != 0) {
+            buffer[--pos] = (char) ('0' + fraction % 10);
+        }
+        buffer[--pos] = (char) ('0' + fraction / 10);
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' + whole % 10);
+            whole /= 10;
+        } while (whole > 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return buffer.length - pos;
+    }
+}
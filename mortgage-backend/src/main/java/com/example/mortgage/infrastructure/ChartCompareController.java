@@ -1,7 +1,11 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.application.ChartCompareTipUseCase;
 import com.example.mortgage.application.ChartCompareUseCase;
-import jakarta.validation.Valid;
+import com.example.mortgage.application.OffsetAllocationUseCase;
+import com.example.mortgage.domain.DownsamplingMode;
+import com.example.mortgage.domain.SeriesDownsampler;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -9,15 +13,71 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/chart")
 public class ChartCompareController {
     
+    static final String CLIENT_ID = "X-Client-Id";
+    
     private final ChartCompareUseCase useCase;
+    private final ChartCompareTipUseCase tipUseCase;
+    private final OffsetAllocationUseCase allocationUseCase;
+    private final RequestValidation validation;
     
-    public ChartCompareController(ChartCompareUseCase useCase) {
+    public ChartCompareController(ChartCompareUseCase useCase, ChartCompareTipUseCase tipUseCase,
+                                  OffsetAllocationUseCase allocationUseCase, RequestValidation validation) {
         this.useCase = useCase;
+        this.tipUseCase = tipUseCase;
+        this.allocationUseCase = allocationUseCase;
+        this.validation = validation;
     }
     
     @PostMapping("/compare")
-    public ResponseEntity<ChartCompareResponse> compare(@Valid @RequestBody ChartCompareRequest request) {
+    public ResponseEntity<?> compare(@RequestBody ChartCompareRequest request,
+                                     @RequestParam(required = false) Integer maxPoints,
+                                     @RequestParam(defaultValue = "lttb") String downsample) {
+        ResponseEntity<?> rejected = validation.validate(request, ChartCompareRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = useCase.validationError(request);
+        if (error == null) {
+            error = SeriesDownsampler.validationError(maxPoints);
+        }
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
         ChartCompareResponse response = useCase.execute(request);
+        return ResponseEntity.ok(response.downsample(maxPoints, DownsamplingMode.from(downsample)));
+    }
+    
+    @PostMapping("/compare-with-tip")
+    public ResponseEntity<?> compareWithTip(@RequestBody ChartCompareRequest request,
+                                            @RequestHeader(value = CLIENT_ID, required = false) String clientId,
+                                            HttpServletRequest servletRequest) {
+        ResponseEntity<?> rejected = validation.validate(request, ChartCompareRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = useCase.validationError(request);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        // A client that names itself gets its earlier tip superseded; otherwise its address stands in
+        String client = clientId == null || clientId.isBlank() ? servletRequest.getRemoteAddr() : clientId;
+        ChartCompareTipResponse response = tipUseCase.execute(request, client);
         return ResponseEntity.ok(response);
     }
+    
+    @PostMapping("/optimize")
+    public ResponseEntity<?> optimize(@RequestBody ChartCompareRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, ChartCompareRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = allocationUseCase.validationError(request);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        return ResponseEntity.ok(AllocationPlanResponse.of(allocationUseCase.execute(request), request.offsetAmount()));
+    }
 }
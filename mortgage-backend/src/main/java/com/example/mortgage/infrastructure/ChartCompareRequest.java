@@ -1,10 +1,12 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 
+@GenerateValidator
 public record ChartCompareRequest(
     @NotNull @Valid MortgageParams mortgage,
     @NotNull @Valid SavingsParams savings,
@@ -15,8 +17,14 @@ public record ChartCompareRequest(
         @NotNull @Positive Double annualRatePercent,
         @NotNull @Positive Integer years,
         @NotNull String offsetMode,
-        @NotNull @Positive Double offsetRatePercent
-    ) {}
+        @NotNull @Positive Double offsetRatePercent,
+        String startMonth
+    ) {
+        public MortgageParams(Double principal, Double annualRatePercent, Integer years,
+                              String offsetMode, Double offsetRatePercent) {
+            this(principal, annualRatePercent, years, offsetMode, offsetRatePercent, null);
+        }
+    }
     
     public record SavingsParams(
         @NotNull @PositiveOrZero Double initialAmount,
@@ -1,21 +1,37 @@
 package com.example.mortgage.infrastructure;
 
-import java.util.List;
+import com.example.mortgage.domain.DownsamplingMode;
+import com.example.mortgage.domain.SeriesDownsampler;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
 public record ChartCompareResponse(
-    List<Integer> years,
-    List<Double> offsetBenefit,
-    List<Double> savingsBenefit,
-    List<Double> difference
+    int[] years,
+    @JsonSerialize(using = CentsArraySerializer.class) double[] offsetBenefit,
+    @JsonSerialize(using = CentsArraySerializer.class) double[] savingsBenefit,
+    @JsonSerialize(using = CentsArraySerializer.class) double[] difference,
+    ComparisonSummary summary
 ) {
-    public static ChartCompareResponse create(List<Integer> years,
-                                               List<Double> offsetBenefit,
-                                               List<Double> savingsBenefit) {
-        List<Double> difference = new java.util.ArrayList<>();
-        for (int i = 0; i < years.size(); i++) {
-            double diff = offsetBenefit.get(i) - savingsBenefit.get(i);
-            difference.add(diff);
+    public ChartCompareResponse downsample(Integer maxPoints, DownsamplingMode mode) {
+        if (!SeriesDownsampler.reduces(years.length, maxPoints)) {
+            return this;
         }
-        return new ChartCompareResponse(years, offsetBenefit, savingsBenefit, difference);
+        int[] keep = SeriesDownsampler.select(years, maxPoints, mode, offsetBenefit, savingsBenefit, difference);
+        return new ChartCompareResponse(
+            SeriesDownsampler.pick(years, keep),
+            SeriesDownsampler.pick(offsetBenefit, keep),
+            SeriesDownsampler.pick(savingsBenefit, keep),
+            SeriesDownsampler.pick(difference, keep),
+            summary
+        );
     }
+    
+    public record ComparisonSummary(
+        int crossoverYear,
+        double maxOffsetAdvantage,
+        double maxSavingsAdvantage,
+        double benefitAtYear1,
+        double benefitAtYear3,
+        double benefitAtYear5,
+        double benefitAtYear10
+    ) {}
 }
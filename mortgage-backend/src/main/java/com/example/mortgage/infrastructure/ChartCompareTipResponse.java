@@ -0,0 +1,6 @@
+package com.example.mortgage.infrastructure;
+
+public record ChartCompareTipResponse(
+    ChartCompareResponse comparison,
+    String tipId
+) {}
@@ -1,26 +1,142 @@
 package com.example.mortgage.infrastructure;
 
 import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.domain.Deadline;
+import com.example.mortgage.domain.DeadlineExceededException;
+import com.example.mortgage.domain.DownsamplingMode;
+import com.example.mortgage.domain.SeriesDownsampler;
 import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
 import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
 import com.example.mortgage.infrastructure.ChartResponse;
-import jakarta.validation.Valid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/chart")
 public class ChartController {
     
+    private static final long STREAM_TIMEOUT_MS = 30_000;
+    
     private final ChartCalculationUseCase useCase;
+    private final RequestValidation validation;
+    private final Executor streamExecutor;
+    private final Counter unexpectedErrors;
+    private final Counter deadlineAborts;
+    private final Counter cancelledAborts;
     
-    public ChartController(ChartCalculationUseCase useCase) {
+    public ChartController(ChartCalculationUseCase useCase,
+                           RequestValidation validation,
+                           @Qualifier("liveExecutor") Executor streamExecutor,
+                           MeterRegistry registry) {
         this.useCase = useCase;
+        this.validation = validation;
+        this.streamExecutor = streamExecutor;
+        this.unexpectedErrors = registry.counter("errors.unexpected");
+        this.deadlineAborts = registry.counter("requests.aborted", "reason", "deadline");
+        this.cancelledAborts = registry.counter("requests.aborted", "reason", "cancelled");
     }
     
     @PostMapping("/calculate")
-    public ResponseEntity<ChartResponse> calculate(@Valid @RequestBody ChartRequest request) {
+    public ResponseEntity<?> calculate(@RequestBody ChartRequest request,
+                                       @RequestParam(required = false) Integer maxPoints,
+                                       @RequestParam(defaultValue = "lttb") String downsample) {
+        ResponseEntity<?> rejected = validate(request, maxPoints);
+        if (rejected != null) {
+            return rejected;
+        }
+        
         ChartResponse response = useCase.execute(request.mortgage(), request.savings());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(response.downsample(maxPoints, DownsamplingMode.from(downsample)));
+    }
+    
+    @PostMapping("/calculate/stream")
+    public ResponseEntity<ResponseBodyEmitter> calculateStream(@RequestBody ChartRequest request,
+                                                               @RequestParam(defaultValue = "false") boolean monthly,
+                                                               @RequestParam(required = false) Integer maxPoints,
+                                                               @RequestParam(defaultValue = "lttb") String downsample)
+            throws IOException {
+        ResponseEntity<?> rejected = validate(request, maxPoints);
+        if (rejected != null) {
+            ResponseBodyEmitter body = new ResponseBodyEmitter();
+            body.send(rejected.getBody(), MediaType.APPLICATION_JSON);
+            body.complete();
+            return ResponseEntity.status(rejected.getStatusCode()).contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        DownsamplingMode mode = DownsamplingMode.from(downsample);
+        // The stream computes on another thread; a disconnect or timeout of the emitter cancels that work
+        Deadline deadline = Deadline.current();
+        emitter.onCompletion(deadline::cancel);
+        emitter.onTimeout(deadline::cancel);
+        emitter.onError(e -> deadline.cancel());
+        streamExecutor.execute(() -> {
+            Deadline previous = Deadline.bind(deadline);
+            try {
+                stream(emitter, request.mortgage(), request.savings(), monthly, maxPoints, mode);
+            } finally {
+                Deadline.restore(previous);
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+    
+    void stream(SseEmitter emitter, ChartMortgageRequest mortgage, ChartSavingsRequest savings, boolean monthly,
+                Integer maxPoints, DownsamplingMode mode) {
+        try {
+            emitter.send(SseEmitter.event().name("summary").data(useCase.summary(mortgage, savings)));
+            emitter.send(SseEmitter.event().name("chart")
+                .data(useCase.execute(mortgage, savings).downsample(maxPoints, mode)));
+            if (monthly) {
+                emitter.send(SseEmitter.event().name("monthly")
+                    .data(useCase.monthlyDetail(mortgage).downsample(maxPoints, mode)));
+            }
+            emitter.send(SseEmitter.event().name("done").data(""));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        } catch (DeadlineExceededException e) {
+            (e.cancelled() ? cancelledAborts : deadlineAborts).increment();
+            sendError(emitter, HttpStatus.GATEWAY_TIMEOUT, e.getMessage());
+        } catch (RuntimeException e) {
+            unexpectedErrors.increment();
+            sendError(emitter, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        }
+    }
+    
+    private static void sendError(SseEmitter emitter, HttpStatus status, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                .data(new ErrorResponse(LocalDateTime.now(), status.value(), message)));
+            emitter.complete();
+        } catch (IOException | IllegalStateException sendFailed) {
+            emitter.completeWithError(sendFailed);
+        }
+    }
+    
+    private ResponseEntity<?> validate(ChartRequest request, Integer maxPoints) {
+        ResponseEntity<?> rejected = validation.validate(request, ChartRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = useCase.validationError(request.mortgage(), request.savings());
+        if (error == null) {
+            error = SeriesDownsampler.validationError(maxPoints);
+        }
+        if (error != null) {
+            return validation.reject(error);
+        }
+        return null;
     }
 }
@@ -1,5 +1,6 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -7,6 +8,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+@GenerateValidator
 public record ChartRequest(
     @Valid
     ChartMortgageRequest mortgage,
@@ -38,13 +40,20 @@ public record ChartRequest(
         
         @DecimalMin(value = "0.00", inclusive = true, message = "Offset rate cannot be negative")
         @DecimalMax(value = "20.00", inclusive = true, message = "Offset rate cannot exceed 20%")
-        Double offsetRatePercent
+        Double offsetRatePercent,
+        
+        String startMonth
     ) {
         public ChartMortgageRequest {
             if (offsetAmount == null) offsetAmount = 0.0;
             if (offsetRatePercent == null) offsetRatePercent = 0.0;
             if (offsetMode == null) offsetMode = "reduceAmount";
         }
+        
+        public ChartMortgageRequest(Double principal, Double annualRatePercent, Integer years,
+                                    Double offsetAmount, String offsetMode, Double offsetRatePercent) {
+            this(principal, annualRatePercent, years, offsetAmount, offsetMode, offsetRatePercent, null);
+        }
     }
     
     public record ChartSavingsRequest(
@@ -1,5 +1,9 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.domain.DownsamplingMode;
+import com.example.mortgage.domain.SeriesDownsampler;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import java.util.List;
 
 public record ChartResponse(
@@ -20,21 +24,42 @@ public record ChartResponse(
     
     public record YearlyData(
         int year,
-        double principalPaid,
-        double interestPaid
+        @JsonSerialize(using = CentsSerializer.class) double principalPaid,
+        @JsonSerialize(using = CentsSerializer.class) double interestPaid
     ) {}
     
     public record YearlySavingsData(
         int year,
-        double balance
+        @JsonSerialize(using = CentsSerializer.class) double balance
     ) {}
     
     public record ChartData(
-        List<Integer> years,
-        List<Double> standardBalance,
-        List<Double> offsetBalance,
-        List<Double> savingsBalance,
-        List<Double> yearlyPrincipal,
-        List<Double> yearlyInterest
-    ) {}
+        int[] years,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] standardBalance,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] offsetBalance,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] savingsBalance,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] yearlyPrincipal,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] yearlyInterest
+    ) {
+        public ChartData downsample(Integer maxPoints, DownsamplingMode mode) {
+            if (!SeriesDownsampler.reduces(years.length, maxPoints)) {
+                return this;
+            }
+            int[] keep = SeriesDownsampler.select(years, maxPoints, mode,
+                standardBalance, offsetBalance, savingsBalance, yearlyPrincipal, yearlyInterest);
+            return new ChartData(
+                SeriesDownsampler.pick(years, keep),
+                SeriesDownsampler.pick(standardBalance, keep),
+                SeriesDownsampler.pick(offsetBalance, keep),
+                SeriesDownsampler.pick(savingsBalance, keep),
+                SeriesDownsampler.pick(yearlyPrincipal, keep),
+                SeriesDownsampler.pick(yearlyInterest, keep)
+            );
+        }
+    }
+    
+    public ChartResponse downsample(Integer maxPoints, DownsamplingMode mode) {
+        ChartData reduced = chartData.downsample(maxPoints, mode);
+        return reduced == chartData ? this : new ChartResponse(mortgage, savings, reduced);
+    }
 }
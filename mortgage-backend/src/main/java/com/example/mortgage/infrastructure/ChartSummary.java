@@ -0,0 +1,21 @@
+package com.example.mortgage.infrastructure;
+
+public record ChartSummary(
+    MortgageSummary mortgage,
+    SavingsSummary savings
+) {
+    public record MortgageSummary(
+        double monthlyPayment,
+        double totalPaid,
+        double totalInterest,
+        int effectiveYears,
+        double totalOffsetInterestEarned
+    ) {}
+    
+    public record SavingsSummary(
+        double totalSaved,
+        double totalContributions,
+        double totalInterestEarned,
+        double totalTaxPaid
+    ) {}
+}
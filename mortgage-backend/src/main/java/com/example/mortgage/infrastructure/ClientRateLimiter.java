@@ -0,0 +1,73 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ClientRateLimiter {
+    
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // Counted separately from the map, so a slot is reserved before a bucket is inserted and the bound is exact
+    private final AtomicInteger clients = new AtomicInteger();
+    private final TokenBucket overflow;
+    private final AtomicLong lastSweep;
+    
+    ClientRateLimiter(double ratePerSecond, int burst, int maxClients, long now) {
+        if (ratePerSecond <= 0 || burst < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Client rate, burst and max clients must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.overflow = new TokenBucket(ratePerSecond, burst, now);
+        this.lastSweep = new AtomicLong(now - SWEEP_INTERVAL_NANOS);
+    }
+    
+    // Returns 0 when the client may proceed, otherwise the nanoseconds until it may retry
+    long tryAcquire(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            if (clients.get() >= maxClients) {
+                sweep(now);
+            }
+            bucket = buckets.computeIfAbsent(client, key -> reserve() ? new TokenBucket(ratePerSecond, burst, now) : null);
+            if (bucket == null) {
+                // No slot is free, so newcomers share one bucket until a sweep drops an idle client;
+                // a flood of fresh addresses then costs no memory
+                bucket = overflow;
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+    
+    int clients() {
+        return clients.get();
+    }
+    
+    private boolean reserve() {
+        if (clients.incrementAndGet() <= maxClients) {
+            return true;
+        }
+        clients.decrementAndGet();
+        return false;
+    }
+    
+    // A full bucket behaves exactly like a new one, so dropping it forgets nothing
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+                if (entry.getValue().full(now) && buckets.remove(entry.getKey(), entry.getValue())) {
+                    clients.decrementAndGet();
+                }
+            }
+        }
+    }
+}
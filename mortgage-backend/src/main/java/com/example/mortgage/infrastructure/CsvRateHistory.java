@@ -0,0 +1,167 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.RateHistory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+// Loads "yyyy-MM[-dd],annualRatePercent" lines, one per consecutive month, with an optional header line.
+// The file is memory-mapped and parsed in place into one primitive array, without a String per line.
+public final class CsvRateHistory {
+    
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    
+    private final MappedByteBuffer bytes;
+    private int position;
+    private int line;
+    
+    private CsvRateHistory(MappedByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+    
+    public static RateHistory load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CsvRateHistory(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())).parse();
+        }
+    }
+    
+    private RateHistory parse() {
+        int limit = bytes.limit();
+        // A line such as "1990-01,7.25" is about a dozen bytes
+        double[] rates = new double[Math.max(16, limit / 12)];
+        int months = 0;
+        YearMonth first = null;
+        
+        while (position < limit) {
+            line++;
+            skipBlank();
+            if (position >= limit || isLineEnd(bytes.get(position))) {
+                skipLine();
+                continue;
+            }
+            if (first == null && !isDigit(bytes.get(position))) {
+                skipLine();
+                continue;
+            }
+            
+            YearMonth month = parseMonth();
+            if (first == null) {
+                first = month;
+            } else if (!month.equals(first.plusMonths(months))) {
+                throw error("expected " + first.plusMonths(months) + " but found " + month);
+            }
+            expect(',');
+            skipBlank();
+            double rate = parseRate();
+            skipBlank();
+            if (position < limit && !isLineEnd(bytes.get(position))) {
+                throw error("unexpected content after the rate");
+            }
+            skipLine();
+            
+            if (months == rates.length) {
+                rates = Arrays.copyOf(rates, months * 2);
+            }
+            rates[months++] = rate;
+        }
+        
+        if (first == null) {
+            throw new IllegalArgumentException("Rate history contains no rates");
+        }
+        return new RateHistory(first, months == rates.length ? rates : Arrays.copyOf(rates, months));
+    }
+    
+    private YearMonth parseMonth() {
+        int year = parseDigits(4);
+        expect('-');
+        int month = parseDigits(2);
+        if (month < 1 || month > 12) {
+            throw error("month must be between 01 and 12");
+        }
+        // A day of month is accepted and ignored, so daily-stamped monthly series load as they are
+        if (position < bytes.limit() && bytes.get(position) == '-') {
+            position++;
+            parseDigits(2);
+        }
+        return YearMonth.of(year, month);
+    }
+    
+    // Plain decimals only; mantissa and scale stay exact in a double, so one division rounds exactly as parseDouble
+    private double parseRate() {
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean fraction = false;
+        while (position < bytes.limit()) {
+            byte b = bytes.get(position);
+            if (isDigit(b)) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+            position++;
+            if (mantissa >= MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+                throw error("rate has too many digits");
+            }
+        }
+        if (digits == 0) {
+            throw error("rate must be a non-negative decimal number");
+        }
+        return mantissa / POWERS_OF_TEN[scale];
+    }
+    
+    private int parseDigits(int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            if (position >= bytes.limit() || !isDigit(bytes.get(position))) {
+                throw error("month must be written as yyyy-MM");
+            }
+            value = value * 10 + (bytes.get(position++) - '0');
+        }
+        return value;
+    }
+    
+    private void expect(char c) {
+        if (position >= bytes.limit() || bytes.get(position) != c) {
+            throw error("expected '" + c + "'");
+        }
+        position++;
+    }
+    
+    private void skipBlank() {
+        while (position < bytes.limit() && (bytes.get(position) == ' ' || bytes.get(position) == '\t')) {
+            position++;
+        }
+    }
+    
+    private void skipLine() {
+        while (position < bytes.limit() && bytes.get(position) != '\n') {
+            position++;
+        }
+        position++;
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Rate history line " + line + ": " + message);
+    }
+    
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+    
+    private static boolean isLineEnd(byte b) {
+        return b == '\n' || b == '\r';
+    }
+}
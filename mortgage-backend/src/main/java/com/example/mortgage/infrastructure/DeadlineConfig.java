@@ -0,0 +1,27 @@
+package com.example.mortgage.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class DeadlineConfig {
+    
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(
+            @Value("${mortgage.deadline.enabled:true}") boolean enabled,
+            @Value("${mortgage.deadline.default-timeout:2s}") Duration defaultTimeout,
+            @Value("${mortgage.deadline.max-timeout:10s}") Duration maxTimeout) {
+        FilterRegistrationBean<DeadlineFilter> registration =
+            new FilterRegistrationBean<>(new DeadlineFilter(defaultTimeout, maxTimeout));
+        registration.setEnabled(enabled);
+        registration.addUrlPatterns("/api/*");
+        // Right after admission, so the budget starts once the request is let in
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.Deadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Binds the request's deadline for the calculation engines. A client may ask for less time than the
+// server default, for example the debounce interval of a slider, but never for more than the maximum.
+class DeadlineFilter extends OncePerRequestFilter {
+    
+    static final String HEADER = "X-Request-Timeout";
+    
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    
+    DeadlineFilter(Duration defaultTimeout, Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Deadline previous = Deadline.bind(Deadline.after(timeout(request.getHeader(HEADER))));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+    
+    // Milliseconds; anything unparsable or not positive falls back to the default
+    Duration timeout(String header) {
+        if (header == null) {
+            return defaultTimeout;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis <= 0) {
+                return defaultTimeout;
+            }
+            Duration requested = Duration.ofMillis(millis);
+            return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+        } catch (NumberFormatException e) {
+            return defaultTimeout;
+        }
+    }
+}
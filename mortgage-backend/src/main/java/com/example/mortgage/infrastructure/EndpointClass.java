@@ -0,0 +1,24 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.Locale;
+
+enum EndpointClass {
+    CALCULATION,
+    CHART,
+    AI;
+    
+    final String tag = name().toLowerCase(Locale.ROOT);
+    
+    static EndpointClass of(String path) {
+        if (path.startsWith("/api/ai/") || path.equals("/api/chart/compare-with-tip")) {
+            return AI;
+        }
+        if (path.startsWith("/api/chart/")) {
+            return CHART;
+        }
+        if (path.startsWith("/api/mortgage/") || path.startsWith("/api/savings/")) {
+            return CALCULATION;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.mortgage.infrastructure;
+
+import java.time.LocalDateTime;
+
+public record ErrorResponse(
+    LocalDateTime timestamp,
+    int status,
+    String error
+) {}
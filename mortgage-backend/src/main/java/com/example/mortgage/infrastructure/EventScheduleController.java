@@ -0,0 +1,75 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.EventScheduleUseCase;
+import com.example.mortgage.domain.CashFlowEvent;
+import com.example.mortgage.domain.EventScheduleResult;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/mortgage")
+public class EventScheduleController {
+    
+    private final EventScheduleUseCase useCase;
+    private final RequestValidation validation;
+    
+    public EventScheduleController(EventScheduleUseCase useCase, RequestValidation validation) {
+        this.useCase = useCase;
+        this.validation = validation;
+    }
+    
+    @PostMapping("/events")
+    public ResponseEntity<?> events(@RequestBody EventScheduleRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, EventScheduleRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        List<CashFlowEvent> events = new ArrayList<>(request.events().size());
+        for (EventScheduleRequest.Event event : request.events()) {
+            if (event == null || event.month() == null || event.amount() == null) {
+                return validation.reject("Event month and amount are required");
+            }
+            events.add(new CashFlowEvent(event.month(), CashFlowEvent.Type.from(event.type()), event.amount()));
+        }
+        String error = useCase.validationError(request.principal(), request.annualRatePercent(), request.years(), events);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        EventScheduleResult result = useCase.execute(
+            request.principal(),
+            request.annualRatePercent(),
+            request.years(),
+            request.mode(),
+            events
+        );
+        
+        List<EventScheduleResponse.Segment> segments = new ArrayList<>(result.segments().size());
+        for (EventScheduleResult.Segment segment : result.segments()) {
+            segments.add(new EventScheduleResponse.Segment(
+                segment.fromMonth(),
+                segment.toMonth(),
+                segment.payment(),
+                segment.openingBalance(),
+                segment.closingBalance(),
+                segment.principalPaid(),
+                segment.interestPaid()
+            ));
+        }
+        
+        EventScheduleResponse response = new EventScheduleResponse(
+            result.initialPayment(),
+            result.totalPaid(),
+            result.totalInterest(),
+            result.interestSaved(),
+            result.payoffMonth(),
+            result.remainingBalance(),
+            segments
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@GenerateValidator
+public record EventScheduleRequest(
+    @NotNull(message = "Principal is required")
+    @DecimalMin(value = "0.01", message = "Principal must be greater than 0")
+    Double principal,
+    
+    @NotNull(message = "Annual rate is required")
+    @DecimalMin(value = "0.00", inclusive = true, message = "Annual rate cannot be negative")
+    Double annualRatePercent,
+    
+    @NotNull(message = "Years is required")
+    @Min(value = 1, message = "Years must be greater than 0")
+    Integer years,
+    
+    String mode,
+    
+    List<Event> events
+) {
+    public EventScheduleRequest {
+        if (mode == null) {
+            mode = "reduceTerm";
+        }
+        if (events == null) {
+            events = List.of();
+        }
+    }
+    
+    public record Event(
+        Integer month,
+        String type,
+        Double amount
+    ) {}
+}
@@ -0,0 +1,123 @@
+package com.example.mortgage.infrastructure;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Directory-backed stand-in for the shared tier; replicas sharing a volume share the entries
+public class FileCacheTier implements RemoteCacheTier {
+    
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final AtomicLong lastSweep;
+    
+    public FileCacheTier(Path directory, long maxBytes, Duration maxAge) throws IOException {
+        if (maxBytes < 1 || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("Cache size and age limits must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    }
+    
+    @Override
+    public byte[] get(String key) throws IOException {
+        Path file = directory.resolve(key);
+        try {
+            // Another replica's sweep may not have run yet, so an expired entry is a miss either way
+            if (expired(Files.getLastModifiedTime(file).toInstant(), Instant.now())) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public void put(String key, byte[] value) throws IOException {
+        // Readers only ever see a complete entry: write aside, then rename into place
+        Path temporary = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+        try {
+            Files.write(temporary, value);
+            try {
+                Files.move(temporary, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, directory.resolve(key), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            sweep();
+        }
+    }
+    
+    // Drops expired entries, then the oldest writes until the directory fits in maxBytes. Age is the write
+    // time, not the last read: a hit does not touch the file, so no shared state is written on the read path
+    void sweep() throws IOException {
+        Instant now = Instant.now();
+        List<Entry> entries = new ArrayList<>();
+        long totalBytes = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                Instant modified = attributes.lastModifiedTime().toInstant();
+                // Expired temporary files were left behind by a writer that died mid-put
+                if (expired(modified, now)) {
+                    Files.deleteIfExists(file);
+                } else if (!file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                    entries.add(new Entry(file, modified, attributes.size()));
+                    totalBytes += attributes.size();
+                }
+            }
+        }
+        if (totalBytes <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparing(Entry::modified));
+        for (Entry entry : entries) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entry.file());
+            totalBytes -= entry.size();
+        }
+    }
+    
+    private boolean expired(Instant modified, Instant now) {
+        return modified.plus(maxAge).isBefore(now);
+    }
+    
+    private record Entry(Path file, Instant modified, long size) {
+    }
+}
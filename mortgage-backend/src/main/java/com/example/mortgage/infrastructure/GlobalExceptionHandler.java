@@ -1,50 +1,48 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.domain.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-            errors.put(error.getField(), error.getDefaultMessage())
-        );
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("errors", errors);
-        
-        return ResponseEntity.badRequest().body(response);
+    private final RequestValidation requestValidation;
+    private final Counter unexpectedErrors;
+    private final Counter deadlineAborts;
+    private final Counter cancelledAborts;
+    
+    public GlobalExceptionHandler(RequestValidation requestValidation, MeterRegistry registry) {
+        this.requestValidation = requestValidation;
+        this.unexpectedErrors = registry.counter("errors.unexpected");
+        this.deadlineAborts = registry.counter("requests.aborted", "reason", "deadline");
+        this.cancelledAborts = registry.counter("requests.aborted", "reason", "cancelled");
     }
     
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", ex.getMessage());
-        
-        return ResponseEntity.badRequest().body(response);
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return requestValidation.reject(ex.getMessage());
+    }
+    
+    // 504 rather than 503: Tomcat closes the connection after a 503, and a slider's next request wants it open
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex) {
+        (ex.cancelled() ? cancelledAborts : deadlineAborts).increment();
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+            .body(new ErrorResponse(LocalDateTime.now(), HttpStatus.GATEWAY_TIMEOUT.value(), ex.getMessage()));
     }
     
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "An unexpected error occurred");
-        
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
+        unexpectedErrors.increment();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new ErrorResponse(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "An unexpected error occurred"));
     }
 }
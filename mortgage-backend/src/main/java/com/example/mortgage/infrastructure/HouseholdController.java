@@ -0,0 +1,84 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.HouseholdUseCase;
+import com.example.mortgage.domain.HouseholdLoan;
+import com.example.mortgage.domain.HouseholdResult;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/mortgage")
+public class HouseholdController {
+    
+    private final HouseholdUseCase useCase;
+    private final RequestValidation validation;
+    
+    public HouseholdController(HouseholdUseCase useCase, RequestValidation validation) {
+        this.useCase = useCase;
+        this.validation = validation;
+    }
+    
+    @PostMapping("/household")
+    public ResponseEntity<?> household(@RequestBody HouseholdRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, HouseholdRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        List<HouseholdLoan> loans = new ArrayList<>(request.loans().size());
+        for (HouseholdRequest.Loan loan : request.loans()) {
+            if (loan == null || loan.principal() == null || loan.annualRatePercent() == null || loan.years() == null) {
+                return validation.reject("Loan principal, annual rate and years are required");
+            }
+            loans.add(new HouseholdLoan(loan.principal(), loan.annualRatePercent(), loan.years()));
+        }
+        String error = useCase.validationError(loans, request.initialOffsetBalance(), request.monthlyCredit());
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        HouseholdResult result = useCase.execute(loans, request.initialOffsetBalance(), request.monthlyCredit(),
+            request.offsetMode(), request.allocation(), request.monthly());
+        
+        List<HouseholdResponse.Loan> loanData = new ArrayList<>(result.loans().size());
+        for (HouseholdResult.Loan loan : result.loans()) {
+            loanData.add(new HouseholdResponse.Loan(
+                loan.monthlyPayment(),
+                loan.totalPaid(),
+                loan.totalInterest(),
+                loan.standardLoanInterest(),
+                loan.interestSaved(),
+                loan.payoffMonth()
+            ));
+        }
+        
+        int years = result.yearlyPrincipal().length;
+        List<OffsetAccountResponse.YearlyOffsetData> yearlyData = new ArrayList<>(years);
+        for (int i = 0; i < years; i++) {
+            yearlyData.add(new OffsetAccountResponse.YearlyOffsetData(
+                i + 1,
+                result.yearlyPrincipal()[i],
+                result.yearlyInterest()[i],
+                result.yearEndLoanBalance()[i],
+                result.yearEndOffsetBalance()[i]
+            ));
+        }
+        
+        HouseholdResponse response = new HouseholdResponse(
+            result.monthlyPayment(),
+            result.totalPaid(),
+            result.totalInterest(),
+            result.standardLoanInterest(),
+            result.interestSaved(),
+            result.offsetSettlement(),
+            result.payoffMonth(),
+            loanData,
+            yearlyData,
+            request.monthly() ? OffsetAccountResponse.MonthlyOffsetData.of(result.monthly()) : null
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
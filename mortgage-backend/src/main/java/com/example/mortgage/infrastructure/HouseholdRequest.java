@@ -0,0 +1,50 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
+import jakarta.validation.constraints.DecimalMin;
+
+import java.util.List;
+
+@GenerateValidator
+public record HouseholdRequest(
+    List<Loan> loans,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Offset balance cannot be negative")
+    Double initialOffsetBalance,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Monthly credit cannot be negative")
+    Double monthlyCredit,
+    
+    String offsetMode,
+    
+    String allocation,
+    
+    Boolean monthly
+) {
+    public HouseholdRequest {
+        if (loans == null) {
+            loans = List.of();
+        }
+        if (initialOffsetBalance == null) {
+            initialOffsetBalance = 0.0;
+        }
+        if (monthlyCredit == null) {
+            monthlyCredit = 0.0;
+        }
+        if (offsetMode == null) {
+            offsetMode = "reduceAmount";
+        }
+        if (allocation == null) {
+            allocation = "highestRateFirst";
+        }
+        if (monthly == null) {
+            monthly = false;
+        }
+    }
+    
+    public record Loan(
+        Double principal,
+        Double annualRatePercent,
+        Integer years
+    ) {}
+}
@@ -0,0 +1,25 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.List;
+
+public record HouseholdResponse(
+    double monthlyPayment,
+    double totalPaid,
+    double totalInterest,
+    double standardLoanInterest,
+    double interestSaved,
+    double offsetSettlement,
+    int payoffMonth,
+    List<Loan> loans,
+    List<OffsetAccountResponse.YearlyOffsetData> yearlyData,
+    OffsetAccountResponse.MonthlyOffsetData monthlyData
+) {
+    public record Loan(
+        double monthlyPayment,
+        double totalPaid,
+        double totalInterest,
+        double standardLoanInterest,
+        double interestSaved,
+        int payoffMonth
+    ) {}
+}
@@ -0,0 +1,38 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.BatchJobService;
+import com.example.mortgage.application.MortgageCalculationUseCase;
+import com.example.mortgage.application.SavingsCalculationUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class JobConfig {
+    
+    // Half the cores by default, so a full batch queue still leaves the request threads room to run
+    @Bean(destroyMethod = "close")
+    public BatchJobService batchJobService(
+            MortgageCalculationUseCase mortgageUseCase,
+            SavingsCalculationUseCase savingsUseCase,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${mortgage.jobs.directory:${java.io.tmpdir}/mortgage-jobs}") String directory,
+            @Value("${mortgage.jobs.parallelism:0}") int parallelism,
+            @Value("${mortgage.jobs.memory-per-job:4MB}") DataSize memoryPerJob,
+            @Value("${mortgage.jobs.max-items:1000000}") long maxItems,
+            @Value("${mortgage.jobs.max-active:16}") int maxActive,
+            @Value("${mortgage.jobs.retention:1h}") Duration retention) throws IOException {
+        int workers = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BatchJobService.Limits limits = new BatchJobService.Limits(
+            workers, memoryPerJob.toBytes(), maxItems, maxActive, retention);
+        return new BatchJobService(mortgageUseCase, savingsUseCase, objectMapper, Path.of(directory), limits, registry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.BatchJob;
+import com.example.mortgage.application.BatchJobService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+    
+    private final BatchJobService jobs;
+    private final RequestValidation validation;
+    
+    public JobController(BatchJobService jobs, RequestValidation validation) {
+        this.jobs = jobs;
+        this.validation = validation;
+    }
+    
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody JobRequest request) {
+        String error = jobs.validationError(request);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        Optional<BatchJob> job = jobs.submit(request);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(LocalDateTime.now(), HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "Too many active jobs, try again later"));
+        }
+        
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/jobs/" + job.get().id()))
+            .body(JobStatusResponse.of(job.get()));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<JobStatusResponse> status(@PathVariable String id) {
+        return ResponseEntity.of(jobs.find(id).map(JobStatusResponse::of));
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<JobStatusResponse> cancel(@PathVariable String id) {
+        return ResponseEntity.of(jobs.cancel(id).map(JobStatusResponse::of));
+    }
+    
+    // Streams the spilled NDJSON straight from disk, one line per calculation in request order
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> result(@PathVariable String id) {
+        Optional<BatchJob> found = jobs.find(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        BatchJob job = found.get();
+        if (job.state() != BatchJob.State.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(LocalDateTime.now(), HttpStatus.CONFLICT.value(),
+                    "Job is " + JobStatusResponse.of(job).state() + ", results are available once it completes"));
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(job.id() + ".ndjson").build().toString())
+            .body(new FileSystemResource(job.resultFile()));
+    }
+}
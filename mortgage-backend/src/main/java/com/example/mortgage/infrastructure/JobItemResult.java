@@ -0,0 +1,29 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.ValidationErrors;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobItemResult(
+    long index,
+    String type,
+    Object result,
+    String error,
+    ValidationErrors errors
+) {
+    public static JobItemResult of(long index, String type, Object result) {
+        return new JobItemResult(index, type, result, null, null);
+    }
+    
+    public static JobItemResult rejected(long index, String type, String error) {
+        return new JobItemResult(index, type, null, error, null);
+    }
+    
+    public static JobItemResult rejected(long index, String type, ValidationErrors errors) {
+        return new JobItemResult(index, type, null, null, errors);
+    }
+    
+    public boolean failed() {
+        return result == null;
+    }
+}
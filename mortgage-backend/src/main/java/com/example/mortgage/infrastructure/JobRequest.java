@@ -0,0 +1,80 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.List;
+
+public record JobRequest(
+    String priority,
+    List<MortgageRequest> mortgages,
+    List<SavingsRequest> savings,
+    MortgageGrid mortgageGrid
+) {
+    public JobRequest {
+        if (priority == null) {
+            priority = "normal";
+        }
+        if (mortgages == null) {
+            mortgages = List.of();
+        }
+        if (savings == null) {
+            savings = List.of();
+        }
+    }
+    
+    public long totalItems() {
+        long gridItems = mortgageGrid == null ? 0 : mortgageGrid.size();
+        long listedItems = (long) mortgages.size() + savings.size();
+        return gridItems > Long.MAX_VALUE - listedItems ? Long.MAX_VALUE : listedItems + gridItems;
+    }
+    
+    // Cartesian product of the listed inputs, expanded one item at a time so a large grid never sits in memory
+    public record MortgageGrid(
+        List<Double> principals,
+        List<Double> annualRatePercents,
+        List<Integer> years,
+        List<Double> offsetAmounts,
+        String offsetMode,
+        String startMonth
+    ) {
+        public MortgageGrid {
+            if (principals == null) {
+                principals = List.of();
+            }
+            if (annualRatePercents == null) {
+                annualRatePercents = List.of();
+            }
+            if (years == null) {
+                years = List.of();
+            }
+            if (offsetAmounts == null || offsetAmounts.isEmpty()) {
+                offsetAmounts = List.of(0.0);
+            }
+            if (offsetMode == null) {
+                offsetMode = "reduceAmount";
+            }
+        }
+        
+        // Saturates instead of overflowing, so an absurd grid is rejected by the item limit
+        public long size() {
+            long size = 1;
+            for (int dimension : new int[] {principals.size(), annualRatePercents.size(), years.size(), offsetAmounts.size()}) {
+                if (dimension != 0 && size > Long.MAX_VALUE / dimension) {
+                    return Long.MAX_VALUE;
+                }
+                size *= dimension;
+            }
+            return size;
+        }
+        
+        // The offset account earns the loan rate, which is what an offset account against the same loan pays
+        public MortgageRequest item(long index) {
+            Double offsetAmount = offsetAmounts.get((int) (index % offsetAmounts.size()));
+            index /= offsetAmounts.size();
+            Integer term = years.get((int) (index % years.size()));
+            index /= years.size();
+            Double rate = annualRatePercents.get((int) (index % annualRatePercents.size()));
+            index /= annualRatePercents.size();
+            Double principal = principals.get((int) index);
+            return new MortgageRequest(principal, rate, term, offsetAmount, offsetMode, rate, startMonth);
+        }
+    }
+}
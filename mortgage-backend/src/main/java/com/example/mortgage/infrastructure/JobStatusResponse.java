@@ -0,0 +1,39 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.BatchJob;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+public record JobStatusResponse(
+    String id,
+    String state,
+    String priority,
+    long totalItems,
+    long completedItems,
+    long failedItems,
+    double progress,
+    LocalDateTime submittedAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    String error,
+    String resultUrl
+) {
+    public static JobStatusResponse of(BatchJob job) {
+        long completed = job.completedItems();
+        return new JobStatusResponse(
+            job.id(),
+            job.state().name().toLowerCase(Locale.ROOT),
+            job.priority().value(),
+            job.totalItems(),
+            completed,
+            job.failedItems(),
+            (double) completed / job.totalItems(),
+            job.submittedAt(),
+            job.startedAt(),
+            job.finishedAt(),
+            job.error(),
+            job.state() == BatchJob.State.COMPLETED ? "/api/jobs/" + job.id() + "/result" : null
+        );
+    }
+}
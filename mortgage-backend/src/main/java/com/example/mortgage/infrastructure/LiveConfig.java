@@ -0,0 +1,32 @@
+package com.example.mortgage.infrastructure;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableWebSocket
+public class LiveConfig implements WebSocketConfigurer {
+    
+    private final LiveRecalculationHandler handler;
+    
+    public LiveConfig(LiveRecalculationHandler handler) {
+        this.handler = handler;
+    }
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(handler, "/ws/live")
+            .setAllowedOrigins("http://localhost:4200", "http://63.176.132.107");
+    }
+    
+    @Bean(destroyMethod = "shutdownNow")
+    public static ExecutorService liveExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
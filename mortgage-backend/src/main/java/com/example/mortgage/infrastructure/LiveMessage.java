@@ -0,0 +1,7 @@
+package com.example.mortgage.infrastructure;
+
+public record LiveMessage(
+    String type,
+    long seq,
+    Object body
+) {}
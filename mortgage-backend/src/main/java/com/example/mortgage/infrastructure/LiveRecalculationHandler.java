@@ -0,0 +1,195 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.application.ChartCompareUseCase;
+import com.example.mortgage.domain.Deadline;
+import com.example.mortgage.domain.DeadlineExceededException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+
+@Component
+public class LiveRecalculationHandler extends TextWebSocketHandler {
+    
+    private static final String SESSION_ATTRIBUTE = LiveSession.class.getName();
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int SEND_BUFFER_LIMIT = 512 * 1024;
+    
+    private final ChartCalculationUseCase chartUseCase;
+    private final ChartCompareUseCase compareUseCase;
+    private final RequestValidation validation;
+    private final ObjectMapper objectMapper;
+    private final Executor liveExecutor;
+    
+    private final Counter supersededUpdates;
+    private final Counter discardedResults;
+    private final Counter deliveredResults;
+    private final Counter unexpectedErrors;
+    
+    public LiveRecalculationHandler(ChartCalculationUseCase chartUseCase,
+                                    ChartCompareUseCase compareUseCase,
+                                    RequestValidation validation,
+                                    ObjectMapper objectMapper,
+                                    @Qualifier("liveExecutor") Executor liveExecutor,
+                                    MeterRegistry registry) {
+        this.chartUseCase = chartUseCase;
+        this.compareUseCase = compareUseCase;
+        this.validation = validation;
+        this.objectMapper = objectMapper;
+        this.liveExecutor = liveExecutor;
+        this.supersededUpdates = registry.counter("live.updates", "outcome", "superseded");
+        this.discardedResults = registry.counter("live.updates", "outcome", "discarded");
+        this.deliveredResults = registry.counter("live.updates", "outcome", "delivered");
+        this.unexpectedErrors = registry.counter("errors.unexpected");
+    }
+    
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+        session.getAttributes().put(SESSION_ATTRIBUTE, new LiveSession(concurrent));
+    }
+    
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        LiveSession live = (LiveSession) session.getAttributes().get(SESSION_ATTRIBUTE);
+        if (live == null) {
+            return;
+        }
+        
+        LiveUpdate update;
+        try {
+            update = objectMapper.readValue(message.getPayload(), LiveUpdate.class);
+        } catch (JsonProcessingException e) {
+            send(live, new LiveMessage("error", -1, error("Malformed update")));
+            return;
+        }
+        
+        if (live.offer(update) != null) {
+            supersededUpdates.increment();
+        }
+        if (live.startDraining()) {
+            liveExecutor.execute(() -> drain(live));
+        }
+    }
+    
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        LiveSession live = (LiveSession) session.getAttributes().remove(SESSION_ATTRIBUTE);
+        if (live != null) {
+            live.close();
+        }
+    }
+    
+    private void drain(LiveSession live) {
+        do {
+            LiveUpdate update;
+            while ((update = live.poll()) != null) {
+                Deadline previous = Deadline.bind(live.begin(update));
+                try {
+                    process(live, update);
+                } catch (DeadlineExceededException e) {
+                    discardedResults.increment();
+                } catch (Exception e) {
+                    unexpectedErrors.increment();
+                    deliver(live, update, "error", error("An unexpected error occurred"));
+                } finally {
+                    Deadline.restore(previous);
+                }
+            }
+        } while (live.finishDraining());
+    }
+    
+    private void process(LiveSession live, LiveUpdate update) {
+        switch (update.type() == null ? "" : update.type()) {
+            case "chart" -> processChart(live, update);
+            case "compare" -> processCompare(live, update);
+            default -> deliver(live, update, "error", error("Unknown update type"));
+        }
+    }
+    
+    private void processChart(LiveSession live, LiveUpdate update) {
+        ChartRequest request = update.chart();
+        if (request == null || request.mortgage() == null || request.savings() == null) {
+            deliver(live, update, "error", error("Chart update requires mortgage and savings"));
+            return;
+        }
+        ResponseEntity<?> rejected = validation.validate(request, ChartRequestValidator::validate);
+        if (rejected != null) {
+            deliver(live, update, "error", rejected.getBody());
+            return;
+        }
+        String error = chartUseCase.validationError(request.mortgage(), request.savings());
+        if (error != null) {
+            deliver(live, update, "error", validation.reject(error).getBody());
+            return;
+        }
+        
+        if (update.preview() && !deliver(live, update, "preview", chartUseCase.preview(request.mortgage(), request.savings()))) {
+            return;
+        }
+        if (live.superseded(update)) {
+            discardedResults.increment();
+            return;
+        }
+        deliver(live, update, "chart", chartUseCase.execute(request.mortgage(), request.savings()));
+    }
+    
+    private void processCompare(LiveSession live, LiveUpdate update) {
+        ChartCompareRequest request = update.compare();
+        if (request == null) {
+            deliver(live, update, "error", error("Compare update requires a compare request"));
+            return;
+        }
+        ResponseEntity<?> rejected = validation.validate(request, ChartCompareRequestValidator::validate);
+        if (rejected != null) {
+            deliver(live, update, "error", rejected.getBody());
+            return;
+        }
+        String error = compareUseCase.validationError(request);
+        if (error != null) {
+            deliver(live, update, "error", validation.reject(error).getBody());
+            return;
+        }
+        
+        deliver(live, update, "compare", compareUseCase.execute(request));
+    }
+    
+    private boolean deliver(LiveSession live, LiveUpdate update, String type, Object body) {
+        if (live.superseded(update)) {
+            discardedResults.increment();
+            return false;
+        }
+        if (!send(live, new LiveMessage(type, update.seq(), body))) {
+            return false;
+        }
+        deliveredResults.increment();
+        return true;
+    }
+    
+    private boolean send(LiveSession live, LiveMessage message) {
+        try {
+            live.session().sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+    
+    private static ErrorResponse error(String message) {
+        return new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), message);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.Deadline;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class LiveSession {
+    
+    private static final int CHART = 0;
+    private static final int COMPARE = 1;
+    private static final int OTHER = 2;
+    
+    private final WebSocketSession session;
+    // One slot per update type, so a chart update never supersedes a comparison and vice versa
+    private final Slot[] slots = {new Slot(), new Slot(), new Slot()};
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    private int nextSlot;
+    
+    LiveSession(WebSocketSession session) {
+        this.session = session;
+    }
+    
+    WebSocketSession session() {
+        return session;
+    }
+    
+    // A newer update makes the one of its type being computed worthless, so that calculation is cancelled mid-loop
+    LiveUpdate offer(LiveUpdate update) {
+        Slot slot = slot(update);
+        LiveUpdate previous = slot.pending.getAndSet(update);
+        slot.inFlight.cancel();
+        return previous;
+    }
+    
+    Deadline begin(LiveUpdate update) {
+        Deadline deadline = Deadline.cancellable();
+        slot(update).inFlight = deadline;
+        if (superseded(update)) {
+            deadline.cancel();
+        }
+        return deadline;
+    }
+    
+    // Only the draining thread polls; rotating the first slot keeps a stream of one type from starving the other
+    LiveUpdate poll() {
+        for (int i = 0; i < slots.length; i++) {
+            int index = (nextSlot + i) % slots.length;
+            LiveUpdate update = slots[index].pending.getAndSet(null);
+            if (update != null) {
+                nextSlot = (index + 1) % slots.length;
+                return update;
+            }
+        }
+        return null;
+    }
+    
+    boolean superseded(LiveUpdate update) {
+        return closed || slot(update).pending.get() != null;
+    }
+    
+    boolean startDraining() {
+        return !closed && draining.compareAndSet(false, true);
+    }
+    
+    boolean finishDraining() {
+        draining.set(false);
+        return hasPending() && startDraining();
+    }
+    
+    void close() {
+        closed = true;
+        for (Slot slot : slots) {
+            slot.pending.set(null);
+            slot.inFlight.cancel();
+        }
+    }
+    
+    private boolean hasPending() {
+        for (Slot slot : slots) {
+            if (slot.pending.get() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Slot slot(LiveUpdate update) {
+        String type = update.type() == null ? "" : update.type();
+        return slots[switch (type) {
+            case "chart" -> CHART;
+            case "compare" -> COMPARE;
+            default -> OTHER;
+        }];
+    }
+    
+    private static final class Slot {
+        private final AtomicReference<LiveUpdate> pending = new AtomicReference<>();
+        private volatile Deadline inFlight = Deadline.NONE;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.mortgage.infrastructure;
+
+public record LiveUpdate(
+    String type,
+    long seq,
+    boolean preview,
+    ChartRequest chart,
+    ChartCompareRequest compare
+) {}
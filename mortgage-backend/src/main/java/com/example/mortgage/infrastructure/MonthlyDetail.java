@@ -0,0 +1,69 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.DownsamplingMode;
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+import com.example.mortgage.domain.OffsetAccountResult;
+import com.example.mortgage.domain.SeriesDownsampler;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+public record MonthlyDetail(
+    MonthlySchedule standard,
+    MonthlySchedule offset
+) {
+    public MonthlyDetail downsample(Integer maxPoints, DownsamplingMode mode) {
+        return new MonthlyDetail(standard.downsample(maxPoints, mode), offset.downsample(maxPoints, mode));
+    }
+    
+    public record MonthlySchedule(
+        int[] months,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] principalPaid,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] interestPaid,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] remainingBalance
+    ) {
+        public static MonthlySchedule of(List<MonthlyAmortization> rows) {
+            int size = rows.size();
+            int[] months = new int[size];
+            double[] principalPaid = new double[size];
+            double[] interestPaid = new double[size];
+            double[] remainingBalance = new double[size];
+            
+            for (int i = 0; i < size; i++) {
+                MonthlyAmortization row = rows.get(i);
+                months[i] = row.month();
+                principalPaid[i] = row.principalPaid();
+                interestPaid[i] = row.interestPaid();
+                remainingBalance[i] = row.remainingBalance();
+            }
+            
+            return new MonthlySchedule(months, principalPaid, interestPaid, remainingBalance);
+        }
+        
+        public static MonthlySchedule of(OffsetAccountResult.Monthly rows) {
+            int size = rows.loanBalance().length;
+            int[] months = new int[size];
+            double[] remainingBalance = new double[size];
+            
+            for (int i = 0; i < size; i++) {
+                months[i] = i + 1;
+                remainingBalance[i] = Math.max(rows.loanBalance()[i] - rows.offsetBalance()[i], 0);
+            }
+            
+            return new MonthlySchedule(months, rows.principalPaid(), rows.interestPaid(), remainingBalance);
+        }
+        
+        public MonthlySchedule downsample(Integer maxPoints, DownsamplingMode mode) {
+            if (!SeriesDownsampler.reduces(months.length, maxPoints)) {
+                return this;
+            }
+            int[] keep = SeriesDownsampler.select(months, maxPoints, mode, principalPaid, interestPaid, remainingBalance);
+            return new MonthlySchedule(
+                SeriesDownsampler.pick(months, keep),
+                SeriesDownsampler.pick(principalPaid, keep),
+                SeriesDownsampler.pick(interestPaid, keep),
+                SeriesDownsampler.pick(remainingBalance, keep)
+            );
+        }
+    }
+}
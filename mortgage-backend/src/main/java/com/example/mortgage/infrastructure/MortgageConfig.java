@@ -1,7 +1,13 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.domain.CashFlowScheduleEngine;
+import com.example.mortgage.domain.HouseholdEngine;
 import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAllocationOptimizer;
+import com.example.mortgage.domain.RateBackTestEngine;
 import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.domain.VariableRateScheduleEngine;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,4 +23,34 @@ public class MortgageConfig {
     public SavingsCalculatorService savingsCalculatorService() {
         return new SavingsCalculatorService();
     }
+    
+    @Bean
+    public CashFlowScheduleEngine cashFlowScheduleEngine() {
+        return new CashFlowScheduleEngine();
+    }
+    
+    @Bean
+    public VariableRateScheduleEngine variableRateScheduleEngine() {
+        return new VariableRateScheduleEngine();
+    }
+    
+    @Bean
+    public OffsetAccountEngine offsetAccountEngine() {
+        return new OffsetAccountEngine();
+    }
+    
+    @Bean
+    public HouseholdEngine householdEngine() {
+        return new HouseholdEngine();
+    }
+    
+    @Bean
+    public RateBackTestEngine rateBackTestEngine() {
+        return new RateBackTestEngine();
+    }
+    
+    @Bean
+    public OffsetAllocationOptimizer offsetAllocationOptimizer(SavingsCalculatorService savingsCalculatorService) {
+        return new OffsetAllocationOptimizer(savingsCalculatorService);
+    }
 }
@@ -1,8 +1,9 @@
 package com.example.mortgage.infrastructure;
 
 import com.example.mortgage.application.MortgageCalculationUseCase;
+import com.example.mortgage.domain.AmortizationSchedule;
 import com.example.mortgage.domain.MortgageResult;
-import jakarta.validation.Valid;
+import com.example.mortgage.domain.MortgageSensitivity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,20 +12,28 @@ import org.springframework.web.bind.annotation.*;
 public class MortgageController {
     
     private final MortgageCalculationUseCase useCase;
+    private final RequestValidation validation;
     
-    public MortgageController(MortgageCalculationUseCase useCase) {
+    public MortgageController(MortgageCalculationUseCase useCase, RequestValidation validation) {
         this.useCase = useCase;
+        this.validation = validation;
     }
     
     @PostMapping("/calculate")
-    public ResponseEntity<MortgageResponse> calculate(@Valid @RequestBody MortgageRequest request) {
+    public ResponseEntity<?> calculate(@RequestBody MortgageRequest request) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        
         MortgageResult result = useCase.execute(
             request.principal(),
             request.annualRatePercent(),
             request.years(),
             request.offsetAmount(),
             request.offsetMode(),
-            request.offsetRatePercent()
+            request.offsetRatePercent(),
+            request.startMonth()
         );
         
         MortgageResponse response = new MortgageResponse(
@@ -38,4 +47,99 @@ public class MortgageController {
         
         return ResponseEntity.ok(response);
     }
+    
+    @PostMapping("/sensitivity")
+    public ResponseEntity<?> sensitivity(@RequestBody MortgageRequest request) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        
+        MortgageSensitivity sensitivity = useCase.sensitivity(
+            request.principal(),
+            request.annualRatePercent(),
+            request.years(),
+            request.offsetAmount(),
+            request.offsetMode(),
+            request.offsetRatePercent()
+        );
+        
+        return ResponseEntity.ok(MortgageSensitivityResponse.of(sensitivity));
+    }
+    
+    @PostMapping("/schedule")
+    public ResponseEntity<?> schedule(@RequestBody MortgageRequest request,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "120") int size) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = AmortizationSchedule.pageError(page, size);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        return ResponseEntity.ok(SchedulePageResponse.of(schedule(request), page, size));
+    }
+    
+    @PostMapping("/schedule/range")
+    public ResponseEntity<?> scheduleRange(@RequestBody MortgageRequest request,
+                                           @RequestParam int fromMonth,
+                                           @RequestParam(required = false) Integer toMonth) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        int lastMonth = toMonth != null ? toMonth : fromMonth;
+        String error = AmortizationSchedule.rangeError(fromMonth, lastMonth, request.years());
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        AmortizationSchedule.Range range = schedule(request).range(fromMonth, lastMonth);
+        
+        ScheduleRangeResponse response = new ScheduleRangeResponse(
+            range.fromMonth(),
+            range.toMonth(),
+            range.openingBalance(),
+            range.closingBalance(),
+            range.principalPaid(),
+            range.interestPaid(),
+            range.cumulativePrincipal(),
+            range.cumulativeInterest()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    private AmortizationSchedule schedule(MortgageRequest request) {
+        return useCase.schedule(
+            request.principal(),
+            request.annualRatePercent(),
+            request.years(),
+            request.offsetAmount(),
+            request.offsetMode(),
+            request.offsetRatePercent()
+        );
+    }
+    
+    private ResponseEntity<?> validate(MortgageRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, MortgageRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = useCase.validationError(
+            request.principal(),
+            request.annualRatePercent(),
+            request.years(),
+            request.offsetAmount(),
+            request.offsetRatePercent(),
+            request.startMonth()
+        );
+        if (error != null) {
+            return validation.reject(error);
+        }
+        return null;
+    }
 }
@@ -1,10 +1,12 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.AssertTrue;
 
+@GenerateValidator
 public record MortgageRequest(
     @NotNull(message = "Principal is required")
     @DecimalMin(value = "0.01", message = "Principal must be greater than 0")
@@ -24,7 +26,9 @@ public record MortgageRequest(
     String offsetMode,
     
     @DecimalMin(value = "0.00", inclusive = true, message = "Offset rate cannot be negative")
-    Double offsetRatePercent
+    Double offsetRatePercent,
+    
+    String startMonth
 ) {
     public MortgageRequest {
         if (offsetAmount == null) {
@@ -38,14 +42,19 @@ public record MortgageRequest(
         }
     }
     
+    public MortgageRequest(Double principal, Double annualRatePercent, Integer years,
+                           Double offsetAmount, String offsetMode, Double offsetRatePercent) {
+        this(principal, annualRatePercent, years, offsetAmount, offsetMode, offsetRatePercent, null);
+    }
+    
     @AssertTrue(message = "Offset amount cannot exceed principal amount")
     public boolean isOffsetAmountValid() {
-        return offsetAmount == null || offsetAmount <= principal;
+        return offsetAmount == null || principal == null || offsetAmount <= principal;
     }
     
     @AssertTrue(message = "Offset rate must be greater than or equal to annual rate")
     public boolean isOffsetRateValid() {
-        if (offsetRatePercent == null || offsetAmount == null || offsetAmount <= 0) {
+        if (offsetRatePercent == null || annualRatePercent == null || offsetAmount == null || offsetAmount <= 0) {
             return true;
         }
         return offsetRatePercent >= annualRatePercent;
@@ -0,0 +1,43 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.MortgageSensitivity;
+
+public record MortgageSensitivityResponse(
+    Impact monthlyPayment,
+    Impact totalPaid,
+    Impact totalInterest,
+    Impact termMonths,
+    Impact totalOffsetInterestEarned
+) {
+    static final double AMOUNT_STEP = 10_000;
+    static final double RATE_STEP = 0.25;
+    
+    public static MortgageSensitivityResponse of(MortgageSensitivity sensitivity) {
+        return new MortgageSensitivityResponse(
+            Impact.of(sensitivity.monthlyPayment()),
+            Impact.of(sensitivity.totalPaid()),
+            Impact.of(sensitivity.totalInterest()),
+            Impact.of(sensitivity.termMonths()),
+            Impact.of(sensitivity.totalOffsetInterestEarned())
+        );
+    }
+    
+    // First-order change of each output for one adviser-sized step of each input
+    public record Impact(
+        double value,
+        double perTenThousandPrincipal,
+        double perQuarterPointRate,
+        double perYear,
+        double perTenThousandOffset
+    ) {
+        static Impact of(MortgageSensitivity.Gradient gradient) {
+            return new Impact(
+                gradient.value(),
+                gradient.principal() * AMOUNT_STEP,
+                gradient.annualRatePercent() * RATE_STEP,
+                gradient.years(),
+                gradient.offsetAmount() * AMOUNT_STEP
+            );
+        }
+    }
+}
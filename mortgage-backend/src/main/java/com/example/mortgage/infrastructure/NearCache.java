@@ -0,0 +1,67 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded in-process tier holding decoded values. Keys are spread over independently locked LRU stripes,
+// so concurrent requests rarely wait on each other; each stripe evicts its own least recently used entry
+final class NearCache {
+    
+    private static final int MAX_STRIPES = 16;
+    // Below this many entries per stripe, eviction order would stray too far from a global LRU
+    private static final int MIN_STRIPE_ENTRIES = 64;
+    
+    private final Stripe[] stripes;
+    
+    NearCache(int maxEntries) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, maxEntries / MIN_STRIPE_ENTRIES)));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(maxEntries / count);
+        }
+    }
+    
+    Object get(String key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+    
+    void put(String key, Object value) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+    
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+    
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+    
+    private static final class Stripe extends LinkedHashMap<String, Object> {
+        
+        private final int maxEntries;
+        
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
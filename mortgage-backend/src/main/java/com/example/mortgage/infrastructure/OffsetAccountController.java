@@ -0,0 +1,85 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.OffsetAccountUseCase;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAccountPlan;
+import com.example.mortgage.domain.OffsetAccountResult;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/mortgage")
+public class OffsetAccountController {
+    
+    private final OffsetAccountUseCase useCase;
+    private final RequestValidation validation;
+    
+    public OffsetAccountController(OffsetAccountUseCase useCase, RequestValidation validation) {
+        this.useCase = useCase;
+        this.validation = validation;
+    }
+    
+    @PostMapping("/offset-account")
+    public ResponseEntity<?> offsetAccount(@RequestBody OffsetAccountRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, OffsetAccountRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        YearMonth start = OffsetAccountEngine.startMonth(request.startMonth());
+        if (start == null) {
+            return validation.reject(OffsetAccountEngine.startMonthError(request.startMonth(), request.years()));
+        }
+        List<OffsetAccountPlan.Flow> flows = new ArrayList<>(request.flows().size());
+        for (OffsetAccountRequest.Flow flow : request.flows()) {
+            if (flow == null || flow.month() == null || flow.amount() == null) {
+                return validation.reject("Offset flow month and amount are required");
+            }
+            flows.add(new OffsetAccountPlan.Flow(flow.month(), flow.amount()));
+        }
+        OffsetAccountPlan plan = new OffsetAccountPlan(
+            request.initialOffsetBalance(),
+            request.monthlyCredit(),
+            request.monthlyWithdrawal(),
+            flows
+        );
+        String error = useCase.validationError(request.principal(), request.annualRatePercent(),
+            request.offsetRatePercent(), request.years(), start, request.dayCount(), plan);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        OffsetAccountResult result = useCase.execute(request.principal(), request.annualRatePercent(),
+            request.offsetRatePercent(), request.years(), request.offsetMode(), start, request.dayCount(),
+            plan, request.monthly());
+        
+        int years = request.years();
+        List<OffsetAccountResponse.YearlyOffsetData> yearlyData = new ArrayList<>(years);
+        for (int i = 0; i < years; i++) {
+            yearlyData.add(new OffsetAccountResponse.YearlyOffsetData(
+                i + 1,
+                result.yearlyPrincipal()[i],
+                result.yearlyInterest()[i],
+                result.yearEndLoanBalance()[i],
+                result.yearEndOffsetBalance()[i]
+            ));
+        }
+        
+        OffsetAccountResponse response = new OffsetAccountResponse(
+            result.monthlyPayment(),
+            result.totalPaid(),
+            result.totalInterest(),
+            result.standardLoanInterest(),
+            result.interestSaved(),
+            result.offsetSettlement(),
+            result.payoffMonth(),
+            yearlyData,
+            request.monthly() ? OffsetAccountResponse.MonthlyOffsetData.of(result.monthly()) : null
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
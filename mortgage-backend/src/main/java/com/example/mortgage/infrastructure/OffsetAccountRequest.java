@@ -0,0 +1,83 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@GenerateValidator
+public record OffsetAccountRequest(
+    @NotNull(message = "Principal is required")
+    @DecimalMin(value = "0.01", message = "Principal must be greater than 0")
+    Double principal,
+    
+    @NotNull(message = "Annual rate is required")
+    @DecimalMin(value = "0.00", inclusive = true, message = "Annual rate cannot be negative")
+    Double annualRatePercent,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Offset rate cannot be negative")
+    Double offsetRatePercent,
+    
+    @NotNull(message = "Years is required")
+    @Min(value = 1, message = "Years must be greater than 0")
+    Integer years,
+    
+    String offsetMode,
+    
+    String startMonth,
+    
+    String dayCount,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Offset balance cannot be negative")
+    Double initialOffsetBalance,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Monthly credit cannot be negative")
+    Double monthlyCredit,
+    
+    @DecimalMin(value = "0.00", inclusive = true, message = "Monthly withdrawal cannot be negative")
+    Double monthlyWithdrawal,
+    
+    List<Flow> flows,
+    
+    Boolean monthly
+) {
+    public OffsetAccountRequest {
+        if (offsetRatePercent == null) {
+            offsetRatePercent = annualRatePercent;
+        }
+        if (offsetMode == null) {
+            offsetMode = "reduceAmount";
+        }
+        if (dayCount == null) {
+            dayCount = "act365";
+        }
+        if (initialOffsetBalance == null) {
+            initialOffsetBalance = 0.0;
+        }
+        if (monthlyCredit == null) {
+            monthlyCredit = 0.0;
+        }
+        if (monthlyWithdrawal == null) {
+            monthlyWithdrawal = 0.0;
+        }
+        if (flows == null) {
+            flows = List.of();
+        }
+        if (monthly == null) {
+            monthly = false;
+        }
+    }
+    
+    @AssertTrue(message = "Offset rate must be greater than or equal to annual rate")
+    public boolean isOffsetRateValid() {
+        return offsetRatePercent == null || annualRatePercent == null || offsetRatePercent >= annualRatePercent;
+    }
+    
+    public record Flow(
+        Integer month,
+        Double amount
+    ) {}
+}
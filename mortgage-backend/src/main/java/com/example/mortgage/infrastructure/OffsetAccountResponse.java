@@ -0,0 +1,43 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.OffsetAccountResult;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+public record OffsetAccountResponse(
+    double monthlyPayment,
+    double totalPaid,
+    double totalInterest,
+    double standardLoanInterest,
+    double interestSaved,
+    double offsetSettlement,
+    int payoffMonth,
+    List<YearlyOffsetData> yearlyData,
+    MonthlyOffsetData monthlyData
+) {
+    public record YearlyOffsetData(
+        int year,
+        double principalPaid,
+        double interestPaid,
+        double loanBalance,
+        double offsetBalance
+    ) {}
+    
+    public record MonthlyOffsetData(
+        int[] months,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] principalPaid,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] interestPaid,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] loanBalance,
+        @JsonSerialize(using = CentsArraySerializer.class) double[] offsetBalance
+    ) {
+        public static MonthlyOffsetData of(OffsetAccountResult.Monthly rows) {
+            int[] months = new int[rows.loanBalance().length];
+            for (int i = 0; i < months.length; i++) {
+                months[i] = i + 1;
+            }
+            return new MonthlyOffsetData(months, rows.principalPaid(), rows.interestPaid(),
+                rows.loanBalance(), rows.offsetBalance());
+        }
+    }
+}
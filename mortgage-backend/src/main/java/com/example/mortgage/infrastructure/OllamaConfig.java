@@ -3,13 +3,20 @@ package com.example.mortgage.infrastructure;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.ollama.OllamaChatModel;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class OllamaConfig {
 
     @Bean
+    @ConditionalOnProperty(prefix = "langchain4j.ollama", name = "enabled", matchIfMissing = true)
     public ChatLanguageModel chatLanguageModel(
             @Value("${langchain4j.ollama.base-url}") String baseUrl,
             @Value("${langchain4j.ollama.model-name}") String modelName,
@@ -23,4 +30,13 @@ public class OllamaConfig {
                 .timeout(java.time.Duration.ofSeconds(60))
                 .build();
     }
+
+    // A fixed number of model calls at once with a short queue; a cancelled tip still queued is skipped when dequeued
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService tipExecutor(
+            @Value("${mortgage.tips.max-concurrent:4}") int maxConcurrent,
+            @Value("${mortgage.tips.queue-capacity:32}") int queueCapacity) {
+        return new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), Thread.ofVirtual().name("tip-", 0).factory());
+    }
 }
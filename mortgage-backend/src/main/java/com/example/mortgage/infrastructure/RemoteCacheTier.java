@@ -0,0 +1,11 @@
+package com.example.mortgage.infrastructure;
+
+import java.io.IOException;
+
+// Shared second tier, e.g. a Redis or Memcached client; keys are CacheKey ids, values encoded bytes
+public interface RemoteCacheTier {
+    
+    byte[] get(String key) throws IOException;
+    
+    void put(String key, byte[] value) throws IOException;
+}
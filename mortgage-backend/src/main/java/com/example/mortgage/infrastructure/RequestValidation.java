@@ -0,0 +1,47 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.ValidationErrors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Component
+public class RequestValidation {
+    
+    private final Counter beanValidationRejections;
+    private final Counter domainValidationRejections;
+    
+    public RequestValidation(MeterRegistry registry) {
+        this.beanValidationRejections = registry.counter("validation.rejections", "type", "bean");
+        this.domainValidationRejections = registry.counter("validation.rejections", "type", "domain");
+    }
+    
+    public <T> ResponseEntity<ValidationErrorResponse> validate(T request, Function<T, ValidationErrors> validator) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.validationStarted(System.nanoTime());
+        }
+        ValidationErrors errors = validator.apply(request);
+        if (timing != null) {
+            timing.validationFinished(System.nanoTime());
+        }
+        
+        if (errors == null) {
+            return null;
+        }
+        beanValidationRejections.increment();
+        return ResponseEntity.badRequest()
+            .body(new ValidationErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), errors));
+    }
+    
+    public ResponseEntity<ErrorResponse> reject(String error) {
+        domainValidationRejections.increment();
+        return ResponseEntity.badRequest()
+            .body(new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), error));
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.mortgage.infrastructure;
+
+public record SavingsBalanceResponse(
+    int month,
+    double balance
+) {}
@@ -2,7 +2,7 @@ package com.example.mortgage.infrastructure;
 
 import com.example.mortgage.application.SavingsCalculationUseCase;
 import com.example.mortgage.domain.SavingsResult;
-import jakarta.validation.Valid;
+import com.example.mortgage.domain.SavingsSensitivity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,13 +11,20 @@ import org.springframework.web.bind.annotation.*;
 public class SavingsController {
     
     private final SavingsCalculationUseCase useCase;
+    private final RequestValidation validation;
     
-    public SavingsController(SavingsCalculationUseCase useCase) {
+    public SavingsController(SavingsCalculationUseCase useCase, RequestValidation validation) {
         this.useCase = useCase;
+        this.validation = validation;
     }
     
     @PostMapping("/calculate")
-    public ResponseEntity<SavingsResponse> calculate(@Valid @RequestBody SavingsRequest request) {
+    public ResponseEntity<?> calculate(@RequestBody SavingsRequest request) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        
         SavingsResult result = useCase.execute(
             request.initialAmount(),
             request.monthlyContribution(),
@@ -39,4 +46,63 @@ public class SavingsController {
         
         return ResponseEntity.ok(response);
     }
+    
+    @PostMapping("/balance")
+    public ResponseEntity<?> balance(@RequestBody SavingsRequest request, @RequestParam int month) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        if (month < 0 || month > request.years() * 12) {
+            return validation.reject("Month must be between 0 and the end of the savings period");
+        }
+        
+        double balance = useCase.balanceAfterMonths(
+            request.initialAmount(),
+            request.monthlyContribution(),
+            request.annualInterestRatePercent(),
+            request.taxRatePercent(),
+            request.periodicity(),
+            month
+        );
+        
+        return ResponseEntity.ok(new SavingsBalanceResponse(month, balance));
+    }
+    
+    @PostMapping("/sensitivity")
+    public ResponseEntity<?> sensitivity(@RequestBody SavingsRequest request) {
+        ResponseEntity<?> rejected = validate(request);
+        if (rejected != null) {
+            return rejected;
+        }
+        
+        SavingsSensitivity sensitivity = useCase.sensitivity(
+            request.initialAmount(),
+            request.monthlyContribution(),
+            request.annualInterestRatePercent(),
+            request.taxRatePercent(),
+            request.periodicity(),
+            request.years()
+        );
+        
+        return ResponseEntity.ok(SavingsSensitivityResponse.of(sensitivity));
+    }
+    
+    private ResponseEntity<?> validate(SavingsRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, SavingsRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        String error = useCase.validationError(
+            request.initialAmount(),
+            request.monthlyContribution(),
+            request.annualInterestRatePercent(),
+            request.taxRatePercent(),
+            request.years()
+        );
+        if (error != null) {
+            return validation.reject(error);
+        }
+        return null;
+    }
 }
@@ -1,11 +1,13 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
+@GenerateValidator
 public record SavingsRequest(
     @NotNull(message = "Initial amount is required")
     @DecimalMin(value = "0.00", inclusive = true, message = "Initial amount cannot be negative")
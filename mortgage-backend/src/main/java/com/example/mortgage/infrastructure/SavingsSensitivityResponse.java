@@ -0,0 +1,40 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.SavingsSensitivity;
+
+public record SavingsSensitivityResponse(
+    Impact totalSaved,
+    Impact totalInterestEarned
+) {
+    static final double AMOUNT_STEP = 10_000;
+    static final double CONTRIBUTION_STEP = 100;
+    static final double RATE_STEP = 0.25;
+    
+    public static SavingsSensitivityResponse of(SavingsSensitivity sensitivity) {
+        return new SavingsSensitivityResponse(
+            Impact.of(sensitivity.totalSaved()),
+            Impact.of(sensitivity.totalInterestEarned())
+        );
+    }
+    
+    // First-order change of each output for one adviser-sized step of each input
+    public record Impact(
+        double value,
+        double perTenThousandInitial,
+        double perHundredMonthlyContribution,
+        double perQuarterPointRate,
+        double perPercentTax,
+        double perYear
+    ) {
+        static Impact of(SavingsSensitivity.Gradient gradient) {
+            return new Impact(
+                gradient.value(),
+                gradient.initialAmount() * AMOUNT_STEP,
+                gradient.monthlyContribution() * CONTRIBUTION_STEP,
+                gradient.annualInterestRatePercent() * RATE_STEP,
+                gradient.taxRatePercent(),
+                gradient.years()
+            );
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.AmortizationSchedule;
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+import com.example.mortgage.infrastructure.MonthlyDetail.MonthlySchedule;
+
+public record SchedulePageResponse(
+    int page,
+    int size,
+    int totalMonths,
+    int totalPages,
+    MonthlySchedule rows
+) {
+    public static SchedulePageResponse of(AmortizationSchedule schedule, int page, int size) {
+        int totalMonths = schedule.months();
+        int first = (int) Math.min((long) page * size, totalMonths);
+        int count = Math.min(size, totalMonths - first);
+        
+        int[] months = new int[count];
+        double[] principalPaid = new double[count];
+        double[] interestPaid = new double[count];
+        double[] remainingBalance = new double[count];
+        for (int i = 0; i < count; i++) {
+            MonthlyAmortization row = schedule.month(first + i + 1);
+            months[i] = row.month();
+            principalPaid[i] = row.principalPaid();
+            interestPaid[i] = row.interestPaid();
+            remainingBalance[i] = row.remainingBalance();
+        }
+        
+        int totalPages = (totalMonths + size - 1) / size;
+        return new SchedulePageResponse(page, size, totalMonths, totalPages,
+            new MonthlySchedule(months, principalPaid, interestPaid, remainingBalance));
+    }
+}
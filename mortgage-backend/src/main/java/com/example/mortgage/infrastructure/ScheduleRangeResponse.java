@@ -0,0 +1,12 @@
+package com.example.mortgage.infrastructure;
+
+public record ScheduleRangeResponse(
+    int fromMonth,
+    int toMonth,
+    double openingBalance,
+    double closingBalance,
+    double principalPaid,
+    double interestPaid,
+    double cumulativePrincipal,
+    double cumulativeInterest
+) {}
@@ -0,0 +1,127 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.Locale;
+
+final class ServerTiming {
+    
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final long UNSET = Long.MIN_VALUE;
+    
+    private final long start;
+    private long bodyReadStart = UNSET;
+    private long bodyReadEnd = UNSET;
+    private long handlerStart = UNSET;
+    private long validateStart;
+    private long validateNanos;
+    private long computeStart;
+    private long computeNanos;
+    private int computeDepth;
+    private long bodyWriteStart = UNSET;
+    private long end = UNSET;
+    
+    ServerTiming(long start) {
+        this.start = start;
+    }
+    
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+    
+    static ServerTiming current() {
+        return CURRENT.get();
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+    
+    void bodyReadStarted(long now) {
+        bodyReadStart = now;
+    }
+    
+    void bodyReadFinished(long now) {
+        bodyReadEnd = now;
+    }
+    
+    void handlerStarted(long now) {
+        if (handlerStart == UNSET) {
+            handlerStart = now;
+        }
+    }
+    
+    void validationStarted(long now) {
+        validateStart = now;
+    }
+    
+    void validationFinished(long now) {
+        validateNanos += now - validateStart;
+    }
+    
+    void computeStarted(long now) {
+        if (computeDepth++ == 0) {
+            computeStart = now;
+        }
+    }
+    
+    void computeFinished(long now) {
+        if (--computeDepth == 0) {
+            computeNanos += now - computeStart;
+        }
+    }
+    
+    void bodyWriteStarted(long now) {
+        bodyWriteStart = now;
+    }
+    
+    void finished(long now) {
+        end = now;
+    }
+    
+    long deserializationNanos() {
+        return bodyReadStart == UNSET || bodyReadEnd == UNSET ? 0 : bodyReadEnd - bodyReadStart;
+    }
+    
+    long validationNanos() {
+        if (bodyReadEnd == UNSET) {
+            return validateNanos;
+        }
+        long validationEnd = handlerStart != UNSET ? handlerStart : bodyWriteStart;
+        return validateNanos + (validationEnd == UNSET ? 0 : Math.max(0, validationEnd - bodyReadEnd));
+    }
+    
+    long computationNanos() {
+        return computeNanos;
+    }
+    
+    long assemblyNanos() {
+        if (handlerStart == UNSET || bodyWriteStart == UNSET) {
+            return 0;
+        }
+        return Math.max(0, bodyWriteStart - handlerStart - computeNanos - validateNanos);
+    }
+    
+    long serializationNanos() {
+        return bodyWriteStart == UNSET || end == UNSET ? 0 : end - bodyWriteStart;
+    }
+    
+    long totalNanos() {
+        return end == UNSET ? 0 : end - start;
+    }
+    
+    String headerValue() {
+        return new StringBuilder(160)
+            .append(metric("deser", deserializationNanos())).append(", ")
+            .append(metric("validate", validationNanos())).append(", ")
+            .append(metric("compute", computationNanos())).append(", ")
+            .append(metric("assemble", assemblyNanos())).append(", ")
+            .append(metric("serialize", serializationNanos())).append(", ")
+            .append(metric("total", totalNanos()))
+            .toString();
+    }
+    
+    private static String metric(String name, long nanos) {
+        return name + ";dur=" + String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.mortgage.infrastructure;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+class ServerTimingAspect {
+    
+    @Around("within(com.example.mortgage.infrastructure..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object aroundHandler(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.handlerStarted(System.nanoTime());
+        }
+        return joinPoint.proceed();
+    }
+    
+    @Around("execution(* com.example.mortgage.application.*UseCase.execute(..))")
+    public Object aroundUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.computeStarted(System.nanoTime());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.computeFinished(System.nanoTime());
+        }
+    }
+    
+    @Around("execution(* com.example.mortgage.application.*UseCase.validationError(..))")
+    public Object aroundDomainValidation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.validationStarted(System.nanoTime());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.validationFinished(System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.mortgage.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ServerTimingConfig {
+    
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${mortgage.server-timing.enabled:false}") boolean headerEnabled) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+            new FilterRegistrationBean<>(new ServerTimingFilter(headerEnabled));
+        registration.addUrlPatterns(
+            "/api/mortgage/calculate",
+            "/api/savings/calculate",
+            "/api/chart/calculate",
+            "/api/chart/compare",
+            "/api/chart/compare-with-tip"
+        );
+        return registration;
+    }
+}
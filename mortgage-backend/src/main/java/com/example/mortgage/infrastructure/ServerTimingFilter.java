@@ -0,0 +1,66 @@
+package com.example.mortgage.infrastructure;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.EventType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+class ServerTimingFilter extends OncePerRequestFilter {
+    
+    static final String HEADER = "Server-Timing";
+    
+    private static final EventType EVENT_TYPE = EventType.getEventType(CalculationRequestEvent.class);
+    
+    private final boolean headerEnabled;
+    
+    ServerTimingFilter(boolean headerEnabled) {
+        this.headerEnabled = headerEnabled;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        boolean eventEnabled = EVENT_TYPE.isEnabled();
+        if (!headerEnabled && !eventEnabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        CalculationRequestEvent event = null;
+        if (eventEnabled) {
+            event = new CalculationRequestEvent();
+            event.begin();
+        }
+        
+        ServerTiming timing = ServerTiming.begin();
+        ContentCachingResponseWrapper buffered = headerEnabled ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            timing.finished(System.nanoTime());
+            ServerTiming.clear();
+            if (buffered != null) {
+                buffered.setHeader(HEADER, timing.headerValue());
+                buffered.copyBodyToResponse();
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.path = request.getRequestURI();
+                    event.status = response.getStatus();
+                    event.deserialization = timing.deserializationNanos();
+                    event.validation = timing.validationNanos();
+                    event.computation = timing.computationNanos();
+                    event.assembly = timing.assemblyNanos();
+                    event.serialization = timing.serializationNanos();
+                    event.commit();
+                }
+            }
+        }
+    }
+}
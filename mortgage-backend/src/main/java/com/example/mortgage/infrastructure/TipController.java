@@ -1,29 +1,46 @@
 package com.example.mortgage.infrastructure;
 
-import com.example.mortgage.application.TipAiService;
-import jakarta.validation.Valid;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
+import com.example.mortgage.application.SpeculativeTipService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/ai")
 public class TipController {
     
-    private TipAiService tipAiService;
+    static final String TIP_UNAVAILABLE = "AI tip is temporarily unavailable. Please try again later.";
+    
+    private SpeculativeTipService speculativeTipService;
+    private final RequestValidation validation;
     
-    public TipController(TipAiService tipAiService) {
-        this.tipAiService = tipAiService;
+    public TipController(SpeculativeTipService speculativeTipService, RequestValidation validation) {
+        this.speculativeTipService = speculativeTipService;
+        this.validation = validation;
     }
     
     @PostMapping("/tips")
-    public ResponseEntity<TipResponse> getTip(@Valid @RequestBody TipRequest request) {
+    public ResponseEntity<?> getTip(@RequestBody TipRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, TipRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        
         try {
-            String tip = tipAiService.generateTip(request);
+            String tip = speculativeTipService.generate(request);
             return ResponseEntity.ok(new TipResponse(tip));
         } catch (Exception e) {
-            return ResponseEntity.ok(new TipResponse("AI tip is temporarily unavailable. Please try again later."));
+            return ResponseEntity.ok(new TipResponse(TIP_UNAVAILABLE));
         }
     }
+    
+    @GetMapping("/tips/{tipId}")
+    public CompletableFuture<ResponseEntity<TipResponse>> collectTip(@PathVariable String tipId) {
+        return speculativeTipService.collect(tipId)
+            .map(future -> future
+                .thenApply(tip -> ResponseEntity.ok(new TipResponse(tip)))
+                .exceptionally(e -> ResponseEntity.ok(new TipResponse(TIP_UNAVAILABLE))))
+            .orElseGet(() -> CompletableFuture.completedFuture(ResponseEntity.notFound().build()));
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.mortgage.infrastructure;
 
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -7,6 +8,7 @@ import jakarta.validation.constraints.PositiveOrZero;
 
 import java.util.List;
 
+@GenerateValidator
 public record TipRequest(
     @NotNull @Valid MortgageDetails mortgage,
     @NotNull @Valid SavingsDetails savings,
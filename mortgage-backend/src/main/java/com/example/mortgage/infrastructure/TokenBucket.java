@@ -0,0 +1,36 @@
+package com.example.mortgage.infrastructure;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single theoretical arrival time (GCRA), so taking a token is one CAS
+final class TokenBucket {
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    TokenBucket(double ratePerSecond, int burst, long now) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+    
+    // Returns 0 when a token was taken, otherwise the nanoseconds until the next one is available
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            long wait = start - burstToleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    boolean full(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mortgage.infrastructure;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Addresses (or CIDR ranges) whose X-Forwarded-For entries are believed; any other peer is keyed on its own address
+final class TrustedProxies {
+    
+    static final TrustedProxies NONE = new TrustedProxies(List.of());
+    
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F.]*:[0-9a-fA-F:.]*");
+    
+    private final List<Range> ranges;
+    
+    private TrustedProxies(List<Range> ranges) {
+        this.ranges = ranges;
+    }
+    
+    static TrustedProxies parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return NONE;
+        }
+        List<Range> ranges = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int slash = trimmed.indexOf('/');
+            byte[] address = literal(slash < 0 ? trimmed : trimmed.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR range: " + trimmed);
+            }
+            int bits = address.length * 8;
+            int prefix = bits;
+            if (slash >= 0) {
+                try {
+                    prefix = Integer.parseInt(trimmed.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    prefix = -1;
+                }
+                if (prefix < 0 || prefix > bits) {
+                    throw new IllegalArgumentException("Invalid prefix length in trusted proxy: " + trimmed);
+                }
+            }
+            ranges.add(new Range(address, prefix));
+        }
+        return new TrustedProxies(List.copyOf(ranges));
+    }
+    
+    boolean contains(String address) {
+        if (ranges.isEmpty() || address == null) {
+            return false;
+        }
+        byte[] bytes = literal(address.trim());
+        if (bytes == null) {
+            return false;
+        }
+        for (Range range : ranges) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Header values come from clients, so anything that is not an IP literal is refused before it can reach DNS
+    private static byte[] literal(String address) {
+        if (!IPV4.matcher(address).matches() && !IPV6.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+    
+    private record Range(byte[] network, int prefix) {
+        
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int full = prefix / 8;
+            for (int i = 0; i < full; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int rest = prefix % 8;
+            if (rest == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - rest);
+            return (address[full] & mask) == (network[full] & mask);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.CacheCodec;
+import com.example.mortgage.application.CacheKey;
+import com.example.mortgage.application.CalculationCache;
+import com.example.mortgage.domain.Deadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public class TwoTierCalculationCache implements CalculationCache, AutoCloseable {
+    
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    
+    private final NearCache near;
+    private final RemoteCacheTier remote;
+    private final long remoteTimeoutNanos;
+    private final ExecutorService remoteExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter nearCoalesced;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteTimeouts;
+    private final Counter remoteErrors;
+    
+    public TwoTierCalculationCache(int nearEntries, RemoteCacheTier remote, Duration remoteTimeout, MeterRegistry registry) {
+        this.near = new NearCache(nearEntries);
+        this.remote = remote;
+        this.remoteTimeoutNanos = remoteTimeout.toNanos();
+        this.nearHits = registry.counter("cache.lookups", "tier", "near", "result", "hit");
+        this.nearMisses = registry.counter("cache.lookups", "tier", "near", "result", "miss");
+        this.nearCoalesced = registry.counter("cache.lookups", "tier", "near", "result", "coalesced");
+        this.remoteHits = registry.counter("cache.lookups", "tier", "remote", "result", "hit");
+        this.remoteMisses = registry.counter("cache.lookups", "tier", "remote", "result", "miss");
+        this.remoteTimeouts = registry.counter("cache.lookups", "tier", "remote", "result", "timeout");
+        this.remoteErrors = registry.counter("cache.lookups", "tier", "remote", "result", "error");
+    }
+    
+    @Override
+    public <V> V get(CacheKey.Parameters parameters, CacheCodec<V> codec, Supplier<V> compute) {
+        String key = CacheKey.of(codec.namespace(), parameters).id();
+        
+        @SuppressWarnings("unchecked")
+        V cached = (V) near.get(key);
+        if (cached != null) {
+            nearHits.increment();
+            return cached;
+        }
+        
+        // Concurrent misses on one key wait for the first one instead of repeating the remote read and
+        // the calculation; the first caller's result only stands in for theirs when it is cacheable
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            @SuppressWarnings("unchecked")
+            V shared = (V) await(running);
+            if (shared != null) {
+                nearCoalesced.increment();
+                return shared;
+            }
+            return compute.get();
+        }
+        nearMisses.increment();
+        
+        V value = null;
+        try {
+            value = load(key, codec, compute);
+            return value;
+        } finally {
+            load.complete(value != null && codec.cacheable(value) ? value : null);
+            loads.remove(key, load);
+        }
+    }
+    
+    private <V> V load(String key, CacheCodec<V> codec, Supplier<V> compute) {
+        // The previous load of this key may have finished between the near lookup and claiming the key
+        @SuppressWarnings("unchecked")
+        V loaded = (V) near.get(key);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (remote != null) {
+            V shared = decode(lookupRemote(key), codec);
+            if (shared != null) {
+                near.put(key, shared);
+                return shared;
+            }
+        }
+        
+        V value = compute.get();
+        if (!codec.cacheable(value)) {
+            return value;
+        }
+        near.put(key, value);
+        if (remote != null) {
+            byte[] encoded = encode(value, codec);
+            remoteExecutor.execute(() -> {
+                try {
+                    remote.put(key, encoded);
+                } catch (IOException e) {
+                    remoteErrors.increment();
+                }
+            });
+        }
+        return value;
+    }
+    
+    // A waiting caller still answers to its own deadline, which may be shorter than the first caller's
+    private static Object await(CompletableFuture<Object> running) {
+        Deadline deadline = Deadline.current();
+        while (true) {
+            try {
+                return running.get(WAIT_SLICE_NANOS, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                deadline.check();
+            } catch (ExecutionException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+    
+    // Nobody waits past the timeout: a slow tier turns into a local computation instead of added latency
+    private byte[] lookupRemote(String key) {
+        CompletableFuture<byte[]> lookup = CompletableFuture.supplyAsync(() -> {
+            try {
+                return remote.get(key);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, remoteExecutor);
+        
+        try {
+            byte[] bytes = lookup.get(remoteTimeoutNanos, TimeUnit.NANOSECONDS);
+            (bytes != null ? remoteHits : remoteMisses).increment();
+            return bytes;
+        } catch (TimeoutException e) {
+            remoteTimeouts.increment();
+        } catch (ExecutionException e) {
+            remoteErrors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+    
+    private <V> V decode(byte[] bytes, CacheCodec<V> codec) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            remoteErrors.increment();
+            return null;
+        }
+    }
+    
+    private static <V> byte[] encode(V value, CacheCodec<V> codec) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            codec.write(value, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    int nearSize() {
+        return near.size();
+    }
+    
+    @Override
+    public void close() {
+        remoteExecutor.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.ValidationErrors;
+
+import java.time.LocalDateTime;
+
+public record ValidationErrorResponse(
+    LocalDateTime timestamp,
+    int status,
+    ValidationErrors errors
+) {}
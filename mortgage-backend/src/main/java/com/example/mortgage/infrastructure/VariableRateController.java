@@ -0,0 +1,82 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.VariableRateUseCase;
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+import com.example.mortgage.domain.RateChange;
+import com.example.mortgage.domain.VariableRateSchedule;
+import com.example.mortgage.infrastructure.ChartResponse.YearlyData;
+import com.example.mortgage.infrastructure.MonthlyDetail.MonthlySchedule;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/mortgage")
+public class VariableRateController {
+    
+    private final VariableRateUseCase useCase;
+    private final RequestValidation validation;
+    
+    public VariableRateController(VariableRateUseCase useCase, RequestValidation validation) {
+        this.useCase = useCase;
+        this.validation = validation;
+    }
+    
+    @PostMapping("/variable-rate")
+    public ResponseEntity<?> variableRate(@RequestBody VariableRateRequest request) {
+        ResponseEntity<?> rejected = validation.validate(request, VariableRateRequestValidator::validate);
+        if (rejected != null) {
+            return rejected;
+        }
+        List<RateChange> rates = new ArrayList<>(request.rates().size());
+        for (VariableRateRequest.Rate rate : request.rates()) {
+            if (rate == null || rate.startMonth() == null || rate.annualRatePercent() == null) {
+                return validation.reject("Rate start month and annual rate are required");
+            }
+            rates.add(new RateChange(rate.startMonth(), rate.annualRatePercent()));
+        }
+        String error = useCase.validationError(request.principal(), request.years(), rates);
+        if (error != null) {
+            return validation.reject(error);
+        }
+        
+        VariableRateSchedule schedule = useCase.execute(request.principal(), request.years(), request.recast(), rates);
+        
+        List<VariableRateResponse.Segment> segments = new ArrayList<>(schedule.segments().size());
+        for (VariableRateSchedule.Segment segment : schedule.segments()) {
+            segments.add(new VariableRateResponse.Segment(
+                segment.startMonth(),
+                segment.endMonth(),
+                segment.annualRatePercent(),
+                segment.payment(),
+                segment.openingBalance(),
+                segment.closingBalance(),
+                segment.interestPaid()
+            ));
+        }
+        
+        List<YearlyAmortization> yearly = schedule.yearlyAmortization();
+        List<YearlyData> yearlyData = new ArrayList<>(yearly.size());
+        for (YearlyAmortization year : yearly) {
+            yearlyData.add(new YearlyData(year.year(), year.principalPaid(), year.interestPaid()));
+        }
+        
+        int termMonths = schedule.termMonths();
+        double remainingBalance = schedule.balanceAfter(termMonths);
+        double totalInterest = schedule.cumulativeInterest(termMonths);
+        VariableRateResponse response = new VariableRateResponse(
+            segments.get(0).payment(),
+            request.principal() - remainingBalance + totalInterest,
+            totalInterest,
+            schedule.months(),
+            remainingBalance,
+            segments,
+            yearlyData,
+            request.monthly() ? MonthlySchedule.of(schedule.monthlyAmortization()) : null
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
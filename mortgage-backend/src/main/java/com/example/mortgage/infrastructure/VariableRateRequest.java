@@ -0,0 +1,42 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.GenerateValidator;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@GenerateValidator
+public record VariableRateRequest(
+    @NotNull(message = "Principal is required")
+    @DecimalMin(value = "0.01", message = "Principal must be greater than 0")
+    Double principal,
+    
+    @NotNull(message = "Years is required")
+    @Min(value = 1, message = "Years must be greater than 0")
+    Integer years,
+    
+    String recast,
+    
+    List<Rate> rates,
+    
+    Boolean monthly
+) {
+    public VariableRateRequest {
+        if (recast == null) {
+            recast = "resetPayment";
+        }
+        if (rates == null) {
+            rates = List.of();
+        }
+        if (monthly == null) {
+            monthly = false;
+        }
+    }
+    
+    public record Rate(
+        Integer startMonth,
+        Double annualRatePercent
+    ) {}
+}
@@ -0,0 +1,27 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.ChartResponse.YearlyData;
+import com.example.mortgage.infrastructure.MonthlyDetail.MonthlySchedule;
+
+import java.util.List;
+
+public record VariableRateResponse(
+    double initialPayment,
+    double totalPaid,
+    double totalInterest,
+    int payoffMonth,
+    double remainingBalance,
+    List<Segment> segments,
+    List<YearlyData> yearlyData,
+    MonthlySchedule monthlyData
+) {
+    public record Segment(
+        int fromMonth,
+        int toMonth,
+        double annualRatePercent,
+        double payment,
+        double openingBalance,
+        double closingBalance,
+        double interestPaid
+    ) {}
+}
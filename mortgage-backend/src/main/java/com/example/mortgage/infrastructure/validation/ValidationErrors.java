@@ -0,0 +1,77 @@
+package com.example.mortgage.infrastructure.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+@JsonSerialize(using = ValidationErrors.Serializer.class)
+public final class ValidationErrors {
+    
+    private String[] fields = new String[4];
+    private String[] messages = new String[4];
+    private int size;
+    
+    public static ValidationErrors add(ValidationErrors errors, String prefix, String field, String message) {
+        if (errors == null) {
+            errors = new ValidationErrors();
+        }
+        errors.add(prefix.isEmpty() ? field : prefix + field, message);
+        return errors;
+    }
+    
+    private void add(String path, String message) {
+        for (int i = 0; i < size; i++) {
+            if (fields[i].equals(path)) {
+                return;
+            }
+        }
+        if (size == fields.length) {
+            fields = Arrays.copyOf(fields, size * 2);
+            messages = Arrays.copyOf(messages, size * 2);
+        }
+        fields[size] = path;
+        messages[size] = message;
+        size++;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public String field(int index) {
+        return fields[index];
+    }
+    
+    public String message(int index) {
+        return messages[index];
+    }
+    
+    public String messageFor(String field) {
+        for (int i = 0; i < size; i++) {
+            if (fields[i].equals(field)) {
+                return messages[i];
+            }
+        }
+        return null;
+    }
+    
+    static final class Serializer extends StdSerializer<ValidationErrors> {
+        
+        Serializer() {
+            super(ValidationErrors.class);
+        }
+        
+        @Override
+        public void serialize(ValidationErrors errors, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (int i = 0; i < errors.size; i++) {
+                gen.writeStringField(errors.fields[i], errors.messages[i]);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.mortgage;
+
+import com.example.mortgage.application.CalculationCache;
+import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.application.ChartCompareUseCase;
+import com.example.mortgage.domain.AmortizationSchedule;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetMode;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
+import com.example.mortgage.infrastructure.ChartResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationBudgetTest {
+    
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 20_000;
+    
+    private static final Properties budgets = new Properties();
+    private static com.sun.management.ThreadMXBean threads;
+    
+    static volatile Object sink;
+    
+    private final MortgageCalculatorService mortgageService = new MortgageCalculatorService();
+    private final SavingsCalculatorService savingsService = new SavingsCalculatorService();
+    
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+            "Thread allocation counters are not available on this JVM");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties is missing");
+            budgets.load(in);
+        }
+    }
+    
+    @Test
+    void mortgageCalculateAllocatesOnlyItsResult() {
+        assertWithinBudget("mortgage.calculate", () ->
+            mortgageService.calculate(4000000, 4.79, 30, 1000000, OffsetMode.REDUCE_TERM, 4.99));
+    }
+    
+    @Test
+    void mortgageCalculateWithStringModeAllocatesOnlyItsResult() {
+        assertWithinBudget("mortgage.calculate", () ->
+            mortgageService.calculate(4000000, 4.79, 30, 1000000, "reduceAmount", 4.99));
+    }
+    
+    @Test
+    void yearlyAmortizationStaysWithinBudget() {
+        assertWithinBudget("mortgage.yearlyAmortization.30y", () ->
+            mortgageService.calculateYearlyAmortization(4000000, 4.79, 30, 1000000, OffsetMode.REDUCE_AMOUNT, 4.99));
+    }
+    
+    @Test
+    void monthlyAmortizationStaysWithinBudget() {
+        assertWithinBudget("mortgage.monthlyAmortization.30y", () ->
+            mortgageService.calculateMonthlyAmortization(4000000, 4.79, 30, 0, OffsetMode.REDUCE_AMOUNT, 0));
+    }
+    
+    @Test
+    void scheduleRangeQueryAllocatesOnlyItsResult() {
+        // Built once, so the budget does not hinge on escape analysis removing the schedule itself
+        AmortizationSchedule schedule = mortgageService.schedule(4000000, 4.79, 30, 1000000, OffsetMode.REDUCE_TERM, 4.99);
+        assertWithinBudget("mortgage.scheduleRange", () -> schedule.range(1, 173));
+    }
+    
+    @Test
+    void offsetBenefitStaysWithinBudget() {
+        assertWithinBudget("mortgage.offsetBenefit.30y", () ->
+            mortgageService.calculateOffsetBenefit(4000000, 4.79, 30, 1000000, OffsetMode.REDUCE_TERM, 4.99));
+    }
+    
+    @Test
+    void savingsCalculateAllocatesOnlyItsResult() {
+        assertWithinBudget("savings.calculate", () ->
+            savingsService.calculate(1000000, 5000, 4.5, 15, "monthly", 30));
+    }
+    
+    @Test
+    void chartCalculateStaysWithinBudget() {
+        ChartCalculationUseCase useCase = new ChartCalculationUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine());
+        ChartMortgageRequest mortgage = new ChartMortgageRequest(4000000.0, 4.79, 30, 1000000.0, "reduceTerm", 4.99);
+        ChartSavingsRequest savings = new ChartSavingsRequest(1000000.0, 5000.0, 4.5, 15.0, "monthly", 30);
+        
+        assertWithinBudget("chart.calculate.30y", () -> useCase.execute(mortgage, savings));
+    }
+    
+    @Test
+    void chartCompareStaysWithinBudget() {
+        ChartCompareUseCase useCase = new ChartCompareUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine(), CalculationCache.DISABLED);
+        ChartCompareRequest request = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, 30, "reduceTerm", 4.99),
+            new ChartCompareRequest.SavingsParams(1000000.0, 5000.0, 4.5, 15.0, "monthly", 30),
+            1000000.0
+        );
+        
+        assertWithinBudget("chart.compare.30y", () -> useCase.execute(request));
+    }
+    
+    @Test
+    void chartSerializationStaysWithinBudget() {
+        ChartCalculationUseCase useCase = new ChartCalculationUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine());
+        ChartResponse response = useCase.execute(
+            new ChartMortgageRequest(4000000.0, 4.79, 50, 1000000.0, "reduceAmount", 4.99),
+            new ChartSavingsRequest(1000000.0, 5000.0, 4.5, 15.0, "monthly", 50)
+        );
+        ObjectMapper mapper = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        OutputStream out = OutputStream.nullOutputStream();
+        
+        assertWithinBudget("chart.serialize.50y", () -> {
+            try {
+                mapper.writeValue(out, response);
+                return response;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private void assertWithinBudget(String name, Supplier<?> call) {
+        String budget = budgets.getProperty(name);
+        assertNotNull(budget, "No allocation budget recorded for " + name);
+        
+        long bytesPerCall = bytesPerCall(call);
+        assertTrue(bytesPerCall <= Long.parseLong(budget.trim()),
+            name + " allocated " + bytesPerCall + " bytes per call, budget is " + budget);
+    }
+    
+    private static long bytesPerCall(Supplier<?> call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink = call.get();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink = call.get();
+        }
+        long after = threads.getThreadAllocatedBytes(threadId);
+        return (after - before) / MEASURED_CALLS;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.JobRequest;
+import com.example.mortgage.infrastructure.MortgageRequest;
+import com.example.mortgage.infrastructure.SavingsRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchJobServiceTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    @TempDir
+    Path directory;
+    
+    private BatchJobService service;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        // 100 items per chunk and a single worker, so scheduling order is observable
+        service = newService(new BatchJobService.Limits(1, 100 * BatchJobService.ESTIMATED_LINE_BYTES, 2_000_000, 3,
+            Duration.ofHours(1)));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+    
+    private BatchJobService newService(BatchJobService.Limits limits) throws Exception {
+        return new BatchJobService(
+            new MortgageCalculationUseCase(new MortgageCalculatorService(), new OffsetAccountEngine()),
+            new SavingsCalculationUseCase(new SavingsCalculatorService()),
+            objectMapper, directory, limits, registry);
+    }
+    
+    @Test
+    void shouldWriteOneLinePerItemInRequestOrder() throws Exception {
+        JobRequest request = new JobRequest("normal",
+            List.of(new MortgageRequest(300000.0, 5.0, 25, 0.0, null, 0.0),
+                    new MortgageRequest(-1.0, 5.0, 25, 0.0, null, 0.0)),
+            List.of(new SavingsRequest(10000.0, 500.0, 3.0, 25.0, "monthly", 10)),
+            new JobRequest.MortgageGrid(List.of(200000.0, 400000.0), List.of(3.0, 6.0), List.of(20, 30), null, null, null));
+        assertNull(service.validationError(request));
+        
+        BatchJob job = service.submit(request).orElseThrow();
+        assertTrue(job.await(10, TimeUnit.SECONDS));
+        
+        assertEquals(BatchJob.State.COMPLETED, job.state());
+        assertEquals(11, job.totalItems());
+        assertEquals(11, job.completedItems());
+        assertEquals(1, job.failedItems());
+        
+        List<String> lines = Files.readAllLines(job.resultFile());
+        assertEquals(11, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i, objectMapper.readTree(lines.get(i)).get("index").asLong());
+        }
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("mortgage", first.get("type").asText());
+        assertEquals(1753.77, first.get("result").get("monthlyPayment").asDouble(), 0.01);
+        assertEquals("Principal must be greater than 0",
+            objectMapper.readTree(lines.get(1)).get("errors").get("principal").asText());
+        assertEquals("savings", objectMapper.readTree(lines.get(2)).get("type").asText());
+        
+        // Grid order runs offset fastest, then term, rate and principal
+        JsonNode lastGridItem = objectMapper.readTree(lines.get(10)).get("result");
+        assertEquals(new MortgageCalculatorService().calculate(400000.0, 6.0, 30).monthlyPayment(),
+            lastGridItem.get("monthlyPayment").asDouble());
+    }
+    
+    @Test
+    void shouldRejectInvalidJobs() {
+        assertEquals("Priority must be one of high, normal or low",
+            service.validationError(new JobRequest("urgent", List.of(sampleMortgage()), null, null)));
+        assertEquals("Job must contain at least one calculation",
+            service.validationError(new JobRequest(null, null, null, null)));
+        assertEquals("Mortgage grid needs at least one principal, rate and term",
+            service.validationError(new JobRequest(null, null, null,
+                new JobRequest.MortgageGrid(List.of(100000.0), List.of(), List.of(25), null, null, null))));
+        assertEquals("Job cannot contain more than 2000000 calculations",
+            service.validationError(new JobRequest(null, null, null, largeGrid(2001))));
+    }
+    
+    @Test
+    void shouldCancelRunningJobAndDiscardItsResult() throws Exception {
+        GatedList gate = new GatedList(1000);
+        BatchJob job = service.submit(new JobRequest("normal", gate, null, null)).orElseThrow();
+        assertTrue(gate.entered.await(10, TimeUnit.SECONDS));
+        
+        assertTrue(service.cancel(job.id()).isPresent());
+        gate.release.countDown();
+        assertTrue(job.await(10, TimeUnit.SECONDS));
+        
+        assertEquals(BatchJob.State.CANCELLED, job.state());
+        assertTrue(job.completedItems() < job.totalItems());
+        assertFalse(Files.exists(job.resultFile()));
+        assertEquals(1.0, registry.counter("jobs.finished", "state", "cancelled").count());
+    }
+    
+    @Test
+    void shouldRunHigherPriorityJobsFirst() throws Exception {
+        GatedList gate = new GatedList(150);
+        BatchJob running = service.submit(new JobRequest("normal", gate, null, null)).orElseThrow();
+        assertTrue(gate.entered.await(10, TimeUnit.SECONDS));
+        BatchJob low = service.submit(new JobRequest("low", mortgages(150), null, null)).orElseThrow();
+        BatchJob high = service.submit(new JobRequest("high", mortgages(150), null, null)).orElseThrow();
+        gate.release.countDown();
+        
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        assertTrue(high.await(10, TimeUnit.SECONDS));
+        assertTrue(low.await(10, TimeUnit.SECONDS));
+        
+        // Both jobs need two chunks; the high one takes its second before the low one gets its first
+        assertEquals(BatchJob.State.COMPLETED, low.state());
+        assertTrue(high.finishedNanos() < low.finishedNanos());
+    }
+    
+    @Test
+    void shouldRefuseJobsBeyondActiveLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(service.submit(new JobRequest("low", null, null, largeGrid(1000))).isPresent());
+        }
+        
+        assertTrue(service.submit(new JobRequest("high", List.of(sampleMortgage()), null, null)).isEmpty());
+        assertEquals(1.0, registry.counter("jobs.rejections").count());
+    }
+    
+    @Test
+    void shouldDropTheRequestOnceTheJobIsFinal() throws Exception {
+        BatchJob job = service.submit(new JobRequest("normal", mortgages(150), null, null)).orElseThrow();
+        assertTrue(job.await(10, TimeUnit.SECONDS));
+        
+        assertEquals(BatchJob.State.COMPLETED, job.state());
+        assertNull(job.request());
+        assertTrue(Files.exists(job.resultFile()));
+    }
+    
+    @Test
+    void shouldPurgeExpiredResultsWhenAJobFinishes() throws Exception {
+        BatchJobService expiring = newService(new BatchJobService.Limits(1, 100 * BatchJobService.ESTIMATED_LINE_BYTES,
+            2_000_000, 3, Duration.ZERO));
+        try {
+            BatchJob job = expiring.submit(new JobRequest("normal", List.of(sampleMortgage()), null, null)).orElseThrow();
+            assertTrue(job.await(10, TimeUnit.SECONDS));
+            
+            assertFalse(Files.exists(job.resultFile()));
+            assertTrue(expiring.find(job.id()).isEmpty());
+        } finally {
+            expiring.close();
+        }
+    }
+    
+    @Test
+    void shouldPurgeExpiredResultsOnSchedule() throws Exception {
+        BatchJobService expiring = newService(new BatchJobService.Limits(1, 100 * BatchJobService.ESTIMATED_LINE_BYTES,
+            2_000_000, 3, Duration.ofMillis(500)));
+        try {
+            BatchJob job = expiring.submit(new JobRequest("normal", List.of(sampleMortgage()), null, null)).orElseThrow();
+            assertTrue(job.await(10, TimeUnit.SECONDS));
+            assertTrue(Files.exists(job.resultFile()));
+            
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (Files.exists(job.resultFile()) && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            
+            assertFalse(Files.exists(job.resultFile()));
+        } finally {
+            expiring.close();
+        }
+    }
+    
+    // Holds the single worker inside the first item until the test lets it go
+    private static final class GatedList extends AbstractList<MortgageRequest> {
+        
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        private final int size;
+        
+        GatedList(int size) {
+            this.size = size;
+        }
+        
+        @Override
+        public MortgageRequest get(int index) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sampleMortgage();
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+    
+    private static MortgageRequest sampleMortgage() {
+        return new MortgageRequest(300000.0, 5.0, 25, 0.0, null, 0.0);
+    }
+    
+    private static List<MortgageRequest> mortgages(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new MortgageRequest(100000.0 + i * 1000, 4.0, 25, 0.0, null, 0.0))
+            .toList();
+    }
+    
+    private static JobRequest.MortgageGrid largeGrid(int principals) {
+        List<Double> amounts = IntStream.range(0, principals).mapToObj(i -> 100000.0 + i * 100).toList();
+        List<Double> rates = IntStream.range(0, 100).mapToObj(i -> 1.0 + i * 0.05).toList();
+        return new JobRequest.MortgageGrid(amounts, rates, List.of(10, 15, 20, 25, 30, 35, 40, 45, 50, 55),
+            null, null, null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.AllocationPlan;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.OffsetAllocationOptimizer;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import com.example.mortgage.infrastructure.ChartCompareResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationCodecsTest {
+    
+    private static final ChartCompareRequest REQUEST = request("reduceAmount", "monthly", 0.0);
+    
+    @Test
+    void shouldRoundTripComparison() throws IOException {
+        ChartCompareResponse response = new ChartCompareUseCase(new MortgageCalculatorService(),
+            new SavingsCalculatorService(), new OffsetAccountEngine(), CalculationCache.DISABLED).execute(REQUEST);
+        
+        byte[] bytes = encode(response, CalculationCodecs.CHART_COMPARE);
+        ChartCompareResponse decoded = decode(bytes, CalculationCodecs.CHART_COMPARE);
+        
+        assertArrayEquals(response.years(), decoded.years());
+        assertArrayEquals(response.offsetBenefit(), decoded.offsetBenefit());
+        assertArrayEquals(response.savingsBenefit(), decoded.savingsBenefit());
+        assertArrayEquals(response.difference(), decoded.difference());
+        assertEquals(response.summary(), decoded.summary());
+        assertEquals(4 + 26 * 4 + 3 * (4 + 26 * 8) + 4 + 6 * 8, bytes.length);
+    }
+    
+    @Test
+    void shouldRoundTripAllocationPlan() throws IOException {
+        AllocationPlan plan = new OffsetAllocationUseCase(new OffsetAllocationOptimizer(new SavingsCalculatorService()),
+            CalculationCache.DISABLED).execute(REQUEST);
+        
+        AllocationPlan decoded = decode(encode(plan, CalculationCodecs.ALLOCATION_PLAN), CalculationCodecs.ALLOCATION_PLAN);
+        
+        assertEquals(plan.offsetFraction(), decoded.offsetFraction());
+        assertEquals(plan.switchMonth(), decoded.switchMonth());
+        assertEquals(plan.horizonMonths(), decoded.horizonMonths());
+        assertEquals(plan.netBenefit(), decoded.netBenefit());
+        assertArrayEquals(plan.switchMonths(), decoded.switchMonths());
+        assertArrayEquals(plan.switchValues(), decoded.switchValues());
+        assertArrayEquals(plan.fractions(), decoded.fractions());
+        assertArrayEquals(plan.fractionValues(), decoded.fractionValues());
+    }
+    
+    @Test
+    void shouldKeyOnCanonicalParameters() {
+        String base = key(REQUEST);
+        
+        assertEquals(base, key(request("REDUCEAMOUNT", "Monthly", 0.0)));
+        assertEquals(base, key(request("reduceAmount", "monthly", -0.0)));
+        assertNotEquals(base, key(request("reduceTerm", "monthly", 0.0)));
+        assertNotEquals(base, key(request("reduceAmount", "yearly", 0.0)));
+        assertNotEquals(base, key(request("reduceAmount", "monthly", 1.0)));
+        assertNotEquals(base, CacheKey.of(CalculationCodecs.ALLOCATION_PLAN.namespace(),
+            key -> ChartCompareUseCase.writeKey(REQUEST, key)).id());
+    }
+    
+    private static String key(ChartCompareRequest request) {
+        return CacheKey.of(CalculationCodecs.CHART_COMPARE.namespace(), key -> ChartCompareUseCase.writeKey(request, key)).id();
+    }
+    
+    private static ChartCompareRequest request(String mode, String periodicity, double contribution) {
+        return new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, 25, mode, 4.99),
+            new ChartCompareRequest.SavingsParams(1000000.0, contribution, 4.0, 15.0, periodicity, 25),
+            1000000.0
+        );
+    }
+    
+    private static <V> byte[] encode(V value, CacheCodec<V> codec) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(value, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+    
+    private static <V> V decode(byte[] bytes, CacheCodec<V> codec) throws IOException {
+        return codec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
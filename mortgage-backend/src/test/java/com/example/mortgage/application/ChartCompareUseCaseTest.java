@@ -1,9 +1,12 @@
 package com.example.mortgage.application;
 
 import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
 import com.example.mortgage.domain.SavingsCalculatorService;
 import com.example.mortgage.infrastructure.ChartCompareRequest;
 import com.example.mortgage.infrastructure.ChartCompareResponse;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +22,8 @@ class ChartCompareUseCaseTest {
     void setUp() {
         mortgageService = new MortgageCalculatorService();
         savingsService = new SavingsCalculatorService();
-        useCase = new ChartCompareUseCase(mortgageService, savingsService);
+        useCase = new ChartCompareUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine(), CalculationCache.DISABLED);
     }
     
     @Test
@@ -33,18 +37,18 @@ class ChartCompareUseCaseTest {
         ChartCompareResponse response = useCase.execute(request);
         
         assertNotNull(response);
-        assertEquals(26, response.years().size());
-        assertEquals(0, response.years().get(0));
+        assertEquals(26, response.years().length);
+        assertEquals(0, response.years()[0]);
         
-        assertEquals(0.0, response.offsetBenefit().get(0));
-        assertEquals(0.0, response.savingsBenefit().get(0));
+        assertEquals(0.0, response.offsetBenefit()[0]);
+        assertEquals(0.0, response.savingsBenefit()[0]);
         
-        assertTrue(response.offsetBenefit().get(1) > 0, "First year offset benefit should be positive");
+        assertTrue(response.offsetBenefit()[1] > 0, "First year offset benefit should be positive");
         
-        assertTrue(response.savingsBenefit().get(1) > 0, "First year savings benefit should be positive");
+        assertTrue(response.savingsBenefit()[1] > 0, "First year savings benefit should be positive");
         
-        assertEquals(response.offsetBenefit().size(), response.savingsBenefit().size());
-        assertEquals(response.offsetBenefit().size(), response.difference().size());
+        assertEquals(response.offsetBenefit().length, response.savingsBenefit().length);
+        assertEquals(response.offsetBenefit().length, response.difference().length);
     }
     
     @Test
@@ -58,9 +62,9 @@ class ChartCompareUseCaseTest {
         ChartCompareResponse response = useCase.execute(request);
         
         assertNotNull(response);
-        assertEquals(26, response.years().size());
+        assertEquals(26, response.years().length);
         
-        assertTrue(response.offsetBenefit().get(1) > 0);
+        assertTrue(response.offsetBenefit()[1] > 0);
     }
     
     @Test
@@ -73,9 +77,9 @@ class ChartCompareUseCaseTest {
         
         ChartCompareResponse response = useCase.execute(request);
         
-        for (int i = 0; i < response.years().size(); i++) {
-            double expectedDifference = response.offsetBenefit().get(i) - response.savingsBenefit().get(i);
-            assertEquals(expectedDifference, response.difference().get(i), 0.01);
+        for (int i = 0; i < response.years().length; i++) {
+            double expectedDifference = response.offsetBenefit()[i] - response.savingsBenefit()[i];
+            assertEquals(expectedDifference, response.difference()[i], 0.01);
         }
     }
     
@@ -90,8 +94,91 @@ class ChartCompareUseCaseTest {
         ChartCompareResponse response = useCase.execute(request);
         
         assertNotNull(response);
-        for (int i = 0; i < response.offsetBenefit().size(); i++) {
-            assertEquals(0.0, response.offsetBenefit().get(i), "Offset benefit should be 0 when offset amount is 0");
+        for (int i = 0; i < response.offsetBenefit().length; i++) {
+            assertEquals(0.0, response.offsetBenefit()[i], "Offset benefit should be 0 when offset amount is 0");
         }
     }
+    
+    @Test
+    void shouldComputeComparisonSummary() {
+        ChartCompareRequest request = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, 25, "reduceAmount", 4.99),
+            new ChartCompareRequest.SavingsParams(1000000.0, 0.0, 4.0, 15.0, "monthly", 25),
+            1000000.0
+        );
+        
+        ChartCompareResponse response = useCase.execute(request);
+        ChartCompareResponse.ComparisonSummary summary = response.summary();
+        
+        int expectedCrossover = -1;
+        double expectedMax = 0;
+        double expectedMin = 0;
+        for (int i = 1; i < response.difference().length; i++) {
+            double diff = response.difference()[i];
+            if (expectedCrossover == -1 && diff < 0) {
+                expectedCrossover = response.years()[i];
+            }
+            expectedMax = Math.max(expectedMax, diff);
+            expectedMin = Math.min(expectedMin, diff);
+        }
+        
+        assertEquals(expectedCrossover, summary.crossoverYear());
+        assertEquals(expectedMax, summary.maxOffsetAdvantage(), 0.0001);
+        assertEquals(expectedMin, summary.maxSavingsAdvantage(), 0.0001);
+        assertEquals(response.difference()[1], summary.benefitAtYear1(), 0.0001);
+        assertEquals(response.difference()[3], summary.benefitAtYear3(), 0.0001);
+        assertEquals(response.difference()[5], summary.benefitAtYear5(), 0.0001);
+        assertEquals(response.difference()[10], summary.benefitAtYear10(), 0.0001);
+    }
+    
+    @Test
+    void shouldReportZeroBenefitForYearsBeyondHorizon() {
+        ChartCompareRequest request = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(400000.0, 4.79, 5, "reduceAmount", 4.79),
+            new ChartCompareRequest.SavingsParams(0.0, 500.0, 4.0, 15.0, "monthly", 5),
+            100000.0
+        );
+        
+        ChartCompareResponse response = useCase.execute(request);
+        
+        assertEquals(0.0, response.summary().benefitAtYear10());
+    }
+    
+    @Test
+    void shouldReportDomainErrorsWithoutThrowing() {
+        ChartCompareRequest valid = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(400000.0, 4.79, 25, "reduceAmount", 4.79),
+            new ChartCompareRequest.SavingsParams(0.0, 500.0, 4.0, 15.0, "monthly", 25),
+            100000.0
+        );
+        ChartCompareRequest offsetAbovePrincipal = new ChartCompareRequest(
+            valid.mortgage(), valid.savings(), 500000.0);
+        ChartCompareRequest offsetRateBelowLoanRate = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(400000.0, 4.79, 25, "reduceAmount", 3.0),
+            valid.savings(), 100000.0);
+        
+        assertNull(useCase.validationError(valid));
+        assertEquals("Offset amount cannot exceed principal", useCase.validationError(offsetAbovePrincipal));
+        assertEquals("Offset rate must be greater than or equal to annual rate",
+            useCase.validationError(offsetRateBelowLoanRate));
+    }
+    
+    @Test
+    void shouldEndOnTheInterestSavedInTheChartSummary() {
+        ChartCompareRequest request = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, 25, "reduceTerm", 4.99),
+            new ChartCompareRequest.SavingsParams(1000000.0, 0.0, 4.0, 15.0, "monthly", 25),
+            1000000.0
+        );
+        ChartCalculationUseCase chartUseCase = new ChartCalculationUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine());
+        
+        ChartCompareResponse response = useCase.execute(request);
+        double interestSaved = chartUseCase.summary(
+            new ChartMortgageRequest(4000000.0, 4.79, 25, 1000000.0, "reduceTerm", 4.99),
+            new ChartSavingsRequest(1000000.0, 0.0, 4.0, 15.0, "monthly", 25)
+        ).mortgage().totalOffsetInterestEarned();
+        
+        assertEquals(interestSaved, response.offsetBenefit()[25], 1e-6);
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.MortgageResult;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
+import com.example.mortgage.infrastructure.ChartSummary.MortgageSummary;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MortgageCalculationUseCaseTest {
+    
+    private final MortgageCalculatorService mortgageService = new MortgageCalculatorService();
+    private final SavingsCalculatorService savingsService = new SavingsCalculatorService();
+    private final MortgageCalculationUseCase useCase = new MortgageCalculationUseCase(mortgageService, new OffsetAccountEngine());
+    
+    @Test
+    void shouldMatchTheChartSummaryWhenAnOffsetIsSet() {
+        ChartCalculationUseCase chartUseCase = new ChartCalculationUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine());
+        
+        for (String mode : new String[] {"reduceAmount", "reduceTerm"}) {
+            MortgageResult card = useCase.execute(4000000.0, 4.79, 25, 1000000.0, mode, 4.99);
+            MortgageSummary chart = chartUseCase.summary(
+                new ChartMortgageRequest(4000000.0, 4.79, 25, 1000000.0, mode, 4.99),
+                new ChartSavingsRequest(0.0, 0.0, 4.0, 15.0, "monthly", 25)
+            ).mortgage();
+            
+            assertEquals(chart.monthlyPayment(), card.monthlyPayment(), mode);
+            assertEquals(chart.totalPaid(), card.totalPaid(), mode);
+            assertEquals(chart.totalInterest(), card.totalInterest(), mode);
+            assertEquals(chart.effectiveYears(), card.effectiveYears(), mode);
+            assertEquals(chart.totalOffsetInterestEarned(), card.totalOffsetInterestEarned(), mode);
+        }
+    }
+    
+    @Test
+    void shouldTakeTheStartMonthFromTheRequest() {
+        MortgageResult byDefault = useCase.execute(4000000.0, 4.79, 25, 1000000.0, "reduceAmount", 4.99, null);
+        MortgageResult january = useCase.execute(4000000.0, 4.79, 25, 1000000.0, "reduceAmount", 4.99, "2025-01");
+        MortgageResult february = useCase.execute(4000000.0, 4.79, 25, 1000000.0, "reduceAmount", 4.99, "2025-02");
+        
+        assertEquals(january, byDefault);
+        assertNotEquals(january.totalInterest(), february.totalInterest());
+        assertEquals("Start month must be formatted as YYYY-MM",
+            useCase.validationError(4000000.0, 4.79, 25, 1000000.0, 4.99, "2025/02"));
+        assertEquals("Start month is outside the supported calendar",
+            useCase.validationError(4000000.0, 4.79, 25, 1000000.0, 4.99, "2190-01"));
+    }
+    
+    @Test
+    void shouldReportANegativeSavingWhenTheOffsetLoanCostsMore() {
+        MortgageResult result = useCase.execute(4000000.0, 4.0, 25, 100000.0, "reduceAmount", 6.0);
+        
+        assertTrue(result.totalOffsetInterestEarned() < 0);
+    }
+    
+    @Test
+    void shouldKeepTheClosedFormWithoutAnOffset() {
+        MortgageResult result = useCase.execute(4000000.0, 4.79, 25, 0.0, "reduceAmount", 0.0);
+        
+        assertEquals(mortgageService.calculate(4000000.0, 4.79, 25), result);
+    }
+}
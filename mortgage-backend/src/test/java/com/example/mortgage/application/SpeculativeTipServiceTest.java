@@ -0,0 +1,164 @@
+package com.example.mortgage.application;
+
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import com.example.mortgage.infrastructure.ChartCompareTipResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpeculativeTipServiceTest {
+    
+    private final AtomicInteger calls = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SpeculativeTipService tipService;
+    private ChartCompareTipUseCase useCase;
+    
+    @BeforeEach
+    void setUp() {
+        TipAiService aiService = request -> {
+            calls.incrementAndGet();
+            return "crossover " + request.comparison().crossoverYear();
+        };
+        tipService = new SpeculativeTipService(aiService, Runnable::run, registry);
+        useCase = new ChartCompareTipUseCase(
+            new ChartCompareUseCase(new MortgageCalculatorService(), new SavingsCalculatorService(),
+                new OffsetAccountEngine(), CalculationCache.DISABLED),
+            tipService
+        );
+    }
+    
+    @Test
+    void shouldStartTipGenerationWithServerSideSummary() throws Exception {
+        ChartCompareTipResponse response = useCase.execute(sampleRequest(), "client");
+        
+        assertNotNull(response.tipId());
+        assertEquals(1, calls.get());
+        
+        String tip = tipService.collect(response.tipId()).orElseThrow().get();
+        assertEquals("crossover " + response.comparison().summary().crossoverYear(), tip);
+    }
+    
+    @Test
+    void shouldCollectTipOnlyOnce() {
+        ChartCompareTipResponse response = useCase.execute(sampleRequest(), "client");
+        
+        assertTrue(tipService.collect(response.tipId()).isPresent());
+        assertTrue(tipService.collect(response.tipId()).isEmpty());
+        assertEquals(0, tipService.pendingCount());
+    }
+    
+    @Test
+    void shouldReturnEmptyForUnknownTipId() {
+        assertTrue(tipService.collect("unknown").isEmpty());
+        assertEquals(1.0, registry.counter("tips.pending.lookups", "result", "miss").count());
+    }
+    
+    @Test
+    void shouldRecordLlmCallDuration() {
+        useCase.execute(sampleRequest(), "client");
+        
+        assertEquals(1, registry.timer("llm.tip.duration", "outcome", "success").count());
+    }
+    
+    @Test
+    void shouldCancelTipSupersededBySameClient() {
+        List<Runnable> queued = new ArrayList<>();
+        SpeculativeTipService service = new SpeculativeTipService(request -> "tip", queued::add, registry);
+        
+        String first = service.submit(null, "client");
+        String other = service.submit(null, "other");
+        String second = service.submit(null, "client");
+        queued.forEach(Runnable::run);
+        
+        assertTrue(service.collect(first).isEmpty());
+        assertEquals("tip", service.collect(second).orElseThrow().join());
+        assertEquals("tip", service.collect(other).orElseThrow().join());
+        assertEquals(1.0, registry.counter("tips.cancelled", "reason", "superseded").count());
+        assertEquals(2, registry.timer("llm.tip.duration", "outcome", "success").count());
+    }
+    
+    @Test
+    void shouldInterruptSupersededTipWhileModelIsRunning() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        SpeculativeTipService service = new SpeculativeTipService(request -> {
+            running.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                return "late";
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("interrupted", e);
+            }
+        }, command -> Thread.ofVirtual().start(command), registry);
+        
+        String first = service.submit(null, "client");
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        service.submit(null, "client");
+        
+        assertTrue(service.collect(first).isEmpty());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (registry.timer("llm.tip.duration", "outcome", "error").count() == 0) {
+                Thread.sleep(10);
+            }
+        });
+    }
+    
+    @Test
+    void shouldFailTipWhenExecutorIsFull() {
+        SpeculativeTipService service = new SpeculativeTipService(request -> "tip", command -> {
+            throw new RejectedExecutionException("full");
+        }, registry);
+        
+        String tipId = service.submit(null, "client");
+        
+        assertThrows(CompletionException.class, () -> service.collect(tipId).orElseThrow().join());
+        assertEquals(1.0, registry.counter("tips.cancelled", "reason", "rejected").count());
+    }
+    
+    @Test
+    void shouldPurgeExpiredTipsWhateverTheirCount() {
+        List<Runnable> queued = new ArrayList<>();
+        SpeculativeTipService service = new SpeculativeTipService(request -> "tip", queued::add, registry);
+        String tipId = service.submit(null, "client");
+        
+        service.purgeExpired(System.nanoTime() + SpeculativeTipService.PENDING_TTL_NANOS + SpeculativeTipService.PURGE_INTERVAL_NANOS);
+        
+        assertEquals(0, service.pendingCount());
+        assertTrue(service.collect(tipId).isEmpty());
+        queued.forEach(Runnable::run);
+        assertEquals(0, registry.timer("llm.tip.duration", "outcome", "success").count());
+    }
+    
+    @Test
+    void shouldCountTimeoutsFromModel() {
+        TipAiService timingOut = request -> {
+            throw new RuntimeException(new java.net.SocketTimeoutException("read timed out"));
+        };
+        SpeculativeTipService service = new SpeculativeTipService(timingOut, Runnable::run, registry);
+        
+        assertThrows(RuntimeException.class, () -> service.generate(null));
+        assertEquals(1.0, registry.counter("llm.tip.timeouts", "stage", "call").count());
+        assertEquals(1, registry.timer("llm.tip.duration", "outcome", "timeout").count());
+    }
+    
+    private ChartCompareRequest sampleRequest() {
+        return new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, 25, "reduceAmount", 4.99),
+            new ChartCompareRequest.SavingsParams(1000000.0, 0.0, 4.0, 15.0, "monthly", 25),
+            1000000.0
+        );
+    }
+}
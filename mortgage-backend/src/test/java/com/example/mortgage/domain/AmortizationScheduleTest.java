@@ -0,0 +1,85 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmortizationScheduleTest {
+    
+    private final MortgageCalculatorService service = new MortgageCalculatorService();
+    
+    @ParameterizedTest
+    @CsvSource({
+        "300000, 5.0, 30, 0, reduceAmount, 0",
+        "4000000, 4.79, 30, 1000000, reduceAmount, 4.99",
+        "4000000, 4.79, 30, 1000000, reduceTerm, 4.99",
+        "250000, 0.0, 25, 0, reduceAmount, 0",
+        "500000, 12.0, 50, 200000, reduceTerm, 12.0"
+    })
+    void shouldMatchIteratedScheduleAtEveryMonth(double principal, double rate, int years,
+                                                double offset, String mode, double offsetRate) {
+        List<MonthlyAmortization> iterated = service.calculateMonthlyAmortization(principal, rate, years, offset, mode, offsetRate);
+        AmortizationSchedule schedule = service.schedule(principal, rate, years, offset, mode, offsetRate);
+        
+        assertEquals(iterated.size(), schedule.months());
+        double cumulativeInterest = 0;
+        double cumulativePrincipal = 0;
+        for (MonthlyAmortization row : iterated) {
+            cumulativeInterest += row.interestPaid();
+            cumulativePrincipal += row.principalPaid();
+            MonthlyAmortization closedForm = schedule.month(row.month());
+            
+            assertEquals(row.remainingBalance(), schedule.balanceAfter(row.month()), 0.01);
+            assertEquals(row.interestPaid(), closedForm.interestPaid(), 0.01);
+            assertEquals(row.principalPaid(), closedForm.principalPaid(), 0.02);
+            assertEquals(cumulativeInterest, schedule.cumulativeInterest(row.month()), 0.02);
+            assertEquals(cumulativePrincipal, schedule.cumulativePrincipal(row.month()), 0.02);
+        }
+    }
+    
+    @Test
+    void shouldSummariseRangeFromCumulativeValues() {
+        AmortizationSchedule schedule = service.schedule(300000, 5.0, 30, 0, OffsetMode.REDUCE_AMOUNT, 0);
+        
+        AmortizationSchedule.Range range = schedule.range(13, 24);
+        
+        assertEquals(schedule.balanceAfter(12), range.openingBalance(), 1e-9);
+        assertEquals(schedule.balanceAfter(24), range.closingBalance(), 1e-9);
+        assertEquals(schedule.cumulativeInterest(24) - schedule.cumulativeInterest(12), range.interestPaid(), 1e-9);
+        assertEquals(12 * 1610.46, range.principalPaid() + range.interestPaid(), 0.1);
+        assertEquals(schedule.cumulativeInterest(24), range.cumulativeInterest(), 1e-9);
+    }
+    
+    @Test
+    void shouldReportFullTotalsAfterTheLastPayment() {
+        AmortizationSchedule schedule = service.schedule(300000, 5.0, 30, 0, OffsetMode.REDUCE_AMOUNT, 0);
+        
+        assertEquals(360, schedule.months());
+        assertEquals(0, schedule.balanceAfter(360));
+        assertEquals(0, schedule.balanceAfter(500));
+        assertEquals(279767.35, schedule.cumulativeInterest(600), 0.02);
+        assertEquals(300000, schedule.cumulativePrincipal(600), 1e-6);
+    }
+    
+    @Test
+    void shouldShortenTermWhenOffsetReducesTerm() {
+        AmortizationSchedule schedule = service.schedule(4000000, 4.79, 30, 1000000, OffsetMode.REDUCE_TERM, 4.99);
+        MortgageResult result = service.calculate(4000000, 4.79, 30, 1000000, OffsetMode.REDUCE_TERM, 4.99);
+        
+        assertTrue(schedule.months() < 360);
+        assertEquals(result.effectiveYears(), (int) Math.ceil(schedule.months() / 12.0));
+    }
+    
+    @Test
+    void shouldHaveNoMonthsWhenOffsetCoversPrincipal() {
+        AmortizationSchedule schedule = service.schedule(300000, 5.0, 30, 300000, OffsetMode.REDUCE_AMOUNT, 5.0);
+        
+        assertEquals(0, schedule.months());
+        assertEquals(0, schedule.cumulativeInterest(12));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.CashFlowEvent.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CashFlowScheduleEngineTest {
+    
+    private final CashFlowScheduleEngine engine = new CashFlowScheduleEngine();
+    
+    @Test
+    void shouldMatchStandardScheduleWithoutEvents() {
+        EventScheduleResult result = engine.calculate(300000, 5.0, 30, OffsetMode.REDUCE_AMOUNT, List.of());
+        
+        assertEquals(1610.46, result.initialPayment(), 0.01);
+        assertEquals(279767.35, result.totalInterest(), 0.02);
+        assertEquals(360, result.payoffMonth());
+        assertEquals(0, result.interestSaved(), 0.01);
+        assertEquals(1, result.segments().size());
+    }
+    
+    @Test
+    void shouldShortenTermWithLumpSumInReduceTermMode() {
+        List<CashFlowEvent> events = List.of(new CashFlowEvent(61, Type.LUMP_SUM, 50000));
+        
+        EventScheduleResult result = engine.calculate(300000, 5.0, 30, OffsetMode.REDUCE_TERM, events);
+        
+        assertEquals(1610.46, result.segments().get(1).payment(), 0.01);
+        assertTrue(result.payoffMonth() < 360);
+        assertTrue(result.interestSaved() > 0);
+        assertReference(300000, 5.0, 30, OffsetMode.REDUCE_TERM, events, result);
+    }
+    
+    @Test
+    void shouldLowerPaymentWithLumpSumInReduceAmountMode() {
+        List<CashFlowEvent> events = List.of(new CashFlowEvent(61, Type.LUMP_SUM, 50000));
+        
+        EventScheduleResult result = engine.calculate(300000, 5.0, 30, OffsetMode.REDUCE_AMOUNT, events);
+        
+        assertTrue(result.segments().get(1).payment() < 1610.46);
+        assertEquals(360, result.payoffMonth());
+        assertReference(300000, 5.0, 30, OffsetMode.REDUCE_AMOUNT, events, result);
+    }
+    
+    @Test
+    void shouldPayOffEarlyWithExtraMonthlyRepayments() {
+        List<CashFlowEvent> events = List.of(
+            new CashFlowEvent(1, Type.EXTRA_MONTHLY, 500),
+            new CashFlowEvent(121, Type.EXTRA_MONTHLY, 0)
+        );
+        
+        EventScheduleResult result = engine.calculate(300000, 5.0, 30, OffsetMode.REDUCE_TERM, events);
+        
+        assertTrue(result.payoffMonth() < 360);
+        assertReference(300000, 5.0, 30, OffsetMode.REDUCE_TERM, events, result);
+    }
+    
+    @Test
+    void shouldLimitRedrawToPrepaidAmount() {
+        List<CashFlowEvent> events = List.of(
+            new CashFlowEvent(13, Type.LUMP_SUM, 20000),
+            new CashFlowEvent(25, Type.REDRAW, 50000)
+        );
+        
+        EventScheduleResult result = engine.calculate(300000, 5.0, 30, OffsetMode.REDUCE_TERM, events);
+        
+        EventScheduleResult.Segment afterRedraw = result.segments().get(2);
+        EventScheduleResult.Segment beforeRedraw = result.segments().get(1);
+        assertEquals(beforeRedraw.closingBalance() + 20000, afterRedraw.openingBalance(), 1e-6);
+        assertReference(300000, 5.0, 30, OffsetMode.REDUCE_TERM, events, result);
+    }
+    
+    @Test
+    void shouldScaleWithEventsNotMonths() {
+        List<CashFlowEvent> events = new ArrayList<>();
+        for (int month = 2; month <= 600; month += 3) {
+            events.add(new CashFlowEvent(month, month % 2 == 0 ? Type.LUMP_SUM : Type.EXTRA_MONTHLY, 100));
+        }
+        
+        EventScheduleResult result = engine.calculate(4000000, 4.79, 50, OffsetMode.REDUCE_AMOUNT, events);
+        
+        assertTrue(result.segments().size() <= events.size() + 1);
+        assertReference(4000000, 4.79, 50, OffsetMode.REDUCE_AMOUNT, events, result);
+    }
+    
+    @Test
+    void shouldRejectUnsortedOrOutOfTermEvents() {
+        assertEquals("Events must be sorted by month", engine.validationError(300000, 5.0, 30,
+            List.of(new CashFlowEvent(20, Type.LUMP_SUM, 1), new CashFlowEvent(10, Type.LUMP_SUM, 1))));
+        assertEquals("Event month must lie within the loan term", engine.validationError(300000, 5.0, 30,
+            List.of(new CashFlowEvent(361, Type.LUMP_SUM, 1))));
+        assertNotNull(engine.validationError(300000, 5.0, 30, List.of(new CashFlowEvent(5, null, 1))));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculate(300000, 5.0, 30, OffsetMode.REDUCE_TERM,
+            List.of(new CashFlowEvent(5, Type.LUMP_SUM, -1))));
+    }
+    
+    private static void assertReference(double principal, double rate, int years, OffsetMode mode,
+                                        List<CashFlowEvent> events, EventScheduleResult result) {
+        double monthlyRate = rate / 100.0 / 12.0;
+        int totalMonths = years * 12;
+        double payment = AmortizationSchedule.payment(principal, monthlyRate, totalMonths);
+        double balance = principal;
+        double extra = 0;
+        double redrawAvailable = 0;
+        double totalInterest = 0;
+        int payoffMonth = totalMonths;
+        int next = 0;
+        
+        for (int month = 1; month <= totalMonths; month++) {
+            boolean resolve = false;
+            while (next < events.size() && events.get(next).month() == month) {
+                CashFlowEvent event = events.get(next++);
+                switch (event.type()) {
+                    case EXTRA_MONTHLY -> extra = event.amount();
+                    case LUMP_SUM -> {
+                        double paid = Math.min(event.amount(), balance);
+                        balance -= paid;
+                        redrawAvailable += paid;
+                        resolve = true;
+                    }
+                    case REDRAW -> {
+                        double drawn = Math.min(event.amount(), redrawAvailable);
+                        balance += drawn;
+                        redrawAvailable -= drawn;
+                        resolve = true;
+                    }
+                }
+            }
+            if (balance < 0.01) {
+                payoffMonth = month - 1;
+                break;
+            }
+            if (resolve) {
+                double toMaturity = AmortizationSchedule.payment(balance, monthlyRate, totalMonths - month + 1);
+                payment = mode == OffsetMode.REDUCE_TERM ? Math.max(payment, toMaturity) : toMaturity;
+            }
+            double interest = balance * monthlyRate;
+            double principalPaid = Math.min(payment + extra - interest, balance);
+            totalInterest += interest;
+            balance -= principalPaid;
+            redrawAvailable += Math.min(extra, principalPaid);
+            if (balance < 0.01) {
+                balance = 0;
+                payoffMonth = month;
+                break;
+            }
+        }
+        
+        assertEquals(payoffMonth, result.payoffMonth());
+        assertEquals(totalInterest, result.totalInterest(), 0.05);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.mortgage.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HouseholdEngineTest {
+    
+    private final HouseholdEngine engine = new HouseholdEngine();
+    private final MortgageCalculatorService service = new MortgageCalculatorService();
+    
+    @Test
+    void shouldMatchSingleLoanCalculationWithFixedOffset() {
+        List<HouseholdLoan> loans = List.of(new HouseholdLoan(300000, 5.0, 30));
+        MortgageResult expected = service.calculate(300000, 5.0, 30, 50000, OffsetMode.REDUCE_AMOUNT, 5.0);
+        
+        HouseholdResult result = engine.simulate(loans, 50000, 0, OffsetMode.REDUCE_AMOUNT, OffsetAllocation.HIGHEST_RATE_FIRST, false);
+        
+        assertEquals(expected.monthlyPayment(), result.monthlyPayment(), 1e-9);
+        assertEquals(expected.totalInterest(), result.totalInterest(), 0.01);
+        assertEquals(expected.totalOffsetInterestEarned(), result.interestSaved(), 0.01);
+        assertEquals(50000, result.offsetSettlement(), 0.01);
+        assertEquals(360, result.payoffMonth());
+    }
+    
+    @Test
+    void shouldFinishEarlyWithReduceTermLikeSingleLoanCalculation() {
+        List<HouseholdLoan> loans = List.of(new HouseholdLoan(300000, 5.0, 30));
+        MortgageResult expected = service.calculate(300000, 5.0, 30, 50000, OffsetMode.REDUCE_TERM, 5.0);
+        
+        HouseholdResult result = engine.simulate(loans, 50000, 0, OffsetMode.REDUCE_TERM, OffsetAllocation.HIGHEST_RATE_FIRST, true);
+        
+        assertEquals(expected.effectiveYears(), (result.payoffMonth() + 11) / 12);
+        assertEquals(expected.totalInterest(), result.totalInterest(), expected.monthlyPayment());
+        assertEquals(result.payoffMonth(), result.monthly().loanBalance().length);
+        assertEquals(0, result.monthly().loanBalance()[result.payoffMonth() - 1]);
+    }
+    
+    @Test
+    void shouldCoverHighestRateLoanFirst() {
+        List<HouseholdLoan> loans = List.of(new HouseholdLoan(400000, 4.0, 30), new HouseholdLoan(100000, 7.0, 20));
+        
+        HouseholdResult highestRateFirst = engine.simulate(loans, 100000, 0, OffsetMode.REDUCE_TERM, OffsetAllocation.HIGHEST_RATE_FIRST, false);
+        HouseholdResult proportional = engine.simulate(loans, 100000, 0, OffsetMode.REDUCE_TERM, OffsetAllocation.PROPORTIONAL, false);
+        
+        // The investment loan is fully offset from the first month, so it pays no interest and its instalments clear it early
+        HouseholdResult.Loan investment = highestRateFirst.loans().get(1);
+        assertEquals(0, investment.totalInterest(), 1e-9);
+        assertTrue(investment.payoffMonth() < 240);
+        assertTrue(proportional.loans().get(1).totalInterest() > 0);
+        assertTrue(highestRateFirst.totalInterest() < proportional.totalInterest());
+        assertEquals(highestRateFirst.standardLoanInterest(), proportional.standardLoanInterest(), 1e-9);
+        assertEquals(highestRateFirst.totalInterest(),
+            highestRateFirst.loans().get(0).totalInterest() + investment.totalInterest(), 1e-6);
+    }
+    
+    @Test
+    void shouldSplitOffsetInProportionToBalances() {
+        double[] covered = new double[3];
+        
+        HouseholdEngine.allocate(OffsetAllocation.PROPORTIONAL, new int[]{0, 1, 2}, new double[]{300, 100, 0}, 200, covered);
+        assertArrayEquals(new double[]{150, 50, 0}, covered, 1e-9);
+        
+        HouseholdEngine.allocate(OffsetAllocation.HIGHEST_RATE_FIRST, new int[]{1, 0, 2}, new double[]{300, 100, 0}, 200, covered);
+        assertArrayEquals(new double[]{100, 100, 0}, covered, 1e-9);
+    }
+    
+    @Test
+    void shouldSettleEveryLoanOnceOffsetCoversWhatIsLeft() {
+        List<HouseholdLoan> loans = List.of(new HouseholdLoan(100000, 4.0, 30), new HouseholdLoan(50000, 6.0, 10));
+        
+        HouseholdResult result = engine.simulate(loans, 200000, 0, OffsetMode.REDUCE_AMOUNT, OffsetAllocation.PROPORTIONAL, false);
+        
+        assertEquals(1, result.payoffMonth());
+        assertEquals(0, result.totalInterest(), 1e-9);
+        assertEquals(150000, result.offsetSettlement(), 1e-6);
+        assertEquals(50000, result.yearEndOffsetBalance()[29], 1e-6);
+    }
+    
+    @Test
+    void shouldGrowOffsetWithMonthlyCredits() {
+        List<HouseholdLoan> loans = List.of(new HouseholdLoan(300000, 5.0, 30), new HouseholdLoan(200000, 6.0, 25));
+        
+        HouseholdResult withoutCredits = engine.simulate(loans, 20000, 0, OffsetMode.REDUCE_TERM, OffsetAllocation.HIGHEST_RATE_FIRST, false);
+        HouseholdResult withCredits = engine.simulate(loans, 20000, 500, OffsetMode.REDUCE_TERM, OffsetAllocation.HIGHEST_RATE_FIRST, false);
+        
+        assertTrue(withCredits.totalInterest() < withoutCredits.totalInterest());
+        assertTrue(withCredits.payoffMonth() < withoutCredits.payoffMonth());
+    }
+    
+    @Test
+    void shouldRejectInvalidHouseholds() {
+        assertEquals("A household needs at least one loan", engine.validationError(List.of(), 0, 0));
+        assertEquals("A household can have at most 20 loans",
+            engine.validationError(Collections.nCopies(21, new HouseholdLoan(100000, 5.0, 30)), 0, 0));
+        assertEquals("Years cannot exceed 50", engine.validationError(List.of(new HouseholdLoan(100000, 5.0, 51)), 0, 0));
+        assertEquals("Offset balance and credits cannot be negative",
+            engine.validationError(List.of(new HouseholdLoan(100000, 5.0, 30)), -1, 0));
+        assertThrows(IllegalArgumentException.class, () ->
+            engine.simulate(List.of(new HouseholdLoan(0, 5.0, 30)), 0, 0, OffsetMode.REDUCE_AMOUNT, OffsetAllocation.PROPORTIONAL, false));
+    }
+    
+    @Test
+    void shouldStopSimulationOnceDeadlineHasPassed() {
+        Deadline previous = Deadline.bind(Deadline.after(Duration.ZERO));
+        try {
+            assertThrows(DeadlineExceededException.class, () -> engine.simulate(List.of(new HouseholdLoan(300000, 5.0, 30)),
+                0, 0, OffsetMode.REDUCE_AMOUNT, OffsetAllocation.HIGHEST_RATE_FIRST, false));
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+}
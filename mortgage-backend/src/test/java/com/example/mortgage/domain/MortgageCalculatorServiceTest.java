@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MortgageCalculatorServiceTest {
@@ -19,6 +21,23 @@ class MortgageCalculatorServiceTest {
         assertEquals(279767.35, result.totalInterest(), 0.01);
     }
     
+    @Test
+    void shouldStopAmortizationLoopsOnceDeadlineHasPassed() {
+        Deadline previous = Deadline.bind(Deadline.after(Duration.ZERO));
+        try {
+            DeadlineExceededException e = assertThrows(DeadlineExceededException.class, () ->
+                service.calculateYearlyAmortization(300000, 5.0, 30, 0.0, OffsetMode.REDUCE_AMOUNT, 0.0));
+            assertFalse(e.cancelled());
+            assertThrows(DeadlineExceededException.class, () ->
+                service.calculateMonthlyAmortization(300000, 5.0, 30, 0.0, OffsetMode.REDUCE_AMOUNT, 0.0));
+            // Closed forms have no loop to interrupt
+            assertEquals(1610.46, service.calculate(300000, 5.0, 30).monthlyPayment(), 0.01);
+        } finally {
+            Deadline.restore(previous);
+        }
+        assertEquals(30, service.calculateYearlyAmortization(300000, 5.0, 30, 0.0, OffsetMode.REDUCE_AMOUNT, 0.0).size());
+    }
+    
     @Test
     void shouldCalculateWithZeroInterest() {
         MortgageResult result = service.calculate(300000, 0, 30);
@@ -35,6 +54,15 @@ class MortgageCalculatorServiceTest {
         );
     }
     
+    @Test
+    void shouldReportValidationErrorWithoutThrowing() {
+        assertNull(service.validationError(300000, 5.0, 30, 100000, 5.0));
+        assertEquals("Principal must be greater than 0", service.validationError(0, 5.0, 30, 0, 0));
+        assertEquals("Offset amount cannot exceed principal", service.validationError(1000, 5.0, 30, 2000, 5.0));
+        assertEquals("Offset rate must be greater than or equal to annual rate",
+            service.validationError(300000, 5.0, 30, 1000, 4.0));
+    }
+    
     @Test
     void shouldRejectZeroPrincipal() {
         assertThrows(IllegalArgumentException.class, () ->
@@ -146,4 +174,99 @@ class MortgageCalculatorServiceTest {
         
         assertTrue(result.isEmpty());
     }
+    
+    @Test
+    void shouldTreatUnknownOffsetModeAsReduceAmount() {
+        MortgageResult byString = service.calculate(4000000, 4.79, 25, 1000000, "unknown", 4.79);
+        MortgageResult byEnum = service.calculate(4000000, 4.79, 25, 1000000, OffsetMode.REDUCE_AMOUNT, 4.79);
+        
+        assertEquals(byEnum, byString);
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+        "4000000, 4.79, 25, 1000000, reduceAmount",
+        "4000000, 4.79, 25, 1000000, reduceTerm",
+        "250000, 6.5, 30, 0, reduceAmount",
+        "300000, 0, 20, 50000, reduceTerm"
+    })
+    void shouldMatchFiniteDifferencesOfTheClosedForm(double principal, double rate, int years, double offset, String mode) {
+        MortgageSensitivity sensitivity = service.sensitivity(principal, rate, years, offset, OffsetMode.from(mode), rate);
+        boolean reduceTerm = OffsetMode.from(mode) == OffsetMode.REDUCE_TERM;
+        double[] inputs = {principal, rate, years, offset};
+        double[] steps = {1, 1e-4, 1e-4, 1};
+        MortgageSensitivity.Gradient[] outputs = {
+            sensitivity.monthlyPayment(), sensitivity.totalPaid(), sensitivity.totalInterest(),
+            sensitivity.termMonths(), sensitivity.totalOffsetInterestEarned()
+        };
+        double[] base = closedForm(inputs, reduceTerm);
+        
+        for (int output = 0; output < outputs.length; output++) {
+            assertEquals(base[output], outputs[output].value(), 1e-6 * Math.max(1, Math.abs(base[output])));
+        }
+        for (int input = 0; input < inputs.length; input++) {
+            // Central differences one-sided at a zero rate, which the closed form cannot go below
+            double[] up = inputs.clone();
+            double[] down = inputs.clone();
+            up[input] += steps[input];
+            down[input] -= inputs[input] - steps[input] < 0 ? 0 : steps[input];
+            double width = up[input] - down[input];
+            double[] high = closedForm(up, reduceTerm);
+            double[] low = closedForm(down, reduceTerm);
+            for (int output = 0; output < outputs.length; output++) {
+                double expected = (high[output] - low[output]) / width;
+                double actual = derivative(outputs[output], input);
+                assertEquals(expected, actual, 1e-3 * Math.max(1, Math.abs(expected)), "output " + output + " input " + input);
+            }
+        }
+    }
+    
+    @Test
+    void shouldAgreeWithCalculateForReduceAmount() {
+        MortgageSensitivity sensitivity = service.sensitivity(4000000, 4.79, 25, 1000000, OffsetMode.REDUCE_AMOUNT, 4.79);
+        MortgageResult result = service.calculate(4000000, 4.79, 25, 1000000, OffsetMode.REDUCE_AMOUNT, 4.79);
+        
+        assertEquals(result.monthlyPayment(), sensitivity.monthlyPayment().value(), 1e-6);
+        assertEquals(result.totalInterest(), sensitivity.totalInterest().value(), 1e-6);
+        assertEquals(result.totalOffsetInterestEarned(), sensitivity.totalOffsetInterestEarned().value(), 1e-6);
+        assertEquals(300, sensitivity.termMonths().value());
+        assertEquals(0, sensitivity.monthlyPayment().offsetAmount() + sensitivity.monthlyPayment().principal(), 1e-12);
+    }
+    
+    @Test
+    void shouldRejectInvalidSensitivityInputs() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.sensitivity(100000, 5, 20, 200000, OffsetMode.REDUCE_AMOUNT, 5));
+    }
+    
+    private static double derivative(MortgageSensitivity.Gradient gradient, int input) {
+        return switch (input) {
+            case MortgageSensitivity.PRINCIPAL -> gradient.principal();
+            case MortgageSensitivity.ANNUAL_RATE -> gradient.annualRatePercent();
+            case MortgageSensitivity.YEARS -> gradient.years();
+            default -> gradient.offsetAmount();
+        };
+    }
+    
+    // The calculate closed form with a continuous term and no rounding of the reduced term
+    private static double[] closedForm(double[] inputs, boolean reduceTerm) {
+        double principal = inputs[0];
+        double monthlyRate = inputs[1] / 1200.0;
+        double totalMonths = inputs[2] * 12;
+        double effectivePrincipal = principal - inputs[3];
+        double factor = monthlyRate == 0
+            ? 1 / totalMonths
+            : monthlyRate * Math.pow(1 + monthlyRate, totalMonths) / (Math.pow(1 + monthlyRate, totalMonths) - 1);
+        double paymentOriginal = principal * factor;
+        double payment = reduceTerm ? paymentOriginal : effectivePrincipal * factor;
+        double months = totalMonths;
+        if (reduceTerm) {
+            months = monthlyRate == 0
+                ? effectivePrincipal / payment
+                : Math.log(payment / (payment - effectivePrincipal * monthlyRate)) / Math.log1p(monthlyRate);
+        }
+        double totalPaid = payment * months;
+        double totalInterest = totalPaid - effectivePrincipal;
+        return new double[] {payment, totalPaid, totalInterest, months, paymentOriginal * totalMonths - principal - totalInterest};
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.mortgage.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetAccountEngineTest {
+    
+    private static final YearMonth START = YearMonth.of(2024, 1);
+    
+    private final OffsetAccountEngine engine = new OffsetAccountEngine();
+    
+    @Test
+    void shouldPrecomputeDayCountFactorsPerCalendarMonth() {
+        assertEquals(29 / 365.0, DayCount.ACT_365.factor(DayCount.ACT_365.index(YearMonth.of(2024, 2))), 1e-15);
+        assertEquals(28 / 360.0, DayCount.ACT_360.factor(DayCount.ACT_360.index(YearMonth.of(2023, 2))), 1e-15);
+        assertEquals(31 / 365.0, DayCount.ACT_365.factor(DayCount.ACT_365.index(YearMonth.of(2199, 12))), 1e-15);
+        assertFalse(DayCount.ACT_365.supports(YearMonth.of(2199, 1), 24));
+        assertEquals(DayCount.ACT_360, DayCount.from("act360"));
+        assertEquals(DayCount.ACT_365, DayCount.from(null));
+    }
+    
+    @Test
+    void shouldChargeNothingWhileOffsetCoversLoan() {
+        assertEquals(0, OffsetAccountEngine.averageNetBalance(1000, 2000, 0, 31));
+        assertEquals(0, OffsetAccountEngine.averageNetBalance(1000, 5000, 3100, 31));
+        assertEquals(16, OffsetAccountEngine.averageNetBalance(1000, 1000, 31, 31), 1e-9);
+    }
+    
+    @Test
+    void shouldMatchStandardLoanWithoutOffsetBalance() {
+        OffsetAccountResult result = engine.simulate(300000, 5.0, 5.0, 30, OffsetMode.REDUCE_AMOUNT,
+            START, DayCount.ACT_360, OffsetAccountPlan.fixed(0), false);
+        
+        assertEquals(AmortizationSchedule.payment(300000, 5.0 / 1200, 360), result.monthlyPayment(), 1e-9);
+        assertEquals(360, result.payoffMonth());
+        // ACT/360 charges 365/360 of the nominal rate over a year, so daily accrual costs slightly more
+        assertTrue(result.totalInterest() > result.standardLoanInterest());
+        assertEquals(0, result.offsetSettlement());
+        assertReference(300000, 5.0, 30, OffsetMode.REDUCE_AMOUNT, START, DayCount.ACT_360, OffsetAccountPlan.fixed(0), result);
+    }
+    
+    @Test
+    void shouldShortenTermWithStaticOffset() {
+        OffsetAccountPlan plan = OffsetAccountPlan.fixed(1000000);
+        
+        OffsetAccountResult result = engine.simulate(4000000, 4.79, 4.99, 30, OffsetMode.REDUCE_TERM,
+            START, DayCount.ACT_365, plan, true);
+        
+        assertTrue(result.payoffMonth() < 300);
+        assertTrue(result.interestSaved() > 0);
+        assertTrue(result.offsetSettlement() > 0 && result.offsetSettlement() <= 1000000);
+        assertEquals(1000000 - result.offsetSettlement(), result.yearEndOffsetBalance()[29], 1e-6);
+        assertEquals(result.payoffMonth(), result.monthly().loanBalance().length);
+        assertEquals(0, result.yearEndLoanBalance()[29]);
+        assertReference(4000000, 4.99, 30, OffsetMode.REDUCE_TERM, START, DayCount.ACT_365, plan, result);
+    }
+    
+    @Test
+    void shouldCloseLoanFromOffsetAtMaturityWhenPaymentIsReduced() {
+        OffsetAccountPlan plan = OffsetAccountPlan.fixed(100000);
+        
+        OffsetAccountResult result = engine.simulate(300000, 4.0, 4.0, 25, OffsetMode.REDUCE_AMOUNT,
+            START, DayCount.ACT_365, plan, false);
+        
+        assertEquals(AmortizationSchedule.payment(200000, 4.0 / 1200, 300), result.monthlyPayment(), 1e-9);
+        assertEquals(300, result.payoffMonth());
+        assertEquals(100000, result.offsetSettlement(), 100);
+        assertReference(300000, 4.0, 25, OffsetMode.REDUCE_AMOUNT, START, DayCount.ACT_365, plan, result);
+    }
+    
+    @Test
+    void shouldAccrueDailyOnEvolvingOffsetBalance() {
+        OffsetAccountPlan plan = new OffsetAccountPlan(20000, 4500, 3800, List.of(
+            new OffsetAccountPlan.Flow(13, 15000),
+            new OffsetAccountPlan.Flow(40, -30000),
+            new OffsetAccountPlan.Flow(41, 8000)
+        ));
+        
+        OffsetAccountResult result = engine.simulate(450000, 5.5, 5.8, 30, OffsetMode.REDUCE_TERM,
+            YearMonth.of(2023, 11), DayCount.ACT_365, plan, true);
+        
+        assertTrue(result.payoffMonth() < 360);
+        assertReference(450000, 5.8, 30, OffsetMode.REDUCE_TERM, YearMonth.of(2023, 11), DayCount.ACT_365, plan, result);
+    }
+    
+    @Test
+    void shouldCapitalizeInterestWhenWithdrawalsOutpaceReducedPayment() {
+        OffsetAccountPlan plan = new OffsetAccountPlan(250000, 0, 10000, List.of());
+        
+        OffsetAccountResult result = engine.simulate(300000, 6.0, 6.0, 10, OffsetMode.REDUCE_AMOUNT,
+            START, DayCount.ACT_365, plan, true);
+        
+        assertTrue(result.monthly().loanBalance()[40] > result.monthly().loanBalance()[30]);
+        assertReference(300000, 6.0, 10, OffsetMode.REDUCE_AMOUNT, START, DayCount.ACT_365, plan, result);
+    }
+    
+    @Test
+    void shouldRejectUnsortedFlowsAndUnsupportedCalendar() {
+        OffsetAccountPlan unsorted = new OffsetAccountPlan(0, 0, 0, List.of(
+            new OffsetAccountPlan.Flow(10, 100), new OffsetAccountPlan.Flow(5, 100)));
+        
+        assertNotNull(engine.validationError(100000, 5, 5, 10, START, DayCount.ACT_365, unsorted));
+        assertNotNull(engine.validationError(100000, 5, 5, 30, YearMonth.of(2190, 1), DayCount.ACT_365, OffsetAccountPlan.fixed(0)));
+        assertNotNull(engine.validationError(100000, 5, 5, 10, START, DayCount.ACT_365, OffsetAccountPlan.fixed(-1)));
+        assertNull(engine.validationError(100000, 5, 5, 10, START, DayCount.ACT_365, OffsetAccountPlan.fixed(0)));
+        assertThrows(IllegalArgumentException.class, () -> engine.simulate(100000, 5, 5, 10,
+            OffsetMode.REDUCE_TERM, START, DayCount.ACT_365, unsorted, false));
+    }
+    
+    // Steps the calendar day by day, accruing on the net balance and charging the accrual once a month
+    private static void assertReference(double principal, double ratePercent, int years, OffsetMode mode,
+                                        YearMonth start, DayCount dayCount, OffsetAccountPlan plan, OffsetAccountResult result) {
+        int totalMonths = years * 12;
+        double rate = ratePercent / 100.0;
+        double payment = AmortizationSchedule.payment(
+            mode == OffsetMode.REDUCE_TERM ? principal : principal - plan.initialBalance(), rate / 12, totalMonths);
+        double loan = principal;
+        double offset = plan.initialBalance();
+        double totalInterest = 0;
+        int month = 0;
+        YearMonth calendar = start;
+        
+        while (month < totalMonths && loan > 0) {
+            month++;
+            int days = calendar.lengthOfMonth();
+            calendar = calendar.plusMonths(1);
+            offset += plan.monthlyCredit();
+            for (OffsetAccountPlan.Flow flow : plan.flows()) {
+                if (flow.month() == month) {
+                    offset += flow.amount();
+                }
+            }
+            offset = Math.max(offset, 0);
+            double spend = Math.min(plan.monthlyWithdrawal(), offset);
+            double accrued = 0;
+            for (int day = 1; day <= days; day++) {
+                accrued += Math.max(loan - (offset - spend * day / days), 0) * rate / dayCount.basis();
+            }
+            totalInterest += accrued;
+            loan -= Math.min(payment - accrued, loan);
+            offset -= spend;
+            if (loan <= offset || month == totalMonths) {
+                offset -= Math.min(loan, offset);
+                loan = 0;
+            } else if (loan < 0.01) {
+                loan = 0;
+            }
+            if (result.monthly() != null) {
+                assertEquals(loan, result.monthly().loanBalance()[month - 1], 1e-4, "loan balance in month " + month);
+                assertEquals(offset, result.monthly().offsetBalance()[month - 1], 1e-4, "offset balance in month " + month);
+            }
+        }
+        
+        assertEquals(month, result.payoffMonth());
+        assertEquals(totalInterest, result.totalInterest(), 1e-4 * Math.max(1, totalInterest / 1e6));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyOffsetBenefit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetAllocationOptimizerTest {
+    
+    private final SavingsCalculatorService savingsService = new SavingsCalculatorService();
+    private final MortgageCalculatorService mortgageService = new MortgageCalculatorService();
+    private final OffsetAllocationOptimizer optimizer = new OffsetAllocationOptimizer(savingsService);
+    
+    @Test
+    void shouldReturnPartialPlanWhenDeadlineHasPassed() {
+        Deadline previous = Deadline.bind(Deadline.after(Duration.ZERO));
+        AllocationPlan plan;
+        try {
+            plan = optimizer.optimize(4000000, 6.5, 30, OffsetMode.REDUCE_TERM, 2.0, 15, "monthly", 1000000, 30);
+        } finally {
+            Deadline.restore(previous);
+        }
+        
+        assertTrue(plan.partial());
+        assertEquals(0.0, plan.offsetFraction());
+        assertEquals(plan.allSavingsBenefit(), plan.netBenefit(), 1e-6);
+        assertFalse(optimizer.optimize(4000000, 6.5, 30, OffsetMode.REDUCE_TERM, 2.0, 15, "monthly", 1000000, 30).partial());
+    }
+    
+    @Test
+    void shouldAbortWhenCancelled() {
+        Deadline cancelled = Deadline.cancellable();
+        cancelled.cancel();
+        Deadline previous = Deadline.bind(cancelled);
+        try {
+            DeadlineExceededException e = assertThrows(DeadlineExceededException.class, () ->
+                optimizer.optimize(4000000, 6.5, 30, OffsetMode.REDUCE_TERM, 2.0, 15, "monthly", 1000000, 30));
+            assertTrue(e.cancelled());
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+    
+    @Test
+    void shouldFavourOffsetWhenMortgageRateDominates() {
+        AllocationPlan plan = optimizer.optimize(4000000, 6.5, 30, OffsetMode.REDUCE_TERM,
+            2.0, 15, "monthly", 1000000, 30);
+        
+        assertTrue(plan.offsetFraction() > 0.5);
+        assertTrue(plan.switchMonth() > 120);
+        assertTrue(plan.netBenefit() >= plan.allOffsetBenefit());
+    }
+    
+    @Test
+    void shouldKeepEverythingInSavingsWhenSavingsRateDominates() {
+        AllocationPlan plan = optimizer.optimize(4000000, 1.5, 30, OffsetMode.REDUCE_AMOUNT,
+            8.0, 0, "monthly", 1000000, 30);
+        
+        assertEquals(0.0, plan.offsetFraction());
+        assertEquals(0, plan.switchMonth());
+        assertEquals(plan.allSavingsBenefit(), plan.netBenefit(), 1e-6);
+    }
+    
+    @Test
+    void shouldSwitchToSavingsAtCrossoverWhenOffsetLeadsEarly() {
+        AllocationPlan plan = optimizer.optimize(4000000, 4.79, 30, OffsetMode.REDUCE_TERM,
+            3.0, 0, "monthly", 1000000, 30);
+        
+        assertTrue(plan.offsetFraction() > 0);
+        assertTrue(plan.switchMonth() > 0 && plan.switchMonth() < plan.horizonMonths());
+        assertTrue(plan.netBenefit() > plan.allOffsetBenefit());
+        assertTrue(plan.netBenefit() > plan.allSavingsBenefit());
+    }
+    
+    @Test
+    void shouldFindGridOptimumWithBoundedSearch() {
+        for (OffsetMode mode : OffsetMode.values()) {
+            for (double savingsRate : new double[] {3.0, 4.5, 6.0}) {
+                AllocationPlan plan = optimizer.optimize(4000000, 4.79, 25, mode,
+                    savingsRate, 15, "monthly", 1000000, 30);
+                
+                assertEquals(exhaustiveBest(4000000, 4.79, 25, mode, savingsRate, 15, 1000000, 30),
+                    plan.netBenefit(), 1e-6, mode + " at " + savingsRate + "%");
+            }
+        }
+    }
+    
+    @Test
+    void shouldMatchCompareChartBenefitWhenMoneyStaysInOffset() {
+        AllocationPlan plan = optimizer.optimize(4000000, 4.79, 30, OffsetMode.REDUCE_TERM,
+            4.5, 15, "monthly", 1000000, 30);
+        List<YearlyOffsetBenefit> benefit = mortgageService.calculateOffsetBenefit(4000000, 4.79, 30, 1000000,
+            OffsetMode.REDUCE_TERM, 4.79);
+        
+        assertEquals(benefit.get(29).cumulativeSavings(), plan.allOffsetBenefit(), 1.0);
+        assertEquals(31, plan.switchValues().length);
+        assertEquals(plan.allSavingsBenefit(), plan.fractionValues()[0], 1e-6);
+    }
+    
+    @Test
+    void shouldRejectAmountAbovePrincipal() {
+        assertNotNull(optimizer.validationError(100000, 200000));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(100000, 5, 30,
+            OffsetMode.REDUCE_TERM, 4, 15, "monthly", 200000, 30));
+    }
+    
+    // Same value model evaluated on every fraction and every switch month
+    private double exhaustiveBest(double principal, double ratePercent, int years, OffsetMode mode,
+                                  double savingsRate, double taxRate, double amount, int horizonYears) {
+        int totalMonths = years * 12;
+        int horizon = horizonYears * 12;
+        double monthlyRate = ratePercent / 1200;
+        double payment = AmortizationSchedule.payment(principal, monthlyRate, totalMonths);
+        AmortizationSchedule standard = AmortizationSchedule.of(principal, monthlyRate, payment, totalMonths);
+        double best = Double.NEGATIVE_INFINITY;
+        for (int step = 0; step <= OffsetAllocationOptimizer.FRACTION_STEPS; step++) {
+            double offset = amount * step / OffsetAllocationOptimizer.FRACTION_STEPS;
+            double offsetPayment = mode == OffsetMode.REDUCE_TERM
+                ? payment
+                : AmortizationSchedule.payment(principal - offset, monthlyRate, totalMonths);
+            AmortizationSchedule withOffset = AmortizationSchedule.of(principal - offset, monthlyRate, offsetPayment, totalMonths);
+            for (int month = 0; month <= horizon; month++) {
+                double value = standard.cumulativeInterest(month) - withOffset.cumulativeInterest(month)
+                    + offset * gain(savingsRate, taxRate, horizon - month)
+                    + (amount - offset) * gain(savingsRate, taxRate, horizon);
+                best = Math.max(best, value);
+            }
+        }
+        return best;
+    }
+    
+    private double gain(double savingsRate, double taxRate, int months) {
+        return savingsService.balanceAfterMonths(1.0, 0, savingsRate, taxRate, "monthly", months) - 1;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.mortgage.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateBackTestEngineTest {
+    
+    private final RateBackTestEngine engine = new RateBackTestEngine();
+    private final MortgageCalculatorService service = new MortgageCalculatorService();
+    
+    @Test
+    void shouldMatchFixedRateCalculationForEveryStartOfFlatHistory() {
+        RateHistory history = flat(600, 5.0);
+        MortgageResult expected = service.calculate(300000, 5.0, 30, 50000, OffsetMode.REDUCE_AMOUNT, 5.0);
+        
+        BackTestResult result = engine.backTest(history, 300000, 30, 50000, OffsetMode.REDUCE_AMOUNT);
+        
+        assertEquals(241, result.starts());
+        assertEquals(YearMonth.of(1970, 1), result.start(0));
+        assertEquals(YearMonth.of(1990, 1), result.start(240));
+        for (int i = 0; i < result.starts(); i++) {
+            assertEquals(expected.totalInterest(), result.totalInterest()[i], 0.01);
+            assertEquals(expected.totalOffsetInterestEarned(), result.offsetBenefit()[i], 0.01);
+            assertEquals(360, result.payoffMonths()[i]);
+        }
+    }
+    
+    @Test
+    void shouldFinishEarlyWithReduceTermLikeFixedRateCalculation() {
+        MortgageResult expected = service.calculate(300000, 5.0, 30, 50000, OffsetMode.REDUCE_TERM, 5.0);
+        
+        BackTestResult result = engine.backTest(flat(360, 5.0), 300000, 30, 50000, OffsetMode.REDUCE_TERM);
+        
+        assertEquals(1, result.starts());
+        assertEquals(expected.effectiveYears(), (result.payoffMonths()[0] + 11) / 12);
+        // The fixed-rate closed form charges the final instalment in full; the replay pays only what is left
+        assertEquals(expected.totalInterest(), result.totalInterest()[0], expected.monthlyPayment());
+        assertTrue(result.offsetBenefit()[0] > service.calculate(300000, 5.0, 30, 50000, OffsetMode.REDUCE_AMOUNT, 5.0)
+            .totalOffsetInterestEarned());
+    }
+    
+    @Test
+    void shouldChargeMoreForStartsWhoseTermCoversRateSpike() {
+        double[] rates = new double[900];
+        Arrays.fill(rates, 4.0);
+        Arrays.fill(rates, 400, 460, 9.0);
+        
+        BackTestResult result = engine.backTest(new RateHistory(YearMonth.of(1970, 1), rates), 300000, 30, 0, OffsetMode.REDUCE_AMOUNT);
+        
+        double flatInterest = service.calculate(300000, 4.0, 30).totalInterest();
+        assertEquals(flatInterest, result.totalInterest()[0], 0.01);
+        assertEquals(flatInterest, result.totalInterest()[460], 0.01);
+        assertTrue(result.totalInterest()[100] > flatInterest);
+        assertEquals(400, result.mostExpensiveStart());
+        assertEquals(flatInterest, result.totalInterest()[result.cheapestStart()], 0.01);
+        assertEquals(0, result.offsetBenefit()[100]);
+        
+        BackTestResult.Distribution distribution = result.totalInterestDistribution();
+        assertEquals(flatInterest, distribution.min(), 0.01);
+        assertEquals(result.totalInterest()[400], distribution.max());
+        assertTrue(distribution.median() >= distribution.min() && distribution.median() <= distribution.max());
+    }
+    
+    @Test
+    void shouldInterpolatePercentilesBetweenRanks() {
+        BackTestResult.Distribution distribution = BackTestResult.Distribution.of(new double[]{5, 1, 4, 2, 3});
+        
+        assertEquals(1, distribution.min());
+        assertEquals(1.4, distribution.p10(), 1e-9);
+        assertEquals(2, distribution.p25());
+        assertEquals(3, distribution.median());
+        assertEquals(4.6, distribution.p90(), 1e-9);
+        assertEquals(5, distribution.max());
+        assertEquals(3, distribution.mean());
+    }
+    
+    @Test
+    void shouldRejectTermLongerThanHistory() {
+        assertEquals("Rate history covers 120 months, fewer than the 360-month term",
+            engine.validationError(flat(120, 5.0), 300000, 30, 0));
+        assertEquals("No rate history is loaded", engine.validationError(RateHistory.EMPTY, 300000, 30, 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.backTest(flat(120, 5.0), 300000, 30, 0, OffsetMode.REDUCE_AMOUNT));
+    }
+    
+    @Test
+    void shouldStopWorkersOnceDeadlineHasPassed() {
+        Deadline previous = Deadline.bind(Deadline.after(Duration.ZERO));
+        try {
+            assertThrows(DeadlineExceededException.class, () ->
+                engine.backTest(flat(720, 5.0), 300000, 30, 0, OffsetMode.REDUCE_AMOUNT));
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+    
+    private static RateHistory flat(int months, double rate) {
+        double[] rates = new double[months];
+        Arrays.fill(rates, rate);
+        return new RateHistory(YearMonth.of(1970, 1), rates);
+    }
+}
@@ -106,4 +106,101 @@ class SavingsCalculatorServiceTest {
         assertThrows(IllegalArgumentException.class, () -> 
             service.calculate(1000, 0, 3, 15, "monthly", -5));
     }
+    
+    @Test
+    void shouldReportValidationErrorWithoutThrowing() {
+        assertNull(service.validationError(1000, 100, 3, 15, 10));
+        assertEquals("Tax rate cannot be negative", service.validationError(1000, 100, 3, -1, 10));
+    }
+    
+    @Test
+    void shouldMatchMonthByMonthCompoundingAtAnyMonth() {
+        double balance = 100000;
+        double afterTaxMonthlyRate = 4.5 / 100.0 / 12.0 * (1 - 15 / 100.0);
+        for (int month = 1; month <= 600; month++) {
+            balance += balance * afterTaxMonthlyRate + 5000;
+            
+            assertEquals(balance, service.balanceAfterMonths(100000, 5000, 4.5, 15, "monthly", month), 1e-6 * balance);
+        }
+    }
+    
+    @Test
+    void shouldCompoundAnnuallyAtYearEnds() {
+        double afterTaxAnnualRate = 0.045 * 0.85;
+        double endOfFirstYear = 100000 * (1 + afterTaxAnnualRate) + 60000;
+        
+        assertEquals(100000, service.balanceAfterMonths(100000, 5000, 4.5, 15, "annually", 11), 1e-9);
+        assertEquals(endOfFirstYear, service.balanceAfterMonths(100000, 5000, 4.5, 15, "annually", 12), 1e-6);
+        assertEquals(endOfFirstYear, service.balanceAfterMonths(100000, 5000, 4.5, 15, "annually", 23), 1e-6);
+    }
+    
+    @Test
+    void shouldBuildYearlyBalancesFromClosedForm() {
+        var yearly = service.calculateYearlyBalances(100000, 5000, 0, 15, "monthly", 3);
+        
+        assertEquals(3, yearly.size());
+        assertEquals(100000 + 3 * 60000, yearly.get(2).balance(), 1e-9);
+        assertEquals(service.balanceAfterMonths(100000, 5000, 4.5, 15, "monthly", 240),
+            service.calculateYearlyBalances(100000, 5000, 4.5, 15, "monthly", 20).get(19).balance(), 1e-9);
+    }
+    
+    @Test
+    void shouldMatchCalculateAndFiniteDifferencesInSensitivity() {
+        double[] inputs = {100000, 5000, 4.5, 15, 20};
+        double[] steps = {1, 1, 1e-4, 1e-4, 1e-4};
+        
+        for (String periodicity : new String[] {"monthly", "yearly"}) {
+            SavingsSensitivity sensitivity = service.sensitivity(100000, 5000, 4.5, 15, periodicity, 20);
+            SavingsResult result = service.calculate(100000, 5000, 4.5, 15, periodicity, 20);
+            assertEquals(result.totalSaved(), sensitivity.totalSaved().value(), 1e-6);
+            assertEquals(result.totalInterestEarned(), sensitivity.totalInterestEarned().value(), 1e-6);
+            
+            for (int input = 0; input < inputs.length; input++) {
+                double[] up = inputs.clone();
+                double[] down = inputs.clone();
+                up[input] += steps[input];
+                down[input] -= steps[input];
+                double[] high = closedForm(up, periodicity);
+                double[] low = closedForm(down, periodicity);
+                double expectedSaved = (high[0] - low[0]) / (2 * steps[input]);
+                double expectedInterest = (high[1] - low[1]) / (2 * steps[input]);
+                assertEquals(expectedSaved, derivative(sensitivity.totalSaved(), input), 1e-4 * Math.max(1, Math.abs(expectedSaved)));
+                assertEquals(expectedInterest, derivative(sensitivity.totalInterestEarned(), input), 1e-4 * Math.max(1, Math.abs(expectedInterest)));
+            }
+        }
+    }
+    
+    @Test
+    void shouldKeepRateDerivativeAtZeroRate() {
+        SavingsSensitivity sensitivity = service.sensitivity(100000, 1000, 0, 0, "monthly", 10);
+        double step = 1e-3;
+        SavingsResult bumped = service.calculate(100000, 1000, step, 0, "monthly", 10);
+        
+        assertEquals(220000, sensitivity.totalSaved().value(), 1e-9);
+        assertEquals(12000, sensitivity.totalSaved().years(), 1e-6);
+        assertEquals((bumped.totalSaved() - 220000) / step, sensitivity.totalSaved().annualInterestRatePercent(), 1);
+        assertEquals(sensitivity.totalSaved().annualInterestRatePercent(), sensitivity.totalInterestEarned().annualInterestRatePercent(), 1e-6);
+    }
+    
+    private static double derivative(SavingsSensitivity.Gradient gradient, int input) {
+        return switch (input) {
+            case SavingsSensitivity.INITIAL_AMOUNT -> gradient.initialAmount();
+            case SavingsSensitivity.MONTHLY_CONTRIBUTION -> gradient.monthlyContribution();
+            case SavingsSensitivity.ANNUAL_RATE -> gradient.annualInterestRatePercent();
+            case SavingsSensitivity.TAX_RATE -> gradient.taxRatePercent();
+            default -> gradient.years();
+        };
+    }
+    
+    // The calculate closed form with a continuous number of years
+    private static double[] closedForm(double[] inputs, String periodicity) {
+        boolean monthly = "monthly".equals(periodicity);
+        double periods = monthly ? inputs[4] * 12 : inputs[4];
+        double periodicRate = inputs[2] / (monthly ? 1200.0 : 100.0);
+        double kept = 1 - inputs[3] / 100.0;
+        double afterTaxRate = periodicRate * kept;
+        double net = inputs[0] * Math.pow(1 + afterTaxRate, periods) + inputs[1] * (Math.pow(1 + afterTaxRate, periods) - 1) / afterTaxRate;
+        double gross = inputs[0] * Math.pow(1 + periodicRate, periods) + inputs[1] * (Math.pow(1 + periodicRate, periods) - 1) / periodicRate;
+        return new double[] {net, (gross - inputs[0] - inputs[1] * periods) * kept};
+    }
 }
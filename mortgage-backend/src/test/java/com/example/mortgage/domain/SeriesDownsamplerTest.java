@@ -0,0 +1,113 @@
+package com.example.mortgage.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesDownsamplerTest {
+    
+    @Test
+    void shouldKeepAllPointsWhenSeriesFits() {
+        int[] x = months(10);
+        
+        int[] keep = SeriesDownsampler.select(x, 10, DownsamplingMode.LTTB, new double[10]);
+        
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, keep);
+        assertFalse(SeriesDownsampler.reduces(10, 10));
+        assertFalse(SeriesDownsampler.reduces(10, null));
+    }
+    
+    @Test
+    void shouldReduceToMaxPointsKeepingEndpointsInOrder() {
+        int[] x = months(600);
+        double[] balance = new double[600];
+        for (int i = 0; i < 600; i++) {
+            balance[i] = 4_000_000 - 6_000.0 * i;
+        }
+        
+        int[] keep = SeriesDownsampler.select(x, 100, DownsamplingMode.LTTB, balance);
+        
+        assertEquals(100, keep.length);
+        assertEquals(0, keep[0]);
+        assertEquals(599, keep[99]);
+        for (int i = 1; i < keep.length; i++) {
+            assertTrue(keep[i] > keep[i - 1]);
+        }
+    }
+    
+    @Test
+    void shouldKeepTurningPointWithLttb() {
+        int[] x = months(360);
+        double[] flat = new double[360];
+        double[] spiked = new double[360];
+        spiked[177] = 1_000_000;
+        
+        int[] keep = SeriesDownsampler.select(x, 24, DownsamplingMode.LTTB, flat, spiked);
+        
+        assertTrue(contains(keep, 177));
+    }
+    
+    @Test
+    void shouldKeepMinimumAndMaximumOfEverySeriesWithMinMax() {
+        int[] x = months(360);
+        double[] rising = new double[360];
+        double[] dipping = new double[360];
+        for (int i = 0; i < 360; i++) {
+            rising[i] = i;
+            dipping[i] = 100;
+        }
+        dipping[101] = -5;
+        rising[250] = 10_000;
+        
+        int[] keep = SeriesDownsampler.select(x, 42, DownsamplingMode.MIN_MAX, rising, dipping);
+        
+        assertTrue(keep.length <= 42);
+        assertTrue(contains(keep, 101));
+        assertTrue(contains(keep, 250));
+        assertEquals(0, keep[0]);
+        assertEquals(359, keep[keep.length - 1]);
+    }
+    
+    @Test
+    void shouldFallBackToLttbWhenMinMaxHasNoRoomForABucket() {
+        int[] x = months(100);
+        
+        int[] keep = SeriesDownsampler.select(x, 5, DownsamplingMode.MIN_MAX,
+            new double[100], new double[100], new double[100]);
+        
+        assertEquals(5, keep.length);
+    }
+    
+    @Test
+    void shouldPickValuesAtSelectedIndices() {
+        int[] keep = {0, 2, 4};
+        
+        assertArrayEquals(new int[] {10, 30, 50}, SeriesDownsampler.pick(new int[] {10, 20, 30, 40, 50}, keep));
+        assertArrayEquals(new double[] {1.5, 3.5, 5.5},
+            SeriesDownsampler.pick(new double[] {1.5, 2.5, 3.5, 4.5, 5.5}, keep));
+    }
+    
+    @Test
+    void shouldRejectTooFewPoints() {
+        assertNotNull(SeriesDownsampler.validationError(2));
+        assertNull(SeriesDownsampler.validationError(3));
+        assertNull(SeriesDownsampler.validationError(null));
+    }
+    
+    private static int[] months(int count) {
+        int[] months = new int[count];
+        for (int i = 0; i < count; i++) {
+            months[i] = i + 1;
+        }
+        return months;
+    }
+    
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.mortgage.domain;
+
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariableRateScheduleEngineTest {
+    
+    private final VariableRateScheduleEngine engine = new VariableRateScheduleEngine();
+    private final MortgageCalculatorService service = new MortgageCalculatorService();
+    
+    @Test
+    void shouldMatchFixedRateOutputsForSingleSegment() {
+        VariableRateSchedule schedule = engine.schedule(300000, 30, List.of(new RateChange(1, 5.0)), RecastRule.RESET_PAYMENT);
+        
+        List<MonthlyAmortization> expectedMonthly = service.calculateMonthlyAmortization(300000, 5.0, 30, 0, OffsetMode.REDUCE_AMOUNT, 0);
+        List<MonthlyAmortization> monthly = schedule.monthlyAmortization();
+        assertEquals(expectedMonthly.size(), monthly.size());
+        for (int i = 0; i < monthly.size(); i++) {
+            assertEquals(expectedMonthly.get(i).interestPaid(), monthly.get(i).interestPaid(), 0.01);
+            assertEquals(expectedMonthly.get(i).remainingBalance(), monthly.get(i).remainingBalance(), 0.01);
+        }
+        
+        List<YearlyAmortization> expectedYearly = service.calculateYearlyAmortization(300000, 5.0, 30, 0, OffsetMode.REDUCE_AMOUNT, 0);
+        List<YearlyAmortization> yearly = schedule.yearlyAmortization();
+        assertEquals(expectedYearly.size(), yearly.size());
+        for (int i = 0; i < yearly.size(); i++) {
+            assertEquals(expectedYearly.get(i).principalPaid(), yearly.get(i).principalPaid(), 0.05);
+            assertEquals(expectedYearly.get(i).interestPaid(), yearly.get(i).interestPaid(), 0.05);
+        }
+    }
+    
+    @Test
+    void shouldResetPaymentAtEachRateChange() {
+        List<RateChange> rates = List.of(new RateChange(1, 2.49), new RateChange(61, 5.5), new RateChange(121, 4.0));
+        
+        VariableRateSchedule schedule = engine.schedule(4000000, 30, rates, RecastRule.RESET_PAYMENT);
+        
+        assertEquals(3, schedule.segments().size());
+        assertTrue(schedule.segments().get(1).payment() > schedule.segments().get(0).payment());
+        assertEquals(360, schedule.months());
+        assertEquals(0, schedule.balanceAfter(360));
+        assertReference(4000000, 30, rates, RecastRule.RESET_PAYMENT, schedule);
+    }
+    
+    @Test
+    void shouldLeaveBalloonWhenPaymentIsKeptThroughRateRise() {
+        List<RateChange> rates = List.of(new RateChange(1, 3.0), new RateChange(37, 6.0));
+        
+        VariableRateSchedule schedule = engine.schedule(300000, 25, rates, RecastRule.KEEP_PAYMENT);
+        
+        assertEquals(schedule.segments().get(0).payment(), schedule.segments().get(1).payment(), 1e-9);
+        assertTrue(schedule.balanceAfter(300) > 0);
+        assertReference(300000, 25, rates, RecastRule.KEEP_PAYMENT, schedule);
+    }
+    
+    @Test
+    void shouldPayOffEarlyWhenPaymentIsKeptThroughRateCut() {
+        List<RateChange> rates = List.of(new RateChange(1, 6.0), new RateChange(25, 2.0), new RateChange(200, 3.0));
+        
+        VariableRateSchedule schedule = engine.schedule(300000, 25, rates, RecastRule.KEEP_PAYMENT);
+        
+        assertTrue(schedule.months() < 300);
+        assertEquals(0, schedule.balanceAfter(300));
+        assertReference(300000, 25, rates, RecastRule.KEEP_PAYMENT, schedule);
+    }
+    
+    @Test
+    void shouldRejectInvalidTimelines() {
+        assertEquals("Rate timeline must start at month 1",
+            engine.validationError(300000, 30, List.of(new RateChange(2, 5.0))));
+        assertEquals("Rate changes must be in strictly increasing month order",
+            engine.validationError(300000, 30, List.of(new RateChange(1, 5.0), new RateChange(1, 4.0))));
+        assertEquals("Rate change month must lie within the loan term",
+            engine.validationError(300000, 30, List.of(new RateChange(1, 5.0), new RateChange(361, 4.0))));
+        assertThrows(IllegalArgumentException.class, () ->
+            engine.schedule(300000, 30, List.of(), RecastRule.RESET_PAYMENT));
+    }
+    
+    private static void assertReference(double principal, int years, List<RateChange> rates, RecastRule recast,
+                                        VariableRateSchedule schedule) {
+        int termMonths = years * 12;
+        double balance = principal;
+        double payment = 0;
+        double monthlyRate = 0;
+        double totalInterest = 0;
+        int next = 0;
+        
+        for (int month = 1; month <= termMonths && balance > 0; month++) {
+            if (next < rates.size() && rates.get(next).startMonth() == month) {
+                monthlyRate = rates.get(next).annualRatePercent() / 100.0 / 12.0;
+                if (next == 0 || recast == RecastRule.RESET_PAYMENT) {
+                    payment = AmortizationSchedule.payment(balance, monthlyRate, termMonths - month + 1);
+                }
+                next++;
+            }
+            double interest = balance * monthlyRate;
+            double principalPaid = Math.min(payment - interest, balance);
+            totalInterest += interest;
+            balance -= principalPaid;
+            if (balance < 0.01) {
+                balance = 0;
+            }
+            
+            assertEquals(balance, schedule.balanceAfter(month), 0.05, "balance after month " + month);
+        }
+        
+        assertEquals(totalInterest, schedule.cumulativeInterest(termMonths), 0.05);
+        
+        for (YearlyAmortization year : schedule.yearlyAmortization()) {
+            int end = year.year() * 12;
+            assertEquals(schedule.cumulativeInterest(end) - schedule.cumulativeInterest(end - 12), year.interestPaid(), 0.01);
+            assertEquals(schedule.balanceAfter(end - 12) - schedule.balanceAfter(end), year.principalPaid(), 0.01);
+        }
+    }
+}
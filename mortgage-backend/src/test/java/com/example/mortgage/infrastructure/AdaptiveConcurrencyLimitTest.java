@@ -0,0 +1,76 @@
+package com.example.mortgage.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+    
+    @Test
+    void shouldRejectBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+        
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release();
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.inFlight());
+    }
+    
+    @Test
+    void shouldGrowWhileLatencyStaysAtBaseline() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+        
+        for (int window = 0; window < 20; window++) {
+            runWindow(limit, limit.limit(), 1_000_000);
+        }
+        
+        assertTrue(limit.limit() > 20, "limit " + limit.limit());
+    }
+    
+    @Test
+    void shouldShrinkWhenLatencyRisesWithQueueing() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100);
+        runWindow(limit, 50, 1_000_000);
+        int before = limit.limit();
+        
+        for (int window = 0; window < 20; window++) {
+            runWindow(limit, limit.limit(), 3_000_000);
+        }
+        
+        assertTrue(limit.limit() < before, "limit " + limit.limit());
+        assertTrue(limit.limit() >= 1);
+    }
+    
+    @Test
+    void shouldNotGrowWhenLimitIsNotUsed() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 1, 100);
+        
+        for (int i = 0; i < 400; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(1_000_000);
+        }
+        
+        assertEquals(40, limit.limit());
+    }
+    
+    private static void runWindow(AdaptiveConcurrencyLimit limit, int concurrency, long rttNanos) {
+        int samples = Math.max(AdaptiveConcurrencyLimit.MIN_WINDOW_SAMPLES, limit.limit());
+        int taken = 0;
+        while (taken < concurrency && limit.tryAcquire()) {
+            taken++;
+        }
+        for (int i = 0; i < samples; i++) {
+            if (taken == 0) {
+                assertTrue(limit.tryAcquire());
+                taken++;
+            }
+            limit.release(rttNanos);
+            taken--;
+        }
+        while (taken-- > 0) {
+            limit.release();
+        }
+    }
+}
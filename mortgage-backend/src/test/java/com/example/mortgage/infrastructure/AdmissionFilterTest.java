@@ -0,0 +1,163 @@
+package com.example.mortgage.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionFilterTest {
+    
+    private static final FilterChain OK = (request, response) -> { };
+    private static final FilterChain ASYNC = (request, response) -> request.startAsync(request, response);
+    
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimit calculationLimit = new AdaptiveConcurrencyLimit(20, 1, 100);
+    
+    @Test
+    void shouldRejectWith429AndRetryAfterOnceTheClientRateIsSpent() throws Exception {
+        AdmissionFilter filter = filter(new ClientRateLimiter(0.25, 1, 100, System.nanoTime()), TrustedProxies.NONE);
+        
+        assertEquals(200, send(filter, "10.0.0.1", null, OK).getStatus());
+        MockHttpServletResponse rejected = send(filter, "10.0.0.1", null,
+            (request, response) -> fail("a rejected request must not reach the controller"));
+        
+        assertEquals(429, rejected.getStatus());
+        assertEquals("4", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests from this client"));
+        assertEquals(1, registry.counter("admission.rejections", "endpoint", "calculation", "reason", "rate").count());
+        assertEquals(200, send(filter, "10.0.0.2", null, OK).getStatus());
+    }
+    
+    @Test
+    void shouldShedWith429WhileTheConcurrencyLimitIsTaken() throws Exception {
+        AdmissionFilter filter = filter(unlimitedRate(), TrustedProxies.NONE);
+        List<MockHttpServletRequest> inFlight = new ArrayList<>();
+        for (int i = 0; i < calculationLimit.limit(); i++) {
+            inFlight.add(sendAsync(filter));
+        }
+        
+        MockHttpServletResponse shed = send(filter, "10.0.0.1", null, OK);
+        
+        assertEquals(429, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertTrue(shed.getContentAsString().contains("Server is at capacity"));
+        assertEquals(1, registry.counter("admission.rejections", "endpoint", "calculation", "reason", "concurrency").count());
+        
+        complete(inFlight.get(0));
+        assertEquals(200, send(filter, "10.0.0.1", null, OK).getStatus());
+    }
+    
+    @Test
+    void shouldMoveTheLimitWithObservedLatency() throws Exception {
+        AdmissionFilter filter = filter(unlimitedRate(), TrustedProxies.NONE);
+        
+        // A full window answered at the no-load latency with the limit in use raises it by one step
+        runWindow(filter, 0);
+        assertEquals(21, calculationLimit.limit());
+        
+        // The same concurrency answered far slower means requests are queueing, so the limit comes back down
+        runWindow(filter, 20);
+        assertEquals(20, calculationLimit.limit());
+        assertEquals(0, calculationLimit.inFlight());
+    }
+    
+    @Test
+    void shouldIgnoreForwardedForFromUntrustedPeers() {
+        AdmissionFilter filter = filter(unlimitedRate(), TrustedProxies.NONE);
+        
+        assertEquals("203.0.113.7", filter.client(request("203.0.113.7", "198.51.100.1")));
+        assertEquals("203.0.113.7", filter.client(request("203.0.113.7", null)));
+    }
+    
+    @Test
+    void shouldKeyOnTheFirstUntrustedHopBehindATrustedProxy() {
+        AdmissionFilter filter = filter(unlimitedRate(), TrustedProxies.parse("172.16.0.0/12, 10.1.2.3"));
+        
+        assertEquals("198.51.100.1", filter.client(request("172.18.0.5", "198.51.100.1")));
+        assertEquals("198.51.100.1", filter.client(request("172.18.0.5", "1.2.3.4, 198.51.100.1, 10.1.2.3")));
+        assertEquals("172.20.0.9", filter.client(request("172.18.0.5", "172.20.0.9")));
+        assertEquals("172.18.0.5", filter.client(request("172.18.0.5", " ")));
+        assertEquals("not-an-address", filter.client(request("10.1.2.3", "not-an-address")));
+    }
+    
+    @Test
+    void shouldParseTrustedProxyRanges() {
+        TrustedProxies proxies = TrustedProxies.parse("10.0.0.0/8,192.168.1.1,fd00::/8");
+        
+        assertTrue(proxies.contains("10.200.3.4"));
+        assertTrue(proxies.contains("192.168.1.1"));
+        assertFalse(proxies.contains("192.168.1.2"));
+        assertTrue(proxies.contains("fd12::1"));
+        assertFalse(proxies.contains("fe80::1"));
+        assertFalse(proxies.contains("localhost"));
+        assertFalse(TrustedProxies.parse("").contains("10.0.0.1"));
+        assertThrows(IllegalArgumentException.class, () -> TrustedProxies.parse("proxy.internal"));
+        assertThrows(IllegalArgumentException.class, () -> TrustedProxies.parse("10.0.0.0/33"));
+    }
+    
+    private void runWindow(AdmissionFilter filter, long serviceMillis) throws Exception {
+        List<MockHttpServletRequest> inFlight = new ArrayList<>();
+        int size = calculationLimit.limit();
+        for (int i = 0; i < size; i++) {
+            inFlight.add(sendAsync(filter));
+        }
+        if (serviceMillis > 0) {
+            Thread.sleep(serviceMillis);
+        }
+        for (MockHttpServletRequest request : inFlight) {
+            complete(request);
+        }
+    }
+    
+    private AdmissionFilter filter(ClientRateLimiter rateLimiter, TrustedProxies trustedProxies) {
+        Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.CALCULATION, calculationLimit);
+        limits.put(EndpointClass.CHART, new AdaptiveConcurrencyLimit(20, 1, 100));
+        limits.put(EndpointClass.AI, new AdaptiveConcurrencyLimit(8, 1, 100));
+        return new AdmissionFilter(rateLimiter, trustedProxies, limits, new ObjectMapper().findAndRegisterModules(),
+            registry);
+    }
+    
+    private static ClientRateLimiter unlimitedRate() {
+        return new ClientRateLimiter(1_000_000, 1_000_000, 100, System.nanoTime());
+    }
+    
+    private static MockHttpServletResponse send(AdmissionFilter filter, String remote, String forwardedFor,
+                                                FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(remote, forwardedFor), response, chain);
+        return response;
+    }
+    
+    private static MockHttpServletRequest sendAsync(AdmissionFilter filter) throws Exception {
+        MockHttpServletRequest request = request("10.0.0.1", null);
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), ASYNC);
+        assertTrue(request.isAsyncStarted());
+        return request;
+    }
+    
+    private static void complete(MockHttpServletRequest request) {
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+    }
+    
+    private static MockHttpServletRequest request(String remote, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/mortgage/calculate");
+        request.setRemoteAddr(remote);
+        if (forwardedFor != null) {
+            request.addHeader(AdmissionFilter.FORWARDED_FOR, forwardedFor);
+        }
+        return request;
+    }
+}
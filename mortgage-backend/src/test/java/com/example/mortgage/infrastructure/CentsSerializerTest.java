@@ -0,0 +1,66 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.ChartResponse.ChartData;
+import com.example.mortgage.infrastructure.ChartResponse.YearlyData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentsSerializerTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    @Test
+    void shouldFormatLikeDoubleToStringAtCentPrecision() {
+        assertEquals("0.0", format(0));
+        assertEquals("4000000.0", format(4000000));
+        assertEquals("1610.46", format(1610.4648690364193));
+        assertEquals("1610.5", format(1610.4999));
+        assertEquals("-120512.7", format(-120512.7));
+        assertEquals("0.01", format(0.005));
+        assertEquals("-0.01", format(-0.0051));
+    }
+    
+    @Test
+    void shouldWriteSeriesAsPlainJsonArrays() throws Exception {
+        ChartData data = new ChartData(
+            new int[] {0, 1},
+            new double[] {4000000, 3936240.9512},
+            new double[] {3000000, 2936240.9549},
+            new double[] {1000000, 1099990.88},
+            new double[] {0, 63759.049},
+            new double[] {0, 142312.3}
+        );
+        
+        String json = mapper.writeValueAsString(data);
+        
+        assertEquals("{\"years\":[0,1],\"standardBalance\":[4000000.0,3936240.95],"
+            + "\"offsetBalance\":[3000000.0,2936240.95],\"savingsBalance\":[1000000.0,1099990.88],"
+            + "\"yearlyPrincipal\":[0.0,63759.05],\"yearlyInterest\":[0.0,142312.3]}", json);
+    }
+    
+    @Test
+    void shouldFallBackToPlainDoubleOutsideFixedRange() throws Exception {
+        String json = mapper.writeValueAsString(new YearlyData(1, 1e16, Double.NaN));
+        
+        assertEquals("{\"year\":1,\"principalPaid\":1.0E16,\"interestPaid\":\"NaN\"}", json);
+    }
+    
+    @Test
+    void shouldReadSeriesBack() throws Exception {
+        ChartData data = new ChartData(new int[] {0}, new double[] {1.5}, new double[] {2.0},
+            new double[] {3.0}, new double[] {4.0}, new double[] {5.0});
+        
+        ChartData read = mapper.readValue(mapper.writeValueAsString(data), ChartData.class);
+        
+        assertArrayEquals(new double[] {1.5}, read.standardBalance());
+        assertArrayEquals(new int[] {0}, read.years());
+    }
+    
+    private static String format(double value) {
+        char[] buffer = new char[24];
+        int length = CentsSerializer.format(value, buffer);
+        return new String(buffer, buffer.length - length, length);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.domain.DownsamplingMode;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChartControllerStreamTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private ChartController controller;
+    
+    @BeforeEach
+    void setUp() {
+        controller = new ChartController(
+            new ChartCalculationUseCase(new MortgageCalculatorService(), new SavingsCalculatorService(),
+                new OffsetAccountEngine()),
+            new RequestValidation(registry),
+            tasks::add,
+            registry
+        );
+    }
+    
+    @Test
+    void shouldEmitSummaryBeforeChartAndFinishWithDone() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        
+        controller.stream(emitter, mortgage(30), savings(30), false, null, DownsamplingMode.LTTB);
+        
+        assertEquals(List.of("summary", "chart", "done"), emitter.names);
+        ChartSummary summary = (ChartSummary) emitter.data.get(0);
+        ChartResponse chart = (ChartResponse) emitter.data.get(1);
+        assertEquals(chart.mortgage().monthlyPayment(), summary.mortgage().monthlyPayment(), 1e-9);
+        assertEquals(chart.savings().totalSaved(), summary.savings().totalSaved(), 1e-9);
+        assertTrue(emitter.completed);
+    }
+    
+    @Test
+    void shouldEmitMonthlyDetailWhenRequested() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        
+        controller.stream(emitter, mortgage(20), savings(20), true, null, DownsamplingMode.LTTB);
+        
+        assertEquals(List.of("summary", "chart", "monthly", "done"), emitter.names);
+        MonthlyDetail detail = (MonthlyDetail) emitter.data.get(2);
+        assertEquals(240, detail.standard().months().length);
+        assertEquals(0.0, detail.standard().remainingBalance()[239], 0.01);
+        assertTrue(detail.offset().months().length <= 240);
+    }
+    
+    @Test
+    void shouldDownsampleMonthlyDetailToMaxPoints() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        
+        controller.stream(emitter, mortgage(30), savings(30), true, 60, DownsamplingMode.LTTB);
+        
+        MonthlyDetail detail = (MonthlyDetail) emitter.data.get(2);
+        assertEquals(60, detail.standard().months().length);
+        assertEquals(1, detail.standard().months()[0]);
+        assertEquals(360, detail.standard().months()[59]);
+        assertEquals(60, detail.standard().remainingBalance().length);
+        ChartResponse chart = (ChartResponse) emitter.data.get(1);
+        assertEquals(31, chart.chartData().years().length);
+    }
+    
+    @Test
+    void shouldRejectTooSmallMaxPoints() throws Exception {
+        ResponseEntity<ResponseBodyEmitter> response = controller.calculateStream(
+            new ChartRequest(mortgage(30), savings(30)), false, 2, "lttb");
+        
+        assertEquals(400, response.getStatusCode().value());
+        assertTrue(tasks.isEmpty());
+    }
+    
+    @Test
+    void shouldRejectInvalidRequestBeforeOpeningStream() throws Exception {
+        ChartRequest request = new ChartRequest(
+            new ChartMortgageRequest(-1.0, 4.79, 30, 0.0, "reduceAmount", 0.0),
+            savings(30)
+        );
+        
+        ResponseEntity<ResponseBodyEmitter> response = controller.calculateStream(request, false, null, "lttb");
+        
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getBody() instanceof SseEmitter);
+        assertTrue(tasks.isEmpty());
+    }
+    
+    @Test
+    void shouldReportUnexpectedFailureAsErrorEvent() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        
+        controller.stream(emitter, mortgage(30), new ChartSavingsRequest(1000000.0, 5000.0, 4.5, 15.0, "monthly", -1), false, null, DownsamplingMode.LTTB);
+        
+        assertEquals("error", emitter.names.get(emitter.names.size() - 1));
+        assertEquals(1.0, registry.counter("errors.unexpected").count());
+        assertTrue(emitter.completed);
+    }
+    
+    private static ChartMortgageRequest mortgage(int years) {
+        return new ChartMortgageRequest(4000000.0, 4.79, years, 1000000.0, "reduceTerm", 4.99);
+    }
+    
+    private static ChartSavingsRequest savings(int years) {
+        return new ChartSavingsRequest(1000000.0, 5000.0, 4.5, 15.0, "monthly", years);
+    }
+    
+    private static class RecordingEmitter extends SseEmitter {
+        
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> data = new ArrayList<>();
+        private boolean completed;
+        
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (var part : builder.build()) {
+                Object value = part.getData();
+                if (value instanceof String text && text.startsWith("event:")) {
+                    names.add(text.substring("event:".length(), text.indexOf('\n')));
+                } else if (!(value instanceof String text && text.startsWith("\n"))) {
+                    data.add(value);
+                }
+            }
+        }
+        
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mortgage.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    void shouldAdmitBurstThenRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertEquals(SECOND / 10, bucket.tryAcquire(0));
+        assertEquals(SECOND / 20, bucket.tryAcquire(SECOND / 20));
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+        assertTrue(bucket.tryAcquire(SECOND / 10) > 0);
+        assertTrue(bucket.full(SECOND));
+    }
+    
+    @Test
+    void shouldNotCarryIdleTimeBeyondBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        
+        assertEquals(0, bucket.tryAcquire(60 * SECOND));
+        assertEquals(0, bucket.tryAcquire(60 * SECOND));
+        assertTrue(bucket.tryAcquire(60 * SECOND) > 0);
+    }
+    
+    @Test
+    void shouldLimitClientsIndependently() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, 0);
+        
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", 0));
+        assertEquals(SECOND, limiter.tryAcquire("10.0.0.1", 0));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", 0));
+    }
+    
+    @Test
+    void shouldForgetIdleClientsWhenFull() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, 0);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", 0);
+        
+        limiter.tryAcquire("c", 5 * SECOND);
+        
+        assertEquals(1, limiter.clients());
+    }
+    
+    @Test
+    void shouldShareOneBucketWhileNoSlotIsFree() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, 0);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", 0);
+        
+        assertEquals(0, limiter.tryAcquire("c", SECOND / 2));
+        assertEquals(SECOND, limiter.tryAcquire("d", SECOND / 2));
+        assertEquals(2, limiter.clients());
+        
+        assertEquals(0, limiter.tryAcquire("e", 5 * SECOND));
+        assertEquals(1, limiter.clients());
+    }
+    
+    @Test
+    void shouldNeverKeepMoreThanMaxClients() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, 0);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    limiter.tryAcquire(index + "-" + i, 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(100, limiter.clients());
+    }
+    
+    @Test
+    void shouldNotOverAdmitUnderContention() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 1000, 0);
+        Thread[] threads = new Thread[8];
+        int[] admitted = new int[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        admitted[index]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        int total = 0;
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            total += admitted[t];
+        }
+        
+        assertEquals(1000, total);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.domain.RateHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRateHistoryTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldLoadConsecutiveMonthsAfterHeader() throws IOException {
+        RateHistory history = load("month,rate\r\n1990-11,13.5\r\n1990-12, 13.25\r\n\r\n1991-01-01,0.1\r\n1991-02,7\n");
+        
+        assertEquals(YearMonth.of(1990, 11), history.firstMonth());
+        assertEquals(4, history.months());
+        assertEquals(13.5, history.annualRatePercent(0));
+        assertEquals(13.25, history.annualRatePercent(1));
+        assertEquals(Double.parseDouble("0.1"), history.annualRatePercent(2));
+        assertEquals(7.0, history.annualRatePercent(3));
+        assertEquals(YearMonth.of(1991, 2), history.month(3));
+    }
+    
+    @Test
+    void shouldParseRatesExactlyAsParseDouble() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        String[] rates = {"4.79", "0.015", "12.345678", "6.1", "3.3333333333", "0.0", "9.99"};
+        for (int i = 0; i < rates.length; i++) {
+            csv.append(YearMonth.of(2000, 1).plusMonths(i)).append(',').append(rates[i]).append('\n');
+        }
+        
+        RateHistory history = load(csv.toString());
+        
+        for (int i = 0; i < rates.length; i++) {
+            assertEquals(Double.parseDouble(rates[i]), history.annualRatePercent(i));
+        }
+    }
+    
+    @Test
+    void shouldRejectGapsBetweenMonths() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> load("2000-01,5\n2000-03,5\n"));
+        
+        assertEquals("Rate history line 2: expected 2000-02 but found 2000-03", e.getMessage());
+    }
+    
+    @Test
+    void shouldRejectMalformedLines() {
+        assertEquals("Rate history line 2: rate must be a non-negative decimal number",
+            assertThrows(IllegalArgumentException.class, () -> load("2000-01,5\n2000-02,-0.5\n")).getMessage());
+        assertEquals("Rate history line 1: month must be between 01 and 12",
+            assertThrows(IllegalArgumentException.class, () -> load("2000-13,5\n")).getMessage());
+        assertEquals("Rate history line 1: unexpected content after the rate",
+            assertThrows(IllegalArgumentException.class, () -> load("2000-01,5%\n")).getMessage());
+        assertEquals("Rate history contains no rates",
+            assertThrows(IllegalArgumentException.class, () -> load("month,rate\n")).getMessage());
+    }
+    
+    private RateHistory load(String csv) throws IOException {
+        Path file = Files.writeString(directory.resolve("rates.csv"), csv);
+        return CsvRateHistory.load(file);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.mortgage.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineFilterTest {
+    
+    private final DeadlineFilter filter = new DeadlineFilter(Duration.ofSeconds(2), Duration.ofSeconds(10));
+    
+    @Test
+    void shouldUseRequestedTimeoutWithinMaximum() {
+        assertEquals(Duration.ofMillis(150), filter.timeout("150"));
+        assertEquals(Duration.ofSeconds(10), filter.timeout("60000"));
+    }
+    
+    @Test
+    void shouldFallBackToDefaultForMissingOrInvalidHeader() {
+        assertEquals(Duration.ofSeconds(2), filter.timeout(null));
+        assertEquals(Duration.ofSeconds(2), filter.timeout("soon"));
+        assertEquals(Duration.ofSeconds(2), filter.timeout("0"));
+        assertEquals(Duration.ofSeconds(2), filter.timeout("-5"));
+    }
+}
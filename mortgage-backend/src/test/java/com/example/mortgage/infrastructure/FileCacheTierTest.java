@@ -0,0 +1,78 @@
+package com.example.mortgage.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileCacheTierTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldReadBackWhatWasWritten() throws IOException {
+        FileCacheTier tier = new FileCacheTier(directory, 1 << 20, Duration.ofDays(1));
+        
+        tier.put("a", new byte[] {1, 2, 3});
+        
+        assertArrayEquals(new byte[] {1, 2, 3}, tier.get("a"));
+        assertNull(tier.get("b"));
+    }
+    
+    @Test
+    void shouldMissAndDeleteExpiredEntries() throws IOException {
+        FileCacheTier tier = new FileCacheTier(directory, 1 << 20, Duration.ofDays(1));
+        tier.put("a", new byte[] {1});
+        age(directory.resolve("a"), Duration.ofDays(2));
+        
+        assertNull(tier.get("a"));
+        assertFalse(Files.exists(directory.resolve("a")));
+    }
+    
+    @Test
+    void shouldSweepOldestEntriesBeyondMaxSize() throws IOException {
+        FileCacheTier tier = new FileCacheTier(directory, 250, Duration.ofDays(1));
+        for (String key : new String[] {"a", "b", "c"}) {
+            tier.put(key, new byte[100]);
+        }
+        age(directory.resolve("a"), Duration.ofMinutes(3));
+        age(directory.resolve("b"), Duration.ofMinutes(2));
+        age(directory.resolve("c"), Duration.ofMinutes(1));
+        
+        tier.sweep();
+        
+        assertNull(tier.get("a"));
+        assertNotNull(tier.get("b"));
+        assertNotNull(tier.get("c"));
+    }
+    
+    @Test
+    void shouldSweepExpiredEntriesAndAbandonedTemporaryFiles() throws IOException {
+        FileCacheTier tier = new FileCacheTier(directory, 1 << 20, Duration.ofDays(1));
+        tier.put("a", new byte[] {1});
+        tier.put("b", new byte[] {2});
+        Path abandoned = Files.write(directory.resolve("c123.tmp"), new byte[] {3});
+        Path writing = Files.write(directory.resolve("d456.tmp"), new byte[] {4});
+        age(directory.resolve("a"), Duration.ofDays(2));
+        age(abandoned, Duration.ofDays(2));
+        
+        tier.sweep();
+        
+        assertFalse(Files.exists(directory.resolve("a")));
+        assertFalse(Files.exists(abandoned));
+        assertTrue(Files.exists(directory.resolve("b")));
+        assertTrue(Files.exists(writing));
+    }
+    
+    private static void age(Path file, Duration age) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.infrastructure.validation.ValidationErrors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratedValidatorTest {
+    
+    @Test
+    void shouldAcceptValidRequestWithoutAllocatingErrors() {
+        MortgageRequest request = new MortgageRequest(300000.0, 5.0, 30, 100000.0, "reduceAmount", 5.0);
+        
+        assertNull(MortgageRequestValidator.validate(request));
+    }
+    
+    @Test
+    void shouldUseConstraintMessages() {
+        MortgageRequest request = new MortgageRequest(null, -1.0, 0, null, null, null);
+        
+        ValidationErrors errors = MortgageRequestValidator.validate(request);
+        
+        assertEquals("Principal is required", errors.messageFor("principal"));
+        assertEquals("Annual rate cannot be negative", errors.messageFor("annualRatePercent"));
+        assertEquals("Years must be greater than 0", errors.messageFor("years"));
+        assertEquals(3, errors.size());
+    }
+    
+    @Test
+    void shouldEvaluateAssertTrueMethods() {
+        MortgageRequest request = new MortgageRequest(100000.0, 5.0, 30, 200000.0, "reduceAmount", 4.0);
+        
+        ValidationErrors errors = MortgageRequestValidator.validate(request);
+        
+        assertEquals("Offset amount cannot exceed principal amount", errors.messageFor("offsetAmountValid"));
+        assertEquals("Offset rate must be greater than or equal to annual rate", errors.messageFor("offsetRateValid"));
+    }
+    
+    @Test
+    void shouldCheckBothBoundsOfDecimalRange() {
+        SavingsRequest request = new SavingsRequest(100000000.01, 0.0, 20.0, 100.0, "monthly", 51);
+        
+        ValidationErrors errors = SavingsRequestValidator.validate(request);
+        
+        assertEquals("Initial amount cannot exceed 100,000,000", errors.messageFor("initialAmount"));
+        assertEquals("Years cannot exceed 50", errors.messageFor("years"));
+        assertEquals(2, errors.size());
+    }
+    
+    @Test
+    void shouldPrefixNestedFieldsWithDefaultMessages() {
+        ChartCompareRequest request = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(0.0, 5.0, 30, "reduceAmount", 5.0),
+            null,
+            1000.0
+        );
+        
+        ValidationErrors errors = ChartCompareRequestValidator.validate(request);
+        
+        assertEquals("must be greater than 0", errors.messageFor("mortgage.principal"));
+        assertEquals("must not be null", errors.messageFor("savings"));
+        assertEquals(2, errors.size());
+    }
+    
+    @Test
+    void shouldSerializeErrorsAsFieldMessageObject() throws Exception {
+        ValidationErrors errors = ValidationErrors.add(null, "mortgage.", "years", "Years is required");
+        errors = ValidationErrors.add(errors, "mortgage.", "years", "Years must be at least 1");
+        errors = ValidationErrors.add(errors, "", "savings", "must not be null");
+        
+        String json = new ObjectMapper().writeValueAsString(errors);
+        
+        assertEquals("{\"mortgage.years\":\"Years is required\",\"savings\":\"must not be null\"}", json);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.CalculationCache;
+import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.application.ChartCompareUseCase;
+import com.example.mortgage.domain.Deadline;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LiveRecalculationHandlerTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private LiveRecalculationHandler handler;
+    private WebSocketSession session;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        MortgageCalculatorService mortgageService = new MortgageCalculatorService();
+        SavingsCalculatorService savingsService = new SavingsCalculatorService();
+        handler = new LiveRecalculationHandler(
+            new ChartCalculationUseCase(mortgageService, savingsService, new OffsetAccountEngine()),
+            new ChartCompareUseCase(mortgageService, savingsService,
+                new OffsetAccountEngine(), CalculationCache.DISABLED),
+            new RequestValidation(registry),
+            mapper,
+            tasks::add,
+            registry
+        );
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        handler.afterConnectionEstablished(session);
+    }
+    
+    @Test
+    void shouldComputeOnlyTheLatestOfQueuedUpdates() throws Exception {
+        for (int seq = 1; seq <= 5; seq++) {
+            handler.handleTextMessage(session, chartUpdate(seq, 20 + seq, true));
+        }
+        runTasks();
+        
+        List<JsonNode> sent = sentMessages();
+        assertEquals(2, sent.size());
+        assertEquals("preview", sent.get(0).get("type").asText());
+        assertEquals("chart", sent.get(1).get("type").asText());
+        assertEquals(5, sent.get(1).get("seq").asLong());
+        assertEquals(26, sent.get(1).at("/body/chartData/years").size());
+        assertEquals(4.0, registry.counter("live.updates", "outcome", "superseded").count());
+    }
+    
+    @Test
+    void shouldLetScheduledDrainPickUpNewerUpdate() throws Exception {
+        handler.handleTextMessage(session, chartUpdate(1, 25, false));
+        Runnable drain = tasks.poll();
+        handler.handleTextMessage(session, chartUpdate(2, 30, false));
+        assertTrue(tasks.isEmpty(), "a running drain picks up the newer update itself");
+        
+        drain.run();
+        
+        List<JsonNode> sent = sentMessages();
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).get("seq").asLong());
+    }
+    
+    @Test
+    void shouldReportValidationErrorsForLatestUpdate() throws Exception {
+        handler.handleTextMessage(session, chartUpdate(1, 0, false));
+        runTasks();
+        
+        JsonNode message = sentMessages().get(0);
+        assertEquals("error", message.get("type").asText());
+        assertEquals("Years must be at least 1", message.at("/body/errors/mortgage.years").asText());
+    }
+    
+    @Test
+    void shouldStopWorkingAfterClose() throws Exception {
+        handler.handleTextMessage(session, chartUpdate(1, 25, true));
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        runTasks();
+        
+        verify(session, never()).sendMessage(any());
+    }
+    
+    @Test
+    void shouldDeliverBothChartAndCompareWhenInterleaved() throws Exception {
+        handler.handleTextMessage(session, chartUpdate(1, 25, false));
+        handler.handleTextMessage(session, compareUpdate(2, 1000000.0));
+        handler.handleTextMessage(session, chartUpdate(3, 30, false));
+        runTasks();
+        
+        List<JsonNode> sent = sentMessages();
+        assertEquals(2, sent.size());
+        assertEquals(List.of("chart:3", "compare:2"), sent.stream()
+            .map(message -> message.get("type").asText() + ":" + message.get("seq").asLong())
+            .sorted()
+            .toList());
+        assertEquals(1.0, registry.counter("live.updates", "outcome", "superseded").count());
+    }
+    
+    @Test
+    void shouldCancelOnlyTheInFlightCalculationOfTheSameType() {
+        LiveSession live = new LiveSession(session);
+        LiveUpdate chart = new LiveUpdate("chart", 1, false, null, null);
+        live.offer(chart);
+        assertSame(chart, live.poll());
+        Deadline inFlight = live.begin(chart);
+        
+        live.offer(new LiveUpdate("compare", 2, false, null, null));
+        assertFalse(inFlight.cancelled());
+        assertFalse(live.superseded(chart));
+        
+        live.offer(new LiveUpdate("chart", 3, false, null, null));
+        assertTrue(inFlight.cancelled());
+        assertTrue(live.superseded(chart));
+    }
+    
+    @Test
+    void shouldReportDomainErrorsForCompareUpdates() throws Exception {
+        handler.handleTextMessage(session, compareUpdate(1, 5000000.0));
+        runTasks();
+        
+        JsonNode message = sentMessages().get(0);
+        assertEquals("error", message.get("type").asText());
+        assertEquals("Offset amount cannot exceed principal", message.at("/body/error").asText());
+        assertEquals(0.0, registry.counter("errors.unexpected").count());
+    }
+    
+    private TextMessage compareUpdate(long seq, double offsetAmount) throws Exception {
+        ChartCompareRequest compare = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, 25, "reduceAmount", 4.79),
+            new ChartCompareRequest.SavingsParams(1000000.0, 0.0, 4.0, 15.0, "monthly", 25),
+            offsetAmount
+        );
+        return new TextMessage(mapper.writeValueAsString(new LiveUpdate("compare", seq, false, null, compare)));
+    }
+    
+    private TextMessage chartUpdate(long seq, int years, boolean preview) throws Exception {
+        ChartRequest chart = new ChartRequest(
+            new ChartRequest.ChartMortgageRequest(4000000.0, 4.79, years, 1000000.0, "reduceAmount", 4.79),
+            new ChartRequest.ChartSavingsRequest(1000000.0, 5000.0, 4.5, 15.0, "monthly", 10)
+        );
+        return new TextMessage(mapper.writeValueAsString(new LiveUpdate("chart", seq, preview, chart, null)));
+    }
+    
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<JsonNode> sentMessages() throws Exception {
+        ArgumentCaptor<WebSocketMessage<?>> captor = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, atLeast(0)).sendMessage(captor.capture());
+        List<JsonNode> messages = new ArrayList<>();
+        for (WebSocketMessage<?> message : captor.getAllValues()) {
+            messages.add(mapper.readTree((String) message.getPayload()));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.mortgage.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingTest {
+    
+    @Test
+    void shouldSplitRequestIntoPhases() {
+        ServerTiming timing = new ServerTiming(1_000);
+        timing.bodyReadStarted(2_000);
+        timing.bodyReadFinished(5_000);
+        timing.handlerStarted(6_000);
+        timing.computeStarted(7_000);
+        timing.computeFinished(17_000);
+        timing.bodyWriteStarted(19_000);
+        timing.finished(23_000);
+        
+        assertEquals(3_000, timing.deserializationNanos());
+        assertEquals(1_000, timing.validationNanos());
+        assertEquals(10_000, timing.computationNanos());
+        assertEquals(3_000, timing.assemblyNanos());
+        assertEquals(4_000, timing.serializationNanos());
+        assertEquals(22_000, timing.totalNanos());
+    }
+    
+    @Test
+    void shouldCountNestedUseCasesOnce() {
+        ServerTiming timing = new ServerTiming(0);
+        timing.computeStarted(100);
+        timing.computeStarted(200);
+        timing.computeFinished(300);
+        timing.computeFinished(400);
+        
+        assertEquals(300, timing.computationNanos());
+    }
+    
+    @Test
+    void shouldAttributeRejectedRequestToValidation() {
+        ServerTiming timing = new ServerTiming(0);
+        timing.bodyReadStarted(100);
+        timing.bodyReadFinished(200);
+        timing.bodyWriteStarted(700);
+        timing.finished(900);
+        
+        assertEquals(500, timing.validationNanos());
+        assertEquals(0, timing.computationNanos());
+        assertEquals(0, timing.assemblyNanos());
+    }
+    
+    @Test
+    void shouldAttributeHandlerValidationToValidation() {
+        ServerTiming timing = new ServerTiming(0);
+        timing.bodyReadStarted(100);
+        timing.bodyReadFinished(200);
+        timing.handlerStarted(300);
+        timing.validationStarted(400);
+        timing.validationFinished(600);
+        timing.computeStarted(700);
+        timing.computeFinished(1_700);
+        timing.bodyWriteStarted(1_800);
+        timing.finished(2_000);
+        
+        assertEquals(300, timing.validationNanos());
+        assertEquals(1_000, timing.computationNanos());
+        assertEquals(300, timing.assemblyNanos());
+    }
+    
+    @Test
+    void shouldFormatHeaderInMilliseconds() {
+        ServerTiming timing = new ServerTiming(0);
+        timing.bodyReadStarted(0);
+        timing.bodyReadFinished(1_500_000);
+        timing.finished(2_000_000);
+        
+        String header = timing.headerValue();
+        
+        assertTrue(header.startsWith("deser;dur=1.500, validate;dur=0.000"), header);
+        assertTrue(header.endsWith("total;dur=2.000"), header);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.mortgage.infrastructure;
+
+import com.example.mortgage.application.CacheCodec;
+import com.example.mortgage.domain.Deadline;
+import com.example.mortgage.domain.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCalculationCacheTest {
+    
+    private static final CacheCodec<double[]> CODEC = new CacheCodec<>() {
+        @Override
+        public String namespace() {
+            return "test.v1";
+        }
+        
+        @Override
+        public void write(double[] value, DataOutput out) throws IOException {
+            out.writeInt(value.length);
+            for (double v : value) {
+                out.writeDouble(v);
+            }
+        }
+        
+        @Override
+        public double[] read(DataInput in) throws IOException {
+            double[] value = new double[in.readInt()];
+            for (int i = 0; i < value.length; i++) {
+                value[i] = in.readDouble();
+            }
+            return value;
+        }
+    };
+    
+    private final AtomicInteger computations = new AtomicInteger();
+    
+    @Test
+    void shouldServeRepeatedLookupsFromNearTier() {
+        try (TwoTierCalculationCache cache = cache(null, Duration.ofMillis(20))) {
+            double[] first = cache.get(key -> key.add(1.0), CODEC, () -> compute(1.0));
+            double[] second = cache.get(key -> key.add(1.0), CODEC, () -> compute(1.0));
+            cache.get(key -> key.add(2.0), CODEC, () -> compute(2.0));
+            
+            assertSame(first, second);
+            assertEquals(2, computations.get());
+        }
+    }
+    
+    @Test
+    void shouldEvictLeastRecentlyUsedNearEntries() {
+        try (TwoTierCalculationCache cache = new TwoTierCalculationCache(2, null, Duration.ofMillis(20), new SimpleMeterRegistry())) {
+            for (int i = 0; i < 5; i++) {
+                double value = i;
+                cache.get(key -> key.add(value), CODEC, () -> compute(value));
+            }
+            
+            assertEquals(2, cache.nearSize());
+        }
+    }
+    
+    @Test
+    void shouldBoundNearEntriesAcrossStripes() {
+        try (TwoTierCalculationCache cache = new TwoTierCalculationCache(1000, null, Duration.ofMillis(20), new SimpleMeterRegistry())) {
+            for (int i = 0; i < 3000; i++) {
+                double value = i;
+                cache.get(key -> key.add(value), CODEC, () -> compute(value));
+            }
+            
+            assertTrue(cache.nearSize() <= 1000, "size " + cache.nearSize());
+            assertTrue(cache.nearSize() > 900, "size " + cache.nearSize());
+        }
+    }
+    
+    @Test
+    void shouldComputeOnceForConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (TwoTierCalculationCache cache = cache(null, Duration.ofMillis(20));
+             ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            Future<?>[] calls = new Future<?>[8];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = callers.submit(() -> cache.get(key -> key.add(6.0), CODEC, () -> {
+                    awaitQuietly(release);
+                    return compute(6.0);
+                }));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<?> call : calls) {
+                assertArrayEquals(new double[] {6.0, 12.0}, (double[]) call.get(5, TimeUnit.SECONDS));
+            }
+            
+            assertEquals(1, computations.get());
+        }
+    }
+    
+    @Test
+    void shouldStopWaitingForAnotherCallerAtOwnDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (TwoTierCalculationCache cache = cache(null, Duration.ofMillis(20));
+             ExecutorService callers = Executors.newFixedThreadPool(2)) {
+            Future<?> first = callers.submit(() -> cache.get(key -> key.add(7.0), CODEC, () -> {
+                awaitQuietly(release);
+                return compute(7.0);
+            }));
+            Thread.sleep(100);
+            Future<?> second = callers.submit(() -> {
+                Deadline previous = Deadline.bind(Deadline.after(Duration.ofMillis(50)));
+                try {
+                    return cache.get(key -> key.add(7.0), CODEC, () -> compute(7.0));
+                } finally {
+                    Deadline.restore(previous);
+                }
+            });
+            
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertEquals(1, computations.get());
+        }
+    }
+    
+    @Test
+    void shouldShareEntriesBetweenReplicasThroughRemoteTier(@TempDir Path directory) throws Exception {
+        FileCacheTier shared = new FileCacheTier(directory, 1 << 20, Duration.ofDays(1));
+        try (TwoTierCalculationCache first = cache(shared, Duration.ofSeconds(1))) {
+            first.get(key -> key.add(3.0), CODEC, () -> compute(3.0));
+        }
+        
+        try (TwoTierCalculationCache second = cache(shared, Duration.ofSeconds(1))) {
+            double[] value = second.get(key -> key.add(3.0), CODEC, () -> compute(3.0));
+            
+            assertArrayEquals(new double[] {3.0, 6.0}, value);
+            assertEquals(1, computations.get());
+        }
+    }
+    
+    @Test
+    void shouldCoalesceConcurrentRemoteLookups() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger remoteReads = new AtomicInteger();
+        RemoteCacheTier slow = new RemoteCacheTier() {
+            @Override
+            public byte[] get(String key) throws IOException {
+                remoteReads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return null;
+            }
+            
+            @Override
+            public void put(String key, byte[] value) {
+            }
+        };
+        
+        try (TwoTierCalculationCache cache = cache(slow, Duration.ofSeconds(5));
+             ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            Future<?>[] calls = new Future<?>[8];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = callers.submit(() -> cache.get(key -> key.add(4.0), CODEC, () -> compute(4.0)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<?> call : calls) {
+                call.get(5, TimeUnit.SECONDS);
+            }
+            
+            assertEquals(1, remoteReads.get());
+        }
+    }
+    
+    @Test
+    void shouldComputeLocallyWhenRemoteTierIsSlow() {
+        CountDownLatch never = new CountDownLatch(1);
+        RemoteCacheTier stuck = new RemoteCacheTier() {
+            @Override
+            public byte[] get(String key) throws IOException {
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return null;
+            }
+            
+            @Override
+            public void put(String key, byte[] value) {
+            }
+        };
+        
+        try (TwoTierCalculationCache cache = cache(stuck, Duration.ofMillis(20))) {
+            long start = System.nanoTime();
+            double[] value = cache.get(key -> key.add(5.0), CODEC, () -> compute(5.0));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            never.countDown();
+            
+            assertArrayEquals(new double[] {5.0, 10.0}, value);
+            assertTrue(elapsedMillis < 1000, "took " + elapsedMillis + " ms");
+        }
+    }
+    
+    private TwoTierCalculationCache cache(RemoteCacheTier remote, Duration timeout) {
+        return new TwoTierCalculationCache(100, remote, timeout, new SimpleMeterRegistry());
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private double[] compute(double value) {
+        computations.incrementAndGet();
+        return new double[] {value, value * 2};
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.mortgage.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class BaselineComparator {
+    
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    static final String THROUGHPUT_MODE = "thrpt";
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        double maxRegressionPercent = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        
+        Map<String, Measurement> baseline = read(new File(args[0]));
+        Map<String, Measurement> current = read(new File(args[1]));
+        
+        int regressions = 0;
+        System.out.printf("%-110s %14s %14s %8s %14s %14s%n",
+            "benchmark", "baseline", "current", "change", "base B/op", "cur B/op");
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            Measurement now = entry.getValue();
+            Measurement before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-110s %14s %14.3f %8s %14s %14.1f%n",
+                    entry.getKey(), "-", now.score(), "new", "-", now.bytesPerOp());
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100.0;
+            // Time per operation regresses upwards, operations per unit of time downwards
+            double slowdown = now.higherIsBetter() ? -change : change;
+            boolean regressed = slowdown > maxRegressionPercent
+                || now.bytesPerOp() > before.bytesPerOp() * (1 + maxRegressionPercent / 100.0) + 16;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-110s %14.3f %14.3f %+7.1f%% %14.1f %14.1f%s%n",
+                entry.getKey(), before.score(), now.score(), change,
+                before.bytesPerOp(), now.bytesPerOp(), regressed ? "  REGRESSION" : "");
+        }
+        
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, maxRegressionPercent);
+            System.exit(1);
+        }
+    }
+    
+    static Map<String, Measurement> read(File file) throws IOException {
+        Map<String, Measurement> results = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            Iterator<String> names = params.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                key.append(' ').append(name).append('=').append(params.path(name).asText());
+            }
+            double score = run.path("primaryMetric").path("score").asDouble();
+            double bytesPerOp = run.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(0);
+            boolean higherIsBetter = THROUGHPUT_MODE.equals(run.path("mode").asText());
+            results.put(key.toString(), new Measurement(score, bytesPerOp, higherIsBetter));
+        }
+        return results;
+    }
+    
+    record Measurement(double score, double bytesPerOp, boolean higherIsBetter) {}
+}
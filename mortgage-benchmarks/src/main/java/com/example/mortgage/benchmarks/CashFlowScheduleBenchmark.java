@@ -0,0 +1,55 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.domain.CashFlowEvent;
+import com.example.mortgage.domain.CashFlowScheduleEngine;
+import com.example.mortgage.domain.EventScheduleResult;
+import com.example.mortgage.domain.OffsetMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CashFlowScheduleBenchmark {
+    
+    @Param({"0", "10", "100", "500"})
+    int events;
+    
+    @Param({"reduceAmount", "reduceTerm"})
+    String mode;
+    
+    private final CashFlowScheduleEngine engine = new CashFlowScheduleEngine();
+    private List<CashFlowEvent> eventList;
+    
+    @Setup
+    public void setUp() {
+        eventList = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            int month = 1 + i * 599 / Math.max(events, 1);
+            CashFlowEvent.Type type = i % 3 == 0 ? CashFlowEvent.Type.EXTRA_MONTHLY
+                : i % 3 == 1 ? CashFlowEvent.Type.LUMP_SUM : CashFlowEvent.Type.REDRAW;
+            eventList.add(new CashFlowEvent(month, type, 1000.0 * (i % 7)));
+        }
+    }
+    
+    @Benchmark
+    public EventScheduleResult calculate() {
+        return engine.calculate(4000000.0, 4.79, 50, OffsetMode.from(mode), eventList);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
+import com.example.mortgage.infrastructure.ChartResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChartResponseSerializationBenchmark {
+    
+    @Param({"1", "10", "25", "50"})
+    int years;
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    
+    private ChartResponse response;
+    private byte[] json;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ChartCalculationUseCase useCase = new ChartCalculationUseCase(
+            new MortgageCalculatorService(), new SavingsCalculatorService(), new OffsetAccountEngine());
+        response = useCase.execute(
+            new ChartMortgageRequest(4000000.0, 4.79, years, 1000000.0, "reduceAmount", 4.99),
+            new ChartSavingsRequest(1000000.0, 5000.0, 4.0, 15.0, "monthly", years)
+        );
+        json = objectMapper.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public ChartResponse deserialize() throws IOException {
+        return objectMapper.readValue(json, ChartResponse.class);
+    }
+    
+    @Benchmark
+    public ChartResponse roundTrip() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(response), ChartResponse.class);
+    }
+}
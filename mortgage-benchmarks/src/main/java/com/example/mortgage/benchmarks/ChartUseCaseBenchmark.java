@@ -0,0 +1,75 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.application.CalculationCache;
+import com.example.mortgage.application.ChartCalculationUseCase;
+import com.example.mortgage.application.ChartCompareUseCase;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import com.example.mortgage.infrastructure.ChartCompareResponse;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
+import com.example.mortgage.infrastructure.ChartResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChartUseCaseBenchmark {
+    
+    @Param({"1", "10", "25", "50"})
+    int years;
+    
+    @Param({"reduceAmount", "reduceTerm"})
+    String offsetMode;
+    
+    private ChartCalculationUseCase chartUseCase;
+    private ChartCompareUseCase compareUseCase;
+    private ChartMortgageRequest mortgageRequest;
+    private ChartSavingsRequest savingsRequest;
+    private ChartCompareRequest compareRequest;
+    
+    @Setup
+    public void setUp() {
+        MortgageCalculatorService mortgageService = new MortgageCalculatorService();
+        SavingsCalculatorService savingsService = new SavingsCalculatorService();
+        chartUseCase = new ChartCalculationUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine());
+        compareUseCase = new ChartCompareUseCase(mortgageService, savingsService,
+            new OffsetAccountEngine(), CalculationCache.DISABLED);
+        
+        mortgageRequest = new ChartMortgageRequest(4000000.0, 4.79, years, 1000000.0, offsetMode, 4.99);
+        savingsRequest = new ChartSavingsRequest(1000000.0, 5000.0, 4.0, 15.0, "monthly", years);
+        compareRequest = new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(4000000.0, 4.79, years, offsetMode, 4.99),
+            new ChartCompareRequest.SavingsParams(1000000.0, 5000.0, 4.0, 15.0, "monthly", years),
+            1000000.0
+        );
+    }
+    
+    @Benchmark
+    public ChartResponse chartCalculate() {
+        return chartUseCase.execute(mortgageRequest, savingsRequest);
+    }
+    
+    @Benchmark
+    public ChartCompareResponse chartCompare() {
+        return compareUseCase.execute(compareRequest);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.domain.HouseholdEngine;
+import com.example.mortgage.domain.HouseholdLoan;
+import com.example.mortgage.domain.HouseholdResult;
+import com.example.mortgage.domain.OffsetAllocation;
+import com.example.mortgage.domain.OffsetMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HouseholdBenchmark {
+    
+    @Param({"1", "5"})
+    int loanCount;
+    
+    @Param({"highestRateFirst", "proportional"})
+    String allocation;
+    
+    @Param({"false", "true"})
+    boolean monthly;
+    
+    private final HouseholdEngine engine = new HouseholdEngine();
+    private List<HouseholdLoan> loans;
+    
+    @Setup
+    public void setUp() {
+        loans = new ArrayList<>(loanCount);
+        for (int i = 0; i < loanCount; i++) {
+            loans.add(new HouseholdLoan(4000000.0 / (i + 1), 4.0 + i * 0.5, 30));
+        }
+    }
+    
+    @Benchmark
+    public HouseholdResult simulate() {
+        return engine.simulate(loans, 500000.0, 5000.0, OffsetMode.REDUCE_TERM, OffsetAllocation.from(allocation), monthly);
+    }
+}
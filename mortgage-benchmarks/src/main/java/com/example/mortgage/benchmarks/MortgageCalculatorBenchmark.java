@@ -0,0 +1,65 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.MortgageCalculatorService.MonthlyAmortization;
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyOffsetBenefit;
+import com.example.mortgage.domain.MortgageResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MortgageCalculatorBenchmark {
+    
+    @Param({"1", "10", "25", "30", "50"})
+    int years;
+    
+    @Param({"reduceAmount", "reduceTerm"})
+    String offsetMode;
+    
+    double principal = 4000000.0;
+    double annualRatePercent = 4.79;
+    double offsetAmount = 1000000.0;
+    double offsetRatePercent = 4.99;
+    
+    private final MortgageCalculatorService service = new MortgageCalculatorService();
+    
+    @Benchmark
+    public MortgageResult calculate() {
+        return service.calculate(principal, annualRatePercent, years, offsetAmount, offsetMode, offsetRatePercent);
+    }
+    
+    @Benchmark
+    public List<YearlyAmortization> calculateYearlyAmortization() {
+        return service.calculateYearlyAmortization(principal, annualRatePercent, years,
+            offsetAmount, offsetMode, offsetRatePercent);
+    }
+    
+    @Benchmark
+    public List<MonthlyAmortization> calculateMonthlyAmortization() {
+        return service.calculateMonthlyAmortization(principal, annualRatePercent, years,
+            offsetAmount, offsetMode, offsetRatePercent);
+    }
+    
+    @Benchmark
+    public List<YearlyOffsetBenefit> calculateOffsetBenefit() {
+        return service.calculateOffsetBenefit(principal, annualRatePercent, years,
+            offsetAmount, offsetMode, offsetRatePercent);
+    }
+}
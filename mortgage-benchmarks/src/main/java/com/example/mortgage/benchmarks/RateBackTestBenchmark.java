@@ -0,0 +1,54 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.domain.BackTestResult;
+import com.example.mortgage.domain.OffsetMode;
+import com.example.mortgage.domain.RateBackTestEngine;
+import com.example.mortgage.domain.RateHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateBackTestBenchmark {
+    
+    // 600 start months for every term
+    @Param({"30", "50"})
+    int years;
+    
+    @Param({"reduceAmount", "reduceTerm"})
+    String offsetMode;
+    
+    private final RateBackTestEngine engine = new RateBackTestEngine();
+    private RateHistory history;
+    
+    @Setup
+    public void setUp() {
+        // A new rate every month, cycling between 2% and 12%, so every month re-amortizes
+        double[] rates = new double[599 + years * 12];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = 7.0 + 5.0 * Math.sin(i / 40.0);
+        }
+        history = new RateHistory(YearMonth.of(1925, 1), rates);
+    }
+    
+    @Benchmark
+    public BackTestResult backTest() {
+        return engine.backTest(history, 4000000.0, years, 1000000.0, OffsetMode.from(offsetMode));
+    }
+}
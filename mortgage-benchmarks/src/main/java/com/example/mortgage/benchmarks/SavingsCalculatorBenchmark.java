@@ -0,0 +1,52 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.domain.SavingsCalculatorService.YearlySavingsBalance;
+import com.example.mortgage.domain.SavingsResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SavingsCalculatorBenchmark {
+    
+    @Param({"1", "10", "25", "50"})
+    int years;
+    
+    @Param({"monthly", "yearly"})
+    String periodicity;
+    
+    double initialAmount = 1000000.0;
+    double monthlyContribution = 5000.0;
+    double annualInterestRatePercent = 4.0;
+    double taxRatePercent = 15.0;
+    
+    private final SavingsCalculatorService service = new SavingsCalculatorService();
+    
+    @Benchmark
+    public SavingsResult calculate() {
+        return service.calculate(initialAmount, monthlyContribution, annualInterestRatePercent,
+            taxRatePercent, periodicity, years);
+    }
+    
+    @Benchmark
+    public List<YearlySavingsBalance> calculateYearlyBalances() {
+        return service.calculateYearlyBalances(initialAmount, monthlyContribution, annualInterestRatePercent,
+            taxRatePercent, periodicity, years);
+    }
+}
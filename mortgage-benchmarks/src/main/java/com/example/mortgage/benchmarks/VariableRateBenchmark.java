@@ -0,0 +1,58 @@
+package com.example.mortgage.benchmarks;
+
+import com.example.mortgage.domain.MortgageCalculatorService.YearlyAmortization;
+import com.example.mortgage.domain.RateChange;
+import com.example.mortgage.domain.RecastRule;
+import com.example.mortgage.domain.VariableRateSchedule;
+import com.example.mortgage.domain.VariableRateScheduleEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableRateBenchmark {
+    
+    @Param({"1", "5", "20"})
+    int segments;
+    
+    @Param({"resetPayment", "keepPayment"})
+    String recast;
+    
+    private final VariableRateScheduleEngine engine = new VariableRateScheduleEngine();
+    private List<RateChange> rates;
+    
+    @Setup
+    public void setUp() {
+        rates = new ArrayList<>(segments);
+        for (int i = 0; i < segments; i++) {
+            rates.add(new RateChange(1 + i * 360 / segments, 3.0 + (i % 4) * 0.75));
+        }
+    }
+    
+    @Benchmark
+    public VariableRateSchedule schedule() {
+        return engine.schedule(4000000.0, 30, rates, RecastRule.from(recast));
+    }
+    
+    @Benchmark
+    public List<YearlyAmortization> yearlyAmortization() {
+        return engine.schedule(4000000.0, 30, rates, RecastRule.from(recast)).yearlyAmortization();
+    }
+}
@@ -1,13 +1,17 @@
-import { Component } from '@angular/core';
+import { Component, OnDestroy } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { MortgageCalculatorComponent } from './components/mortgage-calculator/mortgage-calculator.component';
 import { SavingsCalculatorComponent } from './components/savings-calculator/savings-calculator.component';
 import { ChartComponent, ChartData } from './components/chart/chart.component';
 import { ChartCompareComponent } from './components/chart-compare/chart-compare.component';
-import { MortgageRequest, MortgageResult, SavingsRequest, SavingsResult, ChartResponse, ChartCompareResponse } from './models/mortgage.model';
-import { ChartService } from './services/chart.service';
+import { MortgageRequest, MortgageResult, SavingsRequest, SavingsResult, ChartResponse, ChartCompareRequest, ChartCompareResponse, LiveMessage } from './models/mortgage.model';
+import { LiveChartService } from './services/live-chart.service';
 import { ChartCompareService } from './services/chart-compare.service';
 import { HttpClientModule } from '@angular/common/http';
+import { EMPTY, Subject, Subscription, catchError, switchMap, timer } from 'rxjs';
+
+// An AI tip is only worth asking for once the user has stopped editing
+const TIP_SETTLE_MS = 1500;
 
 @Component({
   selector: 'app-root',
@@ -29,8 +33,7 @@ import { HttpClientModule } from '@angular/common/http';
       <app-chart *ngIf="chartData" [chartData]="chartData"></app-chart>
       <app-chart-compare *ngIf="compareChartData" 
         [chartData]="compareChartData"
-        [mortgageRequest]="mortgageRequest"
-        [savingsRequest]="savingsRequest">
+        [tipId]="compareTipId">
       </app-chart-compare>
     </div>
   `,
@@ -48,7 +51,7 @@ import { HttpClientModule } from '@angular/common/http';
     }
   `]
 })
-export class AppComponent {
+export class AppComponent implements OnDestroy {
   title = 'mortgage-frontend';
   
   mortgageRequest: MortgageRequest | null = null;
@@ -56,11 +59,69 @@ export class AppComponent {
   
   chartData: ChartData | null = null;
   compareChartData: ChartCompareResponse | null = null;
+  compareTipId: string | null = null;
+  
+  private lastChartSeq = 0;
+  private lastCompareSeq = 0;
+  private liveSubscription: Subscription;
+  private readonly compareInputs = new Subject<ChartCompareRequest | null>();
+  private tipSubscription: Subscription;
   
   constructor(
-    private chartService: ChartService,
+    private liveChartService: LiveChartService,
     private chartCompareService: ChartCompareService
-  ) {}
+  ) {
+    this.liveSubscription = this.liveChartService.messages().subscribe({
+      next: (message) => this.onLiveMessage(message),
+      error: (err) => console.error('Live chart connection failed:', err)
+    });
+    // Any newer input cancels both the wait and a tip request already in flight
+    this.tipSubscription = this.compareInputs.pipe(
+      switchMap(request => request
+        ? timer(TIP_SETTLE_MS).pipe(
+            switchMap(() => this.chartCompareService.compareChartWithTip(request)),
+            catchError(err => {
+              console.error('Error requesting compare tip:', err);
+              return EMPTY;
+            })
+          )
+        : EMPTY)
+    ).subscribe(response => this.compareTipId = response.tipId);
+  }
+  
+  ngOnDestroy(): void {
+    this.liveSubscription.unsubscribe();
+    this.tipSubscription.unsubscribe();
+  }
+  
+  private onLiveMessage(message: LiveMessage): void {
+    if (message.type === 'compare') {
+      // Replies of one type arrive in order, but not in order with the other type's
+      if (message.seq < this.lastCompareSeq || !this.hasCompareInputs()) {
+        return;
+      }
+      this.lastCompareSeq = message.seq;
+      this.compareChartData = message.body as ChartCompareResponse;
+      return;
+    }
+    if (message.type === 'error') {
+      console.error('Error generating chart:', message.body);
+      return;
+    }
+    if (message.seq < this.lastChartSeq) {
+      return;
+    }
+    this.lastChartSeq = message.seq;
+    if (message.type === 'preview') {
+      this.chartData = message.body as ChartData;
+    } else if (message.type === 'chart') {
+      this.chartData = (message.body as ChartResponse).chartData;
+    }
+  }
+  
+  private hasCompareInputs(): boolean {
+    return (this.mortgageRequest?.offsetAmount || 0) > 0;
+  }
   
   onMortgageCalculated(data: { request: MortgageRequest; result: MortgageResult }): void {
     this.mortgageRequest = data.request;
@@ -93,14 +154,7 @@ export class AppComponent {
         }
       };
       
-      this.chartService.calculateChart(chartRequest).subscribe({
-        next: (response) => {
-          this.chartData = response.chartData;
-        },
-        error: (err) => {
-          console.error('Error generating chart:', err);
-        }
-      });
+      this.liveChartService.updateChart(chartRequest);
       
       const offsetAmount = this.mortgageRequest.offsetAmount || 0;
       if (offsetAmount > 0) {
@@ -123,16 +177,13 @@ export class AppComponent {
           offsetAmount: offsetAmount
         };
         
-        this.chartCompareService.compareChart(compareRequest).subscribe({
-          next: (response) => {
-            this.compareChartData = response;
-          },
-          error: (err) => {
-            console.error('Error generating compare chart:', err);
-          }
-        });
+        this.liveChartService.updateCompare(compareRequest);
+        this.compareTipId = null;
+        this.compareInputs.next(compareRequest);
       } else {
         this.compareChartData = null;
+        this.compareTipId = null;
+        this.compareInputs.next(null);
       }
     }
   }
@@ -3,8 +3,9 @@ import { CommonModule } from '@angular/common';
 import { MatCardModule } from '@angular/material/card';
 import { MatProgressBarModule } from '@angular/material/progress-bar';
 import { Chart, ChartConfiguration, ChartOptions, registerables } from 'chart.js';
-import { ChartCompareResponse, MortgageRequest, SavingsRequest } from '../../models/mortgage.model';
+import { ChartCompareResponse } from '../../models/mortgage.model';
 import { TipService } from '../../services/tip.service';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'app-chart-compare',
@@ -15,13 +16,13 @@ import { TipService } from '../../services/tip.service';
 })
 export class ChartCompareComponent implements OnChanges, AfterViewInit, OnDestroy {
   @Input() chartData: ChartCompareResponse | null = null;
-  @Input() mortgageRequest: MortgageRequest | null = null;
-  @Input() savingsRequest: SavingsRequest | null = null;
+  @Input() tipId: string | null = null;
 
   @ViewChild('compareChartCanvas') compareChartCanvas!: ElementRef<HTMLCanvasElement>;
 
   private compareChart: Chart | null = null;
   private tipService = inject(TipService);
+  private tipSubscription: Subscription | null = null;
 
   tip: string | null = null;
   tipLoading = false;
@@ -43,81 +44,24 @@ export class ChartCompareComponent implements OnChanges, AfterViewInit, OnDestro
       } else if (this.compareChartCanvas) {
         this.createChart();
       }
+    }
+    // The comparison redraws on every input change; the tip follows only once the inputs settle
+    if (changes['tipId']) {
       this.fetchTip();
     }
   }
 
   private fetchTip(): void {
-    if (!this.mortgageRequest || !this.savingsRequest || !this.chartData) {
+    this.tipSubscription?.unsubscribe();
+    this.tipLoading = false;
+    this.tip = null;
+    if (!this.tipId) {
       return;
     }
 
     this.tipLoading = true;
-    this.tip = null;
-
-    const years = this.chartData.years;
-    const difference = this.chartData.difference;
-    
-    let crossoverYear = -1;
-    for (let i = 1; i < difference.length; i++) {
-      if (difference[i] < 0) {
-        crossoverYear = years[i];
-        break;
-      }
-    }
-    
-    let maxOffsetAdvantage = 0;
-    for (let i = 0; i < difference.length; i++) {
-      if (difference[i] > maxOffsetAdvantage) {
-        maxOffsetAdvantage = difference[i];
-      }
-    }
-    
-    let maxSavingsAdvantage = 0;
-    for (let i = 0; i < difference.length; i++) {
-      if (difference[i] < maxSavingsAdvantage) {
-        maxSavingsAdvantage = difference[i];
-      }
-    }
-    
-    const getBenefitAtYear = (targetYear: number): number => {
-      const index = years.indexOf(targetYear);
-      return index >= 0 ? difference[index] : 0;
-    };
-
-    const tipRequest = {
-      mortgage: {
-        principal: this.mortgageRequest.principal,
-        annualRatePercent: this.mortgageRequest.annualRatePercent,
-        years: this.mortgageRequest.years,
-        offsetAmount: this.mortgageRequest.offsetAmount || 0,
-        offsetMode: this.mortgageRequest.offsetMode || 'reduceAmount',
-        offsetRatePercent: this.mortgageRequest.offsetRatePercent || 0
-      },
-      savings: {
-        initialAmount: this.savingsRequest.initialAmount,
-        monthlyContribution: this.savingsRequest.monthlyContribution,
-        annualInterestRatePercent: this.savingsRequest.annualInterestRatePercent,
-        taxRatePercent: this.savingsRequest.taxRatePercent,
-        periodicity: this.savingsRequest.periodicity,
-        years: this.savingsRequest.years
-      },
-      comparison: {
-        years: this.chartData.years,
-        offsetBenefit: this.chartData.offsetBenefit,
-        savingsBenefit: this.chartData.savingsBenefit,
-        difference: this.chartData.difference,
-        crossoverYear: crossoverYear,
-        maxOffsetAdvantage: maxOffsetAdvantage,
-        maxSavingsAdvantage: maxSavingsAdvantage,
-        benefitAtYear1: getBenefitAtYear(1),
-        benefitAtYear3: getBenefitAtYear(3),
-        benefitAtYear5: getBenefitAtYear(5),
-        benefitAtYear10: getBenefitAtYear(10)
-      }
-    };
 
-    this.tipService.getTip(tipRequest).subscribe({
+    this.tipSubscription = this.tipService.collectTip(this.tipId).subscribe({
       next: (response) => {
         this.tip = response.tip;
         this.tipLoading = false;
@@ -130,6 +74,7 @@ export class ChartCompareComponent implements OnChanges, AfterViewInit, OnDestro
   }
 
   ngOnDestroy(): void {
+    this.tipSubscription?.unsubscribe();
     if (this.compareChart) {
       this.compareChart.destroy();
     }
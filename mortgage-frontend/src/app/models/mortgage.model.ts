@@ -81,11 +81,27 @@ export interface ChartCompareRequest {
   offsetAmount: number;
 }
 
+export interface ComparisonSummary {
+  crossoverYear: number;
+  maxOffsetAdvantage: number;
+  maxSavingsAdvantage: number;
+  benefitAtYear1: number;
+  benefitAtYear3: number;
+  benefitAtYear5: number;
+  benefitAtYear10: number;
+}
+
 export interface ChartCompareResponse {
   years: number[];
   offsetBenefit: number[];
   savingsBenefit: number[];
   difference: number[];
+  summary: ComparisonSummary;
+}
+
+export interface ChartCompareTipResponse {
+  comparison: ChartCompareResponse;
+  tipId: string;
 }
 
 export interface TipResponse {
@@ -123,3 +139,9 @@ export interface TipRequest {
     benefitAtYear10: number;
   };
 }
+
+export interface LiveMessage {
+  type: 'preview' | 'chart' | 'compare' | 'error';
+  seq: number;
+  body: any;
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { ChartCompareRequest, ChartCompareResponse } from '../models/mortgage.model';
+import { ChartCompareRequest, ChartCompareResponse, ChartCompareTipResponse } from '../models/mortgage.model';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -9,10 +9,18 @@ import { environment } from '../../environments/environment';
 })
 export class ChartCompareService {
   private readonly apiUrl = `${environment.apiUrl}/api/chart/compare`;
+  // Identifies this tab, so the server cancels the tip of a comparison this tab has moved past
+  private readonly clientId = Math.random().toString(36).slice(2) + Date.now().toString(36);
 
   constructor(private http: HttpClient) {}
 
   compareChart(request: ChartCompareRequest): Observable<ChartCompareResponse> {
     return this.http.post<ChartCompareResponse>(this.apiUrl, request);
   }
+
+  compareChartWithTip(request: ChartCompareRequest): Observable<ChartCompareTipResponse> {
+    return this.http.post<ChartCompareTipResponse>(`${this.apiUrl}-with-tip`, request, {
+      headers: new HttpHeaders({ 'X-Client-Id': this.clientId })
+    });
+  }
 }
@@ -0,0 +1,122 @@
+import { TestBed, fakeAsync, tick } from '@angular/core/testing';
+import { Subject } from 'rxjs';
+import { WebSocketSubjectConfig } from 'rxjs/webSocket';
+import { LiveChartService } from './live-chart.service';
+import { ChartCompareRequest, ChartRequest, LiveMessage } from '../models/mortgage.model';
+
+class FakeSocket extends Subject<LiveMessage> {
+  readonly sent: any[] = [];
+
+  constructor(private readonly config: WebSocketSubjectConfig<any>) {
+    super();
+  }
+
+  override next(update: any): void {
+    this.sent.push(update);
+  }
+
+  open(): void {
+    this.config.openObserver?.next(new Event('open'));
+  }
+
+  receive(message: LiveMessage): void {
+    super.next(message);
+  }
+
+  drop(): void {
+    this.config.closeObserver?.next(new CloseEvent('close'));
+    this.error(new Event('error'));
+  }
+}
+
+describe('LiveChartService', () => {
+  let service: LiveChartService;
+  let sockets: FakeSocket[];
+
+  const chartRequest = { mortgage: { principal: 300000 }, savings: { initialAmount: 0 } } as unknown as ChartRequest;
+  const compareRequest = { offsetAmount: 50000 } as unknown as ChartCompareRequest;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({
+      providers: [LiveChartService]
+    });
+    service = TestBed.inject(LiveChartService);
+    sockets = [];
+    spyOn<any>(service, 'createSocket').and.callFake((config: WebSocketSubjectConfig<any>) => {
+      const socket = new FakeSocket(config);
+      sockets.push(socket);
+      return socket;
+    });
+  });
+
+  it('should share one socket between subscribers', () => {
+    const first = service.messages().subscribe();
+    const second = service.messages().subscribe();
+
+    expect(sockets.length).toBe(1);
+
+    first.unsubscribe();
+    second.unsubscribe();
+  });
+
+  it('should keep delivering to the same subscriber after the socket drops', fakeAsync(() => {
+    const received: LiveMessage[] = [];
+    const subscription = service.messages().subscribe(message => received.push(message));
+    sockets[0].open();
+    sockets[0].receive({ type: 'chart', seq: 1, body: {} });
+
+    sockets[0].drop();
+    tick(1000);
+
+    expect(sockets.length).toBe(2);
+    sockets[1].open();
+    sockets[1].receive({ type: 'chart', seq: 2, body: {} });
+    expect(received.map(message => message.seq)).toEqual([1, 2]);
+
+    subscription.unsubscribe();
+  }));
+
+  it('should back off between failed reconnects', fakeAsync(() => {
+    const subscription = service.messages().subscribe();
+
+    sockets[0].drop();
+    tick(1000);
+    sockets[1].drop();
+    tick(1999);
+    expect(sockets.length).toBe(2);
+    tick(1);
+    expect(sockets.length).toBe(3);
+
+    subscription.unsubscribe();
+  }));
+
+  it('should replay the latest update of each type when a socket opens', fakeAsync(() => {
+    const subscription = service.messages().subscribe();
+    service.updateChart(chartRequest);
+    service.updateCompare(compareRequest);
+    service.updateChart(chartRequest, false);
+
+    sockets[0].open();
+    expect(sockets[0].sent.map(update => `${update.type}:${update.seq}`)).toEqual(['chart:3', 'compare:2']);
+
+    sockets[0].drop();
+    tick(1000);
+    sockets[1].open();
+    expect(sockets[1].sent.map(update => `${update.type}:${update.seq}`)).toEqual(['chart:3', 'compare:2']);
+
+    subscription.unsubscribe();
+  }));
+
+  it('should send updates straight to an open socket', () => {
+    const subscription = service.messages().subscribe();
+    sockets[0].open();
+
+    service.updateCompare(compareRequest);
+
+    expect(sockets[0].sent.length).toBe(1);
+    expect(sockets[0].sent[0].type).toBe('compare');
+    expect(sockets[0].sent[0].compare).toEqual(compareRequest);
+
+    subscription.unsubscribe();
+  });
+});
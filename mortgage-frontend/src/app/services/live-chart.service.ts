@@ -0,0 +1,76 @@
+import { Injectable } from '@angular/core';
+import { Observable, defer, repeat, retry, share, timer } from 'rxjs';
+import { webSocket, WebSocketSubject, WebSocketSubjectConfig } from 'rxjs/webSocket';
+import { ChartCompareRequest, ChartRequest, LiveMessage } from '../models/mortgage.model';
+import { environment } from '../../environments/environment';
+
+const MAX_RECONNECT_DELAY_MS = 30000;
+
+@Injectable({
+  providedIn: 'root'
+})
+export class LiveChartService {
+  private readonly url = environment.apiUrl
+    ? `${environment.apiUrl.replace(/^http/, 'ws')}/ws/live`
+    : `${location.protocol === 'https:' ? 'wss' : 'ws'}://${location.host}/ws/live`;
+
+  private socket: WebSocketSubject<any> | null = null;
+  private open = false;
+  private seq = 0;
+  // The server forgets a closed session, so the latest update of each type is replayed on every (re)connect
+  private readonly latest = new Map<string, object>();
+
+  // One socket shared by all subscribers; it reconnects with backoff after an error or a close
+  private readonly messages$: Observable<LiveMessage> = defer(() => this.connect()).pipe(
+    retry({ delay: (_, attempt) => this.backoff(attempt), resetOnSuccess: true }),
+    repeat({ delay: () => this.backoff(1) }),
+    share()
+  );
+
+  messages(): Observable<LiveMessage> {
+    return this.messages$;
+  }
+
+  updateChart(request: ChartRequest, preview = true): void {
+    this.send({ type: 'chart', seq: ++this.seq, preview, chart: request });
+  }
+
+  updateCompare(request: ChartCompareRequest): void {
+    this.send({ type: 'compare', seq: ++this.seq, preview: false, compare: request });
+  }
+
+  protected createSocket(config: WebSocketSubjectConfig<any>): WebSocketSubject<any> {
+    return webSocket<any>(config);
+  }
+
+  private send(update: { type: string }): void {
+    this.latest.set(update.type, update);
+    if (this.open && this.socket) {
+      this.socket.next(update);
+    }
+  }
+
+  private connect(): WebSocketSubject<any> {
+    this.open = false;
+    const socket = this.createSocket({
+      url: this.url,
+      openObserver: {
+        next: () => {
+          this.open = true;
+          this.latest.forEach(update => socket.next(update));
+        }
+      },
+      closeObserver: {
+        next: () => {
+          this.open = false;
+        }
+      }
+    });
+    this.socket = socket;
+    return socket;
+  }
+
+  private backoff(attempt: number): Observable<number> {
+    return timer(Math.min(1000 * 2 ** (attempt - 1), MAX_RECONNECT_DELAY_MS));
+  }
+}
@@ -15,4 +15,8 @@ export class TipService {
   getTip(request: TipRequest): Observable<TipResponse> {
     return this.http.post<TipResponse>(this.apiUrl, request);
   }
+
+  collectTip(tipId: string): Observable<TipResponse> {
+    return this.http.get<TipResponse>(`${this.apiUrl}/${encodeURIComponent(tipId)}`);
+  }
 }
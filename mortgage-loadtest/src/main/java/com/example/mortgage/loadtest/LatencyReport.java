@@ -0,0 +1,133 @@
+package com.example.mortgage.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyReport {
+    
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private final Map<Scenario, Series> series = new EnumMap<>(Scenario.class);
+    
+    LatencyReport(Scenario[] scenarios) {
+        for (Scenario scenario : scenarios) {
+            series.put(scenario, new Series());
+        }
+    }
+    
+    void recordSuccess(Scenario scenario, long intendedStart, long actualStart, long end) {
+        Series s = series.get(scenario);
+        s.corrected.recordValue(clamp(end - intendedStart));
+        s.uncorrected.recordValue(clamp(end - actualStart));
+    }
+    
+    void recordError(Scenario scenario, long intendedStart, long end) {
+        Series s = series.get(scenario);
+        s.errors.increment();
+        s.corrected.recordValue(clamp(end - intendedStart));
+    }
+    
+    // Shed requests are answered without being served, so they stay out of the latency histograms
+    void recordShed(Scenario scenario) {
+        series.get(scenario).shed.increment();
+    }
+    
+    // Admitted requests are the ones that got a response other than 429/503
+    double admittedPercentileMillis(double percentile) {
+        Histogram all = newHistogram();
+        for (Series s : series.values()) {
+            all.add(s.correctedSnapshot());
+        }
+        return millis(all, percentile);
+    }
+    
+    void print(PrintStream out, double seconds) {
+        out.printf(Locale.ROOT, "%n%-10s %8s %7s %7s %8s | %-44s | %-30s%n", "scenario", "count", "errors", "shed", "rps",
+            "corrected from intended start (ms)", "service time (ms)");
+        out.printf(Locale.ROOT, "%-10s %8s %7s %7s %8s | %8s %8s %8s %8s %8s | %8s %8s %8s%n", "", "", "", "", "",
+            "p50", "p90", "p99", "p99.9", "max", "p50", "p99", "max");
+        
+        Histogram allCorrected = newHistogram();
+        Histogram allUncorrected = newHistogram();
+        long allErrors = 0;
+        long allShed = 0;
+        for (Map.Entry<Scenario, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            Histogram corrected = s.correctedSnapshot();
+            Histogram uncorrected = s.uncorrectedSnapshot();
+            allCorrected.add(corrected);
+            allUncorrected.add(uncorrected);
+            allErrors += s.errors.sum();
+            allShed += s.shed.sum();
+            printRow(out, entry.getKey().name().toLowerCase(Locale.ROOT), corrected, uncorrected, s.errors.sum(),
+                s.shed.sum(), seconds);
+        }
+        printRow(out, "all", allCorrected, allUncorrected, allErrors, allShed, seconds);
+    }
+    
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Scenario, Series> entry : series.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().correctedSnapshot().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+    
+    private static void printRow(PrintStream out, String name, Histogram corrected, Histogram uncorrected,
+                                 long errors, long shed, double seconds) {
+        out.printf(Locale.ROOT, "%-10s %8d %7d %7d %8.1f | %8.2f %8.2f %8.2f %8.2f %8.2f | %8.2f %8.2f %8.2f%n",
+            name, corrected.getTotalCount(), errors, shed, corrected.getTotalCount() / seconds,
+            millis(corrected, 50), millis(corrected, 90), millis(corrected, 99), millis(corrected, 99.9),
+            corrected.getMaxValue() / 1000.0,
+            millis(uncorrected, 50), millis(uncorrected, 99), uncorrected.getMaxValue() / 1000.0);
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    private static long clamp(long nanos) {
+        return Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)), MAX_LATENCY_MICROS);
+    }
+    
+    private static Histogram newHistogram() {
+        return new Histogram(MAX_LATENCY_MICROS, 3);
+    }
+    
+    private static final class Series {
+        final Recorder corrected = new Recorder(MAX_LATENCY_MICROS, 3);
+        final Recorder uncorrected = new Recorder(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        private Histogram correctedTotal;
+        private Histogram uncorrectedTotal;
+        
+        synchronized Histogram correctedSnapshot() {
+            if (correctedTotal == null) {
+                correctedTotal = newHistogram();
+            }
+            correctedTotal.add(corrected.getIntervalHistogram());
+            return correctedTotal.copy();
+        }
+        
+        synchronized Histogram uncorrectedSnapshot() {
+            if (uncorrectedTotal == null) {
+                uncorrectedTotal = newHistogram();
+            }
+            uncorrectedTotal.add(uncorrected.getIntervalHistogram());
+            return uncorrectedTotal.copy();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.mortgage.loadtest;
+
+import com.example.mortgage.MortgageBackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.Locale;
+
+public class LoadTestMain {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        // A separate backend host keeps the load generator from competing with the server for CPU
+        if (options.target() != null) {
+            drive(options, options.target(), new ObjectMapper());
+            return;
+        }
+        
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                MortgageBackendApplication.class, StubChatModelConfig.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                    "--server.port=0",
+                    "--langchain4j.ollama.enabled=false",
+                    // Off by default in the backend; --overload is how admission control gets measured
+                    "--mortgage.admission.enabled=true",
+                    // The generator is the proxy here: each request names its virtual client in X-Forwarded-For
+                    "--mortgage.admission.trusted-proxies=127.0.0.1,::1",
+                    "--loadtest.stub-llm.latency=" + options.llmLatency().toMillis() + "ms",
+                    "--loadtest.stub-llm.jitter=" + options.llmJitter().toMillis() + "ms",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN"
+                )) {
+            
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            drive(options, URI.create("http://localhost:" + port), context.getBean(ObjectMapper.class));
+        }
+    }
+    
+    private static void drive(LoadTestOptions options, URI baseUri, ObjectMapper objectMapper) throws Exception {
+        OpenLoopDriver driver = new OpenLoopDriver(baseUri, options, objectMapper);
+        
+        System.out.printf(Locale.ROOT, "Backend on %s, %.1f req/s, warmup %ss, measure %ss%n",
+            baseUri, options.ratePerSecond(), options.warmup().toSeconds(), options.duration().toSeconds());
+        
+        if (!options.warmup().isZero()) {
+            driver.run(options.warmup());
+        }
+        LatencyReport report = driver.run(options.duration());
+        
+        report.print(System.out, options.duration().toMillis() / 1000.0);
+        report.writeHistograms(options.outputDirectory());
+        System.out.println("Corrected histograms written to " + options.outputDirectory().toAbsolutePath());
+        
+        if (options.overload() > 1) {
+            double overloadRate = options.ratePerSecond() * options.overload();
+            System.out.printf(Locale.ROOT, "%nOverload: %.1f req/s (%.1fx) for %ss%n",
+                overloadRate, options.overload(), options.duration().toSeconds());
+            LatencyReport overloaded = driver.run(options.duration(), overloadRate);
+            overloaded.print(System.out, options.duration().toMillis() / 1000.0);
+            overloaded.writeHistograms(options.outputDirectory().resolve("overload"));
+            System.out.printf(Locale.ROOT, "%nAdmitted p99: %.2f ms at 1x, %.2f ms at %.1fx%n",
+                report.admittedPercentileMillis(99), overloaded.admittedPercentileMillis(99), options.overload());
+        }
+    }
+}
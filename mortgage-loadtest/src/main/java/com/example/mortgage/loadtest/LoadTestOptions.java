@@ -0,0 +1,71 @@
+package com.example.mortgage.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+record LoadTestOptions(
+    double ratePerSecond,
+    Duration warmup,
+    Duration duration,
+    RequestMix mix,
+    Duration llmLatency,
+    Duration llmJitter,
+    Duration requestTimeout,
+    Path outputDirectory,
+    long seed,
+    int clients,
+    double overload,
+    URI target
+) {
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        
+        double rate = Double.parseDouble(values.getOrDefault("rate", "200"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be greater than 0");
+        }
+        int clients = Integer.parseInt(values.getOrDefault("clients", "64"));
+        if (clients < 1) {
+            throw new IllegalArgumentException("Clients must be at least 1");
+        }
+        double overload = Double.parseDouble(values.getOrDefault("overload", "0"));
+        return new LoadTestOptions(
+            rate,
+            duration(values.getOrDefault("warmup", "10s")),
+            duration(values.getOrDefault("duration", "30s")),
+            RequestMix.parse(values.getOrDefault("mix", RequestMix.DEFAULT)),
+            duration(values.getOrDefault("llm-latency", "800ms")),
+            duration(values.getOrDefault("llm-jitter", "200ms")),
+            duration(values.getOrDefault("timeout", "30s")),
+            Path.of(values.getOrDefault("out", "target/loadtest")),
+            Long.parseLong(values.getOrDefault("seed", "42")),
+            clients,
+            overload,
+            values.containsKey("target") ? URI.create(values.get("target")) : null
+        );
+    }
+    
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(v));
+    }
+}
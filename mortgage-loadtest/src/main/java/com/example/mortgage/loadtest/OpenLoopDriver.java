@@ -0,0 +1,114 @@
+package com.example.mortgage.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+final class OpenLoopDriver {
+    
+    static final int BODIES_PER_SCENARIO = 256;
+    
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final Map<Scenario, byte[][]> bodies = new EnumMap<>(Scenario.class);
+    private final String[] clientAddresses;
+    private final Random random;
+    
+    OpenLoopDriver(URI baseUri, LoadTestOptions options, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.options = options;
+        this.random = new Random(options.seed());
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        
+        // Each virtual client appears as its own proxy-forwarded address to the per-client rate limit
+        this.clientAddresses = new String[options.clients()];
+        for (int i = 0; i < clientAddresses.length; i++) {
+            clientAddresses[i] = "10.0." + (i >> 8 & 0xff) + "." + (i & 0xff);
+        }
+        
+        for (Scenario scenario : options.mix().scenarios()) {
+            byte[][] pool = new byte[BODIES_PER_SCENARIO][];
+            for (int i = 0; i < pool.length; i++) {
+                try {
+                    pool[i] = objectMapper.writeValueAsBytes(scenario.randomRequest(random));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            bodies.put(scenario, pool);
+        }
+    }
+    
+    LatencyReport run(Duration duration) {
+        return run(duration, options.ratePerSecond());
+    }
+    
+    LatencyReport run(Duration duration, double ratePerSecond) {
+        Scenario[] scenarios = options.mix().scenarios();
+        LatencyReport report = new LatencyReport(scenarios);
+        double intervalNanos = 1_000_000_000.0 / ratePerSecond;
+        
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + (long) (i * intervalNanos);
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                
+                Scenario scenario = options.mix().next(random);
+                byte[][] pool = bodies.get(scenario);
+                byte[] body = pool[random.nextInt(pool.length)];
+                String address = clientAddresses[random.nextInt(clientAddresses.length)];
+                clients.execute(() -> send(scenario, body, address, intendedStart, report));
+            }
+        }
+        return report;
+    }
+    
+    private void send(Scenario scenario, byte[] body, String address, long intendedStart, LatencyReport report) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(scenario.path))
+            .timeout(options.requestTimeout())
+            .header("Content-Type", "application/json")
+            .header("X-Forwarded-For", address)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        long actualStart = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long done = System.nanoTime();
+            if (response.statusCode() == 429 || response.statusCode() == 503) {
+                report.recordShed(scenario);
+            } else if (response.statusCode() >= 400) {
+                report.recordError(scenario, intendedStart, done);
+            } else {
+                report.recordSuccess(scenario, intendedStart, actualStart, done);
+            }
+        } catch (IOException e) {
+            report.recordError(scenario, intendedStart, System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
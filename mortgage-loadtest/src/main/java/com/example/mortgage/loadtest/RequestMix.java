@@ -0,0 +1,61 @@
+package com.example.mortgage.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+final class RequestMix {
+    
+    static final String DEFAULT = "mortgage:40,savings:20,chart:25,compare:10,tip:5";
+    
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    
+    private RequestMix(Map<Scenario, Integer> weights) {
+        scenarios = weights.keySet().toArray(new Scenario[0]);
+        cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+        totalWeight = total;
+    }
+    
+    static RequestMix parse(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight cannot be negative: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one scenario");
+        }
+        return new RequestMix(weights);
+    }
+    
+    Scenario next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+    
+    Scenario[] scenarios() {
+        return scenarios.clone();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.mortgage.loadtest;
+
+import com.example.mortgage.application.CalculationCache;
+import com.example.mortgage.application.ChartCompareTipUseCase;
+import com.example.mortgage.application.ChartCompareUseCase;
+import com.example.mortgage.domain.MortgageCalculatorService;
+import com.example.mortgage.domain.OffsetAccountEngine;
+import com.example.mortgage.domain.SavingsCalculatorService;
+import com.example.mortgage.infrastructure.ChartCompareRequest;
+import com.example.mortgage.infrastructure.ChartRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartMortgageRequest;
+import com.example.mortgage.infrastructure.ChartRequest.ChartSavingsRequest;
+import com.example.mortgage.infrastructure.MortgageRequest;
+import com.example.mortgage.infrastructure.SavingsRequest;
+
+import java.util.Random;
+
+enum Scenario {
+    
+    MORTGAGE("/api/mortgage/calculate") {
+        @Override
+        Object randomRequest(Random random) {
+            double principal = randomPrincipal(random);
+            double rate = randomRate(random);
+            double offset = random.nextBoolean() ? principal * random.nextDouble(0.05, 0.5) : 0.0;
+            return new MortgageRequest(principal, rate, randomYears(random), offset, randomMode(random), rate);
+        }
+    },
+    SAVINGS("/api/savings/calculate") {
+        @Override
+        Object randomRequest(Random random) {
+            ChartSavingsRequest savings = randomSavings(random);
+            return new SavingsRequest(savings.initialAmount(), savings.monthlyContribution(),
+                savings.annualInterestRatePercent(), savings.taxRatePercent(),
+                savings.periodicity(), savings.years());
+        }
+    },
+    CHART("/api/chart/calculate") {
+        @Override
+        Object randomRequest(Random random) {
+            double principal = randomPrincipal(random);
+            double rate = randomRate(random);
+            int years = randomYears(random);
+            return new ChartRequest(
+                new ChartMortgageRequest(principal, rate, years, principal * random.nextDouble(0.05, 0.5),
+                    randomMode(random), rate),
+                randomSavings(random, years)
+            );
+        }
+    },
+    COMPARE("/api/chart/compare") {
+        @Override
+        Object randomRequest(Random random) {
+            return randomCompare(random);
+        }
+    },
+    OPTIMIZE("/api/chart/optimize") {
+        @Override
+        Object randomRequest(Random random) {
+            return randomCompare(random);
+        }
+    },
+    TIP("/api/ai/tips") {
+        @Override
+        Object randomRequest(Random random) {
+            ChartCompareRequest request = randomCompare(random);
+            return ChartCompareTipUseCase.toTipRequest(request, COMPARE_USE_CASE.execute(request));
+        }
+    };
+    
+    private static final ChartCompareUseCase COMPARE_USE_CASE =
+        new ChartCompareUseCase(new MortgageCalculatorService(), new SavingsCalculatorService(),
+            new OffsetAccountEngine(), CalculationCache.DISABLED);
+    
+    final String path;
+    
+    Scenario(String path) {
+        this.path = path;
+    }
+    
+    abstract Object randomRequest(Random random);
+    
+    private static double randomPrincipal(Random random) {
+        return Math.round(random.nextDouble(500_000, 10_000_000) / 1000.0) * 1000.0;
+    }
+    
+    private static double randomRate(Random random) {
+        return Math.round(random.nextDouble(1.5, 8.0) * 100.0) / 100.0;
+    }
+    
+    private static int randomYears(Random random) {
+        return 5 + random.nextInt(46);
+    }
+    
+    private static String randomMode(Random random) {
+        return random.nextBoolean() ? "reduceAmount" : "reduceTerm";
+    }
+    
+    private static ChartSavingsRequest randomSavings(Random random) {
+        return randomSavings(random, randomYears(random));
+    }
+    
+    private static ChartSavingsRequest randomSavings(Random random, int years) {
+        return new ChartSavingsRequest(
+            Math.round(random.nextDouble(0, 2_000_000) / 1000.0) * 1000.0,
+            Math.round(random.nextDouble(0, 20_000) / 100.0) * 100.0,
+            randomRate(random),
+            15.0,
+            random.nextInt(4) == 0 ? "yearly" : "monthly",
+            years
+        );
+    }
+    
+    private static ChartCompareRequest randomCompare(Random random) {
+        double principal = randomPrincipal(random);
+        double rate = randomRate(random);
+        int years = randomYears(random);
+        ChartSavingsRequest savings = randomSavings(random, years);
+        return new ChartCompareRequest(
+            new ChartCompareRequest.MortgageParams(principal, rate, years, randomMode(random), rate),
+            new ChartCompareRequest.SavingsParams(savings.initialAmount(), savings.monthlyContribution(),
+                savings.annualInterestRatePercent(), savings.taxRatePercent(), savings.periodicity(), years),
+            Math.max(1000.0, Math.round(principal * random.nextDouble(0.05, 0.5)))
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.mortgage.loadtest;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+class StubChatModel implements ChatLanguageModel {
+    
+    static final String TIP = "Keep money in offset for the first years. Switch to savings after the crossover year.";
+    
+    private final long latencyNanos;
+    private final long jitterNanos;
+    
+    StubChatModel(Duration latency, Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+    }
+    
+    @Override
+    public ChatResponse doChat(ChatRequest request) {
+        long delay = latencyNanos;
+        if (jitterNanos > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-jitterNanos, jitterNanos + 1);
+        }
+        if (delay > 0) {
+            LockSupport.parkNanos(delay);
+        }
+        return ChatResponse.builder().aiMessage(AiMessage.from(TIP)).build();
+    }
+    
+    // Still abstract in this langchain4j version; AI services only call chat(), which lands in doChat()
+    @Override
+    @SuppressWarnings("removal")
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return Response.from(doChat(ChatRequest.builder().messages(messages).build()).aiMessage());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.mortgage.loadtest;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class StubChatModelConfig {
+    
+    @Bean
+    public ChatLanguageModel chatLanguageModel(
+            @Value("${loadtest.stub-llm.latency:800ms}") Duration latency,
+            @Value("${loadtest.stub-llm.jitter:200ms}") Duration jitter
+    ) {
+        return new StubChatModel(latency, jitter);
+    }
+}
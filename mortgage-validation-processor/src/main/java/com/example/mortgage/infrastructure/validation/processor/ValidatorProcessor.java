@@ -0,0 +1,340 @@
+package com.example.mortgage.infrastructure.validation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@SupportedAnnotationTypes(ValidatorProcessor.GENERATE_VALIDATOR)
+public class ValidatorProcessor extends AbstractProcessor {
+    
+    static final String GENERATE_VALIDATOR = "com.example.mortgage.infrastructure.validation.GenerateValidator";
+    
+    private static final String CONSTRAINTS = "jakarta.validation.constraints.";
+    private static final String VALID = "jakarta.validation.Valid";
+    private static final String ERRORS = "com.example.mortgage.infrastructure.validation.ValidationErrors";
+    
+    private static final Set<String> NUMERIC_TYPES = Set.of(
+        "java.lang.Double", "java.lang.Float", "java.lang.Long", "java.lang.Integer", "java.lang.Short", "java.lang.Byte"
+    );
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD) {
+                    error(element, "@GenerateValidator is only supported on records");
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (InvalidConstraintException e) {
+                    error(e.element, e.getMessage());
+                } catch (IOException e) {
+                    error(element, "Cannot write validator: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+    
+    private void generate(TypeElement root) throws IOException {
+        Map<TypeElement, String> methods = new LinkedHashMap<>();
+        collect(root, "validate", methods);
+        
+        String packageName = ((PackageElement) packageOf(root)).getQualifiedName().toString();
+        String className = root.getSimpleName() + "Validator";
+        
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(packageName).append(";\n\n");
+        out.append("import ").append(ERRORS).append(";\n\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("public final class ").append(className).append(" {\n\n");
+        out.append("    private ").append(className).append("() {\n    }\n\n");
+        out.append("    public static ValidationErrors validate(").append(root.getQualifiedName()).append(" value) {\n");
+        out.append("        return validate(value, \"\", null);\n");
+        out.append("    }\n");
+        
+        for (Map.Entry<TypeElement, String> entry : methods.entrySet()) {
+            writeMethod(out, entry.getKey(), entry.getValue(), methods, entry.getKey() == root);
+        }
+        out.append("}\n");
+        
+        try (Writer writer = processingEnv.getFiler().createSourceFile(packageName + "." + className, root).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+    
+    private void collect(TypeElement type, String methodName, Map<TypeElement, String> methods) {
+        if (methods.containsKey(type)) {
+            return;
+        }
+        if (type.getKind() != ElementKind.RECORD) {
+            throw new InvalidConstraintException(type, "@Valid is only supported on record components");
+        }
+        methods.put(type, methodName);
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            if (find(component, VALID) != null) {
+                TypeElement nested = (TypeElement) processingEnv.getTypeUtils().asElement(component.asType());
+                if (nested == null) {
+                    throw new InvalidConstraintException(component, "@Valid is only supported on record components");
+                }
+                collect(nested, "validate" + nested.getSimpleName(), methods);
+            }
+        }
+    }
+    
+    private void writeMethod(StringBuilder out, TypeElement type, String methodName,
+                             Map<TypeElement, String> methods, boolean root) {
+        out.append("\n    ").append(root ? "static" : "private static").append(" ValidationErrors ").append(methodName)
+            .append("(").append(type.getQualifiedName()).append(" value, String prefix, ValidationErrors errors) {\n");
+        
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            writeComponent(out, component, methods);
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            AnnotationMirror assertTrue = find(method, CONSTRAINTS + "AssertTrue");
+            if (assertTrue == null) {
+                continue;
+            }
+            if (method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty()
+                    || method.getReturnType().getKind() != TypeKind.BOOLEAN) {
+                throw new InvalidConstraintException(method, "@AssertTrue requires a boolean getter");
+            }
+            String message = message(assertTrue, "must be true");
+            out.append("        if (!value.").append(method.getSimpleName()).append("()) {\n");
+            appendError(out, "            ", propertyName(method.getSimpleName().toString()), message);
+            out.append("        }\n");
+        }
+        out.append("        return errors;\n");
+        out.append("    }\n");
+    }
+    
+    private void writeComponent(StringBuilder out, RecordComponentElement component, Map<TypeElement, String> methods) {
+        String name = component.getSimpleName().toString();
+        TypeMirror type = component.asType();
+        boolean primitive = type.getKind().isPrimitive();
+        String typeName = primitive ? type.toString() : erasure(type);
+        
+        String notNullMessage = null;
+        List<Check> checks = new ArrayList<>();
+        String nestedMethod = null;
+        
+        for (AnnotationMirror annotation : annotationsOf(component)) {
+            String annotationName = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (annotationName.equals(VALID)) {
+                nestedMethod = methods.get((TypeElement) processingEnv.getTypeUtils().asElement(type));
+            } else if (annotationName.equals(CONSTRAINTS + "NotNull")) {
+                if (primitive) {
+                    throw new InvalidConstraintException(component, "@NotNull on a primitive component");
+                }
+                notNullMessage = message(annotation, "must not be null");
+            } else if (annotationName.startsWith(CONSTRAINTS)) {
+                checks.add(numericCheck(component, annotation, annotationName.substring(CONSTRAINTS.length()),
+                    primitive, typeName, name));
+            }
+        }
+        
+        if (notNullMessage == null && checks.isEmpty() && nestedMethod == null) {
+            return;
+        }
+        
+        out.append("        var ").append(name).append(" = value.").append(name).append("();\n");
+        String indent = "        ";
+        if (!primitive) {
+            if (notNullMessage != null) {
+                out.append("        if (").append(name).append(" == null) {\n");
+                appendError(out, "            ", name, notNullMessage);
+                if (checks.isEmpty() && nestedMethod == null) {
+                    out.append("        }\n");
+                    return;
+                }
+                out.append("        } else {\n");
+            } else {
+                out.append("        if (").append(name).append(" != null) {\n");
+            }
+            indent = "            ";
+        }
+        for (Check check : checks) {
+            out.append(indent).append("if (").append(check.condition()).append(") {\n");
+            appendError(out, indent + "    ", name, check.message());
+            out.append(indent).append("}\n");
+        }
+        if (nestedMethod != null) {
+            out.append(indent).append("errors = ").append(nestedMethod).append("(").append(name)
+                .append(", prefix.isEmpty() ? \"").append(name).append(".\" : prefix + \"").append(name)
+                .append(".\", errors);\n");
+        }
+        if (!primitive) {
+            out.append("        }\n");
+        }
+    }
+    
+    private Check numericCheck(RecordComponentElement component, AnnotationMirror annotation, String constraint,
+                               boolean primitive, String typeName, String name) {
+        boolean numeric = primitive ? isNumericPrimitive(typeName) : NUMERIC_TYPES.contains(typeName);
+        if (!numeric) {
+            throw new InvalidConstraintException(component, "@" + constraint + " is not supported on " + typeName);
+        }
+        String operand = primitive ? name : name + "." + (isIntegral(typeName) ? "longValue()" : "doubleValue()");
+        return switch (constraint) {
+            case "DecimalMin", "DecimalMax" -> {
+                String bound = stringValue(annotation, "value");
+                boolean inclusive = (Boolean) value(annotation, "inclusive");
+                boolean min = constraint.equals("DecimalMin");
+                String operator = min ? (inclusive ? ">=" : ">") : (inclusive ? "<=" : "<");
+                yield new Check(
+                    "!(" + operand + " " + operator + " " + literal(new BigDecimal(bound), typeName) + ")",
+                    message(annotation, "must be " + (min ? "greater" : "less") + " than "
+                        + (inclusive ? "or equal to " : "") + bound));
+            }
+            case "Min", "Max" -> {
+                long bound = ((Number) value(annotation, "value")).longValue();
+                boolean min = constraint.equals("Min");
+                yield new Check(
+                    "!(" + operand + " " + (min ? ">=" : "<=") + " " + bound + "L)",
+                    message(annotation, "must be " + (min ? "greater" : "less") + " than or equal to " + bound));
+            }
+            case "Positive" -> new Check("!(" + operand + " > 0)", message(annotation, "must be greater than 0"));
+            case "PositiveOrZero" -> new Check("!(" + operand + " >= 0)",
+                message(annotation, "must be greater than or equal to 0"));
+            case "Negative" -> new Check("!(" + operand + " < 0)", message(annotation, "must be less than 0"));
+            case "NegativeOrZero" -> new Check("!(" + operand + " <= 0)",
+                message(annotation, "must be less than or equal to 0"));
+            default -> throw new InvalidConstraintException(component, "@" + constraint + " is not supported");
+        };
+    }
+    
+    private static void appendError(StringBuilder out, String indent, String field, String message) {
+        out.append(indent).append("errors = ValidationErrors.add(errors, prefix, \"").append(field).append("\", \"")
+            .append(escape(message)).append("\");\n");
+    }
+    
+    private List<? extends AnnotationMirror> annotationsOf(RecordComponentElement component) {
+        ExecutableElement accessor = component.getAccessor();
+        if (accessor != null && !accessor.getAnnotationMirrors().isEmpty()) {
+            return accessor.getAnnotationMirrors();
+        }
+        return component.getAnnotationMirrors();
+    }
+    
+    private AnnotationMirror find(Element element, String annotationName) {
+        List<? extends AnnotationMirror> mirrors = element instanceof RecordComponentElement component
+            ? annotationsOf(component)
+            : element.getAnnotationMirrors();
+        for (AnnotationMirror mirror : mirrors) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+    
+    private Object value(AnnotationMirror annotation, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+            processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalStateException("Missing annotation attribute " + name);
+    }
+    
+    private String stringValue(AnnotationMirror annotation, String name) {
+        return (String) value(annotation, name);
+    }
+    
+    private String message(AnnotationMirror annotation, String defaultMessage) {
+        String message = stringValue(annotation, "message");
+        return message.startsWith("{" + CONSTRAINTS) ? defaultMessage : message;
+    }
+    
+    private String erasure(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        return erased instanceof DeclaredType declared
+            ? ((TypeElement) declared.asElement()).getQualifiedName().toString()
+            : erased.toString();
+    }
+    
+    private static Element packageOf(Element element) {
+        while (element.getKind() != ElementKind.PACKAGE) {
+            element = element.getEnclosingElement();
+        }
+        return element;
+    }
+    
+    private static boolean isNumericPrimitive(String typeName) {
+        return switch (typeName) {
+            case "double", "float", "long", "int", "short", "byte" -> true;
+            default -> false;
+        };
+    }
+    
+    private static boolean isIntegral(String typeName) {
+        return switch (typeName) {
+            case "long", "int", "short", "byte",
+                 "java.lang.Long", "java.lang.Integer", "java.lang.Short", "java.lang.Byte" -> true;
+            default -> false;
+        };
+    }
+    
+    private static String literal(BigDecimal bound, String typeName) {
+        return isIntegral(typeName) ? bound.toPlainString() + "D" : Double.toString(bound.doubleValue());
+    }
+    
+    private static String propertyName(String methodName) {
+        String name = methodName.startsWith("is") ? methodName.substring(2)
+            : methodName.startsWith("get") ? methodName.substring(3) : methodName;
+        return name.isEmpty() ? methodName : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+    
+    private static String escape(String message) {
+        return message.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+    
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+    
+    private record Check(String condition, String message) {
+    }
+    
+    private static final class InvalidConstraintException extends RuntimeException {
+        
+        private final Element element;
+        
+        InvalidConstraintException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}